@@ -0,0 +1,63 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import main.Carte;
+import main.Combat;
+import main.Contexte;
+import org.openjdk.jmh.annotations.*;
+import personnages.Heros;
+import simulation.StrategieAutomatique;
+import utils.TypeHeros;
+
+/**
+ * Benchmark du placement des combats sur une carte.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CarteBenchmark {
+    /**
+     * Longueur de la carte (hors cases de départ et d'arrivée) : niveaux facile, difficile et très grande carte.
+     */
+    @Param({"10", "40", "1000"})
+    public int longueur;
+
+    private final List<Combat> combats = new ArrayList<>();
+    private Heros heros;
+    private Carte carte;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        Logger.getLogger("").setLevel(java.util.logging.Level.OFF); // Pas de journalisation pendant les mesures
+        heros = new Heros("Bench", TypeHeros.BARBARE,
+                Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, 1, false, 0.5)));
+        for (int i = 0; i < longueur / 1.5; i++) {
+            combats.add(new Combat(heros));
+        }
+    }
+
+    /**
+     * Prépare une carte vide avant chaque placement.
+     */
+    @Setup(Level.Invocation)
+    public void preparerCarte() {
+        carte = new Carte("bench", longueur);
+        carte.placerHero(heros);
+    }
+
+    /**
+     * Placement de longueur / 1.5 combats sur la carte.
+     */
+    @Benchmark
+    public Carte placerCombat() {
+        carte.placerCombat(combats);
+        return carte;
+    }
+}
@@ -0,0 +1,94 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import main.Combat;
+import main.Contexte;
+import org.openjdk.jmh.annotations.*;
+import personnages.Heros;
+import questions.ListeQuestions;
+import simulation.StrategieAutomatique;
+import utils.TypeHeros;
+
+/**
+ * Benchmarks de la création et du déroulement d'un combat.
+ * Les saisies du joueur sont remplacées par une {@link StrategieAutomatique} et l'affichage est désactivé.
+ * Chaque benchmark a son propre état : la création, très courte, n'est pas faussée par une préparation
+ * à chaque appel, ni multipliée par le paramètre {@code qcm} du déroulement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombatBenchmark {
+
+    /**
+     * État de {@link #construction(Construction)} : un héros préparé une fois pour toute la mesure.
+     */
+    @State(Scope.Thread)
+    public static class Construction {
+        private Heros heros;
+
+        @Setup(Level.Trial)
+        public void preparer() {
+            Logger.getLogger("").setLevel(java.util.logging.Level.OFF); // Pas de journalisation pendant les mesures
+            Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.SOIGNEUR, 1, false, 0.5));
+            heros = new Heros("Bench", TypeHeros.SOIGNEUR, contexte);
+        }
+    }
+
+    /**
+     * État de {@link #derouleCombat(Deroulement)} : la banque de questions est chargée une fois pour toute la mesure,
+     * le héros et le combat sont recréés avant chaque appel.
+     */
+    @State(Scope.Thread)
+    public static class Deroulement {
+        /**
+         * Avec ou sans QCM pendant les attaques du héros.
+         */
+        @Param({"false", "true"})
+        public boolean qcm;
+
+        private Contexte contexte;
+        private Heros heros;
+        private ListeQuestions questions;
+        private Combat combat;
+
+        @Setup(Level.Trial)
+        public void preparer() {
+            Logger.getLogger("").setLevel(java.util.logging.Level.OFF); // Pas de journalisation pendant les mesures
+            contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.SOIGNEUR, 1, false, 0.5));
+            questions = qcm ? new ListeQuestions("questions_culture_generale.csv") : new ListeQuestions(List.of());
+        }
+
+        /**
+         * Prépare un héros neuf, un combat neuf et remet toutes les questions en jeu avant chaque appel.
+         */
+        @Setup(Level.Invocation)
+        public void preparerCombat() {
+            heros = new Heros("Bench", TypeHeros.SOIGNEUR, contexte);
+            combat = new Combat(heros);
+            questions.reinitialiser();
+        }
+    }
+
+    /**
+     * Création d'un combat : génération de 1 à 4 ennemis.
+     */
+    @Benchmark
+    public Combat construction(Construction etat) {
+        return new Combat(etat.heros);
+    }
+
+    /**
+     * Déroulement complet d'un combat avec des saisies scriptées.
+     */
+    @Benchmark
+    public int derouleCombat(Deroulement etat) {
+        etat.combat.derouleCombat(etat.questions);
+        return etat.heros.getPv();
+    }
+}
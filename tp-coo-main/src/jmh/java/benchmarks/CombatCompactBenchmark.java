@@ -0,0 +1,44 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import main.CombatCompact;
+import org.openjdk.jmh.annotations.*;
+import utils.Alea;
+
+/**
+ * Benchmark du moteur de combat compact sur de grands groupes d'ennemis.
+ * Le héros est assez résistant pour affronter tous les ennemis du groupe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CombatCompactBenchmark {
+    /**
+     * Nombre d'ennemis du groupe.
+     */
+    @Param({"4", "100000", "1000000"})
+    public int nbEnnemis;
+
+    private CombatCompact combat;
+
+    /**
+     * Prépare un groupe d'ennemis neuf avant chaque combat.
+     */
+    @Setup(Level.Invocation)
+    public void preparer() {
+        combat = new CombatCompact(Integer.MAX_VALUE, 30, nbEnnemis);
+        combat.ajouterAleatoires(nbEnnemis, new Alea(42));
+    }
+
+    /**
+     * Déroulement complet du combat.
+     */
+    @Benchmark
+    public boolean derouleCombat() {
+        return combat.derouleCombat();
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import main.Contexte;
+import org.openjdk.jmh.annotations.*;
+import personnages.Ennemi;
+import personnages.Heros;
+import simulation.StrategieAutomatique;
+import utils.TypeEnnemi;
+import utils.TypeHeros;
+
+/**
+ * Benchmarks des opérations élémentaires des personnages : attaque et barre de statistiques.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonnageBenchmark {
+    private Heros heros;
+    private Ennemi ennemi;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        Logger.getLogger("").setLevel(java.util.logging.Level.OFF); // Pas de journalisation pendant les mesures
+        heros = new Heros("Bench", TypeHeros.BARBARE,
+                Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, 1, false, 0.5)));
+        ennemi = new Ennemi("Ryu", 100, 2, TypeEnnemi.CATCHEUR);
+    }
+
+    /**
+     * Attaque simple d'un personnage sur un autre (les PV de la cible sont remis à niveau à chaque appel).
+     */
+    @Benchmark
+    public int attaque() {
+        ennemi.setPv(1_000_000);
+        heros.attaque(ennemi);
+        return ennemi.getPv();
+    }
+
+    /**
+     * Barre de statistiques d'un ennemi.
+     */
+    @Benchmark
+    public String statsBarEnnemi() {
+        return ennemi.statsBar();
+    }
+
+    /**
+     * Barre de statistiques du héros.
+     */
+    @Benchmark
+    public String statsBarHeros() {
+        return heros.statsBar();
+    }
+}
@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import questions.ListeQuestions;
+import questions.Question;
+import utils.Alea;
+
+/**
+ * Benchmark du tirage d'une question aléatoire (globalement ou par catégorie et difficulté) pour une banque de taille réaliste et une très grande banque.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class QuestionsBenchmark {
+    /**
+     * Nombre de questions dans la banque.
+     */
+    @Param({"40", "100000"})
+    public int taille;
+
+    private ListeQuestions listeQuestions;
+    private final Alea alea = new Alea(42);
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        List<Question> banque = new ArrayList<>();
+        for (int i = 0; i < taille; i++) {
+            banque.add(new Question("Question " + i + " ?", List.of("A", "B", "C", "D"), "A",
+                    "Catégorie " + i % 8, 1 + i % 3));
+        }
+        listeQuestions = new ListeQuestions(banque);
+    }
+
+    /**
+     * Tirage d'une question aléatoire ; la banque est remise en jeu (en temps constant) quand elle est épuisée.
+     */
+    @Benchmark
+    public Question getQuestionAleatoire() {
+        if (listeQuestions.estVide()) {
+            listeQuestions.reinitialiser();
+        }
+        return listeQuestions.getQuestionAleatoire();
+    }
+
+    /**
+     * Tirage d'une question aléatoire d'une catégorie et d'une difficulté données.
+     */
+    @Benchmark
+    public Question getQuestionAleatoireParCategorie() {
+        if (listeQuestions.estVide()) {
+            listeQuestions.reinitialiser();
+        }
+        Question question = listeQuestions.getQuestionAleatoire(alea, "Catégorie 3", 2);
+        if (question == null) {
+            listeQuestions.reinitialiser();
+        }
+        return question;
+    }
+}
@@ -1,7 +1,35 @@
+import main.Contexte;
+import main.HorlogeTempsReel;
 import main.Jeu;
+import main.Sauvegarde;
+import analyse.JournalCombats;
+import analyse.LecteurCombats;
+import analyse.StatistiquesCombats;
+import metriques.Metriques;
+import questions.BanqueQuestions;
+import questions.CompilateurPaquet;
+import questions.ResultatImport;
+import rejeu.Enregistreur;
+import rejeu.JournalSession;
+import rejeu.Rejoueur;
+import rejeu.ResultatRejeu;
+import serveur.ServeurJeu;
+import simulation.Estimateur;
+import simulation.Estimation;
+import simulation.Resultats;
+import simulation.Simulateur;
+import utils.ReserveNoms;
+import utils.TypeHeros;
+import utils.TypeInitiative;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.LogManager;
+import java.util.logging.Logger;
 
 /**
  * Classe main de l'application "Beat them all".
@@ -21,38 +49,332 @@ public class Main {
         System.out.println("Développé par Matys LEPRETRE et Benjamin ZAWODA.");
     }
 
+    /**
+     * Charge la configuration de la journalisation depuis le fichier {@code logging.properties} des ressources.
+     * Elle est chargée avant le choix du mode, pour que la partie console, le serveur, les simulations et
+     * les rejeux journalisent tous de la même façon.
+     *
+     * @return `false` si le fichier est introuvable, sinon `true`.
+     */
+    private static boolean configurerJournaux() {
+        try (InputStream input = Main.class.getClassLoader().getResourceAsStream("logging.properties")) {
+            if (input == null) {
+                System.err.println("Fichier logging.properties introuvable dans resources !");
+                return false;
+            }
+            LogManager.getLogManager().readConfiguration(input);
+        } catch (Exception e) {
+            System.err.println("Erreur lors du chargement de logging.properties : " + e.getMessage());
+        }
+        return true;
+    }
+
     /**
      * Point d'entrée principal du programme.
      * Cette méthode exécute les étapes suivantes :
      * <ul>
      * <li>Appelle la méthode {@link #init()} pour l'initialisation.</li>
      * <li>Crée une instance de la classe {@code main.Jeu} pour démarrer le jeu.</li>
-     * <li>Démarre la boucle principale du jeu où chaque tour est joué successivement.</li>
+     * <li>Démarre la boucle principale du jeu où chaque tour est joué successivement, sur un thread virtuel.</li>
      * </ul>
+     * Avec la propriété système {@code jeu.sauvegarde}, la partie est sauvegardée dans ce fichier à chaque tour
+     * et reprise au lancement suivant (voir {@link Sauvegarde}).
+     * Avec la propriété système {@code jeu.journal}, chaque nouvelle partie est enregistrée dans ce dossier
+     * (voir {@link Enregistreur}), pour être rejouée avec l'argument {@code --rejeu} (voir {@link #rejeu(String[])}).
+     *
+     * Avec l'argument {@code --simulation} ou {@code --estimation}, des parties sont jouées sans interface à la place
+     * (voir {@link #simulation(String[])} et {@link #estimation(String[])}).
+     * Avec l'argument {@code --serveur}, les parties sont jouées en réseau (voir {@link #serveur(String[])}).
+     * Avec l'argument {@code --analyse-combats}, un journal des combats est analysé (voir {@link #analyseCombats(String[])}).
+     * Avec l'argument {@code --rejeu}, des sessions enregistrées sont rejouées (voir {@link #rejeu(String[])}).
+     * Avec l'argument {@code --compiler-questions}, des fichiers CSV de questions sont importés et compilés en paquet binaire
+     * (voir {@link #compilerQuestions(String[])}).
      *
-     * @param args Arguments de la ligne de commande (non utilisés dans ce programme).
+     * @param args Arguments de la ligne de commande.
+     * @throws InterruptedException Si le thread principal est interrompu pendant la partie.
+     * @throws IOException          Si le port du serveur ne peut pas être ouvert ou le paquet de questions écrit.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        // Journalisation configurée avant tout mode : asynchrone vers le fichier, seules les erreurs sur la console
+        if (!configurerJournaux()) {
+            return;
+        }
+        try {
+            TypeInitiative.configuree(); // Règle d'initiative vérifiée une fois, avant toute partie
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        ReserveNoms.prechauffer(); // Chargement des noms pendant l'accueil et la saisie
+        BanqueQuestions.prechauffer(Jeu.fichierQuestions()); // Chargement des questions pendant l'accueil et la saisie
+        Metriques.publier(); // Compteurs consultables par JMX (JConsole, VisualVM)
+        if (args.length > 0 && args[0].equals("--simulation")) {
+            simulation(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--estimation")) {
+            estimation(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serveur")) {
+            serveur(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--compiler-questions")) {
+            compilerQuestions(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--rejeu")) {
+            rejeu(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--analyse-combats")) {
+            analyseCombats(args);
+            return;
+        }
+
         init(); // Affiche les messages d'accueil
 
-        try (InputStream input = Main.class.getClassLoader().getResourceAsStream("logging.properties")) {
-            if (input == null) {
-                System.err.println("Fichier logging.properties introuvable dans resources !");
-                return;
+        // Fichier de sauvegarde facultatif : la partie y est sauvegardée à chaque tour et reprise au lancement suivant
+        String cheminSauvegarde = System.getProperty("jeu.sauvegarde");
+        Path fichierSauvegarde = cheminSauvegarde == null ? null : Path.of(cheminSauvegarde);
+        // Dossier de journaux facultatif : chaque nouvelle partie y est enregistrée pour être rejouée (--rejeu)
+        String cheminJournaux = System.getProperty("jeu.journal");
+        Path dossierJournaux = cheminJournaux == null ? null : Path.of(cheminJournaux);
+
+        // La partie est jouée sur un thread virtuel : les pauses ne bloquent pas de thread système
+        Thread partie = Thread.ofVirtual().name("partie").start(() -> {
+            Jeu.attendre(500); // Pause pour transition
+            Jeu jeu = reprendre(fichierSauvegarde);
+            Enregistreur enregistreur = jeu == null && dossierJournaux != null ? new Enregistreur(Contexte.console()) : null;
+            try {
+                if (jeu == null) {
+                    jeu = enregistreur != null ? new Jeu(enregistreur.getContexte()) : new Jeu(); // Initialisation du jeu
+                    jeu.demarrageJeu(); // Démarrage du jeu
+                }
+
+                // Boucle principale du jeu
+                Sauvegarde sauvegarde = new Sauvegarde();
+                while (!jeu.estTerminee()) {
+                    Jeu.attendre(1000); // Pause entre les tours
+                    jeu.jouerTour(); // Joue un tour de jeu
+                    sauvegarder(sauvegarde, jeu, fichierSauvegarde);
+                }
+            } finally {
+                // Le journal est écrit même si la partie est interrompue (joueur déconnecté, erreur)
+                if (enregistreur != null) enregistrerJournal(enregistreur, dossierJournaux);
             }
-            LogManager.getLogManager().readConfiguration(input);
-        } catch (Exception e) {
-            System.err.println("Erreur lors du chargement de logging.properties : " + e.getMessage());
+        });
+        partie.join();
+    }
+
+    /**
+     * Reprend la partie du fichier de sauvegarde, s'il existe.
+     *
+     * @param fichier Fichier de sauvegarde (propriété système {@code jeu.sauvegarde}), ou {@code null}.
+     * @return La partie reprise, ou {@code null} pour démarrer une nouvelle partie.
+     */
+    private static Jeu reprendre(Path fichier) {
+        if (fichier == null || !Files.exists(fichier)) {
+            return null;
+        }
+        try {
+            Contexte contexte = Contexte.console();
+            Jeu jeu = Sauvegarde.charger(fichier, contexte);
+            contexte.getRendu().ligne("Reprise de la partie de " + jeu.hero.getName() + ".");
+            jeu.getCarte().afficherCarte(contexte.getRendu());
+            return jeu;
+        } catch (IOException e) {
+            System.err.println("Sauvegarde illisible, nouvelle partie : " + e.getMessage());
+            return null;
         }
+    }
 
-        Jeu.attendre(500); // Pause pour transition
-        Jeu jeu = new Jeu(); // Initialisation du jeu
-        jeu.demarrageJeu(); // Démarrage du jeu
+    /**
+     * Sauvegarde la partie après un tour, ou supprime la sauvegarde si la partie est terminée.
+     *
+     * @param sauvegarde Sauvegarde réutilisée d'un tour à l'autre.
+     * @param jeu        Partie en cours.
+     * @param fichier    Fichier de sauvegarde, ou {@code null} pour ne pas sauvegarder.
+     */
+    private static void sauvegarder(Sauvegarde sauvegarde, Jeu jeu, Path fichier) {
+        if (fichier == null) {
+            return;
+        }
+        try {
+            if (jeu.estTerminee()) {
+                Files.deleteIfExists(fichier);
+            } else {
+                sauvegarde.enregistrer(jeu, fichier);
+            }
+        } catch (IOException e) {
+            System.err.println("Sauvegarde impossible : " + e.getMessage());
+        }
+    }
 
-        // Boucle principale du jeu
-        while (true) {
-            Jeu.attendre(1000); // Pause entre les tours
-            jeu.jouerTour(); // Joue un tour de jeu
+    /**
+     * Écrit le journal d'une session dans le dossier des journaux, sous le nom {@code session-<graine>.jnl}.
+     *
+     * @param enregistreur Enregistreur de la session.
+     * @param dossier      Dossier des journaux.
+     */
+    private static void enregistrerJournal(Enregistreur enregistreur, Path dossier) {
+        JournalSession journal = enregistreur.journal();
+        try {
+            Files.createDirectories(dossier);
+            journal.ecrire(dossier.resolve(String.format("session-%016x%s", journal.graine(), Rejoueur.EXTENSION)));
+        } catch (IOException e) {
+            System.err.println("Journal de session impossible à écrire : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mode simulation : joue des parties sans interface sur tous les cœurs et affiche les résultats agrégés.
+     * Usage : {@code --simulation [nombre de parties] [type de héros] [niveau] [graine]}.
+     * Avec la propriété système {@code jeu.combats}, les combats sont enregistrés dans ce journal binaire
+     * (voir {@link JournalCombats}).
+     *
+     * @param args Arguments de la ligne de commande.
+     * @throws IOException Si le journal des combats ne peut pas être écrit.
+     */
+    private static void simulation(String[] args) throws IOException {
+        int nbParties = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        TypeHeros type = args.length > 2 ? TypeHeros.valueOf(args[2].toUpperCase()) : TypeHeros.BARBARE;
+        int niveau = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        long graine = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        Logger.getLogger("").setLevel(Level.WARNING); // Pas de journalisation détaillée en simulation
+
+        // Journal des combats facultatif, à analyser ensuite avec --analyse-combats
+        String cheminCombats = System.getProperty("jeu.combats");
+        JournalCombats journal = cheminCombats == null ? null : new JournalCombats(Path.of(cheminCombats));
+
+        Simulateur simulateur = new Simulateur();
+        if (journal != null) simulateur.setObservateurs(journal::observateur);
+        long debut = System.nanoTime();
+        Resultats resultats = simulateur.simuler(nbParties, graine, type, niveau);
+        long duree = System.nanoTime() - debut;
+        simulateur.fermer();
+        if (journal != null) journal.close();
+
+        System.out.println("Simulation " + type + " niveau " + niveau + " (graine " + graine + ")");
+        System.out.println(resultats);
+        System.out.printf("Durée : %.2f s (%.0f parties/s)%n", duree / 1e9, nbParties / (duree / 1e9));
+    }
+
+    /**
+     * Mode estimation : estime la probabilité de victoire de chaque type de héros à chaque niveau,
+     * avec des barres d'erreur au niveau de confiance de 95 %.
+     * Usage : {@code --estimation [précision en points de %] [parties max par couple] [graine]}.
+     *
+     * @param args Arguments de la ligne de commande.
+     */
+    private static void estimation(String[] args) {
+        double precision = args.length > 1 ? Double.parseDouble(args[1]) / 100 : 0.01;
+        long maxParties = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000;
+        long graine = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        Logger.getLogger("").setLevel(Level.WARNING); // Pas de journalisation détaillée en simulation
+
+        Simulateur simulateur = new Simulateur();
+        Estimateur estimateur = new Estimateur(simulateur, precision, 1.96, maxParties);
+        System.out.printf("Estimation à ± %.2f points (95 %%), graine %d, %d threads%n",
+                100 * precision, graine, simulateur.getParallelisme());
+        long debut = System.nanoTime();
+        for (Estimation estimation : estimateur.estimerTout(graine)) {
+            System.out.print(estimation);
+        }
+        simulateur.fermer();
+        System.out.printf("Durée : %.2f s%n", (System.nanoTime() - debut) / 1e9);
+    }
+
+    /**
+     * Mode serveur : accepte des joueurs en réseau sur l'interface locale, chacun avec sa propre partie.
+     * Usage : {@code --serveur [port]} (4444 par défaut), puis par exemple {@code nc localhost 4444}.
+     *
+     * @param args Arguments de la ligne de commande.
+     * @throws IOException          Si le port ne peut pas être ouvert.
+     * @throws InterruptedException Si le thread principal est interrompu.
+     */
+    private static void serveur(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 4444;
+        double vitesse = Double.parseDouble(System.getProperty("jeu.vitesse", "1"));
+        try (ServeurJeu serveur = new ServeurJeu(port, () -> new HorlogeTempsReel(vitesse))) {
+            serveur.demarrer();
+            System.out.println("Serveur Beat them all en écoute sur le port " + serveur.getPort());
+            serveur.attendreArret();
+        }
+    }
+
+    /**
+     * Mode rejeu : rejoue à pleine vitesse les sessions enregistrées (propriété système {@code jeu.journal})
+     * et vérifie que chacune produit les mêmes événements que lors de l'enregistrement.
+     * Seules les sessions divergentes sont détaillées, suivies du bilan et du débit.
+     * Usage : {@code --rejeu <journal ou dossier de journaux>}.
+     *
+     * @param args Arguments de la ligne de commande.
+     * @throws IOException Si un journal ne peut pas être lu.
+     */
+    private static void rejeu(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : --rejeu <journal ou dossier de journaux>");
+            return;
+        }
+        Logger.getLogger("").setLevel(Level.WARNING); // Pas de journalisation détaillée en rejeu
+
+        long debut = System.nanoTime();
+        List<ResultatRejeu> resultats = Rejoueur.rejouer(Path.of(args[1]));
+        long duree = System.nanoTime() - debut;
+        long divergentes = resultats.stream().filter(r -> !r.conforme()).peek(System.out::println).count();
+        System.out.printf("%d sessions rejouées, %d divergentes en %.2f s (%.0f sessions/s)%n", resultats.size(),
+                divergentes, duree / 1e9, resultats.size() / (duree / 1e9));
+    }
+
+    /**
+     * Mode analyse : parcourt un journal des combats et affiche ses statistiques et le débit de lecture,
+     * ou seulement les événements d'un combat si une partie et un combat sont donnés.
+     * Usage : {@code --analyse-combats <journal> [partie combat]}.
+     *
+     * @param args Arguments de la ligne de commande.
+     * @throws IOException Si le journal ne peut pas être lu.
+     */
+    private static void analyseCombats(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : --analyse-combats <journal> [partie combat]");
+            return;
+        }
+        LecteurCombats lecteur = LecteurCombats.ouvrir(Path.of(args[1]));
+        if (args.length > 3) {
+            long nombre = lecteur.parcourirCombat(Long.parseLong(args[2]), Integer.parseInt(args[3]),
+                    (type, a, b, c, d) -> System.out.printf("%-17s %3d %5d %8d %8d%n", type, a, b, c, d));
+            if (nombre < 0) System.out.println("Combat introuvable.");
+            return;
+        }
+        StatistiquesCombats statistiques = new StatistiquesCombats();
+        long debut = System.nanoTime();
+        long nombre = lecteur.parcourir(statistiques);
+        long duree = System.nanoTime() - debut;
+        System.out.print(statistiques);
+        System.out.printf("%d événements de %d combats lus en %.1f ms (%.1f millions d'événements/s)%n", nombre,
+                lecteur.nombreCombats(), duree / 1e6, nombre / (duree / 1e3));
+    }
+
+    /**
+     * Compilation hors ligne d'un fichier CSV de questions, ou de tous les fichiers CSV d'un dossier, en paquet binaire
+     * à utiliser ensuite avec la propriété système {@code jeu.questions}.
+     * Le rapport d'import de chaque fichier (débit, doublons et rejets) est affiché.
+     * Usage : {@code --compiler-questions <fichier CSV ou dossier> <paquet .qcm>}.
+     *
+     * @param args Arguments de la ligne de commande.
+     * @throws IOException Si le fichier CSV ne peut pas être lu ou le paquet écrit.
+     */
+    private static void compilerQuestions(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage : --compiler-questions <fichier CSV ou dossier> <paquet .qcm>");
+            return;
         }
+        ResultatImport resultat = CompilateurPaquet.compiler(Path.of(args[1]), Path.of(args[2]));
+        System.out.print(resultat);
+        System.out.println(resultat.questions().size() + " questions compilées dans " + args[2]);
     }
 }
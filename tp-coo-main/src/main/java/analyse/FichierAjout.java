@@ -0,0 +1,122 @@
+package analyse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fichier en ajout seul, écrit par projection en mémoire.
+ * Le fichier est projeté par segments d'au moins {@value #TAILLE_SEGMENT} octets : un ajout n'est qu'une copie
+ * en mémoire, sans appel système tant que le segment n'est pas plein.
+ * L'en-tête de {@value #TAILLE_EN_TETE} octets contient la magie, la version et la longueur validée du fichier,
+ * mise à jour après chaque ajout : un lecteur ignore ce qui suit, même si le processus s'est arrêté en cours d'écriture.
+ */
+final class FichierAjout implements Closeable {
+    /**
+     * Taille de l'en-tête, en octets.
+     */
+    static final int TAILLE_EN_TETE = 16;
+
+    /**
+     * Taille minimale d'un segment projeté, en octets.
+     */
+    private static final int TAILLE_SEGMENT = 1 << 20;
+
+    /**
+     * Canal du fichier.
+     */
+    private final FileChannel canal;
+
+    /**
+     * En-tête projeté.
+     */
+    private final MappedByteBuffer enTete;
+
+    /**
+     * Segment projeté en cours d'écriture.
+     */
+    private MappedByteBuffer segment;
+
+    /**
+     * Position du segment dans le fichier.
+     */
+    private long debutSegment;
+
+    /**
+     * Longueur validée du fichier.
+     */
+    private long longueur;
+
+    /**
+     * Ouvre un fichier en ajout, en le créant s'il n'existe pas ; un fichier existant est complété.
+     *
+     * @param fichier Chemin du fichier.
+     * @param magie   Nombre magique attendu au début du fichier.
+     * @param version Version du format.
+     * @throws IOException Si le fichier ne peut pas être ouvert ou n'a pas le format attendu.
+     */
+    FichierAjout(Path fichier, int magie, int version) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean nouveau = canal.size() == 0;
+            enTete = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAILLE_EN_TETE);
+            if (nouveau) {
+                enTete.putInt(0, magie).putInt(4, version).putLong(8, TAILLE_EN_TETE);
+            } else if (enTete.getInt(0) != magie || enTete.getInt(4) != version) {
+                throw new IOException(fichier + " n'a pas le format attendu.");
+            }
+            longueur = enTete.getLong(8);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Ajoute des octets à la fin du fichier.
+     *
+     * @param donnees Octets à ajouter (entre la position et la limite, qui restent inchangées).
+     * @return La position des octets ajoutés dans le fichier.
+     * @throws IOException Si un nouveau segment ne peut pas être projeté.
+     */
+    long ajouter(ByteBuffer donnees) throws IOException {
+        int taille = donnees.remaining();
+        if (segment == null || longueur + taille > debutSegment + segment.capacity()) {
+            debutSegment = longueur;
+            segment = canal.map(FileChannel.MapMode.READ_WRITE, debutSegment, Math.max(TAILLE_SEGMENT, taille));
+        }
+        long position = longueur;
+        segment.put((int) (position - debutSegment), donnees, donnees.position(), taille);
+        longueur += taille;
+        enTete.putLong(8, longueur);
+        return position;
+    }
+
+    /**
+     * Récupère la longueur validée du fichier, en-tête compris.
+     *
+     * @return La longueur du fichier.
+     */
+    long longueur() {
+        return longueur;
+    }
+
+    /**
+     * Écrit le contenu sur le disque, puis ramène le fichier à sa longueur validée (la fin du dernier segment
+     * projeté n'a jamais été écrite).
+     *
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    @Override
+    public void close() throws IOException {
+        try (canal) {
+            if (segment != null) segment.force();
+            enTete.force();
+            canal.truncate(longueur);
+        }
+    }
+}
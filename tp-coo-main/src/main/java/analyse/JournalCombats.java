@@ -0,0 +1,118 @@
+package analyse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import utils.IObservateur;
+import utils.TypeEvenementCombat;
+
+/**
+ * Journal binaire des combats, en ajout seul.
+ * Chaque partie observée ({@link #observateur(long)}) y écrit ses combats : un combat est un bloc contigu
+ * d'événements de {@value TypeEvenementCombat#TAILLE} octets (voir {@link TypeEvenementCombat}), du début à la fin
+ * du combat, ajouté d'un coup à la fin du combat. Les parties peuvent donc être jouées en parallèle
+ * sur un même journal sans que leurs événements se mélangent.
+ * Chaque bloc a une entrée dans un index séparé (fichier {@code .idx}) : numéro de partie, position du bloc,
+ * numéro du combat et nombre d'événements. {@link LecteurCombats} s'en sert pour aller directement à un combat.
+ *
+ * <p>Les deux fichiers commencent par un en-tête de 16 octets : magie ({@code BTAC} ou {@code BTAI}), version
+ * et longueur validée. Un journal existant est complété.</p>
+ */
+public final class JournalCombats implements Closeable {
+    /**
+     * Nombre magique du fichier des événements ({@code BTAC}).
+     */
+    static final int MAGIE = 0x42544143;
+
+    /**
+     * Nombre magique du fichier d'index ({@code BTAI}).
+     */
+    static final int MAGIE_INDEX = 0x42544149;
+
+    /**
+     * Version du format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Taille d'une entrée d'index, en octets.
+     */
+    static final int TAILLE_ENTREE = 24;
+
+    /**
+     * Fichier des événements.
+     */
+    private final FichierAjout evenements;
+
+    /**
+     * Fichier d'index.
+     */
+    private final FichierAjout index;
+
+    /**
+     * Entrée d'index réutilisée.
+     */
+    private final ByteBuffer entree = ByteBuffer.allocate(TAILLE_ENTREE);
+
+    /**
+     * Ouvre un journal, en le créant s'il n'existe pas.
+     *
+     * @param fichier Fichier des événements (l'index est à côté, voir {@link #fichierIndex(Path)}).
+     * @throws IOException Si le journal ne peut pas être ouvert.
+     */
+    public JournalCombats(Path fichier) throws IOException {
+        this.evenements = new FichierAjout(fichier, MAGIE, VERSION);
+        try {
+            this.index = new FichierAjout(fichierIndex(fichier), MAGIE_INDEX, VERSION);
+        } catch (IOException e) {
+            evenements.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Récupère le chemin du fichier d'index d'un journal.
+     *
+     * @param fichier Fichier des événements.
+     * @return Le fichier d'index.
+     */
+    public static Path fichierIndex(Path fichier) {
+        return fichier.resolveSibling(fichier.getFileName() + ".idx");
+    }
+
+    /**
+     * Crée l'observateur d'une partie, qui écrit ses combats dans ce journal.
+     * Un observateur n'est utilisé que par le thread de sa partie.
+     *
+     * @param partie Numéro de la partie (par exemple son indice dans une série de simulations).
+     * @return L'observateur de la partie.
+     */
+    public IObservateur observateur(long partie) {
+        return new ObservateurCombats(this, partie);
+    }
+
+    /**
+     * Ajoute le bloc d'un combat au journal, puis son entrée d'index.
+     *
+     * @param partie Numéro de la partie.
+     * @param combat Numéro du combat dans la partie.
+     * @param bloc   Événements du combat.
+     * @throws IOException Si le journal ne peut pas être écrit.
+     */
+    synchronized void ajouter(long partie, int combat, ByteBuffer bloc) throws IOException {
+        int nombre = bloc.remaining() / TypeEvenementCombat.TAILLE;
+        long position = evenements.ajouter(bloc);
+        entree.clear();
+        entree.putLong(partie).putLong(position).putInt(combat).putInt(nombre).flip();
+        index.ajouter(entree);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try (index) {
+            evenements.close();
+        }
+    }
+}
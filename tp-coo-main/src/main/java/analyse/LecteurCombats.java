@@ -0,0 +1,195 @@
+package analyse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import utils.IVisiteurCombats;
+import utils.TypeEvenementCombat;
+
+/**
+ * Lecteur d'un {@link JournalCombats}, projeté en mémoire en lecture seule.
+ * Le parcours d'un journal ne fait que lire des entiers dans la projection, sans allocation :
+ * il traite plusieurs millions d'événements par seconde. L'index permet d'aller directement aux événements
+ * d'un combat donné, sans lire ce qui précède.
+ * Seule la partie validée du journal est lue (voir l'en-tête) : un journal en cours d'écriture peut être lu.
+ * Un lecteur n'est pas partagé entre threads.
+ */
+public final class LecteurCombats {
+    /**
+     * Taille maximale d'une projection, en octets (multiple de la taille d'un événement).
+     */
+    private static final long TAILLE_PROJECTION = 1L << 30;
+
+    /**
+     * Projections successives du fichier des événements.
+     */
+    private final ByteBuffer[] projections;
+
+    /**
+     * Longueur validée du fichier des événements.
+     */
+    private final long longueur;
+
+    /**
+     * Entrées de l'index (après l'en-tête).
+     */
+    private final ByteBuffer index;
+
+    /**
+     * Nombre de combats de l'index.
+     */
+    private final int nombreCombats;
+
+    /**
+     * Entrée d'index de chaque combat, construite à la première recherche.
+     */
+    private Map<CleCombat, Integer> entrees;
+
+    /**
+     * Identifiant d'un combat dans le journal.
+     *
+     * @param partie Numéro de la partie.
+     * @param combat Numéro du combat dans la partie.
+     */
+    private record CleCombat(long partie, int combat) {
+    }
+
+    /**
+     * Constructeur d'un lecteur à partir des projections des deux fichiers.
+     *
+     * @param projections Projections du fichier des événements.
+     * @param longueur    Longueur validée du fichier des événements.
+     * @param index       Entrées de l'index.
+     */
+    private LecteurCombats(ByteBuffer[] projections, long longueur, ByteBuffer index) {
+        this.projections = projections;
+        this.longueur = longueur;
+        this.index = index;
+        this.nombreCombats = index.remaining() / JournalCombats.TAILLE_ENTREE;
+    }
+
+    /**
+     * Ouvre un journal en lecture.
+     *
+     * @param fichier Fichier des événements (l'index est à côté).
+     * @return Le lecteur du journal.
+     * @throws IOException Si le journal ne peut pas être lu ou n'est pas un journal de combats.
+     */
+    public static LecteurCombats ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ);
+             FileChannel canalIndex = FileChannel.open(JournalCombats.fichierIndex(fichier), StandardOpenOption.READ)) {
+            long longueur = verifierEnTete(canal, JournalCombats.MAGIE, fichier);
+            long longueurIndex = verifierEnTete(canalIndex, JournalCombats.MAGIE_INDEX, fichier);
+            ByteBuffer[] projections = new ByteBuffer[(int) ((longueur + TAILLE_PROJECTION - 1) / TAILLE_PROJECTION)];
+            for (int i = 0; i < projections.length; i++) {
+                long debut = i * TAILLE_PROJECTION;
+                projections[i] = canal.map(FileChannel.MapMode.READ_ONLY, debut, Math.min(TAILLE_PROJECTION, longueur - debut));
+            }
+            ByteBuffer index = canalIndex.map(FileChannel.MapMode.READ_ONLY, FichierAjout.TAILLE_EN_TETE,
+                    longueurIndex - FichierAjout.TAILLE_EN_TETE);
+            return new LecteurCombats(projections, longueur, index);
+        }
+    }
+
+    /**
+     * Lit et vérifie l'en-tête d'un fichier du journal.
+     *
+     * @param canal   Canal du fichier.
+     * @param magie   Nombre magique attendu.
+     * @param fichier Fichier du journal (pour les messages d'erreur).
+     * @return La longueur validée du fichier.
+     * @throws IOException Si l'en-tête est absent ou invalide.
+     */
+    private static long verifierEnTete(FileChannel canal, int magie, Path fichier) throws IOException {
+        ByteBuffer enTete = ByteBuffer.allocate(FichierAjout.TAILLE_EN_TETE);
+        while (enTete.hasRemaining() && canal.read(enTete) >= 0) {
+            // Lecture de l'en-tête complet
+        }
+        if (enTete.hasRemaining() || enTete.getInt(0) != magie || enTete.getInt(4) != JournalCombats.VERSION) {
+            throw new IOException(fichier + " n'est pas un journal de combats.");
+        }
+        long longueur = enTete.getLong(8);
+        if (longueur < FichierAjout.TAILLE_EN_TETE || longueur > canal.size()) {
+            throw new IOException(fichier + " : journal de combats tronqué.");
+        }
+        return longueur;
+    }
+
+    /**
+     * Récupère le nombre d'événements du journal.
+     *
+     * @return Le nombre d'événements.
+     */
+    public long nombreEvenements() {
+        return (longueur - FichierAjout.TAILLE_EN_TETE) / TypeEvenementCombat.TAILLE;
+    }
+
+    /**
+     * Récupère le nombre de combats du journal.
+     *
+     * @return Le nombre de combats.
+     */
+    public int nombreCombats() {
+        return nombreCombats;
+    }
+
+    /**
+     * Parcourt tous les événements du journal, dans l'ordre où ils ont été écrits.
+     *
+     * @param visiteur Traitement de chaque événement.
+     * @return Le nombre d'événements parcourus.
+     */
+    public long parcourir(IVisiteurCombats visiteur) {
+        return parcourir(FichierAjout.TAILLE_EN_TETE, longueur, visiteur);
+    }
+
+    /**
+     * Parcourt les événements d'un combat, du début à la fin du combat, en y allant directement grâce à l'index.
+     *
+     * @param partie   Numéro de la partie.
+     * @param combat   Numéro du combat dans la partie (à partir de 1).
+     * @param visiteur Traitement de chaque événement.
+     * @return Le nombre d'événements parcourus, ou -1 si le combat n'est pas dans le journal.
+     */
+    public long parcourirCombat(long partie, int combat, IVisiteurCombats visiteur) {
+        if (entrees == null) {
+            entrees = new HashMap<>(nombreCombats * 2);
+            for (int i = 0; i < nombreCombats; i++) {
+                int base = i * JournalCombats.TAILLE_ENTREE;
+                entrees.put(new CleCombat(index.getLong(base), index.getInt(base + 16)), i);
+            }
+        }
+        Integer entree = entrees.get(new CleCombat(partie, combat));
+        if (entree == null) {
+            return -1;
+        }
+        int base = entree * JournalCombats.TAILLE_ENTREE;
+        long debut = index.getLong(base + 8);
+        return parcourir(debut, debut + (long) index.getInt(base + 20) * TypeEvenementCombat.TAILLE, visiteur);
+    }
+
+    /**
+     * Parcourt les événements d'une zone du journal.
+     *
+     * @param debut    Position du premier événement.
+     * @param fin      Position qui suit le dernier événement.
+     * @param visiteur Traitement de chaque événement.
+     * @return Le nombre d'événements parcourus.
+     */
+    private long parcourir(long debut, long fin, IVisiteurCombats visiteur) {
+        long nombre = 0;
+        for (long position = debut; position < fin; position += TypeEvenementCombat.TAILLE) {
+            ByteBuffer projection = projections[(int) (position / TAILLE_PROJECTION)];
+            int i = (int) (position % TAILLE_PROJECTION);
+            visiteur.evenement(TypeEvenementCombat.depuisCode(projection.get(i)), projection.get(i + 1) & 0xFF,
+                    projection.getShort(i + 2) & 0xFFFF, projection.getInt(i + 4), projection.getLong(i + 8));
+            nombre++;
+        }
+        return nombre;
+    }
+}
@@ -0,0 +1,141 @@
+package analyse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import utils.IObservateur;
+import utils.IPersonnage;
+import utils.TypeEnnemi;
+import utils.TypeEvenementCombat;
+
+/**
+ * Observateur d'une partie qui encode ses combats pour le {@link JournalCombats}.
+ * Les événements d'un combat sont accumulés dans un tampon réutilisé, puis ajoutés d'un bloc au journal
+ * à la fin du combat. Les événements hors combat (déplacements, mort du héros en fin de partie) sont ignorés.
+ */
+final class ObservateurCombats implements IObservateur {
+    /**
+     * Journal dans lequel les combats sont écrits.
+     */
+    private final JournalCombats journal;
+
+    /**
+     * Numéro de la partie.
+     */
+    private final long partie;
+
+    /**
+     * Événements du combat en cours.
+     */
+    private ByteBuffer bloc = ByteBuffer.allocate(64 * TypeEvenementCombat.TAILLE);
+
+    /**
+     * Numéro du combat en cours (ou du dernier combat) dans la partie.
+     */
+    private int combat;
+
+    /**
+     * Indique si un combat est en cours.
+     */
+    private boolean enCombat;
+
+    /**
+     * Constructeur de l'observateur d'une partie.
+     *
+     * @param journal Journal dans lequel les combats sont écrits.
+     * @param partie  Numéro de la partie.
+     */
+    ObservateurCombats(JournalCombats journal, long partie) {
+        this.journal = journal;
+        this.partie = partie;
+    }
+
+    @Override
+    public void debutCombat(IPersonnage heros, int ennemis) {
+        combat++;
+        enCombat = true;
+        bloc.clear();
+        ecrire(TypeEvenementCombat.DEBUT_COMBAT, Math.min(ennemis, 255), typeHeros(heros), combat, partie);
+    }
+
+    @Override
+    public void debutRound(int numero) {
+        if (enCombat) ecrire(TypeEvenementCombat.ROUND, 0, 0, numero, 0);
+    }
+
+    @Override
+    public void degats(IPersonnage attaquant, IPersonnage cible, int degats) {
+        if (enCombat) ecrire(TypeEvenementCombat.ATTAQUE, code(attaquant), code(cible), degats, cible.getPv());
+    }
+
+    @Override
+    public void mort(IPersonnage personnage) {
+        if (enCombat) ecrire(TypeEvenementCombat.MORT, code(personnage), 0, 1, 0);
+    }
+
+    @Override
+    public void morts(TypeEnnemi type, int nombre) {
+        if (enCombat) ecrire(TypeEvenementCombat.MORT, 1 + type.ordinal(), 0, nombre, 0);
+    }
+
+    @Override
+    public void capaciteSpeciale(IPersonnage heros, int degats) {
+        if (enCombat) ecrire(TypeEvenementCombat.CAPACITE_SPECIALE, typeHeros(heros), 0, degats, 0);
+    }
+
+    @Override
+    public void reponse(boolean bonne, int difficulte) {
+        if (enCombat) ecrire(TypeEvenementCombat.QCM, bonne ? 1 : 0, difficulte, 0, 0);
+    }
+
+    @Override
+    public void finCombat(IPersonnage heros, int rounds) {
+        if (!enCombat) return;
+        ecrire(TypeEvenementCombat.FIN_COMBAT, heros.estMort() ? 0 : 1, 0, rounds, heros.getPv());
+        enCombat = false;
+        try {
+            journal.ajouter(partie, combat, bloc.flip());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Ajoute un événement au bloc du combat en cours, en doublant sa capacité si besoin.
+     *
+     * @param type Type de l'événement.
+     * @param a    Premier petit entier.
+     * @param b    Second petit entier.
+     * @param c    Entier.
+     * @param d    Long.
+     */
+    private void ecrire(TypeEvenementCombat type, int a, int b, int c, long d) {
+        if (bloc.remaining() < TypeEvenementCombat.TAILLE) {
+            bloc = ByteBuffer.allocate(bloc.capacity() * 2).put(bloc.flip());
+        }
+        bloc.put(type.code()).put((byte) a).putShort((short) b).putInt(c).putLong(d);
+    }
+
+    /**
+     * Code un personnage sur un octet : 0 pour le héros, 1 plus l'ordinal de son type pour un ennemi.
+     *
+     * @param personnage Personnage à coder.
+     * @return Le code du personnage.
+     */
+    private static int code(IPersonnage personnage) {
+        return personnage instanceof Ennemi ennemi ? 1 + ennemi.getType().ordinal() : 0;
+    }
+
+    /**
+     * Récupère l'ordinal du type d'un héros.
+     *
+     * @param heros Héros.
+     * @return L'ordinal de son type.
+     */
+    private static int typeHeros(IPersonnage heros) {
+        return heros instanceof Heros h ? h.getTypeHeros().ordinal() : 0;
+    }
+}
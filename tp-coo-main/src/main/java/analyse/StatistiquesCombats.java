@@ -0,0 +1,167 @@
+package analyse;
+
+import utils.IVisiteurCombats;
+import utils.TypeEnnemi;
+import utils.TypeEvenementCombat;
+
+/**
+ * Statistiques agrégées sur les événements d'un {@link JournalCombats} : combats gagnés, rounds, attaques et dégâts
+ * dans chaque sens, ennemis vaincus par type, capacités spéciales et taux de bonnes réponses aux QCM.
+ */
+public class StatistiquesCombats implements IVisiteurCombats {
+    /**
+     * Nombre de combats terminés.
+     */
+    private long combats;
+
+    /**
+     * Nombre de combats terminés avec le héros en vie.
+     */
+    private long victoires;
+
+    /**
+     * Nombre de rounds.
+     */
+    private long rounds;
+
+    /**
+     * Nombre d'attaques du héros.
+     */
+    private long attaquesHeros;
+
+    /**
+     * Nombre d'attaques des ennemis.
+     */
+    private long attaquesEnnemis;
+
+    /**
+     * Dégâts infligés par le héros.
+     */
+    private long degatsInfliges;
+
+    /**
+     * Dégâts reçus par le héros.
+     */
+    private long degatsRecus;
+
+    /**
+     * Nombre d'ennemis vaincus, par type.
+     */
+    private final long[] morts = new long[TypeEnnemi.values().length];
+
+    /**
+     * Nombre de capacités spéciales utilisées.
+     */
+    private long capacites;
+
+    /**
+     * Nombre de QCM posés.
+     */
+    private long qcm;
+
+    /**
+     * Nombre de bonnes réponses aux QCM.
+     */
+    private long bonnesReponses;
+
+    @Override
+    public void evenement(TypeEvenementCombat type, int a, int b, int c, long d) {
+        switch (type) {
+            case ROUND -> rounds++;
+            case ATTAQUE -> {
+                if (a == 0) {
+                    attaquesHeros++;
+                    degatsInfliges += c;
+                } else {
+                    attaquesEnnemis++;
+                    degatsRecus += c;
+                }
+            }
+            case MORT -> {
+                // Les journaux écrits avant le mode horde ne donnent pas le nombre de morts (toujours un)
+                if (a > 0) morts[a - 1] += Math.max(1, c);
+            }
+            case CAPACITE_SPECIALE -> capacites++;
+            case QCM -> {
+                qcm++;
+                bonnesReponses += a;
+            }
+            case FIN_COMBAT -> {
+                combats++;
+                victoires += a;
+            }
+            default -> {
+                // Le début d'un combat ne compte que par sa fin
+            }
+        }
+    }
+
+    /**
+     * Récupère le nombre de combats terminés.
+     *
+     * @return Le nombre de combats.
+     */
+    public long getCombats() {
+        return combats;
+    }
+
+    /**
+     * Récupère le nombre de combats terminés avec le héros en vie.
+     *
+     * @return Le nombre de combats gagnés.
+     */
+    public long getVictoires() {
+        return victoires;
+    }
+
+    /**
+     * Récupère les dégâts infligés par le héros.
+     *
+     * @return Les dégâts infligés.
+     */
+    public long getDegatsInfliges() {
+        return degatsInfliges;
+    }
+
+    /**
+     * Récupère les dégâts reçus par le héros.
+     *
+     * @return Les dégâts reçus.
+     */
+    public long getDegatsRecus() {
+        return degatsRecus;
+    }
+
+    /**
+     * Récupère le nombre d'ennemis vaincus d'un type.
+     *
+     * @param type Type d'ennemi.
+     * @return Le nombre d'ennemis vaincus.
+     */
+    public long getMorts(TypeEnnemi type) {
+        return morts[type.ordinal()];
+    }
+
+    /**
+     * Récupère le nombre de QCM posés.
+     *
+     * @return Le nombre de QCM.
+     */
+    public long getQcm() {
+        return qcm;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "Combats : %d (%d gagnés) | Rounds : %d%nAttaques du héros : %d (%d dégâts) | Attaques des ennemis : %d (%d dégâts)%n",
+                combats, victoires, rounds, attaquesHeros, degatsInfliges, attaquesEnnemis, degatsRecus));
+        sb.append("Ennemis vaincus :");
+        for (TypeEnnemi type : TypeEnnemi.values()) {
+            sb.append(' ').append(type).append(' ').append(morts[type.ordinal()]);
+        }
+        sb.append(String.format("%nCapacités spéciales : %d | QCM : %d (%.1f %% de bonnes réponses)%n",
+                capacites, qcm, qcm == 0 ? 0.0 : 100.0 * bonnesReponses / qcm));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import utils.Alea;
+
+/**
+ * Génération anticipée des cartes des niveaux 1 à 3, pendant que le joueur saisit son nom, son héros et le niveau.
+ * Chaque carte candidate est générée sur un thread de fond à partir d'une copie de l'état du générateur de la partie :
+ * quand le niveau est choisi, la carte correspondante est déjà prête et les autres sont abandonnées.
+ * La carte retenue est identique à celle qu'aurait générée la partie sans anticipation, et le générateur de la partie
+ * reprend l'état qu'il aurait eu ensuite : une partie anticipée ne se distingue pas d'une partie normale.
+ */
+final class AnticipationCartes {
+    /**
+     * Dernier niveau dont la carte est fixe (et donc anticipée) : le mode sans fin génère sa carte au fil de l'avancée.
+     */
+    private static final int DERNIER_NIVEAU = 3;
+
+    /**
+     * Threads de fond des générations, partagés par toutes les parties (sessions du serveur comprises) :
+     * un par processeur, les générations en surnombre attendent leur tour.
+     */
+    private static final ExecutorService GENERATEURS = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), Thread.ofPlatform().daemon().name("anticipation-carte-", 0).factory());
+
+    /**
+     * État du générateur de la partie au lancement des générations.
+     */
+    private final long etat;
+
+    /**
+     * Génération en cours ou terminée de chaque niveau (indice = niveau - 1).
+     */
+    private final List<CompletableFuture<GenerationCarte>> generations = new ArrayList<>(DERNIER_NIVEAU);
+
+    /**
+     * Lance la génération des cartes de chaque niveau fixe.
+     *
+     * @param alea Générateur de la partie, dont l'état est copié (il n'est pas modifié).
+     */
+    AnticipationCartes(Alea alea) {
+        this.etat = alea.getEtat();
+        for (int niveau = 1; niveau <= DERNIER_NIVEAU; niveau++) {
+            int n = niveau;
+            generations.add(CompletableFuture.supplyAsync(() -> GenerationCarte.generer(n, new Alea(etat), alea),
+                    GENERATEURS));
+        }
+    }
+
+    /**
+     * Récupère la carte anticipée du niveau choisi, en attendant la fin de sa génération si nécessaire,
+     * et avance le générateur de la partie comme si elle venait d'être générée.
+     * Rien n'est récupéré si le générateur de la partie a servi depuis le lancement (par exemple une stratégie
+     * qui le partage) : la carte anticipée ne serait plus celle de la partie.
+     * Les générations des autres niveaux, qui ne peuvent plus être choisis, sont annulées : celles qui n'ont pas
+     * encore commencé libèrent leur place dans les threads de fond.
+     *
+     * @param niveau Niveau de difficulté choisi.
+     * @param alea   Générateur de la partie.
+     * @return La génération du niveau, ou {@code null} s'il n'a pas été anticipé ou si la carte doit être générée à nouveau.
+     */
+    GenerationCarte prendre(int niveau, Alea alea) {
+        boolean anticipe = niveau >= 1 && niveau <= DERNIER_NIVEAU && alea.getEtat() == etat;
+        for (int n = 1; n <= DERNIER_NIVEAU; n++) {
+            if (!anticipe || n != niveau) generations.get(n - 1).cancel(false);
+        }
+        if (!anticipe) {
+            return null;
+        }
+        GenerationCarte generation = generations.get(niveau - 1).join();
+        alea.setEtat(generation.etatFinal());
+        return generation;
+    }
+}
@@ -2,24 +2,31 @@ package main;
 
 import java.util.Arrays;
 import java.util.logging.*;
-import java.util.HashMap;
 import java.util.List;
-import net.datafaker.Faker;
 import personnages.Heros;
+import utils.Alea;
+import utils.ICarte;
+import utils.IRendu;
+import utils.TableEntiers;
+import utils.TamponBinaire;
+import utils.TypeCase;
 
 /**
  * main.Carte dans le jeu.
+ * Chaque case est stockée sur un octet ({@link TypeCase}) : une carte d'un million de cases occupe
+ * un million d'octets, et consulter une case ne compare ni n'alloue aucune chaîne.
+ * Le texte des cases n'est construit qu'à l'affichage.
  */
-public class Carte {
+public class Carte implements ICarte {
     /**
      * Logger pour enregistrer les événements liés à la carte.
      */
     private static final Logger logger = Logger.getLogger(Carte.class.getName());
 
     /**
-     * Instance de la bibliothèque Faker pour générer des données aléatoires.
+     * Générateur aléatoire utilisé pour placer les combats.
      */
-    private final Faker faker = new Faker();
+    private final Alea alea;
 
     /**
      * Nom de la carte.
@@ -42,14 +49,19 @@ public class Carte {
     private final int positionArrivee;
 
     /**
-     * Tableau représentant les cases de la carte.
+     * Tableau représentant les cases de la carte (codes {@link TypeCase}).
      */
-    private final String[] env;
+    private final byte[] env;
+
+    /**
+     * Nom affiché sur la case du héros.
+     */
+    private String nomHeros = "";
 
     /**
      * Positions des combats sur la carte, associées à des instances de {@link Combat}.
      */
-    private final HashMap<Integer, Combat> positionsCombats = new HashMap<>();
+    private final TableEntiers<Combat> positionsCombats = new TableEntiers<>();
 
     /**
      * Constructeur pour initialiser une carte avec un nom et une longueur .
@@ -60,19 +72,48 @@ public class Carte {
      * @param longueur Taille de la carte (hors cases de départ et d'arrivée).
      */
     public Carte(String nom, int longueur) {
+        this(nom, longueur, new Alea());
+    }
+
+    /**
+     * Constructeur pour initialiser une carte dont le placement des combats dépend du générateur donné.
+     *
+     * @param nom      Nom de la carte.
+     * @param longueur Taille de la carte (hors cases de départ et d'arrivée).
+     * @param alea     Générateur aléatoire de la partie.
+     */
+    public Carte(String nom, int longueur, Alea alea) {
+        this.alea = alea;
         this.nom = nom;
         this.longueur = longueur + 2;
         this.positionDepart = 0;
         this.positionArrivee = this.longueur - 1;
-        this.env = new String[this.longueur];
+        this.env = new byte[this.longueur];
         initCarte();
     }
 
+    /**
+     * Constructeur d'une carte à partir de ses cases (restauration d'une sauvegarde).
+     *
+     * @param nom  Nom de la carte.
+     * @param env  Codes {@link TypeCase} des cases, départ et arrivée compris.
+     * @param alea Générateur aléatoire de la partie.
+     */
+    private Carte(String nom, byte[] env, Alea alea) {
+        this.alea = alea;
+        this.nom = nom;
+        this.longueur = env.length;
+        this.positionDepart = 0;
+        this.positionArrivee = this.longueur - 1;
+        this.env = env;
+    }
+
     /**
      * Récupère le nom de la carte.
      * 
      * @return Le nom de la carte.
      */
+    @Override
     public String getNom() {
         return nom;
     }
@@ -82,6 +123,7 @@ public class Carte {
      * 
      * @return La longueur totale de la carte.
      */
+    @Override
     public int getLongueur() {
         return longueur;
     }
@@ -91,16 +133,22 @@ public class Carte {
      * 
      * @return La position d'arrivée.
      */
+    @Override
     public int getPositionArrivee() {
         return positionArrivee;
     }
 
+    @Override
+    public Combat getCombat(int position) {
+        return positionsCombats.get(position);
+    }
+
     /**
      * Récupère les positions des combats sur la carte.
      * 
      * @return Une map associant les positions à des instances de {@link Combat}.
      */
-    public HashMap<Integer, Combat> getPositionsCombats() {
+    public TableEntiers<Combat> getPositionsCombats() {
         return positionsCombats;
     }
 
@@ -108,21 +156,32 @@ public class Carte {
      * Initialisation de la carte
      */
     private void initCarte() {
-        Arrays.fill(env, "_");
-        env[positionDepart] = "[DEBUT]";
-        env[positionArrivee] = "[FIN]";
-        logger.info("Initialisation de la carte " + nom + " de taille " + longueur + ".");
+        Arrays.fill(env, TypeCase.VIDE.code());
+        env[positionDepart] = TypeCase.DEBUT.code();
+        env[positionArrivee] = TypeCase.FIN.code();
+        logger.info(() -> "Initialisation de la carte " + nom + " de taille " + longueur + ".");
     }
 
     /**
-     * Affiche la carte dans la console, montrant toutes les cases et leur contenu.
+     * Ajoute la carte à la trame du rendu, montrant toutes les cases et leur contenu.
+     *
+     * @param rendu Rendu de l'affichage.
      */
-    public void afficherCarte() {
-        for (String caseCarte : env) {
-            System.out.print(caseCarte);
+    @Override
+    public void afficherCarte(IRendu rendu) {
+        if (rendu.estActif()) {
+            StringBuilder trame = rendu.trame();
+            for (byte code : env) {
+                TypeCase caseCarte = TypeCase.depuisCode(code);
+                if (caseCarte == TypeCase.HEROS) {
+                    trame.append('[').append(nomHeros).append(']');
+                } else {
+                    trame.append(caseCarte.getSymbole());
+                }
+            }
+            trame.append('\n');
         }
-        System.out.println();
-        logger.info("Affichage de la carte " + nom + " de taille " + longueur + ".");
+        logger.info(() -> "Affichage de la carte " + nom + " de taille " + longueur + ".");
     }
 
     /**
@@ -130,12 +189,14 @@ public class Carte {
      * 
      * @param h Le héros à placer.
      */
+    @Override
     public void placerHero(Heros h) {
         int positionHero = h.getPosition();
         if (positionHero < longueur) {
-            env[positionHero] = "[" + h.getName() + "]";
+            env[positionHero] = TypeCase.HEROS.code();
+            nomHeros = h.getName();
         }
-        logger.info("Hero " + h.getName() + " placé sur la carte à la position " + positionHero + ".");
+        logger.info(() -> "Hero " + h.getName() + " placé sur la carte à la position " + positionHero + ".");
     }
 
     /**
@@ -146,17 +207,57 @@ public class Carte {
      * @param combats Liste des combats à placer sur la carte.
      */
     public void placerCombat(List<Combat> combats) {
-        for (Combat c : combats) {
+        int[] positions = reserverCombats(combats.size(), alea);
+        for (int i = 0; i < positions.length; i++) {
+            ajouterCombat(positions[i], combats.get(i));
+        }
+    }
+
+    /**
+     * Tire les positions de combats à placer et marque leurs cases, sans encore y associer de {@link Combat}
+     * (voir {@link #placerCombat(List)} pour les règles de placement).
+     * Les positions peuvent ainsi être tirées avant que le héros et ses combats existent.
+     *
+     * @param nombre Nombre de combats à placer.
+     * @param alea   Générateur aléatoire utilisé pour le tirage.
+     * @return La position de chaque combat, ou -1 pour un combat qui n'a pas pu être placé.
+     */
+    int[] reserverCombats(int nombre, Alea alea) {
+        int[] positions = new int[nombre];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < nombre; i++) {
             for (int tentative = 0; tentative < 10; tentative++) {
-                int position = faker.number().numberBetween(positionDepart + 2, positionArrivee - 1);
-                if (env[position].equals("_")) {
-                    positionsCombats.put(position, c);
-                    env[position] = "[!]";
-                    logger.info("Groupe d'ennemis placés sur la carte à la position " + position + ".");
+                int position = alea.entre(positionDepart + 2, positionArrivee - 1);
+                if (env[position] == TypeCase.VIDE.code()) {
+                    positions[i] = position;
+                    env[position] = TypeCase.COMBAT.code();
+                    logger.info(() -> "Groupe d'ennemis placés sur la carte à la position " + position + ".");
                     break;
                 }
             }
         }
+        return positions;
+    }
+
+    /**
+     * Marque une case comme case de combat, sans {@link Combat} associé (vague du mode horde, voir {@link Horde}).
+     *
+     * @param position Position de la case.
+     */
+    void marquerCombat(int position) {
+        env[position] = TypeCase.COMBAT.code();
+    }
+
+    /**
+     * Associe un combat à une position réservée par {@link #reserverCombats(int, Alea)}.
+     *
+     * @param position Position réservée, ou -1 si le combat n'a pas pu être placé (il est alors ignoré).
+     * @param combat   Combat à placer.
+     */
+    void ajouterCombat(int position, Combat combat) {
+        if (position >= 0) {
+            positionsCombats.put(position, combat);
+        }
     }
 
     /**
@@ -166,12 +267,14 @@ public class Carte {
      * @param newPos Nouvelle position de l'élément.
      * @param name   Nom de l'élément (affiché sur la carte).
      */
+    @Override
     public void updatePosition(int oldPos, int newPos, String name) {
         if (oldPos >= 0 && oldPos < longueur) {
-            env[oldPos] = "_";
+            env[oldPos] = TypeCase.VIDE.code();
         }
         if (newPos >= 0 && newPos < longueur) {
-            env[newPos] = "[" + name + "]";
+            env[newPos] = TypeCase.HEROS.code();
+            nomHeros = name;
         }
     }
 
@@ -179,13 +282,14 @@ public class Carte {
      * Récupère le contenu d'une case à une position donnée.
      * 
      * @param position Position de la case.
-     * @return Le contenu de la case (ou "_" si la position est invalide).
+     * @return Le contenu de la case (ou {@link TypeCase#VIDE} si la position est invalide).
      */
-    public String getCase(int position) {
+    @Override
+    public TypeCase getCase(int position) {
         if (position >= 0 && position < longueur) {
-            return env[position];
+            return TypeCase.depuisCode(env[position]);
         }
-        return "_";
+        return TypeCase.VIDE;
     }
 
     /**
@@ -193,11 +297,46 @@ public class Carte {
      *
      * @param position Position du combat.
      */
+    @Override
     public void supprimerCombat(int position) {
-        if (positionsCombats.containsKey(position)) {
-            positionsCombats.remove(position);
-            env[position] = "_";
-            logger.info("main.Combat supprimé de la position " + position + " sur la carte.");
+        if (positionsCombats.remove(position) != null) {
+            env[position] = TypeCase.VIDE.code();
+            logger.info(() -> "main.Combat supprimé de la position " + position + " sur la carte.");
+        }
+    }
+
+    /**
+     * Écrit la carte dans une sauvegarde : cases, nom du héros et combats restants.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     */
+    void sauvegarder(TamponBinaire tampon) {
+        tampon.ecrireTexte(nom);
+        tampon.ecrireOctets(env);
+        tampon.ecrireTexte(nomHeros);
+        tampon.ecrireEntier(positionsCombats.size());
+        // Seules les positions occupées sont parcourues, pas toute la carte
+        positionsCombats.pourChaque((combat, position) -> {
+            tampon.ecrireEntier(position);
+            combat.sauvegarder(tampon);
+        });
+    }
+
+    /**
+     * Recrée une carte écrite par {@link #sauvegarder(TamponBinaire)}, sans tirage aléatoire.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     * @param heros  Héros qui parcourt la carte.
+     * @param alea   Générateur aléatoire de la partie.
+     * @return La carte restaurée.
+     */
+    static Carte restaurer(TamponBinaire tampon, Heros heros, Alea alea) {
+        Carte carte = new Carte(tampon.lireTexte(), tampon.lireOctets(), alea);
+        carte.nomHeros = tampon.lireTexte();
+        for (int i = tampon.lireEntier(); i > 0; i--) {
+            int position = tampon.lireEntier();
+            carte.positionsCombats.put(position, Combat.restaurer(tampon, heros));
         }
+        return carte;
     }
 }
@@ -0,0 +1,368 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.logging.Logger;
+
+import personnages.Heros;
+import utils.Alea;
+import utils.ICarte;
+import utils.IRendu;
+import utils.TableEntiers;
+import utils.TamponBinaire;
+import utils.TypeCase;
+
+/**
+ * Carte très longue ou sans fin, générée par tronçons au fil de l'avancée du héros.
+ * Seuls le tronçon du héros et le suivant sont en mémoire : les tronçons dépassés sont oubliés, si bien que
+ * la mémoire utilisée et le coût de démarrage ne dépendent pas de la longueur de la carte.
+ * Les cases de combat d'un tronçon sont tirées à sa génération, à partir d'une graine dérivée de son indice
+ * (un tronçon est identique quel que soit le moment où il est généré) ; le {@link Combat} lui-même
+ * n'est créé que lorsque le héros l'atteint.
+ */
+public class CarteInfinie implements ICarte {
+    /**
+     * Logger pour enregistrer les événements liés à la carte.
+     */
+    private static final Logger logger = Logger.getLogger(CarteInfinie.class.getName());
+
+    /**
+     * Longueur à utiliser pour une carte sans fin (l'arrivée n'est jamais atteinte en pratique).
+     */
+    public static final int SANS_FIN = Integer.MAX_VALUE - 2;
+
+    /**
+     * Nombre de cases d'un tronçon.
+     */
+    static final int TAILLE_TRONCON = 64;
+
+    /**
+     * Nombre de cases affichées autour du héros.
+     */
+    private static final int CASES_AFFICHEES = 30;
+
+    /**
+     * Tronçon de carte : indice et cases.
+     *
+     * @param indice Indice du tronçon (sa première case est {@code indice * TAILLE_TRONCON}).
+     * @param cases  Codes {@link TypeCase} des cases du tronçon.
+     */
+    private record Troncon(int indice, byte[] cases) {
+    }
+
+    /**
+     * Nom de la carte.
+     */
+    private final String nom;
+
+    /**
+     * Longueur totale de la carte, incluant les cases de départ et d'arrivée.
+     */
+    private final int longueur;
+
+    /**
+     * Position d'arrivée sur la carte.
+     */
+    private final int positionArrivee;
+
+    /**
+     * Probabilité qu'une case contienne un groupe d'ennemis.
+     */
+    private final double densiteCombats;
+
+    /**
+     * Graine de la carte, dont sont dérivées les graines des tronçons.
+     */
+    private final long graine;
+
+    /**
+     * Tronçons en mémoire, du plus ancien au plus récent (indices consécutifs, deux au plus).
+     */
+    private final ArrayList<Troncon> troncons = new ArrayList<>(2);
+
+    /**
+     * Combats déjà créés, par position.
+     */
+    private final TableEntiers<Combat> combats = new TableEntiers<>();
+
+    /**
+     * Héros qui parcourt la carte (nécessaire pour créer les combats).
+     */
+    private Heros heros;
+
+    /**
+     * Position du héros sur la carte.
+     */
+    private int positionHeros;
+
+    /**
+     * Nom affiché sur la case du héros.
+     */
+    private String nomHeros = "";
+
+    /**
+     * Constructeur d'une carte générée par tronçons.
+     *
+     * @param nom            Nom de la carte.
+     * @param longueur       Taille de la carte (hors cases de départ et d'arrivée), {@link #SANS_FIN} pour une carte sans fin.
+     * @param densiteCombats Probabilité qu'une case contienne un groupe d'ennemis (entre 0 et 1).
+     * @param alea           Générateur aléatoire de la partie (seule la graine de la carte y est tirée).
+     */
+    public CarteInfinie(String nom, int longueur, double densiteCombats, Alea alea) {
+        if (longueur < 0 || longueur > SANS_FIN) {
+            throw new IllegalArgumentException("Longueur invalide : " + longueur);
+        }
+        this.nom = nom;
+        this.longueur = longueur + 2;
+        this.positionArrivee = this.longueur - 1;
+        this.densiteCombats = densiteCombats;
+        this.graine = alea.entierLong();
+        logger.info(() -> "Carte par tronçons " + nom + " de taille " + this.longueur + ".");
+    }
+
+    /**
+     * Constructeur d'une carte à partir de ses paramètres (restauration d'une sauvegarde).
+     *
+     * @param nom            Nom de la carte.
+     * @param longueur       Longueur totale de la carte, départ et arrivée compris.
+     * @param densiteCombats Probabilité qu'une case contienne un groupe d'ennemis.
+     * @param graine         Graine de la carte.
+     */
+    private CarteInfinie(String nom, int longueur, double densiteCombats, long graine) {
+        this.nom = nom;
+        this.longueur = longueur;
+        this.positionArrivee = longueur - 1;
+        this.densiteCombats = densiteCombats;
+        this.graine = graine;
+    }
+
+    @Override
+    public String getNom() {
+        return nom;
+    }
+
+    @Override
+    public int getLongueur() {
+        return longueur;
+    }
+
+    @Override
+    public int getPositionArrivee() {
+        return positionArrivee;
+    }
+
+    /**
+     * Indique si la carte est sans fin.
+     *
+     * @return `true` si l'arrivée ne peut pas être atteinte en pratique.
+     */
+    public boolean estSansFin() {
+        return longueur - 2 == SANS_FIN;
+    }
+
+    /**
+     * Récupère le nombre de tronçons en mémoire.
+     *
+     * @return Le nombre de tronçons en mémoire.
+     */
+    public int getTronconsEnMemoire() {
+        return troncons.size();
+    }
+
+    @Override
+    public TypeCase getCase(int position) {
+        byte[] cases = cases(position);
+        return cases == null ? TypeCase.VIDE : TypeCase.depuisCode(cases[position % TAILLE_TRONCON]);
+    }
+
+    /**
+     * Récupère le combat placé à une position donnée, en le créant s'il est atteint pour la première fois.
+     *
+     * @param position Position du combat.
+     * @return Le combat, ou {@code null} s'il n'y en a pas.
+     */
+    @Override
+    public Combat getCombat(int position) {
+        if (getCase(position) != TypeCase.COMBAT) {
+            return null;
+        }
+        Combat combat = combats.get(position);
+        if (combat == null) {
+            combat = new Combat(heros);
+            combats.put(position, combat);
+            logger.info(() -> "Groupe d'ennemis rencontré à la position " + position + ".");
+        }
+        return combat;
+    }
+
+    @Override
+    public void supprimerCombat(int position) {
+        byte[] cases = cases(position);
+        if (cases != null && cases[position % TAILLE_TRONCON] == TypeCase.COMBAT.code()) {
+            cases[position % TAILLE_TRONCON] = TypeCase.VIDE.code();
+            combats.remove(position);
+            logger.info(() -> "main.Combat supprimé de la position " + position + " sur la carte.");
+        }
+    }
+
+    @Override
+    public void placerHero(Heros h) {
+        heros = h;
+        updatePosition(-1, h.getPosition(), h.getName());
+        logger.info(() -> "Hero " + h.getName() + " placé sur la carte à la position " + positionHeros + ".");
+    }
+
+    /**
+     * Met à jour la position du héros, puis oublie les tronçons qu'il a dépassés.
+     *
+     * @param oldPos Ancienne position du héros.
+     * @param newPos Nouvelle position du héros.
+     * @param name   Nom du héros (affiché sur la carte).
+     */
+    @Override
+    public void updatePosition(int oldPos, int newPos, String name) {
+        byte[] anciennes = cases(oldPos);
+        if (anciennes != null && anciennes[oldPos % TAILLE_TRONCON] == TypeCase.HEROS.code()) {
+            anciennes[oldPos % TAILLE_TRONCON] = TypeCase.VIDE.code();
+        }
+        byte[] nouvelles = cases(newPos);
+        if (nouvelles != null) {
+            nouvelles[newPos % TAILLE_TRONCON] = TypeCase.HEROS.code();
+            positionHeros = newPos;
+            nomHeros = name;
+        }
+        int tronconHeros = positionHeros / TAILLE_TRONCON;
+        while (!troncons.isEmpty() && troncons.getFirst().indice() < tronconHeros) {
+            Troncon oublie = troncons.removeFirst();
+            int debut = oublie.indice() * TAILLE_TRONCON;
+            for (int i = 0; i < TAILLE_TRONCON; i++) {
+                if (oublie.cases()[i] == TypeCase.COMBAT.code()) combats.remove(debut + i);
+            }
+        }
+    }
+
+    /**
+     * Ajoute à la trame du rendu les cases autour du héros (la carte entière ne tient pas à l'écran).
+     *
+     * @param rendu Rendu de l'affichage.
+     */
+    @Override
+    public void afficherCarte(IRendu rendu) {
+        if (!rendu.estActif()) return;
+        StringBuilder trame = rendu.trame();
+        int debut = Math.max(0, positionHeros - 2);
+        int fin = (int) Math.min((long) positionArrivee, (long) debut + CASES_AFFICHEES - 1);
+        if (debut > 0) trame.append("…");
+        for (int position = debut; position <= fin; position++) {
+            TypeCase caseCarte = getCase(position);
+            if (caseCarte == TypeCase.HEROS) {
+                trame.append('[').append(nomHeros).append(']');
+            } else {
+                trame.append(caseCarte.getSymbole());
+            }
+        }
+        if (fin < positionArrivee) trame.append("… (").append(positionHeros).append(" / ")
+                .append(estSansFin() ? "∞" : String.valueOf(positionArrivee)).append(')');
+        trame.append('\n');
+    }
+
+    /**
+     * Récupère les cases du tronçon contenant une position, en générant les tronçons manquants jusqu'à lui.
+     *
+     * @param position Position sur la carte.
+     * @return Les cases du tronçon, ou {@code null} si la position est hors de la carte ou déjà oubliée.
+     */
+    private byte[] cases(int position) {
+        if (position < 0 || position >= longueur) {
+            return null;
+        }
+        int indice = position / TAILLE_TRONCON;
+        int premier = troncons.isEmpty() ? indice : troncons.getFirst().indice();
+        if (indice < premier) {
+            return null;
+        }
+        // On ne génère jamais plus loin que le tronçon qui suit celui du héros
+        if (indice > positionHeros / TAILLE_TRONCON + 1) {
+            return null;
+        }
+        while (troncons.isEmpty() || troncons.getLast().indice() < indice) {
+            troncons.addLast(generer(troncons.isEmpty() ? indice : troncons.getLast().indice() + 1));
+        }
+        return troncons.get(indice - premier).cases();
+    }
+
+    /**
+     * Génère un tronçon à partir de sa graine.
+     *
+     * @param indice Indice du tronçon.
+     * @return Le tronçon généré.
+     */
+    private Troncon generer(int indice) {
+        Alea aleaTroncon = new Alea(Alea.graineDerivee(graine, indice));
+        byte[] cases = new byte[TAILLE_TRONCON];
+        int debut = indice * TAILLE_TRONCON;
+        for (int i = 0; i < TAILLE_TRONCON; i++) {
+            int position = debut + i;
+            if (position == 0) {
+                cases[i] = TypeCase.DEBUT.code();
+            } else if (position == positionArrivee) {
+                cases[i] = TypeCase.FIN.code();
+            } else if (position >= 2 && position < positionArrivee - 1 && aleaTroncon.reel() < densiteCombats) {
+                cases[i] = TypeCase.COMBAT.code();
+            }
+        }
+        return new Troncon(indice, cases);
+    }
+
+    /**
+     * Écrit la carte dans une sauvegarde : paramètres, tronçons en mémoire et combats déjà créés.
+     * Les tronçons sont écrits tels quels, car les combats gagnés et le héros y ont modifié des cases.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     */
+    void sauvegarder(TamponBinaire tampon) {
+        tampon.ecrireTexte(nom);
+        tampon.ecrireEntier(longueur);
+        tampon.ecrireReel(densiteCombats);
+        tampon.ecrireLong(graine);
+        tampon.ecrireEntier(positionHeros);
+        tampon.ecrireTexte(nomHeros);
+        tampon.ecrireEntier(troncons.size());
+        for (Troncon troncon : troncons) {
+            tampon.ecrireEntier(troncon.indice());
+            tampon.ecrireOctets(troncon.cases());
+        }
+        tampon.ecrireEntier(combats.size());
+        for (Troncon troncon : troncons) {
+            int debut = troncon.indice() * TAILLE_TRONCON;
+            for (int i = 0; i < TAILLE_TRONCON; i++) {
+                Combat combat = combats.get(debut + i);
+                if (combat != null) {
+                    tampon.ecrireEntier(debut + i);
+                    combat.sauvegarder(tampon);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recrée une carte écrite par {@link #sauvegarder(TamponBinaire)}, sans tirage aléatoire.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     * @param heros  Héros qui parcourt la carte.
+     * @return La carte restaurée.
+     */
+    static CarteInfinie restaurer(TamponBinaire tampon, Heros heros) {
+        CarteInfinie carte = new CarteInfinie(tampon.lireTexte(), tampon.lireEntier(), tampon.lireReel(), tampon.lireLong());
+        carte.heros = heros;
+        carte.positionHeros = tampon.lireEntier();
+        carte.nomHeros = tampon.lireTexte();
+        for (int i = tampon.lireEntier(); i > 0; i--) {
+            carte.troncons.add(new Troncon(tampon.lireEntier(), tampon.lireOctets()));
+        }
+        for (int i = tampon.lireEntier(); i > 0; i--) {
+            int position = tampon.lireEntier();
+            carte.combats.put(position, Combat.restaurer(tampon, heros));
+        }
+        return carte;
+    }
+}
@@ -2,18 +2,28 @@ package main;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntSupplier;
 import java.util.logging.Logger;
 
-import net.datafaker.Faker;
+import metriques.EvenementCombat;
+import metriques.EvenementRound;
+import metriques.Metriques;
 import personnages.Ennemi;
 import personnages.Heros;
 import questions.ListeQuestions;
+import utils.Alea;
+import utils.IPersonnage;
+import utils.IRendu;
+import utils.Ordonnanceur;
+import utils.ReserveNoms;
+import utils.TamponBinaire;
 import utils.TypeEnnemi;
+import utils.TypeInitiative;
 
 /**
  * Classe représentant un combat entre un héros et un groupe d'ennemis.
- * Elle gère la logique du combat, y compris l'ordre des attaques,
- * l'état des participants, et l'affichage des statistiques.
+ * Elle gère la logique du combat, y compris l'ordre des attaques (selon la règle d'initiative, voir
+ * {@link TypeInitiative}), l'état des participants, et l'affichage des statistiques.
  */
 public class Combat {
     /**
@@ -21,6 +31,11 @@ public class Combat {
      */
     private static final Logger logger = Logger.getLogger(Combat.class.getName());
 
+    /**
+     * Bornes des points de vie (max exclu) et de la force d'attaque (max exclue) des ennemis générés.
+     */
+    static final int PV_MIN = 50, PV_MAX = 100, FORCE_MIN = 1, FORCE_MAX = 3;
+
     /**
      * Liste des ennemis participant au combat.
      */
@@ -36,6 +51,26 @@ public class Combat {
      */
     private int nbT = 0;
 
+    /**
+     * Nombre total de rounds joués pendant le combat, tous ennemis confondus.
+     */
+    private int nbRounds = 0;
+
+    /**
+     * Points de vie retirés aux ennemis par le héros pendant le combat.
+     */
+    private int degatsInfliges = 0;
+
+    /**
+     * Points de vie retirés au héros par les ennemis pendant le combat.
+     */
+    private int degatsRecus = 0;
+
+    /**
+     * Règle d'initiative du combat, celle du contexte de la partie.
+     */
+    private TypeInitiative initiative;
+
     /**
      * Constructeur qui initialise un combat avec un héros donné.
      * Le nombre d'ennemis est généré aléatoirement, et chaque ennemi est
@@ -44,22 +79,83 @@ public class Combat {
      * @param heros Héros participant au combat.
      */
     public Combat(Heros heros) {
-        Faker faker = new Faker();
-        int nbrEnnemis = faker.number().numberBetween(1, 5);
-        logger.info("Nombre d'ennemis ajoutés : " + nbrEnnemis);
+        this(heros, genererEnnemis(heros.getContexte().getAlea()));
+    }
+
+    /**
+     * Génère un groupe d'ennemis aléatoire : nombre d'ennemis, puis points de vie, force d'attaque, nom et type
+     * de chacun.
+     * Le groupe ne dépend que du générateur : il peut être généré à l'avance, avant que le héros existe.
+     *
+     * @param alea Générateur aléatoire utilisé pour le tirage.
+     * @return Les ennemis du groupe, dans l'ordre où ils affrontent le héros.
+     */
+    static List<Ennemi> genererEnnemis(Alea alea) {
+        ReserveNoms noms = ReserveNoms.get();
+        int nbrEnnemis = alea.entre(1, 5);
+        logger.info(() -> "Nombre d'ennemis ajoutés : " + nbrEnnemis);
 
+        List<Ennemi> groupe = new ArrayList<>(nbrEnnemis);
         for (int i = 0; i < nbrEnnemis; i++) {
-            int pv = faker.number().numberBetween(50, 100);
-            int forceAtt = faker.number().numberBetween(1, 3);
-            ennemis.add(new Ennemi(faker.streetFighter().characters(), pv, forceAtt, TypeEnnemi.aleatoire()));
+            int pv = alea.entre(PV_MIN, PV_MAX);
+            int forceAtt = alea.entre(FORCE_MIN, FORCE_MAX);
+            groupe.add(new Ennemi(noms.personnage(alea), pv, forceAtt, TypeEnnemi.aleatoire(alea)));
         }
+        return groupe;
+    }
+
+    /**
+     * Constructeur qui initialise un combat avec un héros et des ennemis donnés.
+     *
+     * @param heros   Héros participant au combat.
+     * @param ennemis Ennemis du combat, dans l'ordre où ils affrontent le héros.
+     */
+    public Combat(Heros heros, List<Ennemi> ennemis) {
         this.heros = heros;
+        this.ennemis.addAll(ennemis);
+        this.initiative = heros.getContexte().getInitiative();
     }
 
     public void addEnnemis(Ennemi ennemi) {
         ennemis.add(ennemi);
     }
 
+    /**
+     * Change la règle d'initiative du combat.
+     *
+     * @param initiative Règle d'initiative à appliquer.
+     */
+    public void setInitiative(TypeInitiative initiative) {
+        this.initiative = initiative;
+    }
+
+    /**
+     * Récupère le nombre total de rounds joués pendant le combat.
+     *
+     * @return Nombre de rounds joués.
+     */
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Récupère les points de vie retirés aux ennemis par le héros.
+     *
+     * @return Dégâts infligés par le héros.
+     */
+    public int getDegatsInfliges() {
+        return degatsInfliges;
+    }
+
+    /**
+     * Récupère les points de vie retirés au héros par les ennemis.
+     *
+     * @return Dégâts reçus par le héros.
+     */
+    public int getDegatsRecus() {
+        return degatsRecus;
+    }
+
     /**
      * Vérifie si le combat est terminé.
      * Le combat se termine si la liste des ennemis est vide ou si le héros est mort.
@@ -71,39 +167,44 @@ public class Combat {
     }
 
     /**
-     * Détermine si le héros attaque en premier.
-     * Le héros attaque en premier sauf si l'ennemi est de type {@code GANGSTER}.
+     * Détermine si le héros attaque en premier dans un duel, selon la règle d'initiative.
+     * Par défaut, le héros attaque en premier sauf si l'ennemi est de type {@code GANGSTER}.
      *
      * @param e personnages.Ennemi à vérifier.
      * @return `true` si le héros attaque en premier, sinon `false`.
      */
     private boolean herosAttaqueEnPremier(Ennemi e) {
-        return e.getType() != TypeEnnemi.GANGSTER;
+        return initiative.herosEnPremier(heros.getTypeHeros(), e.getType());
     }
 
     /**
-     * Génère une barre de statistiques pour le combat, comprenant
+     * Ajoute à la trame du rendu une barre de statistiques pour le combat, comprenant
      * les statistiques du héros et la liste des ennemis.
      *
-     * @return Barre de statistiques sous forme de chaîne de caractères.
+     * @param rendu Rendu de l'affichage.
      */
-    private String statsBar() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(heros.statsBar()).append("\n");
+    private void statsBar(IRendu rendu) {
+        if (!rendu.estActif()) return;
+        StringBuilder sb = rendu.trame();
+        heros.statsBar(sb).append("\n");
         sb.append("personnages.Ennemi(s) :\n");
         for (Ennemi e : ennemis) {
-            sb.append("• ").append(e.statsBar()).append("\n");
+            e.statsBar(sb.append("• ")).append("\n");
         }
-        return sb.toString();
+        sb.append("\n");
     }
 
     /**
-     * Génère une barre de statistiques un ennemi en particulier, affichage du nombre de tour.
+     * Ajoute à la trame du rendu une barre de statistiques d'un ennemi en particulier, avec le nombre de tours.
      *
-     * @return Barre de statistiques sous forme de chaîne de caractères.
+     * @param rendu Rendu de l'affichage.
+     * @param e     personnages.Ennemi affronté.
      */
-    private String statsBar(Ennemi e) {
-        return "\n[" + nbT + "] " + heros.statsBar() + " \uD83E\uDD3C " + e.statsBar();
+    private void statsBar(IRendu rendu, Ennemi e) {
+        if (!rendu.estActif()) return;
+        StringBuilder sb = rendu.trame().append("\n[").append(nbT).append("] ");
+        heros.statsBar(sb).append(" \uD83E\uDD3C ");
+        e.statsBar(sb).append("\n");
     }
 
     /**
@@ -115,42 +216,298 @@ public class Combat {
      * <li>L'affichage des statistiques après chaque action.</li>
      * <li>La gestion de la mort des participants.</li>
      * </ul>
+     * Avec l'initiative {@link TypeInitiative#VITESSE}, le combat se déroule en mêlée ({@link #derouleMelee}).
      */
     public void derouleCombat(ListeQuestions listeQuestions) {
+        if (initiative == TypeInitiative.VITESSE) {
+            derouleMelee(listeQuestions, false);
+            return;
+        }
+        Contexte contexte = heros.getContexte();
+        IRendu rendu = contexte.getRendu();
+        EvenementCombat evenement = new EvenementCombat();
+        evenement.begin();
+        int nbEnnemis = ennemis.size();
+        contexte.getObservateur().debutCombat(heros, nbEnnemis);
         Ennemi e;
-        System.out.println("=== Début des combats ===");
-        System.out.println(statsBar());
+        rendu.ligne("=== Début des combats ===");
+        statsBar(rendu);
         while (!estTerminer()) {
-            System.out.println("\n=== Début du combat ===");
+            rendu.ligne("\n=== Début du combat ===");
             e = ennemis.getFirst();
-            if(nbT == 0) System.out.println(statsBar(e));
+            if(nbT == 0) statsBar(rendu, e);
             while (!(heros.estMort() || e.estMort())) {
-                nbT++;
-                if (herosAttaqueEnPremier(e)) {
-                    heros.attaque(ennemis, listeQuestions);
-                    Jeu.attendre(500);
-                    if (!e.estMort()) {
-                        e.attaque(heros);
-                        System.out.println(e.getName() + " inflige " + e.getForceAttaque() + " dégâts.");
-                        Jeu.attendre(500);
-                    }
-                } else {
-                    e.attaque(heros);
-                    System.out.println(e.getName() + " inflige " + e.getForceAttaque() + " dégâts.");
-                    Jeu.attendre(500);
-                    if (!heros.estMort()) {
-                        heros.attaque(ennemis, listeQuestions);
-                        Jeu.attendre(500);
+                jouerRound(e, () -> heros.attaque(ennemis, listeQuestions));
+                statsBar(rendu, e);
+            }
+            finDuel(e);
+        }
+        finCombat(evenement, nbEnnemis, false);
+    }
+
+    /**
+     * Résout le combat automatiquement, sans jouer les rounds un par un.
+     * Tant qu'aucun événement aléatoire n'intervient, chaque duel est calculé en temps constant par {@link Duel}
+     * à partir des points de vie, de la force et du nombre d'attaques de chacun et de l'ordre d'attaque.
+     * Seuls deux événements sont joués pas à pas :
+     * <ul>
+     * <li>la capacité spéciale, si le joueur choisit de l'utiliser (la question lui est posée une fois par ennemi) ;</li>
+     * <li>les QCM : le nombre d'attaques avant le prochain QCM suit la même loi que dans
+     * {@link #derouleCombat(ListeQuestions)} (une chance sur deux à chaque attaque) et est tiré d'avance.</li>
+     * </ul>
+     * La résolution par duels ne vaut que pour un ennemi à la fois : avec l'initiative {@link TypeInitiative#VITESSE},
+     * la mêlée est jouée action par action ({@link #derouleMelee}).
+     *
+     * @param listeQuestions Questions disponibles pour les QCM.
+     */
+    public void resoudreAutomatiquement(ListeQuestions listeQuestions) {
+        if (initiative == TypeInitiative.VITESSE) {
+            derouleMelee(listeQuestions, true);
+            return;
+        }
+        Contexte contexte = heros.getContexte();
+        IRendu rendu = contexte.getRendu();
+        Alea alea = contexte.getAlea();
+        EvenementCombat evenement = new EvenementCombat();
+        evenement.begin();
+        int nbEnnemis = ennemis.size();
+        contexte.getObservateur().debutCombat(heros, nbEnnemis);
+        Duel duel = new Duel();
+        rendu.ligne("=== Combat automatique ===");
+        statsBar(rendu);
+        while (!estTerminer()) {
+            Ennemi e = ennemis.getFirst();
+            boolean capaciteProposee = heros.getAUtiliseSaCapaciteSpeciale();
+            while (!(heros.estMort() || e.estMort())) {
+                if (!capaciteProposee) {
+                    capaciteProposee = true;
+                    if (contexte.getStrategie().utiliserCapaciteSpeciale(heros, ennemis)) {
+                        jouerRound(e, () -> heros.utiliserCapaciteSpeciale(ennemis));
+                        continue;
                     }
                 }
-                System.out.println(statsBar(e));
+                // Nombre d'attaques sans QCM avant le prochain (loi géométrique de paramètre 1/2)
+                long roundsSansQcm = listeQuestions.estVide() ? Long.MAX_VALUE : Long.numberOfTrailingZeros(alea.entierLong());
+                int degatsHeros = heros.getForceAttaque() * heros.getNombreAttaque();
+                int degatsEnnemi = e.getForceAttaque() * e.getNombreAttaque();
+                duel.resoudre(heros.getPv(), degatsHeros, e.getPv(), degatsEnnemi, herosAttaqueEnPremier(e), roundsSansQcm);
+                nbT += (int) duel.rounds;
+                nbRounds += (int) duel.rounds;
+                degatsInfliges += (int) (duel.coupsHeros * degatsHeros);
+                degatsRecus += (int) (duel.coupsEnnemi * degatsEnnemi);
+                e.setPv(e.getPv() - (int) (duel.coupsHeros * degatsHeros));
+                heros.setPv(heros.getPv() - (int) (duel.coupsEnnemi * degatsEnnemi));
+                contexte.getObservateur().degats(heros, e, (int) (duel.coupsHeros * degatsHeros));
+                contexte.getObservateur().degats(e, heros, (int) (duel.coupsEnnemi * degatsEnnemi));
+                if (!duel.termine) {
+                    jouerRound(e, () -> heros.attaqueQcm(ennemis, heros.choisirQuestion(ennemis, listeQuestions)));
+                }
             }
+            statsBar(rendu, e);
+            finDuel(e);
+        }
+        finCombat(evenement, nbEnnemis, true);
+    }
+
+    /**
+     * Déroule le combat en mêlée : le héros et tous les ennemis en vie agissent dans l'ordre donné par un
+     * {@link Ordonnanceur}, chacun selon sa vitesse. Le héros frappe le premier ennemi du groupe, et un round
+     * commence à chaque action du héros. Chaque action coûte O(log n) pour n ennemis.
+     *
+     * @param listeQuestions Questions disponibles pour les QCM.
+     * @param rapide         `true` si le combat a été demandé en résolution automatique.
+     */
+    private void derouleMelee(ListeQuestions listeQuestions, boolean rapide) {
+        Contexte contexte = heros.getContexte();
+        IRendu rendu = contexte.getRendu();
+        EvenementCombat evenement = new EvenementCombat();
+        evenement.begin();
+        int nbEnnemis = ennemis.size();
+        contexte.getObservateur().debutCombat(heros, nbEnnemis);
+        Ordonnanceur<IPersonnage> ordonnanceur = new Ordonnanceur<>(p -> !p.estMort());
+        // À instant égal, le héros agit avant les ennemis
+        ordonnanceur.ajouter(heros, heros.getTypeHeros().getVitesse(), 0);
+        for (Ennemi e : ennemis) {
+            ordonnanceur.ajouter(e, e.getType().getVitesse(), 1);
+        }
+        rendu.ligne("=== Début de la mêlée ===");
+        statsBar(rendu);
+        while (!estTerminer()) {
+            IPersonnage acteur = ordonnanceur.suivant();
+            if (acteur != heros) {
+                attaqueEnnemi((Ennemi) acteur, rendu);
+                contexte.attendre(500);
+                continue;
+            }
+            Ennemi e = ennemis.getFirst();
+            nbT++;
+            nbRounds++;
+            contexte.getObservateur().debutRound(nbT);
+            attaqueHeros(e, () -> heros.attaque(ennemis, listeQuestions));
+            contexte.attendre(500);
+            statsBar(rendu, e);
+            if (e.estMort()) {
+                finDuel(e);
+            }
+            // Les ennemis suivants déjà tués par la capacité spéciale sont retirés à leur tour
+            while (!heros.estMort() && !ennemis.isEmpty() && ennemis.getFirst().estMort()) {
+                finDuel(ennemis.getFirst());
+            }
+        }
+        finCombat(evenement, nbEnnemis, rapide);
+    }
+
+    /**
+     * Signale la fin du combat à l'observateur de la partie, l'enregistre dans les métriques et, si l'enregistrement JFR est actif, son événement.
+     *
+     * @param evenement Événement du combat, démarré au début du combat.
+     * @param nbEnnemis Nombre d'ennemis au début du combat.
+     * @param rapide    `true` si le combat a été résolu automatiquement.
+     */
+    private void finCombat(EvenementCombat evenement, int nbEnnemis, boolean rapide) {
+        heros.getContexte().getObservateur().finCombat(heros, nbRounds);
+        Metriques.get().combatTermine(nbRounds);
+        if (evenement.shouldCommit()) {
+            evenement.typeHeros = heros.getTypeHeros().name();
+            evenement.ennemis = nbEnnemis;
+            evenement.rounds = nbRounds;
+            evenement.degatsInfliges = degatsInfliges;
+            evenement.degatsRecus = degatsRecus;
+            evenement.rapide = rapide;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Joue un round entre le héros et un ennemi, dans l'ordre d'attaque donné par {@link #herosAttaqueEnPremier}.
+     *
+     * @param e             personnages.Ennemi affronté.
+     * @param attaqueHeros  Attaque du héros pour ce round, qui renvoie les dégâts infligés.
+     */
+    private void jouerRound(Ennemi e, IntSupplier attaqueHeros) {
+        Contexte contexte = heros.getContexte();
+        IRendu rendu = contexte.getRendu();
+        EvenementRound evenement = new EvenementRound();
+        evenement.begin();
+        int infligesAvant = degatsInfliges;
+        int recusAvant = degatsRecus;
+        nbT++;
+        nbRounds++;
+        contexte.getObservateur().debutRound(nbT);
+        if (herosAttaqueEnPremier(e)) {
+            attaqueHeros(e, attaqueHeros);
+            contexte.attendre(500);
+            if (!e.estMort()) {
+                attaqueEnnemi(e, rendu);
+                contexte.attendre(500);
+            }
+        } else {
+            attaqueEnnemi(e, rendu);
+            contexte.attendre(500);
             if (!heros.estMort()) {
-                System.out.println("\u001B[31m" + e.getName() + " est mort en " + nbT + " rounds.\u001B[0m");
-                nbT=0;
-                ennemis.remove(e);
-                Jeu.attendre(1000);
+                attaqueHeros(e, attaqueHeros);
+                contexte.attendre(500);
+            }
+        }
+        if (evenement.shouldCommit()) {
+            evenement.typeHeros = heros.getTypeHeros().name();
+            evenement.typeEnnemi = e.getType().name();
+            evenement.nbT = nbT;
+            evenement.degatsInfliges = degatsInfliges - infligesAvant;
+            evenement.degatsRecus = degatsRecus - recusAvant;
+            evenement.commit();
+        }
+    }
+
+    /**
+     * Termine le duel contre un ennemi : s'il est mort, il est retiré du combat.
+     *
+     * @param e personnages.Ennemi affronté.
+     */
+    private void finDuel(Ennemi e) {
+        if (!heros.estMort()) {
+            Contexte contexte = heros.getContexte();
+            IRendu rendu = contexte.getRendu();
+            if (rendu.estActif()) {
+                rendu.trame().append("\u001B[31m").append(e.getName()).append(" est mort en ").append(nbT).append(" rounds.\u001B[0m\n");
             }
+            nbT=0;
+            // L'ennemi affronté est le premier, s'il n'a pas déjà été retiré par la capacité spéciale de l'assassin
+            if (!ennemis.isEmpty() && ennemis.getFirst() == e) ennemis.removeFirst();
+            contexte.getObservateur().mort(e);
+            contexte.attendre(1000);
+        }
+    }
+
+    /**
+     * Fait attaquer un ennemi par le héros et comptabilise les dégâts infligés.
+     *
+     * @param e            personnages.Ennemi affronté.
+     * @param attaqueHeros Attaque du héros, qui renvoie les dégâts infligés.
+     */
+    private void attaqueHeros(Ennemi e, IntSupplier attaqueHeros) {
+        int degats = attaqueHeros.getAsInt();
+        degatsInfliges += degats;
+        heros.getContexte().getObservateur().degats(heros, e, degats);
+    }
+
+    /**
+     * Fait attaquer le héros par un ennemi et comptabilise les dégâts reçus.
+     *
+     * @param e      personnages.Ennemi qui attaque.
+     * @param rendu  Rendu de l'affichage.
+     */
+    private void attaqueEnnemi(Ennemi e, IRendu rendu) {
+        int pvAvant = heros.getPv();
+        e.attaque(heros);
+        degatsRecus += pvAvant - heros.getPv();
+        heros.getContexte().getObservateur().degats(e, heros, pvAvant - heros.getPv());
+        if (rendu.estActif()) {
+            rendu.trame().append(e.getName()).append(" inflige ").append(e.getForceAttaque()).append(" dégâts.\n");
+        }
+    }
+
+    /**
+     * Écrit l'état du combat dans une sauvegarde : compteurs et ennemis restants.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     */
+    void sauvegarder(TamponBinaire tampon) {
+        tampon.ecrireEntier(nbT);
+        tampon.ecrireEntier(nbRounds);
+        tampon.ecrireEntier(degatsInfliges);
+        tampon.ecrireEntier(degatsRecus);
+        tampon.ecrireEntier(ennemis.size());
+        for (Ennemi e : ennemis) {
+            tampon.ecrireTexte(e.getName());
+            tampon.ecrireOctet(e.getType().ordinal());
+            tampon.ecrireEntier(e.getPv());
+            tampon.ecrireEntier(e.getForceAttaque());
+            tampon.ecrireBooleen(e.getPorterAttaque());
+        }
+    }
+
+    /**
+     * Recrée un combat écrit par {@link #sauvegarder(TamponBinaire)}, sans tirage aléatoire.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     * @param heros  Héros participant au combat.
+     * @return Le combat restauré.
+     */
+    static Combat restaurer(TamponBinaire tampon, Heros heros) {
+        Combat combat = new Combat(heros, List.of());
+        combat.nbT = tampon.lireEntier();
+        combat.nbRounds = tampon.lireEntier();
+        combat.degatsInfliges = tampon.lireEntier();
+        combat.degatsRecus = tampon.lireEntier();
+        for (int i = tampon.lireEntier(); i > 0; i--) {
+            String nom = tampon.lireTexte();
+            Ennemi e = new Ennemi(nom, 0, 0, TypeEnnemi.values()[tampon.lireOctet()]);
+            e.setPv(tampon.lireEntier());
+            e.setForceAttaque(tampon.lireEntier());
+            e.setPorterAttaque(tampon.lireBooleen());
+            combat.ennemis.add(e);
         }
+        return combat;
     }
 }
@@ -0,0 +1,260 @@
+package main;
+
+import java.util.Arrays;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import utils.Alea;
+import utils.TypeEnnemi;
+
+/**
+ * Moteur de combat compact pour les grands groupes d'ennemis.
+ * Les ennemis sont stockés en colonnes de types primitifs (points de vie, force, type) plutôt qu'en objets
+ * {@link Ennemi}, et chaque duel est résolu en une formule fermée ({@link Duel}) au lieu d'une boucle de rounds.
+ * Les règles sont celles de {@link Combat#derouleCombat} sans QCM ni capacité spéciale :
+ * les ennemis affrontent le héros l'un après l'autre, le héros frappe en premier sauf contre un
+ * {@code GANGSTER}, et les {@code CATCHEUR} ont 50 % de points de vie en plus.
+ * Le déroulement n'alloue aucun objet, quel que soit le nombre d'ennemis.
+ */
+public class CombatCompact {
+    /**
+     * Types d'ennemis, indexés par leur rang dans {@link TypeEnnemi}.
+     */
+    private static final TypeEnnemi[] TYPES = TypeEnnemi.values();
+
+    /**
+     * Points de vie des ennemis.
+     */
+    private int[] pv;
+
+    /**
+     * Force d'attaque des ennemis.
+     */
+    private int[] force;
+
+    /**
+     * Type des ennemis (rang dans {@link TypeEnnemi}).
+     */
+    private byte[] type;
+
+    /**
+     * Nombre d'ennemis ajoutés.
+     */
+    private int taille = 0;
+
+    /**
+     * Indice du premier ennemi encore en vie : les ennemis précédents sont morts.
+     */
+    private int tete = 0;
+
+    /**
+     * Points de vie du héros.
+     */
+    private int pvHeros;
+
+    /**
+     * Dégâts infligés par le héros à chaque attaque (force d'attaque x nombre d'attaques).
+     */
+    private final int degatsHeros;
+
+    /**
+     * Résolution analytique réutilisée pour chaque duel.
+     */
+    private final Duel duel = new Duel();
+
+    /**
+     * Nombre total de rounds joués.
+     */
+    private long nbRounds = 0;
+
+    /**
+     * Points de vie retirés aux ennemis par le héros.
+     */
+    private long degatsInfliges = 0;
+
+    /**
+     * Points de vie retirés au héros par les ennemis.
+     */
+    private long degatsRecus = 0;
+
+    /**
+     * Constructeur d'un combat compact.
+     *
+     * @param pvHeros     Points de vie du héros.
+     * @param degatsHeros Dégâts infligés par le héros à chaque attaque.
+     * @param capacite    Nombre d'ennemis prévu (le tableau s'agrandit au besoin).
+     */
+    public CombatCompact(int pvHeros, int degatsHeros, int capacite) {
+        this.pvHeros = pvHeros;
+        this.degatsHeros = degatsHeros;
+        int n = Math.max(1, capacite);
+        this.pv = new int[n];
+        this.force = new int[n];
+        this.type = new byte[n];
+    }
+
+    /**
+     * Constructeur d'un combat compact à partir des statistiques d'un héros.
+     *
+     * @param heros    Héros participant au combat.
+     * @param capacite Nombre d'ennemis prévu.
+     */
+    public CombatCompact(Heros heros, int capacite) {
+        this(heros.getPv(), heros.getForceAttaque() * heros.getNombreAttaque(), capacite);
+    }
+
+    /**
+     * Ajoute un ennemi. Le bonus de points de vie du {@code CATCHEUR} est appliqué comme dans {@link Ennemi}.
+     *
+     * @param pvEnnemi     Points de vie de l'ennemi.
+     * @param forceAttaque Force d'attaque de l'ennemi.
+     * @param typeEnnemi   Type de l'ennemi.
+     */
+    public void ajouter(int pvEnnemi, int forceAttaque, TypeEnnemi typeEnnemi) {
+        ajouterColonnes(typeEnnemi == TypeEnnemi.CATCHEUR ? (int) (pvEnnemi * 1.5) : pvEnnemi, forceAttaque, typeEnnemi);
+    }
+
+    /**
+     * Ajoute un ennemi existant (ses points de vie actuels sont repris tels quels).
+     *
+     * @param e personnages.Ennemi à ajouter.
+     */
+    public void ajouter(Ennemi e) {
+        ajouterColonnes(e.getPv(), e.getForceAttaque(), e.getType());
+    }
+
+    /**
+     * Écrit un ennemi à la fin des colonnes, en les agrandissant si nécessaire.
+     *
+     * @param pvEnnemi     Points de vie de l'ennemi.
+     * @param forceAttaque Force d'attaque de l'ennemi.
+     * @param typeEnnemi   Type de l'ennemi.
+     */
+    private void ajouterColonnes(int pvEnnemi, int forceAttaque, TypeEnnemi typeEnnemi) {
+        if (taille == pv.length) {
+            int n = pv.length * 2;
+            pv = Arrays.copyOf(pv, n);
+            force = Arrays.copyOf(force, n);
+            type = Arrays.copyOf(type, n);
+        }
+        pv[taille] = pvEnnemi;
+        force[taille] = forceAttaque;
+        type[taille] = (byte) typeEnnemi.ordinal();
+        taille++;
+    }
+
+    /**
+     * Ajoute des ennemis générés aléatoirement, avec les mêmes lois que {@link Combat#Combat(Heros)}.
+     *
+     * @param nombre Nombre d'ennemis à ajouter.
+     * @param alea   Générateur aléatoire de la partie.
+     */
+    public void ajouterAleatoires(int nombre, Alea alea) {
+        for (int i = 0; i < nombre; i++) {
+            int pvEnnemi = alea.entre(Combat.PV_MIN, Combat.PV_MAX);
+            int forceAttaque = alea.entre(Combat.FORCE_MIN, Combat.FORCE_MAX);
+            ajouter(pvEnnemi, forceAttaque, TypeEnnemi.aleatoire(alea));
+        }
+    }
+
+    /**
+     * Déroule le combat jusqu'à la mort du héros ou de tous les ennemis.
+     * Chaque duel est résolu en temps constant par {@link Duel}.
+     * Un duel où aucun des deux ne peut blesser l'autre arrête le combat.
+     *
+     * @return `true` si le héros a survécu, sinon `false`.
+     */
+    public boolean derouleCombat() {
+        while (tete < taille && pvHeros > 0) {
+            int i = tete;
+            int f = force[i];
+            duel.resoudre(pvHeros, degatsHeros, pv[i], f, type[i] != TypeEnnemi.GANGSTER.ordinal(), Long.MAX_VALUE);
+            if (!duel.termine) {
+                break;
+            }
+            nbRounds += duel.rounds;
+            degatsInfliges += duel.coupsHeros * degatsHeros;
+            degatsRecus += duel.coupsEnnemi * f;
+            pv[i] -= (int) (duel.coupsHeros * degatsHeros);
+            pvHeros -= (int) (duel.coupsEnnemi * f);
+            if (!duel.herosMort) {
+                tete++;
+            }
+        }
+        return pvHeros > 0;
+    }
+
+    /**
+     * Reporte les points de vie restants du héros sur l'objet {@link Heros}.
+     *
+     * @param heros Héros du combat.
+     */
+    public void appliquer(Heros heros) {
+        heros.setPv(pvHeros);
+    }
+
+    /**
+     * Récupère les points de vie du héros.
+     *
+     * @return Points de vie du héros.
+     */
+    public int getPvHeros() {
+        return pvHeros;
+    }
+
+    /**
+     * Récupère le nombre d'ennemis encore en vie.
+     *
+     * @return Nombre d'ennemis restants.
+     */
+    public int getEnnemisRestants() {
+        return taille - tete;
+    }
+
+    /**
+     * Récupère les points de vie d'un ennemi.
+     *
+     * @param indice Indice de l'ennemi (ordre d'ajout).
+     * @return Points de vie de l'ennemi.
+     */
+    public int getPv(int indice) {
+        return pv[indice];
+    }
+
+    /**
+     * Récupère le type d'un ennemi.
+     *
+     * @param indice Indice de l'ennemi (ordre d'ajout).
+     * @return Type de l'ennemi.
+     */
+    public TypeEnnemi getType(int indice) {
+        return TYPES[type[indice]];
+    }
+
+    /**
+     * Récupère le nombre total de rounds joués.
+     *
+     * @return Nombre de rounds joués.
+     */
+    public long getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Récupère les points de vie retirés aux ennemis par le héros.
+     *
+     * @return Dégâts infligés par le héros.
+     */
+    public long getDegatsInfliges() {
+        return degatsInfliges;
+    }
+
+    /**
+     * Récupère les points de vie retirés au héros par les ennemis.
+     *
+     * @return Dégâts reçus par le héros.
+     */
+    public long getDegatsRecus() {
+        return degatsRecus;
+    }
+}
@@ -0,0 +1,216 @@
+package main;
+
+import java.util.Scanner;
+
+import utils.Alea;
+import utils.IHorloge;
+import utils.IObservateur;
+import utils.IRendu;
+import utils.IStrategie;
+import utils.TypeInitiative;
+
+/**
+ * Contexte d'exécution d'une partie.
+ * Regroupe la politique de décision du joueur, le rendu de l'affichage, l'horloge qui rythme les pauses,
+ * le générateur aléatoire, l'observateur des événements et la règle d'initiative des combats de la partie,
+ * afin qu'une même partie puisse être jouée en console ou sans interface (simulation).
+ */
+public class Contexte {
+    /**
+     * Contexte console partagé, créé à la première utilisation.
+     */
+    private static Contexte console;
+
+    /**
+     * Politique de décision du joueur.
+     */
+    private final IStrategie strategie;
+
+    /**
+     * Rendu sur lequel le jeu affiche ses messages.
+     */
+    private final IRendu rendu;
+
+    /**
+     * Horloge qui rythme les pauses entre les actions.
+     */
+    private final IHorloge horloge;
+
+    /**
+     * Générateur aléatoire de la partie.
+     */
+    private final Alea alea;
+
+    /**
+     * Observateur des événements de la partie.
+     */
+    private final IObservateur observateur;
+
+    /**
+     * Règle d'initiative des combats de la partie (par défaut celle de la propriété système
+     * {@value TypeInitiative#PROPRIETE}).
+     */
+    private TypeInitiative initiative = TypeInitiative.configuree();
+
+    /**
+     * Constructeur d'un contexte de partie avec une graine aléatoire.
+     *
+     * @param strategie Politique de décision du joueur.
+     * @param rendu     Rendu de l'affichage.
+     * @param horloge   Horloge qui rythme les pauses.
+     */
+    public Contexte(IStrategie strategie, IRendu rendu, IHorloge horloge) {
+        this(strategie, rendu, horloge, new Alea());
+    }
+
+    /**
+     * Constructeur d'un contexte de partie.
+     *
+     * @param strategie Politique de décision du joueur.
+     * @param rendu     Rendu de l'affichage.
+     * @param horloge   Horloge qui rythme les pauses.
+     * @param alea      Générateur aléatoire de la partie.
+     */
+    public Contexte(IStrategie strategie, IRendu rendu, IHorloge horloge, Alea alea) {
+        this(strategie, rendu, horloge, alea, IObservateur.AUCUN);
+    }
+
+    /**
+     * Constructeur d'un contexte de partie dont les événements sont observés.
+     *
+     * @param strategie   Politique de décision du joueur.
+     * @param rendu       Rendu de l'affichage.
+     * @param horloge     Horloge qui rythme les pauses.
+     * @param alea        Générateur aléatoire de la partie.
+     * @param observateur Observateur des événements de la partie.
+     */
+    public Contexte(IStrategie strategie, IRendu rendu, IHorloge horloge, Alea alea, IObservateur observateur) {
+        this.strategie = strategie;
+        this.rendu = rendu;
+        this.horloge = horloge;
+        this.alea = alea;
+        this.observateur = observateur;
+    }
+
+    /**
+     * Récupère le contexte console (saisie clavier, affichage standard et pauses en temps réel).
+     * La vitesse des pauses peut être modifiée avec la propriété système {@code jeu.vitesse} (1 par défaut).
+     *
+     * @return Le contexte console partagé.
+     */
+    public static synchronized Contexte console() {
+        if (console == null) {
+            double vitesse = Double.parseDouble(System.getProperty("jeu.vitesse", "1"));
+            RenduConsole rendu = new RenduConsole(System.out);
+            console = new Contexte(new StrategieConsole(new Scanner(System.in), rendu), rendu, new HorlogeTempsReel(vitesse));
+        }
+        return console;
+    }
+
+    /**
+     * Crée un contexte sans interface : rendu inactif et horloge virtuelle (aucune attente).
+     *
+     * @param strategie Politique de décision automatique.
+     * @return Un nouveau contexte sans interface.
+     */
+    public static Contexte sansInterface(IStrategie strategie) {
+        return sansInterface(strategie, new Alea());
+    }
+
+    /**
+     * Crée un contexte sans interface dont toute l'aléa provient du générateur donné.
+     *
+     * @param strategie Politique de décision automatique.
+     * @param alea      Générateur aléatoire de la partie.
+     * @return Un nouveau contexte sans interface.
+     */
+    public static Contexte sansInterface(IStrategie strategie, Alea alea) {
+        return sansInterface(strategie, alea, IObservateur.AUCUN);
+    }
+
+    /**
+     * Crée un contexte sans interface dont les événements sont observés.
+     *
+     * @param strategie   Politique de décision automatique.
+     * @param alea        Générateur aléatoire de la partie.
+     * @param observateur Observateur des événements de la partie.
+     * @return Un nouveau contexte sans interface.
+     */
+    public static Contexte sansInterface(IStrategie strategie, Alea alea, IObservateur observateur) {
+        return new Contexte(strategie, new RenduVide(), new HorlogeVirtuelle(), alea, observateur);
+    }
+
+    /**
+     * Récupère la politique de décision du joueur.
+     *
+     * @return La stratégie du joueur.
+     */
+    public IStrategie getStrategie() {
+        return strategie;
+    }
+
+    /**
+     * Récupère le rendu de l'affichage.
+     *
+     * @return Le rendu de l'affichage.
+     */
+    public IRendu getRendu() {
+        return rendu;
+    }
+
+    /**
+     * Récupère l'horloge de la partie.
+     *
+     * @return L'horloge qui rythme les pauses.
+     */
+    public IHorloge getHorloge() {
+        return horloge;
+    }
+
+    /**
+     * Récupère le générateur aléatoire de la partie.
+     *
+     * @return Le générateur aléatoire.
+     */
+    public Alea getAlea() {
+        return alea;
+    }
+
+    /**
+     * Récupère l'observateur des événements de la partie.
+     *
+     * @return L'observateur ({@link IObservateur#AUCUN} si les événements ne sont pas observés).
+     */
+    public IObservateur getObservateur() {
+        return observateur;
+    }
+
+    /**
+     * Récupère la règle d'initiative des combats de la partie.
+     *
+     * @return La règle d'initiative.
+     */
+    public TypeInitiative getInitiative() {
+        return initiative;
+    }
+
+    /**
+     * Change la règle d'initiative des combats de la partie (combats créés ensuite, reprise d'une sauvegarde
+     * ou rejeu d'une session).
+     *
+     * @param initiative Règle d'initiative.
+     */
+    public void setInitiative(TypeInitiative initiative) {
+        this.initiative = initiative;
+    }
+
+    /**
+     * Affiche la trame en cours, puis met en pause la partie selon son horloge.
+     *
+     * @param ms Durée de la pause en millisecondes.
+     */
+    public void attendre(int ms) {
+        rendu.afficher();
+        horloge.attendre(ms);
+    }
+}
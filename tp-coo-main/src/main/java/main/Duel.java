@@ -0,0 +1,73 @@
+package main;
+
+/**
+ * Résolution analytique d'un duel entre le héros et un ennemi, sans QCM ni capacité spéciale.
+ * Chaque camp inflige des dégâts fixes à chaque attaque : le héros tue l'ennemi en
+ * {@code r = ⌈pv de l'ennemi / dégâts du héros⌉} attaques et meurt après {@code k = ⌈pv du héros / dégâts de l'ennemi⌉}
+ * attaques de l'ennemi. Si le héros commence, l'ennemi ne frappe que pendant les rounds {@code 1..r-1} ;
+ * sinon il frappe aussi au round {@code r}. Le premier des deux seuils atteint décide du duel.
+ * Une instance est réutilisable : {@link #resoudre} écrase le résultat précédent et n'alloue rien.
+ */
+final class Duel {
+    /**
+     * Nombre de rounds joués.
+     */
+    long rounds;
+
+    /**
+     * Nombre d'attaques portées par le héros.
+     */
+    long coupsHeros;
+
+    /**
+     * Nombre d'attaques portées par l'ennemi.
+     */
+    long coupsEnnemi;
+
+    /**
+     * Indique si le duel s'est terminé dans la limite de rounds.
+     */
+    boolean termine;
+
+    /**
+     * Indique si le héros est mort (sinon, si le duel est terminé, c'est l'ennemi).
+     */
+    boolean herosMort;
+
+    /**
+     * Résout le duel en temps constant.
+     *
+     * @param pvHeros        Points de vie du héros.
+     * @param degatsHeros    Dégâts infligés par le héros à chaque attaque.
+     * @param pvEnnemi       Points de vie de l'ennemi.
+     * @param degatsEnnemi   Dégâts infligés par l'ennemi à chaque attaque.
+     * @param herosEnPremier `true` si le héros attaque en premier à chaque round.
+     * @param maxRounds      Nombre maximal de rounds à jouer ; au-delà, le duel est arrêté sans vainqueur.
+     */
+    void resoudre(int pvHeros, int degatsHeros, int pvEnnemi, int degatsEnnemi, boolean herosEnPremier, long maxRounds) {
+        long r = degatsHeros > 0 ? Math.max(0, (pvEnnemi + (long) degatsHeros - 1) / degatsHeros) : Long.MAX_VALUE;
+        long k = degatsEnnemi > 0 ? Math.max(0, (pvHeros + (long) degatsEnnemi - 1) / degatsEnnemi) : Long.MAX_VALUE;
+        if (r == Long.MAX_VALUE && k == Long.MAX_VALUE) {
+            // Aucun des deux ne peut blesser l'autre
+            rounds = coupsHeros = coupsEnnemi = 0;
+            termine = herosMort = false;
+            return;
+        }
+        herosMort = herosEnPremier ? k < r : k <= r;
+        long fin = herosMort ? k : r;
+        if (fin <= maxRounds) {
+            termine = true;
+            rounds = fin;
+            if (herosMort) {
+                coupsEnnemi = k;
+                coupsHeros = herosEnPremier ? k : k - 1;
+            } else {
+                coupsHeros = r;
+                coupsEnnemi = herosEnPremier ? r - 1 : r;
+            }
+        } else {
+            termine = herosMort = false;
+            rounds = coupsHeros = coupsEnnemi = maxRounds;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import utils.Alea;
+import utils.ReserveNoms;
+
+/**
+ * Carte d'un niveau fixe (1 à 3) et ses groupes d'ennemis, générés avant d'être rattachés au héros.
+ * La génération ne dépend que du générateur de tirage : elle peut se faire à l'avance sur un autre thread,
+ * à partir d'une copie de l'état du générateur de la partie (voir {@link AnticipationCartes}).
+ *
+ * @param carte     Carte générée, dont les cases des combats sont déjà réservées.
+ * @param groupes   Ennemis de chaque combat.
+ * @param positions Position de chaque combat sur la carte, ou -1 s'il n'a pas pu être placé.
+ * @param etatFinal État du générateur de tirage après la génération.
+ */
+record GenerationCarte(Carte carte, List<List<Ennemi>> groupes, int[] positions, long etatFinal) {
+
+    /**
+     * Génère la carte d'un niveau et ses groupes d'ennemis.
+     * Les tirages sont faits dans l'ordre historique de {@code Jeu} : longueur, nom de la scène, nombre de combats,
+     * ennemis de chaque combat, puis positions des combats.
+     *
+     * @param niveau Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile).
+     * @param tirage Générateur utilisé pour les tirages.
+     * @param partie Générateur de la partie, conservé par la carte.
+     * @return La génération.
+     */
+    static GenerationCarte generer(int niveau, Alea tirage, Alea partie) {
+        int longueurCarte = switch (niveau) {
+            case 2 -> tirage.entre(10, 20);
+            case 3 -> tirage.entre(20, 40);
+            default -> tirage.entre(5, 10);
+        };
+        Carte carte = new Carte(ReserveNoms.get().scene(tirage), longueurCarte, partie);
+
+        int nbCombat = tirage.entre(1, (int) Math.ceil(longueurCarte / 1.5));
+        List<List<Ennemi>> groupes = new ArrayList<>(nbCombat);
+        for (int i = 0; i < nbCombat; i++) {
+            groupes.add(Combat.genererEnnemis(tirage));
+        }
+        int[] positions = carte.reserverCombats(nbCombat, tirage);
+        return new GenerationCarte(carte, groupes, positions, tirage.getEtat());
+    }
+
+    /**
+     * Place le héros sur la carte et crée ses combats.
+     * Une génération ne doit être rattachée qu'une seule fois.
+     *
+     * @param heros   Héros qui parcourt la carte.
+     * @param combats Liste à laquelle les combats créés sont ajoutés.
+     */
+    void rattacher(Heros heros, List<Combat> combats) {
+        carte.placerHero(heros);
+        for (int i = 0; i < groupes.size(); i++) {
+            Combat combat = new Combat(heros, groupes.get(i));
+            combats.add(combat);
+            carte.ajouterCombat(positions[i], combat);
+        }
+    }
+}
@@ -0,0 +1,578 @@
+package main;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+import metriques.EvenementCombat;
+import metriques.Metriques;
+import personnages.Ennemi;
+import personnages.Heros;
+import questions.ListeQuestions;
+import questions.Question;
+import utils.Alea;
+import utils.IObservateur;
+import utils.IRendu;
+import utils.TamponBinaire;
+import utils.TypeEnnemi;
+import utils.TypeInitiative;
+
+/**
+ * Mode horde : le héros affronte des vagues successives d'ennemis, jusqu'à cent mille par vague.
+ * Un duel suit les règles de {@link Combat#derouleCombat} : les ennemis affrontent le héros l'un après l'autre
+ * et le héros frappe en premier sauf contre un {@code GANGSTER}. En revanche, une bonne réponse à un QCM déclenche
+ * une onde de choc qui frappe toute la vague, et la capacité spéciale agit elle aussi sur toute la vague.
+ *
+ * <p>La durée d'un round ne dépend pas de la taille de la vague :</p>
+ * <ul>
+ * <li>les ennemis en attente sont stockés en colonnes de types primitifs, comme dans {@link CombatCompact}, et seul
+ * l'ennemi affronté existe en tant qu'{@link Ennemi} ;</li>
+ * <li>un ennemi mort est retiré en avançant l'indice de tête, sans décaler les suivants ;</li>
+ * <li>les dégâts de zone s'ajoutent à un cumul commun à toute la vague : un ennemi en attente est mort dès que
+ * le cumul atteint ses points de vie. Ces points de vie étant bornés ({@link #PV_MAX}), un histogramme par type et
+ * par points de vie donne le nombre d'ennemis tués par une onde de choc et les dégâts infligés sans parcourir
+ * la vague ;</li>
+ * <li>l'affichage résume la vague (ennemis restants par type et ennemi affronté) au lieu de lister chaque ennemi.</li>
+ * </ul>
+ */
+public class Horde {
+    /**
+     * Logger pour suivre le déroulement des vagues.
+     */
+    private static final Logger logger = Logger.getLogger(Horde.class.getName());
+
+    /**
+     * Taille des vagues d'une partie en mode horde, de dix à cent mille ennemis.
+     */
+    static final int[] VAGUES = {10, 100, 1_000, 10_000, 100_000};
+
+    /**
+     * Points de vie maximaux d'un ennemi généré, bonus du {@code CATCHEUR} compris.
+     */
+    static final int PV_MAX = (int) ((Combat.PV_MAX - 1) * 1.5);
+
+    /**
+     * Types d'ennemis, indexés par leur rang dans {@link TypeEnnemi}.
+     */
+    private static final TypeEnnemi[] TYPES = TypeEnnemi.values();
+
+    /**
+     * Héros qui affronte la horde.
+     */
+    private final Heros heros;
+
+    /**
+     * Règle d'initiative des duels de la horde : les ennemis restent affrontés un par un, même en
+     * {@link TypeInitiative#VITESSE}, où seul l'ordre d'attaque de chaque round suit les vitesses.
+     * C'est celle du contexte de la partie.
+     */
+    private final TypeInitiative initiative;
+
+    /**
+     * Nombre d'ennemis de chaque vague.
+     */
+    private final int[] vagues;
+
+    /**
+     * Nombre de vagues repoussées (indice de la prochaine vague).
+     */
+    private int vague = 0;
+
+    /**
+     * Points de vie des ennemis de la vague au moment de leur génération.
+     */
+    private int[] pv = new int[0];
+
+    /**
+     * Force d'attaque des ennemis de la vague.
+     */
+    private byte[] force = new byte[0];
+
+    /**
+     * Type des ennemis de la vague (rang dans {@link TypeEnnemi}).
+     */
+    private byte[] type = new byte[0];
+
+    /**
+     * Nombre d'ennemis de la vague.
+     */
+    private int taille = 0;
+
+    /**
+     * Indice du prochain ennemi en attente : les précédents ont été affrontés ou sont morts.
+     */
+    private int tete = 0;
+
+    /**
+     * Dégâts de zone reçus par toute la vague depuis son début.
+     */
+    private int zone = 0;
+
+    /**
+     * Nombre d'ennemis en attente par type et par points de vie à la génération.
+     */
+    private final int[][] parPv = new int[TYPES.length][PV_MAX + 1];
+
+    /**
+     * Nombre d'ennemis en attente encore en vie, par type.
+     */
+    private final int[] restants = new int[TYPES.length];
+
+    /**
+     * Ennemi affronté par le héros, ou {@code null} si la vague est vaincue.
+     */
+    private Ennemi enTete;
+
+    /**
+     * Nombre de rounds contre l'ennemi affronté.
+     */
+    private int nbT = 0;
+
+    /**
+     * Nombre de rounds joués pendant la vague.
+     */
+    private int nbRounds = 0;
+
+    /**
+     * Points de vie retirés aux ennemis par le héros pendant la vague.
+     */
+    private int degatsInfliges = 0;
+
+    /**
+     * Points de vie retirés au héros par les ennemis pendant la vague.
+     */
+    private int degatsRecus = 0;
+
+    /**
+     * Constructeur d'une horde.
+     *
+     * @param heros  Héros qui affronte la horde.
+     * @param vagues Nombre d'ennemis de chaque vague, dans l'ordre.
+     */
+    public Horde(Heros heros, int... vagues) {
+        this.heros = heros;
+        this.vagues = vagues.clone();
+        this.initiative = heros.getContexte().getInitiative();
+    }
+
+    /**
+     * Indique si toutes les vagues ont été repoussées.
+     *
+     * @return `true` si la horde est vaincue.
+     */
+    public boolean estVaincue() {
+        return vague == vagues.length;
+    }
+
+    /**
+     * Récupère le nombre de vagues repoussées.
+     *
+     * @return Nombre de vagues repoussées.
+     */
+    public int getVague() {
+        return vague;
+    }
+
+    /**
+     * Récupère le nombre de vagues de la horde.
+     *
+     * @return Nombre de vagues.
+     */
+    public int getNombreVagues() {
+        return vagues.length;
+    }
+
+    /**
+     * Récupère le nombre d'ennemis de la prochaine vague.
+     *
+     * @return Nombre d'ennemis de la prochaine vague, ou 0 si la horde est vaincue.
+     */
+    public int getTailleProchaineVague() {
+        return estVaincue() ? 0 : vagues[vague];
+    }
+
+    /**
+     * Récupère le nombre d'ennemis encore en vie dans la vague en cours.
+     *
+     * @return Nombre d'ennemis restants.
+     */
+    public int getEnnemisRestants() {
+        int nombre = enTete != null && !enTete.estMort() ? 1 : 0;
+        for (int restant : restants) {
+            nombre += restant;
+        }
+        return nombre;
+    }
+
+    /**
+     * Récupère le nombre de rounds joués pendant la dernière vague.
+     *
+     * @return Nombre de rounds joués.
+     */
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Récupère les points de vie retirés aux ennemis par le héros pendant la dernière vague.
+     *
+     * @return Dégâts infligés par le héros.
+     */
+    public int getDegatsInfliges() {
+        return degatsInfliges;
+    }
+
+    /**
+     * Récupère les points de vie retirés au héros pendant la dernière vague.
+     *
+     * @return Dégâts reçus par le héros.
+     */
+    public int getDegatsRecus() {
+        return degatsRecus;
+    }
+
+    /**
+     * Joue la prochaine vague jusqu'à la mort du héros ou de tous ses ennemis.
+     * La capacité spéciale, si elle n'a pas encore servi, est proposée une fois au début de la vague.
+     *
+     * @param listeQuestions Questions disponibles pour les QCM.
+     * @return `true` si le héros a repoussé la vague, sinon `false`.
+     */
+    public boolean jouerVague(ListeQuestions listeQuestions) {
+        Contexte contexte = heros.getContexte();
+        IRendu rendu = contexte.getRendu();
+        EvenementCombat evenement = new EvenementCombat();
+        evenement.begin();
+        int nombre = vagues[vague];
+        genererVague(nombre, contexte.getAlea());
+        logger.info(() -> "Vague " + (vague + 1) + " : " + nombre + " ennemis.");
+        contexte.getObservateur().debutCombat(heros, nombre);
+        rendu.ligne("=== Vague " + (vague + 1) + "/" + vagues.length + " : " + nombre + " ennemis ===");
+        enTete = prochain();
+        statsBar(rendu);
+
+        if (enTete != null && !heros.getAUtiliseSaCapaciteSpeciale()
+                && contexte.getStrategie().utiliserCapaciteSpeciale(heros, List.of(enTete))) {
+            capaciteSpeciale();
+        }
+        while (enTete != null && !heros.estMort()) {
+            if (!enTete.estMort()) {
+                jouerRound(listeQuestions);
+            }
+            if (enTete.estMort()) {
+                finDuel();
+            }
+        }
+
+        if (!heros.estMort()) {
+            vague++;
+        }
+        contexte.getObservateur().finCombat(heros, nbRounds);
+        Metriques.get().combatTermine(nbRounds);
+        if (evenement.shouldCommit()) {
+            evenement.typeHeros = heros.getTypeHeros().name();
+            evenement.ennemis = nombre;
+            evenement.rounds = nbRounds;
+            evenement.degatsInfliges = degatsInfliges;
+            evenement.degatsRecus = degatsRecus;
+            evenement.commit();
+        }
+        return !heros.estMort();
+    }
+
+    /**
+     * Génère les ennemis d'une vague dans les colonnes, avec les mêmes lois que {@link Combat#genererEnnemis(Alea)}
+     * (sans nom : seul l'ennemi affronté en reçoit un).
+     * Les colonnes de la vague précédente sont réutilisées si elles sont assez grandes.
+     *
+     * @param nombre Nombre d'ennemis de la vague.
+     * @param alea   Générateur aléatoire de la partie.
+     */
+    private void genererVague(int nombre, Alea alea) {
+        if (pv.length < nombre) {
+            pv = new int[nombre];
+            force = new byte[nombre];
+            type = new byte[nombre];
+        }
+        for (int[] histogramme : parPv) {
+            Arrays.fill(histogramme, 0);
+        }
+        Arrays.fill(restants, 0);
+        for (int i = 0; i < nombre; i++) {
+            int pvEnnemi = alea.entre(Combat.PV_MIN, Combat.PV_MAX);
+            int forceAttaque = alea.entre(Combat.FORCE_MIN, Combat.FORCE_MAX);
+            TypeEnnemi typeEnnemi = TypeEnnemi.aleatoire(alea);
+            if (typeEnnemi == TypeEnnemi.CATCHEUR) {
+                pvEnnemi = (int) (pvEnnemi * 1.5);
+            }
+            pv[i] = pvEnnemi;
+            force[i] = (byte) forceAttaque;
+            type[i] = (byte) typeEnnemi.ordinal();
+            parPv[typeEnnemi.ordinal()][pvEnnemi]++;
+            restants[typeEnnemi.ordinal()]++;
+        }
+        taille = nombre;
+        tete = 0;
+        zone = 0;
+        nbT = 0;
+        nbRounds = 0;
+        degatsInfliges = 0;
+        degatsRecus = 0;
+    }
+
+    /**
+     * Fait sortir des colonnes le prochain ennemi en vie, qui devient l'ennemi affronté.
+     * Les ennemis tués entre-temps par des dégâts de zone sont sautés : chaque ennemi n'est parcouru qu'une fois.
+     *
+     * @return Le prochain ennemi, avec ses points de vie restants, ou {@code null} si la vague est vaincue.
+     */
+    private Ennemi prochain() {
+        while (tete < taille) {
+            int i = tete++;
+            int t = type[i];
+            parPv[t][pv[i]]--;
+            if (pv[i] > zone) {
+                restants[t]--;
+                Ennemi e = new Ennemi(TYPES[t].getName() + " n°" + (i + 1), pv[i], force[i], TYPES[t]);
+                e.setPv(pv[i] - zone);
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Joue un round entre le héros et l'ennemi affronté, dans l'ordre d'attaque donné par la règle d'initiative.
+     *
+     * @param listeQuestions Questions disponibles pour les QCM.
+     */
+    private void jouerRound(ListeQuestions listeQuestions) {
+        Contexte contexte = heros.getContexte();
+        Ennemi e = enTete;
+        nbT++;
+        nbRounds++;
+        contexte.getObservateur().debutRound(nbT);
+        if (initiative.herosEnPremier(heros.getTypeHeros(), e.getType())) {
+            attaqueHeros(listeQuestions);
+            contexte.attendre(500);
+            if (!e.estMort()) {
+                attaqueEnnemi();
+                contexte.attendre(500);
+            }
+        } else {
+            attaqueEnnemi();
+            contexte.attendre(500);
+            if (!heros.estMort()) {
+                attaqueHeros(listeQuestions);
+                contexte.attendre(500);
+            }
+        }
+        statsBarRound(contexte.getRendu());
+    }
+
+    /**
+     * Fait attaquer le héros : une chance sur deux de passer par un QCM, dont une bonne réponse déclenche une
+     * onde de choc sur toute la vague ; sinon, une attaque simple sur l'ennemi affronté.
+     *
+     * @param listeQuestions Questions disponibles pour les QCM.
+     */
+    private void attaqueHeros(ListeQuestions listeQuestions) {
+        Contexte contexte = heros.getContexte();
+        if (!listeQuestions.estVide() && contexte.getAlea().pileOuFace()) {
+            Question question = heros.choisirQuestion(List.of(enTete), listeQuestions);
+            if (heros.poserQcm(question)) {
+                ondeDeChoc(heros.degatsQcm(question));
+                return;
+            }
+        }
+        int degats = heros.getForceAttaque() * heros.getNombreAttaque();
+        heros.attaque(enTete);
+        degatsInfliges += degats;
+        contexte.getObservateur().degats(heros, enTete, degats);
+        IRendu rendu = contexte.getRendu();
+        if (rendu.estActif()) {
+            rendu.trame().append(heros.getName()).append(" inflige ").append(degats).append(" dégâts.\n");
+        }
+    }
+
+    /**
+     * Fait attaquer le héros par l'ennemi affronté.
+     */
+    private void attaqueEnnemi() {
+        Contexte contexte = heros.getContexte();
+        int pvAvant = heros.getPv();
+        enTete.attaque(heros);
+        degatsRecus += pvAvant - heros.getPv();
+        contexte.getObservateur().degats(enTete, heros, pvAvant - heros.getPv());
+        IRendu rendu = contexte.getRendu();
+        if (rendu.estActif()) {
+            rendu.trame().append(enTete.getName()).append(" inflige ").append(enTete.getForceAttaque()).append(" dégâts.\n");
+        }
+    }
+
+    /**
+     * Inflige des dégâts à toute la vague : l'ennemi affronté et tous les ennemis en attente.
+     * Le coût ne dépend que de l'écart de points de vie couvert par les dégâts, pas du nombre d'ennemis.
+     *
+     * @param degats Dégâts infligés à chaque ennemi.
+     * @return Points de vie effectivement retirés aux ennemis.
+     */
+    private int ondeDeChoc(int degats) {
+        Contexte contexte = heros.getContexte();
+        IObservateur observateur = contexte.getObservateur();
+        int nouvelleZone = (int) Math.min((long) zone + degats, PV_MAX);
+        long infliges = 0;
+        int tues = 0;
+        int survivants = 0;
+        for (int t = 0; t < TYPES.length; t++) {
+            int tuesType = 0;
+            for (int p = zone + 1; p <= nouvelleZone; p++) {
+                tuesType += parPv[t][p];
+                infliges += (long) parPv[t][p] * (p - zone);
+            }
+            restants[t] -= tuesType;
+            survivants += restants[t];
+            tues += tuesType;
+            if (tuesType > 0) {
+                observateur.morts(TYPES[t], tuesType);
+            }
+        }
+        infliges += (long) survivants * degats;
+        zone = nouvelleZone;
+
+        int pvTete = enTete.getPv();
+        enTete.setPv(pvTete - degats);
+        int degatsTete = Math.min(Math.max(pvTete, 0), degats);
+        infliges += degatsTete;
+        observateur.degats(heros, enTete, degatsTete);
+
+        degatsInfliges += (int) infliges;
+        Metriques.get().attaque((int) infliges);
+        IRendu rendu = contexte.getRendu();
+        if (rendu.estActif()) {
+            rendu.trame().append("Onde de choc : ").append(heros.getName()).append(" inflige ").append(degats)
+                    .append(" dégâts à toute la vague et terrasse ").append(tues + (enTete.estMort() ? 1 : 0))
+                    .append(" ennemi(s).\n");
+        }
+        return (int) infliges;
+    }
+
+    /**
+     * Utilise la capacité spéciale du héros sur toute la vague :
+     * <ul>
+     * <li><b>Barbare :</b> onde de choc de 20 fois sa force d'attaque ;</li>
+     * <li><b>Mage :</b> soigne ses PV de 25 % et inflige 15 dégâts à toute la vague ;</li>
+     * <li><b>Soigneur :</b> soigne ses PV de 50 % ;</li>
+     * <li><b>Assassin :</b> élimine toute la vague d'un coup.</li>
+     * </ul>
+     */
+    private void capaciteSpeciale() {
+        heros.setAUtiliseSaCapaciteSpeciale(true);
+        IRendu rendu = heros.getContexte().getRendu();
+        int degats = switch (heros.getTypeHeros()) {
+            case BARBARE -> {
+                rendu.ligne("🔥🔥 : " + heros.getName() + " est en rage et frappe toute la vague.");
+                yield ondeDeChoc(20 * heros.getForceAttaque());
+            }
+            case MAGE -> {
+                heros.setPv((int) (heros.getPv() * 1.25));
+                rendu.ligne("❤ + 🔥 : " + heros.getName() + " s'est soigné à 25% et frappe toute la vague.");
+                yield ondeDeChoc(15);
+            }
+            case SOIGNEUR -> {
+                heros.setPv((int) (heros.getPv() * 1.5));
+                rendu.ligne("❤ : " + heros.getName() + " s'est soigné à 50%.");
+                yield 0;
+            }
+            case ASSASSIN -> {
+                rendu.ligne("🔥🔥🔥 : " + heros.getName() + " a tué toute la vague.");
+                yield ondeDeChoc(PV_MAX);
+            }
+        };
+        heros.getContexte().getObservateur().capaciteSpeciale(heros, degats);
+    }
+
+    /**
+     * Termine le duel contre l'ennemi affronté, mort, et fait avancer le suivant.
+     */
+    private void finDuel() {
+        Contexte contexte = heros.getContexte();
+        IRendu rendu = contexte.getRendu();
+        if (rendu.estActif()) {
+            rendu.trame().append("\u001B[31m").append(enTete.getName()).append(" est mort en ").append(nbT).append(" rounds.\u001B[0m\n");
+        }
+        contexte.getObservateur().mort(enTete);
+        nbT = 0;
+        enTete = prochain();
+        if (enTete != null) {
+            contexte.attendre(1000);
+            statsBar(rendu);
+        }
+    }
+
+    /**
+     * Ajoute à la trame du rendu le résumé de la vague : statistiques du héros, ennemis restants par type
+     * et ennemi affronté.
+     *
+     * @param rendu Rendu de l'affichage.
+     */
+    private void statsBar(IRendu rendu) {
+        if (!rendu.estActif()) return;
+        StringBuilder sb = rendu.trame();
+        heros.statsBar(sb).append('\n');
+        sb.append("Vague ").append(vague + 1).append('/').append(vagues.length).append(" : ")
+                .append(getEnnemisRestants()).append(" ennemi(s) restant(s)");
+        for (int t = 0; t < TYPES.length; t++) {
+            sb.append(t == 0 ? " (" : ", ").append(TYPES[t]).append(' ').append(restants[t] + (enTete != null
+                    && !enTete.estMort() && enTete.getType() == TYPES[t] ? 1 : 0));
+        }
+        sb.append(")\n");
+        if (enTete != null) {
+            enTete.statsBar(sb.append("En tête : ")).append('\n');
+        }
+        sb.append('\n');
+    }
+
+    /**
+     * Ajoute à la trame du rendu la ligne d'un round : héros, ennemi affronté et ennemis restants.
+     *
+     * @param rendu Rendu de l'affichage.
+     */
+    private void statsBarRound(IRendu rendu) {
+        if (!rendu.estActif()) return;
+        StringBuilder sb = rendu.trame().append("\n[").append(nbT).append("] ");
+        heros.statsBar(sb).append(" 🤼 ");
+        enTete.statsBar(sb).append(" | ").append(getEnnemisRestants()).append(" ennemi(s) restant(s)\n");
+    }
+
+    /**
+     * Écrit l'avancée de la horde dans une sauvegarde, prise entre deux tours donc entre deux vagues :
+     * taille des vagues et nombre de vagues repoussées.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     */
+    void sauvegarder(TamponBinaire tampon) {
+        tampon.ecrireEntier(vagues.length);
+        for (int nombre : vagues) {
+            tampon.ecrireEntier(nombre);
+        }
+        tampon.ecrireEntier(vague);
+    }
+
+    /**
+     * Recrée une horde écrite par {@link #sauvegarder(TamponBinaire)}.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     * @param heros  Héros qui affronte la horde.
+     * @return La horde restaurée.
+     */
+    static Horde restaurer(TamponBinaire tampon, Heros heros) {
+        int[] vagues = new int[tampon.lireEntier()];
+        for (int i = 0; i < vagues.length; i++) {
+            vagues[i] = tampon.lireEntier();
+        }
+        Horde horde = new Horde(heros, vagues);
+        horde.vague = tampon.lireEntier();
+        return horde;
+    }
+}
@@ -0,0 +1,66 @@
+package main;
+
+import utils.IHorloge;
+
+/**
+ * Horloge qui rythme la partie sur le temps réel, éventuellement accéléré ou ralenti.
+ * Les pauses utilisent {@link Thread#sleep(long)} : exécutées sur un thread virtuel, elles libèrent
+ * le thread porteur pendant l'attente, ce qui permet à de nombreuses parties de partager quelques threads.
+ */
+public class HorlogeTempsReel implements IHorloge {
+    /**
+     * Multiplicateur de vitesse (1 : temps réel, 2 : deux fois plus rapide, 0.5 : deux fois plus lent).
+     */
+    private final double vitesse;
+
+    /**
+     * Instant de création de l'horloge, en nanosecondes.
+     */
+    private final long debut = System.nanoTime();
+
+    /**
+     * Constructeur d'une horloge en temps réel.
+     */
+    public HorlogeTempsReel() {
+        this(1);
+    }
+
+    /**
+     * Constructeur d'une horloge accélérée ou ralentie.
+     *
+     * @param vitesse Multiplicateur de vitesse, strictement positif.
+     */
+    public HorlogeTempsReel(double vitesse) {
+        if (vitesse <= 0) {
+            throw new IllegalArgumentException("La vitesse doit être strictement positive.");
+        }
+        this.vitesse = vitesse;
+    }
+
+    /**
+     * Récupère le multiplicateur de vitesse.
+     *
+     * @return Le multiplicateur de vitesse.
+     */
+    public double getVitesse() {
+        return vitesse;
+    }
+
+    @Override
+    public long maintenant() {
+        return (long) ((System.nanoTime() - debut) / 1_000_000L * vitesse);
+    }
+
+    @Override
+    public void attendre(long ms) {
+        long duree = (long) (ms / vitesse);
+        if (duree <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(duree);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
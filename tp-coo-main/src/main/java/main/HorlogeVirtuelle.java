@@ -0,0 +1,26 @@
+package main;
+
+import utils.IHorloge;
+
+/**
+ * Horloge virtuelle : les pauses ne durent aucun temps réel, elles font seulement avancer le temps de jeu.
+ * Utilisée pour les tests et les simulations.
+ */
+public class HorlogeVirtuelle implements IHorloge {
+    /**
+     * Temps de jeu écoulé en millisecondes.
+     */
+    private long temps = 0;
+
+    @Override
+    public long maintenant() {
+        return temps;
+    }
+
+    @Override
+    public void attendre(long ms) {
+        if (ms > 0) {
+            temps += ms;
+        }
+    }
+}
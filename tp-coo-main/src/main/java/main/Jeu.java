@@ -2,13 +2,22 @@ package main;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 import java.util.logging.Logger;
 
-import net.datafaker.Faker;
+import metriques.EvenementGenerationCarte;
+import metriques.EvenementTour;
+import metriques.Metriques;
 import personnages.Heros;
 import questions.ListeQuestions;
+import utils.Alea;
+import utils.ICarte;
+import utils.IRendu;
+import utils.IStrategie;
+import utils.ReserveNoms;
+import utils.TamponBinaire;
+import utils.TypeCase;
 import utils.TypeHeros;
+import utils.TypeInitiative;
 
 /**
  * Classe représentant le jeu "Beat them all".
@@ -16,184 +25,440 @@ import utils.TypeHeros;
  * Elle gère également la création de la carte, des combats, et les interactions du joueur.
  */
 public class Jeu {
+    /**
+     * Niveau du mode sans fin : la carte est générée au fil de l'avancée du héros.
+     */
+    public static final int NIVEAU_SANS_FIN = 4;
+
+    /**
+     * Niveau du mode horde : des vagues de plus en plus nombreuses, jusqu'à cent mille ennemis (voir {@link Horde}).
+     */
+    public static final int NIVEAU_HORDE = 5;
+
+    /**
+     * Types de carte dans une sauvegarde : carte fixe, carte sans fin, ou carte fixe du mode horde suivie de la horde.
+     */
+    private static final int CARTE_FIXE = 0, CARTE_SANS_FIN = 1, CARTE_HORDE = 2;
+
+    /**
+     * Probabilité qu'une case de la carte sans fin contienne un groupe d'ennemis.
+     */
+    private static final double DENSITE_SANS_FIN = 1 / 3.0;
+
     public Heros hero;
-    private Carte carte;
+    private ICarte carte;
+    private Horde horde;
     private final List<Combat> combats = new ArrayList<>();
     private static final Logger logger = Logger.getLogger(Jeu.class.getName());
-    private boolean modeTest = false;
-    Faker faker = new Faker();
-    ListeQuestions listeQuestions = new ListeQuestions("questions_culture_generale.csv");
+    private boolean terminee = false;
+    private int combatsGagnes = 0;
+    private int nbRounds = 0;
+    private int degatsInfliges = 0;
+    private int degatsRecus = 0;
+    private final Contexte contexte;
+    private final Alea alea;
+    // Liée à la banque partagée au premier besoin, pour que son chargement n'attende pas la saisie (voir fichierQuestions)
+    private ListeQuestions listeQuestions;
 
-    public void activerModeTest() { this.modeTest = true; }
+    /**
+     * Constructeur d'une partie jouée en console.
+     */
+    public Jeu() {
+        this(Contexte.console());
+    }
+
+    /**
+     * Constructeur d'une partie jouée dans un contexte donné (console ou simulation).
+     *
+     * @param contexte Contexte de la partie.
+     */
+    public Jeu(Contexte contexte) {
+        this.contexte = contexte;
+        this.alea = contexte.getAlea();
+    }
+
+    /**
+     * Récupère le fichier des questions : paquet compilé (.qcm) ou CSV des ressources,
+     * choisi par la propriété système {@code jeu.questions}.
+     * Sa banque peut être chargée en tâche de fond dès le lancement ({@link questions.BanqueQuestions#prechauffer(String)}).
+     *
+     * @return Le chemin du fichier des questions.
+     */
+    public static String fichierQuestions() {
+        return System.getProperty("jeu.questions", "questions_culture_generale.csv");
+    }
 
     /**
      * Démarre le jeu en initialisant le héros, la carte, et les combats.
      * Cette méthode guide le joueur dans la sélection d'un héros et du niveau de difficulté,
      * puis génère la carte et place les combats avant de commencer la partie.
+     * Quand le jeu est affiché, les cartes sont générées à l'avance pendant la saisie (voir {@link #demarrageJeu(boolean)}).
      */
     public void demarrageJeu() {
-        Scanner scanner = new Scanner(System.in);
+        demarrageJeu(contexte.getRendu().estActif());
+    }
 
-        System.out.println("Entrez votre nom : ");
-        String heroName = scanner.nextLine();
-        Jeu.attendre(500);
-        System.out.println("Sélectionne ton héro : ");
-        Jeu.attendre(500);
-        TypeHeros.afficherPossibilites();
-        System.out.println("Choisissez un nombre entre 1 et 4 :");
-        int choixType = scanner.nextInt();
-        Jeu.attendre(500);
+    /**
+     * Démarre le jeu (voir {@link #demarrageJeu()}), en anticipant ou non la génération des cartes.
+     * Avec anticipation, les cartes des niveaux 1 à 3 sont générées sur des threads de fond pendant que le joueur
+     * répond : le premier tour commence dès le niveau choisi. La partie est identique dans les deux cas.
+     *
+     * @param anticiper `true` pour générer les cartes pendant la saisie.
+     */
+    public void demarrageJeu(boolean anticiper) {
+        IStrategie strategie = contexte.getStrategie();
+        IRendu rendu = contexte.getRendu();
+        AnticipationCartes anticipation = anticiper ? new AnticipationCartes(alea) : null;
+
+        String heroName = strategie.choixNom();
+        contexte.attendre(500);
+        TypeHeros type = strategie.choixTypeHeros();
+        contexte.attendre(500);
 
-        TypeHeros type = switch (choixType) {
-            case 2 -> TypeHeros.MAGE;
-            case 3 -> TypeHeros.SOIGNEUR;
-            case 4 -> TypeHeros.ASSASSIN;
-            default -> TypeHeros.BARBARE;
-        };
+        hero = new Heros(heroName, type, contexte);
+        if (rendu.estActif()) rendu.trame().append("Vous avez choisi un héro de type ").append(hero.getTypeHeros()).append('\n');
+        logger.info(() -> "Hero ajouté (" + hero.getName() + ") = PV / Puissance / Capacité : " + hero.getPv() + " / " + hero.getForceAttaque() + " / " + hero.getTypeHeros());
 
-        hero = new Heros(heroName, type);
-        System.out.println("Vous avez choisi un héro de type " + hero.getTypeHeros());
-        logger.info("Hero ajouté (" + hero.getName() + ") = PV / Puissance / Capacité : " + hero.getPv() + " / " + hero.getForceAttaque() + " / " + hero.getTypeHeros());
+        genererCarte(strategie.choixNiveau(), anticipation);
 
-        System.out.println("Choississez un niveau de difficulté : ");
-        System.out.println("1. Facile\n2. Moyen\n3. Difficile");
-        int choixNiveau = scanner.nextInt();
-        int longueurCarte = switch (choixNiveau) {
-            case 2 -> faker.number().numberBetween(10, 20);
-            case 3 -> faker.number().numberBetween(20, 40);
-            default -> faker.number().numberBetween(5, 10);
-        };
+        rendu.ligne("\nDébut de la partie !");
+        carte.afficherCarte(rendu);
+    }
 
-        carte = new Carte(faker.streetFighter().stages(), longueurCarte);
-        logger.info("main.Carte ajoutée (" + carte.getNom() + ") = Longueur : " + carte.getLongueur());
+    /**
+     * Initialise une partie sans interaction : le héros et le niveau de difficulté sont fournis directement.
+     *
+     * @param heroName Nom du héros.
+     * @param type     Type du héros.
+     * @param niveau   Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     */
+    public void initialiserPartie(String heroName, TypeHeros type, int niveau) {
+        hero = new Heros(heroName, type, contexte);
+        genererCarte(niveau, null);
+    }
 
-        this.genererListeCombats(longueurCarte);
+    /**
+     * Génère la carte correspondant au niveau de difficulté, puis y place le héros et les combats.
+     * En mode sans fin, la carte et ses combats sont générés au fil de l'avancée du héros ({@link CarteInfinie}).
+     * En mode horde, chaque case de la carte est une vague de la {@link Horde}.
+     * La génération est enregistrée par JFR ({@link EvenementGenerationCarte}) quand l'enregistrement est actif.
+     *
+     * @param choixNiveau  Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @param anticipation Cartes générées pendant la saisie, ou {@code null}.
+     */
+    private void genererCarte(int choixNiveau, AnticipationCartes anticipation) {
+        EvenementGenerationCarte evenement = new EvenementGenerationCarte();
+        evenement.begin();
+        creerCarte(choixNiveau, anticipation);
+        if (evenement.shouldCommit()) {
+            evenement.niveau = choixNiveau;
+            evenement.longueur = carte.getLongueur();
+            evenement.combats = switch (choixNiveau) {
+                case NIVEAU_SANS_FIN -> -1;
+                case NIVEAU_HORDE -> horde.getNombreVagues();
+                default -> combats.size();
+            };
+            evenement.commit();
+        }
+    }
 
-        System.out.println("\nDébut de la partie !");
+    /**
+     * Crée la carte du niveau de difficulté et ses combats (voir {@link #genererCarte(int, AnticipationCartes)}).
+     * La carte anticipée du niveau est reprise si elle est encore valable, sinon elle est générée maintenant.
+     *
+     * @param choixNiveau  Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @param anticipation Cartes générées pendant la saisie, ou {@code null}.
+     */
+    private void creerCarte(int choixNiveau, AnticipationCartes anticipation) {
+        // Aussi pour un niveau sans carte anticipée : les générations devenues inutiles sont annulées
+        GenerationCarte generation = anticipation != null ? anticipation.prendre(choixNiveau, alea) : null;
+        if (choixNiveau == NIVEAU_SANS_FIN) {
+            carte = new CarteInfinie(ReserveNoms.get().scene(alea), CarteInfinie.SANS_FIN, DENSITE_SANS_FIN, alea);
+            logger.info(() -> "main.Carte sans fin ajoutée (" + carte.getNom() + ")");
+            carte.placerHero(hero);
+            Metriques.get().partieDemarree(-1);
+            return;
+        }
+        if (choixNiveau == NIVEAU_HORDE) {
+            horde = new Horde(hero, Horde.VAGUES);
+            Carte carteHorde = new Carte(ReserveNoms.get().scene(alea), horde.getNombreVagues() + 1, alea);
+            for (int vague = 0; vague < horde.getNombreVagues(); vague++) {
+                carteHorde.marquerCombat(hero.getPosition() + 1 + vague);
+            }
+            carte = carteHorde;
+            logger.info(() -> "main.Carte de la horde ajoutée (" + carte.getNom() + ")");
+            carte.placerHero(hero);
+            Metriques.get().partieDemarree(horde.getNombreVagues());
+            return;
+        }
+        if (generation == null) {
+            generation = GenerationCarte.generer(choixNiveau, alea, alea);
+        }
+        carte = generation.carte();
+        logger.info(() -> "main.Carte ajoutée (" + carte.getNom() + ") = Longueur : " + carte.getLongueur());
 
-        carte.placerHero(hero);
-        carte.placerCombat(combats);
-        carte.afficherCarte();
+        generation.rattacher(hero, combats);
+        Metriques.get().partieDemarree(combats.size());
     }
 
     /**
-     * Génère une liste de combats en fonction de la longueur de la carte.
-     * 
-     * @param longueurCarte Longueur de la carte utilisée pour déterminer le nombre de combats.
+     * Récupère les questions de la partie, liées à la banque partagée au premier appel.
+     *
+     * @return Les questions de la partie.
      */
-    private void genererListeCombats(int longueurCarte) {
-        int nbCombat = (int) faker.number().numberBetween(1, (longueurCarte / 1.5));
-        for (int i = 0; i < nbCombat; i++) {
-            combats.add(new Combat(hero));
+    private ListeQuestions questions() {
+        if (listeQuestions == null) {
+            listeQuestions = ListeQuestions.charger(fichierQuestions());
         }
+        return listeQuestions;
     }
 
     /**
      * Exécute un tour de jeu.
      * Le joueur peut choisir d'avancer ou de quitter le jeu. Si le joueur rencontre des ennemis,
      * il peut choisir de combattre ou de fuir (si il fuit la partie est terminée).
+     * La durée du tour est enregistrée dans les {@link Metriques}.
      */
     public void jouerTour() {
-        Scanner scanner = new Scanner(System.in);
-        int choix = -1;
-    
-        // Boucle pour obtenir un choix valide
-        do {
-            try {
-                System.out.println("Que voulez-vous faire ?");
-                System.out.println("1. Avancer\n2. Quitter");
-                choix = scanner.nextInt();
-    
-                if (choix < 1 || choix > 2) {
-                    System.out.println("Choix invalide. Veuillez saisir 1 ou 2.");
-                }
-            } catch (Exception e) {
-                System.out.println("Entrée invalide. Veuillez saisir un nombre.");
-                scanner.nextLine();
+        long debut = System.nanoTime();
+        EvenementTour evenement = new EvenementTour();
+        evenement.begin();
+        try {
+            tour();
+        } finally {
+            Metriques.get().tour(System.nanoTime() - debut);
+            if (evenement.shouldCommit()) {
+                evenement.typeHeros = hero.getTypeHeros().name();
+                evenement.position = hero.getPosition();
+                evenement.finPartie = terminee;
+                evenement.commit();
             }
-        } while (choix < 1 || choix > 2);
-    
-        switch (choix) {
-            case 1 -> {
-                if (carte.getCase(hero.getPosition() + 1).equals("[!]")) {
-                    System.out.println("Vous avez rencontré un groupe d'ennemis !");
-                    Jeu.attendre(250);
-    
-                    int choixCombat = -1;
-                    do {
-                        try {
-                            System.out.println("Voulez-vous combattre ou abandonner ?");
-                            System.out.println("1. Combattre\n2. Abandonner");
-                            choixCombat = scanner.nextInt();
-    
-                            if (choixCombat < 1 || choixCombat > 2) {
-                                System.out.println("Choix invalide. Veuillez saisir 1 ou 2.");
-                            }
-                        } catch (Exception e) {
-                            System.out.println("Entrée invalide. Veuillez saisir un nombre.");
-                            scanner.nextLine();
+        }
+    }
+
+    /**
+     * Joue un tour de jeu (voir {@link #jouerTour()}).
+     */
+    private void tour() {
+        IStrategie strategie = contexte.getStrategie();
+        IRendu rendu = contexte.getRendu();
+
+        if (strategie.avancer()) {
+            if (carte.getCase(hero.getPosition() + 1) == TypeCase.COMBAT) {
+                rendu.ligne(horde != null ? "Une vague de " + horde.getTailleProchaineVague() + " ennemis approche !"
+                        : "Vous avez rencontré un groupe d'ennemis !");
+                contexte.attendre(250);
+
+                if (strategie.combattre()) {
+                    int positionCombat = hero.getPosition() + 1;
+                    if (horde != null) {
+                        // Une vague se joue toujours round par round : son affichage est déjà résumé
+                        horde.jouerVague(questions());
+                        nbRounds += horde.getNbRounds();
+                        degatsInfliges += horde.getDegatsInfliges();
+                        degatsRecus += horde.getDegatsRecus();
+                    } else {
+                        Combat combat = carte.getCombat(positionCombat);
+                        if (strategie.combatRapide()) {
+                            combat.resoudreAutomatiquement(questions());
+                        } else {
+                            combat.derouleCombat(questions());
                         }
-                    } while (choixCombat < 1 || choixCombat > 2);
-    
-                    if (choixCombat == 1) {
-                        carte.getPositionsCombats().get(hero.getPosition() + 1).derouleCombat(listeQuestions);
-                        if (!hero.estMort()) {
-                            System.out.println("\n\u001B[32mVous avez gagné le combat !\u001B[0m");
-                            int positionCombat = hero.getPosition() + 1;
-                            carte.supprimerCombat(positionCombat);
-                            hero.avance(carte);
-                        }else finJeu();
+                        nbRounds += combat.getNbRounds();
+                        degatsInfliges += combat.getDegatsInfliges();
+                        degatsRecus += combat.getDegatsRecus();
+                    }
+                    if (!hero.estMort()) {
+                        rendu.ligne("\n\u001B[32mVous avez gagné le combat !\u001B[0m");
+                        combatsGagnes++;
+                        carte.supprimerCombat(positionCombat);
+                        hero.avance(carte);
                     } else {
-                        hero.setPv(0);
                         finJeu();
+                        return;
                     }
                 } else {
-                    hero.avance(carte);
+                    hero.setPv(0);
+                    finJeu();
+                    return;
                 }
+            } else {
+                hero.avance(carte);
             }
-            case 2 -> {
-                hero.setPv(0);
-                finJeu();
-            }
+        } else {
+            hero.setPv(0);
+            finJeu();
+            return;
         }
-    
-        carte.afficherCarte();
-    
+
+        carte.afficherCarte(rendu);
+
         if (hero.getPosition() == carte.getPositionArrivee() - 1) {
             finJeu();
         }
     }
-    
+
+    /**
+     * Indique si la partie est terminée (victoire ou défaite).
+     *
+     * @return `true` si la partie est terminée, sinon `false`.
+     */
+    public boolean estTerminee() {
+        return terminee;
+    }
+
+    /**
+     * Récupère la carte de la partie.
+     *
+     * @return La carte de la partie.
+     */
+    public ICarte getCarte() {
+        return carte;
+    }
+
+    /**
+     * Récupère le nombre de combats gagnés par le héros.
+     *
+     * @return Nombre de combats gagnés.
+     */
+    public int getCombatsGagnes() {
+        return combatsGagnes;
+    }
+
+    /**
+     * Récupère le nombre total de rounds joués pendant la partie.
+     *
+     * @return Nombre de rounds joués.
+     */
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Récupère les points de vie retirés aux ennemis par le héros pendant la partie.
+     *
+     * @return Dégâts infligés par le héros.
+     */
+    public int getDegatsInfliges() {
+        return degatsInfliges;
+    }
+
+    /**
+     * Récupère les points de vie retirés au héros pendant la partie.
+     *
+     * @return Dégâts reçus par le héros.
+     */
+    public int getDegatsRecus() {
+        return degatsRecus;
+    }
 
     /**
      * Gère la fin de la partie.
      * Affiche un message de victoire si les ennemis ont été vaincus ou de défaite si le héros est mort.
-     * Le programme se termine après l'affichage.
+     * Seule la partie se termine ({@link #estTerminee()}) : la JVM continue, car d'autres parties peuvent s'y dérouler.
      */
     public void finJeu() {
+        IRendu rendu = contexte.getRendu();
+        terminee = true;
+        Metriques.get().partieTerminee(hero.getTypeHeros(), !hero.estMort());
         if (hero.estMort()) {
-            System.out.println("\u001B[31mDéfaite.\u001B[0m Le héros est mort !");
+            contexte.getObservateur().mort(hero);
+            rendu.ligne("\u001B[31mDéfaite.\u001B[0m Le héros est mort !");
             logger.info("Héros mort. Défaite.");
         } else {
-            System.out.println("\u001B[32mVictoire.\u001B[0m Les ennemis ont été vaincus !");
+            rendu.ligne("\u001B[32mVictoire.\u001B[0m Les ennemis ont été vaincus !");
             logger.info("Ennemis vaincus. Victoire.");
         }
-        System.out.println("Merci d'avoir joué !");
-        if (!modeTest) {
-            System.exit(0);
+        if (horde != null && rendu.estActif()) {
+            rendu.trame().append("Vagues repoussées : ").append(horde.getVague()).append('/')
+                    .append(horde.getNombreVagues()).append(".\n");
+        }
+        if (carte instanceof CarteInfinie infinie && infinie.estSansFin() && rendu.estActif()) {
+            rendu.trame().append("Distance parcourue : ").append(hero.getPosition()).append(" cases, ")
+                    .append(combatsGagnes).append(" combats gagnés.\n");
+        }
+        rendu.ligne("Merci d'avoir joué !");
+        rendu.afficher();
+    }
+
+    /**
+     * Écrit l'état de la partie dans une sauvegarde (voir {@link Sauvegarde}) : état du générateur aléatoire,
+     * règle d'initiative, compteurs, héros, carte et curseurs des questions.
+     * Les curseurs ne sont écrits que si la partie s'est déjà servie de la banque de questions : sinon la partie restaurée
+     * ne la lira, comme celle-ci, qu'à son premier combat.
+     * La partie doit être entre deux tours : aucun combat n'est en cours.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     */
+    void sauvegarder(TamponBinaire tampon) {
+        tampon.ecrireLong(alea.getEtat());
+        tampon.ecrireOctet(contexte.getInitiative().ordinal());
+        tampon.ecrireBooleen(terminee);
+        tampon.ecrireEntier(combatsGagnes);
+        tampon.ecrireEntier(nbRounds);
+        tampon.ecrireEntier(degatsInfliges);
+        tampon.ecrireEntier(degatsRecus);
+        tampon.ecrireTexte(hero.getName());
+        tampon.ecrireOctet(hero.getTypeHeros().ordinal());
+        tampon.ecrireEntier(hero.getPv());
+        tampon.ecrireEntier(hero.getForceAttaque());
+        tampon.ecrireBooleen(hero.getPorterAttaque());
+        tampon.ecrireBooleen(hero.getAUtiliseSaCapaciteSpeciale());
+        tampon.ecrireEntier(hero.getPosition());
+        if (carte instanceof CarteInfinie infinie) {
+            tampon.ecrireOctet(CARTE_SANS_FIN);
+            infinie.sauvegarder(tampon);
+        } else {
+            tampon.ecrireOctet(horde != null ? CARTE_HORDE : CARTE_FIXE);
+            ((Carte) carte).sauvegarder(tampon);
+            if (horde != null) horde.sauvegarder(tampon);
+        }
+        tampon.ecrireBooleen(listeQuestions != null);
+        if (listeQuestions != null) listeQuestions.sauvegarder(tampon);
+    }
+
+    /**
+     * Recrée une partie écrite par {@link #sauvegarder(TamponBinaire)} dans un contexte,
+     * dont le générateur aléatoire et la règle d'initiative reprennent l'état sauvegardé.
+     *
+     * @param tampon   Tampon de la sauvegarde.
+     * @param contexte Contexte dans lequel la partie continue.
+     * @return La partie restaurée.
+     */
+    static Jeu restaurer(TamponBinaire tampon, Contexte contexte) {
+        Jeu jeu = new Jeu(contexte);
+        jeu.alea.setEtat(tampon.lireLong());
+        contexte.setInitiative(TypeInitiative.values()[tampon.lireOctet()]);
+        jeu.terminee = tampon.lireBooleen();
+        jeu.combatsGagnes = tampon.lireEntier();
+        jeu.nbRounds = tampon.lireEntier();
+        jeu.degatsInfliges = tampon.lireEntier();
+        jeu.degatsRecus = tampon.lireEntier();
+        String nom = tampon.lireTexte();
+        Heros hero = new Heros(nom, TypeHeros.values()[tampon.lireOctet()], contexte);
+        hero.setPv(tampon.lireEntier());
+        hero.setForceAttaque(tampon.lireEntier());
+        hero.setPorterAttaque(tampon.lireBooleen());
+        hero.setAUtiliseSaCapaciteSpeciale(tampon.lireBooleen());
+        hero.setPosition(tampon.lireEntier());
+        jeu.hero = hero;
+        int typeCarte = tampon.lireOctet();
+        if (typeCarte == CARTE_SANS_FIN) {
+            jeu.carte = CarteInfinie.restaurer(tampon, hero);
+        } else {
+            jeu.carte = Carte.restaurer(tampon, hero, jeu.alea);
+            if (typeCarte == CARTE_HORDE) jeu.horde = Horde.restaurer(tampon, hero);
         }
+        if (tampon.lireBooleen()) jeu.questions().restaurer(tampon);
+        return jeu;
     }
 
     /**
-     * Met en pause l'exécution du jeu pour un nombre donné de millisecondes.
+     * Met en pause l'exécution du jeu pour un nombre donné de millisecondes, selon l'horloge du contexte console.
      * 
      * @param ms Durée de la pause en millisecondes.
      */
     public static void attendre(int ms) {
-        try {
-            Thread.sleep(ms);
-        } catch (InterruptedException e) {
-            System.err.println("Le thread a été interrompu : " + e.getMessage());
-        }
+        Contexte.console().attendre(ms);
     }
 }
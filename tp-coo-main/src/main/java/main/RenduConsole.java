@@ -0,0 +1,79 @@
+package main;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+import utils.IRendu;
+
+/**
+ * Rendu sur un flux texte (console ou connexion d'un joueur).
+ * La trame est construite dans un {@link StringBuilder} réutilisé, encodée dans un tampon d'octets
+ * lui aussi réutilisé, puis écrite en une seule fois sur le flux.
+ */
+public class RenduConsole implements IRendu {
+    /**
+     * Flux sur lequel les trames sont écrites.
+     */
+    private final PrintStream sortie;
+
+    /**
+     * Tampon de la trame en cours.
+     */
+    private final StringBuilder trame = new StringBuilder(4096);
+
+    /**
+     * Encodeur UTF-8 réutilisé d'une trame à l'autre.
+     */
+    private final CharsetEncoder encodeur = StandardCharsets.UTF_8.newEncoder();
+
+    /**
+     * Tampon d'octets réutilisé, agrandi si une trame ne tient pas dedans.
+     */
+    private ByteBuffer octets = ByteBuffer.allocate(8192);
+
+    /**
+     * Constructeur d'un rendu sur un flux.
+     *
+     * @param sortie Flux sur lequel les trames sont écrites.
+     */
+    public RenduConsole(PrintStream sortie) {
+        this.sortie = sortie;
+    }
+
+    @Override
+    public boolean estActif() {
+        return true;
+    }
+
+    @Override
+    public StringBuilder trame() {
+        return trame;
+    }
+
+    @Override
+    public void afficher() {
+        if (trame.isEmpty()) {
+            return;
+        }
+        CharBuffer caracteres = CharBuffer.wrap(trame);
+        encodeur.reset();
+        octets.clear();
+        while (true) {
+            CoderResult resultat = encodeur.encode(caracteres, octets, true);
+            if (resultat.isUnderflow()) resultat = encodeur.flush(octets);
+            if (resultat.isUnderflow()) break;
+            // Trame plus grande que le tampon : on l'agrandit et on continue l'encodage
+            ByteBuffer agrandi = ByteBuffer.allocate(octets.capacity() * 2);
+            octets.flip();
+            agrandi.put(octets);
+            octets = agrandi;
+        }
+        sortie.write(octets.array(), 0, octets.position());
+        sortie.flush();
+        trame.setLength(0);
+    }
+}
@@ -0,0 +1,30 @@
+package main;
+
+import utils.IRendu;
+
+/**
+ * Rendu inactif, utilisé quand personne ne regarde la partie (simulation, tests, bancs d'essai) :
+ * aucun texte n'est construit ni écrit.
+ */
+public class RenduVide implements IRendu {
+    /**
+     * Tampon rendu aux appelants qui n'ont pas testé {@link #estActif()}, vidé à chaque demande.
+     */
+    private final StringBuilder trame = new StringBuilder();
+
+    @Override
+    public boolean estActif() {
+        return false;
+    }
+
+    @Override
+    public StringBuilder trame() {
+        trame.setLength(0);
+        return trame;
+    }
+
+    @Override
+    public void afficher() {
+        // Rien à afficher
+    }
+}
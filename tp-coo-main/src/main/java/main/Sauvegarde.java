@@ -0,0 +1,127 @@
+package main;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import utils.TamponBinaire;
+
+/**
+ * Sauvegarde binaire d'une partie en cours, entre deux tours.
+ * Une sauvegarde contient tout ce qu'il faut pour reprendre la partie exactement où elle en était, y compris l'état
+ * du générateur aléatoire : la suite de la partie restaurée est identique à celle de la partie sauvegardée.
+ * Elle ne fait que quelques centaines d'octets (la carte sans fin n'a que deux tronçons en mémoire) et se restaure
+ * sans aucun tirage aléatoire : on peut en prendre une à chaque tour. La banque de questions, partagée par les
+ * parties, n'est lue que si la partie sauvegardée s'en était déjà servie, pour replacer ses curseurs.
+ *
+ * <p>Format (entiers gros-boutistes, chaînes en UTF-8 précédées de leur longueur) :</p>
+ * <ul>
+ * <li>en-tête : magie {@code BTAS}, version ;</li>
+ * <li>état du générateur aléatoire, règle d'initiative des combats, fin de partie et compteurs de la partie ;</li>
+ * <li>héros : nom, type, points de vie, force d'attaque, attaque prête, capacité spéciale utilisée, position ;</li>
+ * <li>carte fixe (cases, combats restants et leurs ennemis), carte sans fin (paramètres, tronçons en mémoire
+ * et combats déjà rencontrés) ou carte du mode horde suivie de la taille des vagues et des vagues repoussées ;</li>
+ * <li>présence des curseurs de tirage des questions, puis les curseurs s'il y en a (la banque elle-même n'est pas
+ * sauvegardée).</li>
+ * </ul>
+ */
+public final class Sauvegarde {
+    /**
+     * Nombre magique au début de chaque sauvegarde ({@code BTAS}).
+     */
+    static final int MAGIE = 0x42544153;
+
+    /**
+     * Version du format.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Tampon réutilisé d'une sauvegarde à l'autre.
+     */
+    private final TamponBinaire tampon = new TamponBinaire();
+
+    /**
+     * Capture l'état d'une partie entre deux tours.
+     * Le contenu renvoyé est celui du tampon de cette sauvegarde : il n'est valable que jusqu'à la capture suivante.
+     *
+     * @param jeu Partie à sauvegarder.
+     * @return Le contenu de la sauvegarde, prêt à être lu.
+     */
+    public ByteBuffer capturer(Jeu jeu) {
+        tampon.vider();
+        tampon.ecrireEntier(MAGIE);
+        tampon.ecrireEntier(VERSION);
+        jeu.sauvegarder(tampon);
+        return tampon.terminer();
+    }
+
+    /**
+     * Capture l'état d'une partie et l'écrit dans un fichier, en une seule écriture sur le canal.
+     *
+     * @param jeu     Partie à sauvegarder.
+     * @param fichier Fichier de la sauvegarde (remplacé s'il existe).
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public void enregistrer(Jeu jeu, Path fichier) throws IOException {
+        ByteBuffer contenu = capturer(jeu);
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contenu.hasRemaining()) {
+                canal.write(contenu);
+            }
+        }
+    }
+
+    /**
+     * Restaure une partie à partir du contenu d'une sauvegarde.
+     * Le contenu n'est pas consommé : la même sauvegarde peut être restaurée plusieurs fois.
+     *
+     * @param contenu  Contenu de la sauvegarde.
+     * @param contexte Contexte dans lequel la partie continue (son générateur aléatoire et sa règle d'initiative
+     *                 reprennent l'état sauvegardé).
+     * @return La partie restaurée.
+     * @throws IllegalArgumentException Si le contenu n'est pas une sauvegarde valide.
+     */
+    public static Jeu restaurer(ByteBuffer contenu, Contexte contexte) {
+        TamponBinaire lecture = new TamponBinaire(contenu.duplicate());
+        try {
+            if (lecture.lireEntier() != MAGIE) {
+                throw new IllegalArgumentException("Ce n'est pas une sauvegarde de partie.");
+            }
+            int version = lecture.lireEntier();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Version de sauvegarde non prise en charge : " + version);
+            }
+            return Jeu.restaurer(lecture, contexte);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Sauvegarde tronquée ou corrompue.", e);
+        }
+    }
+
+    /**
+     * Lit une sauvegarde depuis un fichier et restaure la partie.
+     *
+     * @param fichier  Fichier de la sauvegarde.
+     * @param contexte Contexte dans lequel la partie continue.
+     * @return La partie restaurée.
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas une sauvegarde valide.
+     */
+    public static Jeu charger(Path fichier, Contexte contexte) throws IOException {
+        ByteBuffer contenu;
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            contenu = ByteBuffer.allocate((int) canal.size());
+            while (contenu.hasRemaining() && canal.read(contenu) >= 0) {
+                // Lecture jusqu'à la fin du fichier
+            }
+        }
+        try {
+            return restaurer(contenu.flip(), contexte);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(fichier + " : " + e.getMessage(), e);
+        }
+    }
+}
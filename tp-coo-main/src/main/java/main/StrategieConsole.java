@@ -0,0 +1,152 @@
+package main;
+
+import java.util.List;
+import java.util.Scanner;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import questions.Question;
+import utils.IRendu;
+import utils.IStrategie;
+import utils.TypeHeros;
+
+/**
+ * Stratégie de décision pilotée par un joueur humain.
+ * Les questions sont ajoutées à la trame du rendu, affichée avant chaque saisie, et les réponses sont lues ligne par ligne
+ * depuis le {@link Scanner} fourni.
+ */
+public class StrategieConsole implements IStrategie {
+    /**
+     * Scanner utilisé pour lire les saisies du joueur.
+     */
+    private final Scanner scanner;
+
+    /**
+     * Rendu sur lequel les questions sont affichées.
+     */
+    private final IRendu rendu;
+
+    /**
+     * Indique si le joueur a choisi le combat rapide au dernier groupe d'ennemis rencontré.
+     */
+    private boolean combatRapide;
+
+    /**
+     * Constructeur de la stratégie console.
+     *
+     * @param scanner Scanner utilisé pour lire les saisies du joueur.
+     * @param rendu   Rendu de l'affichage des questions.
+     */
+    public StrategieConsole(Scanner scanner, IRendu rendu) {
+        this.scanner = scanner;
+        this.rendu = rendu;
+    }
+
+    @Override
+    public String choixNom() {
+        rendu.ligne("Entrez votre nom : ");
+        return lireLigne();
+    }
+
+    @Override
+    public TypeHeros choixTypeHeros() {
+        rendu.ligne("Sélectionne ton héro : ");
+        TypeHeros.afficherPossibilites(rendu);
+        rendu.ligne("Choisissez un nombre entre 1 et 4 :");
+        return switch (lireEntier()) {
+            case 2 -> TypeHeros.MAGE;
+            case 3 -> TypeHeros.SOIGNEUR;
+            case 4 -> TypeHeros.ASSASSIN;
+            default -> TypeHeros.BARBARE;
+        };
+    }
+
+    @Override
+    public int choixNiveau() {
+        rendu.ligne("Choississez un niveau de difficulté : ");
+        rendu.ligne("1. Facile\n2. Moyen\n3. Difficile\n4. Sans fin\n5. Horde");
+        return lireEntier();
+    }
+
+    @Override
+    public boolean avancer() {
+        int choix;
+        do {
+            rendu.ligne("Que voulez-vous faire ?");
+            rendu.ligne("1. Avancer\n2. Quitter");
+            choix = lireEntier();
+            if (choix < 1 || choix > 2) {
+                rendu.ligne("Choix invalide. Veuillez saisir 1 ou 2.");
+            }
+        } while (choix < 1 || choix > 2);
+        return choix == 1;
+    }
+
+    @Override
+    public boolean combattre() {
+        int choix;
+        do {
+            rendu.ligne("Voulez-vous combattre ou abandonner ?");
+            rendu.ligne("1. Combattre\n2. Abandonner\n3. Combat rapide");
+            choix = lireEntier();
+            if (choix < 1 || choix > 3) {
+                rendu.ligne("Choix invalide. Veuillez saisir 1, 2 ou 3.");
+            }
+        } while (choix < 1 || choix > 3);
+        combatRapide = choix == 3;
+        return choix != 2;
+    }
+
+    @Override
+    public boolean combatRapide() {
+        return combatRapide;
+    }
+
+    @Override
+    public boolean utiliserCapaciteSpeciale(Heros heros, List<Ennemi> ennemis) {
+        rendu.ligne("Souhaites-tu utiliser ta capacité spéciale de ton héros ?");
+        String reponse = lireLigne();
+        if (reponse.isEmpty()) return false;
+        return reponse.charAt(0) == 'O' || reponse.charAt(0) == 'o';
+    }
+
+    @Override
+    public int repondre(Question question) {
+        question.afficherQuestion(rendu);
+        int choixNum = lireEntier();
+        while (choixNum < 1 || choixNum > 4) {
+            rendu.texte("Entrée invalide. Veuillez saisir un numéro entre 1 et 4 : ");
+            choixNum = lireEntier();
+        }
+        return choixNum;
+    }
+
+    /**
+     * Lit une ligne saisie par le joueur.
+     * La trame en cours est affichée avant la lecture, pour que la question soit visible.
+     *
+     * @return La ligne saisie.
+     * @throws java.util.NoSuchElementException Si l'entrée est fermée (joueur déconnecté).
+     */
+    private String lireLigne() {
+        rendu.afficher();
+        return scanner.nextLine();
+    }
+
+    /**
+     * Lit un nombre entier sur une ligne complète.
+     * Tant que la saisie n'est pas un nombre, un message d'erreur est affiché et une nouvelle ligne est lue.
+     *
+     * @return Le nombre saisi.
+     */
+    private int lireEntier() {
+        while (true) {
+            String ligne = lireLigne().trim();
+            try {
+                return Integer.parseInt(ligne);
+            } catch (NumberFormatException e) {
+                rendu.ligne("Entrée invalide. Veuillez saisir un nombre.");
+            }
+        }
+    }
+}
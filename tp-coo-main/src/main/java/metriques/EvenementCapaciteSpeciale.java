@@ -0,0 +1,34 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR de l'utilisation de la capacité spéciale d'un héros ({@code TypeHeros.utilisationCapaciteSpeciale}).
+ */
+@Name("beatthemall.CapaciteSpeciale")
+@Label("Capacité spéciale")
+@Category({"Beat them all", "Combat"})
+@Description("Utilisation de la capacité spéciale du héros.")
+public class EvenementCapaciteSpeciale extends Event {
+    /**
+     * Type du héros.
+     */
+    @Label("Type de héros")
+    public String typeHeros;
+
+    /**
+     * Nombre d'ennemis présents avant la capacité.
+     */
+    @Label("Ennemis")
+    public int ennemis;
+
+    /**
+     * Dégâts infligés par la capacité.
+     */
+    @Label("Dégâts")
+    public int degats;
+}
@@ -0,0 +1,53 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR d'un combat contre un groupe d'ennemis ({@code Combat.derouleCombat}
+ * ou {@code Combat.resoudreAutomatiquement}).
+ */
+@Name("beatthemall.Combat")
+@Label("Combat")
+@Category({"Beat them all", "Combat"})
+@Description("Un combat du héros contre un groupe d'ennemis.")
+public class EvenementCombat extends Event {
+    /**
+     * Type du héros.
+     */
+    @Label("Type de héros")
+    public String typeHeros;
+
+    /**
+     * Nombre d'ennemis au début du combat.
+     */
+    @Label("Ennemis")
+    public int ennemis;
+
+    /**
+     * Nombre de rounds joués.
+     */
+    @Label("Rounds")
+    public int rounds;
+
+    /**
+     * Dégâts infligés par le héros.
+     */
+    @Label("Dégâts infligés")
+    public int degatsInfliges;
+
+    /**
+     * Dégâts reçus par le héros.
+     */
+    @Label("Dégâts reçus")
+    public int degatsRecus;
+
+    /**
+     * Indique si le combat a été résolu automatiquement.
+     */
+    @Label("Combat rapide")
+    public boolean rapide;
+}
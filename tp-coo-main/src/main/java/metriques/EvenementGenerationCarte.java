@@ -0,0 +1,34 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR de la génération de la carte et des combats d'une partie ({@code Jeu.demarrageJeu}).
+ */
+@Name("beatthemall.GenerationCarte")
+@Label("Génération de la carte")
+@Category({"Beat them all", "Jeu"})
+@Description("Génération de la carte d'une partie et de ses combats.")
+public class EvenementGenerationCarte extends Event {
+    /**
+     * Niveau de difficulté.
+     */
+    @Label("Niveau")
+    public int niveau;
+
+    /**
+     * Longueur de la carte.
+     */
+    @Label("Longueur")
+    public int longueur;
+
+    /**
+     * Nombre de combats générés (-1 pour une carte sans fin, générée au fil de la partie).
+     */
+    @Label("Combats")
+    public int combats;
+}
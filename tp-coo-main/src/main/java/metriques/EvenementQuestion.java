@@ -0,0 +1,35 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR d'une question de QCM ({@code Question.poserQuestion}) :
+ * sa durée comprend le temps de réflexion du joueur.
+ */
+@Name("beatthemall.Question")
+@Label("Question de QCM")
+@Category({"Beat them all", "Questions"})
+@Description("Une question posée au joueur, attente de sa réponse comprise.")
+public class EvenementQuestion extends Event {
+    /**
+     * Catégorie de la question.
+     */
+    @Label("Catégorie")
+    public String categorie;
+
+    /**
+     * Difficulté de la question.
+     */
+    @Label("Difficulté")
+    public int difficulte;
+
+    /**
+     * Indique si le joueur a bien répondu.
+     */
+    @Label("Bonne réponse")
+    public boolean bonneReponse;
+}
@@ -0,0 +1,46 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR d'un round de combat joué pas à pas.
+ */
+@Name("beatthemall.Round")
+@Label("Round de combat")
+@Category({"Beat them all", "Combat"})
+@Description("Un round entre le héros et un ennemi : une attaque de chacun.")
+public class EvenementRound extends Event {
+    /**
+     * Type du héros.
+     */
+    @Label("Type de héros")
+    public String typeHeros;
+
+    /**
+     * Type de l'ennemi affronté.
+     */
+    @Label("Type d'ennemi")
+    public String typeEnnemi;
+
+    /**
+     * Numéro du round contre cet ennemi.
+     */
+    @Label("nbT")
+    public int nbT;
+
+    /**
+     * Dégâts infligés par le héros pendant le round.
+     */
+    @Label("Dégâts infligés")
+    public int degatsInfliges;
+
+    /**
+     * Dégâts reçus par le héros pendant le round.
+     */
+    @Label("Dégâts reçus")
+    public int degatsRecus;
+}
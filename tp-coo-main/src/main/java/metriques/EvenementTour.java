@@ -0,0 +1,34 @@
+package metriques;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR d'un tour de jeu ({@code Jeu.jouerTour}), attente du joueur comprise.
+ */
+@Name("beatthemall.Tour")
+@Label("Tour de jeu")
+@Category({"Beat them all", "Jeu"})
+@Description("Un tour de jeu : déplacement du héros et éventuel combat.")
+public class EvenementTour extends Event {
+    /**
+     * Type du héros.
+     */
+    @Label("Type de héros")
+    public String typeHeros;
+
+    /**
+     * Position du héros à la fin du tour.
+     */
+    @Label("Position")
+    public int position;
+
+    /**
+     * Indique si le tour a terminé la partie.
+     */
+    @Label("Fin de partie")
+    public boolean finPartie;
+}
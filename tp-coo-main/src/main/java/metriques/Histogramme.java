@@ -0,0 +1,105 @@
+package metriques;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de valeurs positives, enregistrées sans verrou depuis un nombre quelconque de threads.
+ * Les valeurs sont réparties en classes de puissances de 2 (la classe {@code k} contient les valeurs
+ * de {@code 2^(k-1)} à {@code 2^k - 1}) ; chaque classe est un {@link LongAdder}, réparti en cellules
+ * dès qu'il y a de la contention, si bien que l'enregistrement ne sérialise jamais les threads.
+ * Les quantiles sont donc approchés à un facteur 2 près, ce qui suffit pour repérer une dérive.
+ */
+public final class Histogramme {
+    /**
+     * Nombre de classes.
+     */
+    private static final int CLASSES = 64;
+
+    /**
+     * Effectif de chaque classe.
+     */
+    private final LongAdder[] classes = new LongAdder[CLASSES];
+
+    /**
+     * Somme des valeurs enregistrées.
+     */
+    private final LongAdder somme = new LongAdder();
+
+    /**
+     * Plus grande valeur enregistrée.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructeur d'un histogramme vide.
+     */
+    public Histogramme() {
+        for (int k = 0; k < CLASSES; k++) {
+            classes[k] = new LongAdder();
+        }
+    }
+
+    /**
+     * Enregistre une valeur (les valeurs négatives comptent pour 0).
+     *
+     * @param valeur Valeur à enregistrer.
+     */
+    public void enregistrer(long valeur) {
+        long v = Math.max(0, valeur);
+        classes[Math.min(CLASSES - 1, 64 - Long.numberOfLeadingZeros(v))].increment();
+        somme.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Calcule un instantané des statistiques de l'histogramme.
+     * Les enregistrements concurrents à la lecture peuvent y figurer ou non.
+     *
+     * @return Les statistiques de l'histogramme.
+     */
+    public StatistiquesHistogramme instantane() {
+        long[] effectifs = new long[CLASSES];
+        long nombre = 0;
+        for (int k = 0; k < CLASSES; k++) {
+            effectifs[k] = classes[k].sum();
+            nombre += effectifs[k];
+        }
+        long plusGrande = max.get();
+        return new StatistiquesHistogramme(nombre, nombre == 0 ? 0 : (double) somme.sum() / nombre, plusGrande,
+                quantile(effectifs, nombre, 0.5, plusGrande), quantile(effectifs, nombre, 0.9, plusGrande),
+                quantile(effectifs, nombre, 0.99, plusGrande));
+    }
+
+    /**
+     * Remet l'histogramme à zéro.
+     */
+    public void reinitialiser() {
+        for (LongAdder classe : classes) {
+            classe.reset();
+        }
+        somme.reset();
+        max.reset();
+    }
+
+    /**
+     * Calcule un quantile approché : la borne supérieure de la classe qui le contient.
+     *
+     * @param effectifs Effectif de chaque classe.
+     * @param nombre    Nombre total de valeurs.
+     * @param q         Ordre du quantile (entre 0 et 1).
+     * @param max       Plus grande valeur enregistrée (borne du résultat).
+     * @return Le quantile approché.
+     */
+    private static long quantile(long[] effectifs, long nombre, double q, long max) {
+        long rang = (long) Math.ceil(q * nombre);
+        long cumul = 0;
+        for (int k = 0; k < CLASSES; k++) {
+            cumul += effectifs[k];
+            if (cumul >= rang && cumul > 0) {
+                return Math.min(max, k == 0 ? 0 : (1L << k) - 1);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,277 @@
+package metriques;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import utils.IMetriques;
+import utils.TypeHeros;
+
+/**
+ * Métriques du jeu, partagées par toutes les parties de la JVM et exposées par JMX (voir {@link IMetriques}).
+ * Tous les compteurs sont des {@link LongAdder} et les distributions des {@link Histogramme} : l'enregistrement
+ * depuis les chemins chauds (attaques, tours, réponses) ne prend aucun verrou et ne fausse pas les mesures,
+ * même avec de nombreuses parties concurrentes (simulation, serveur).
+ */
+public final class Metriques implements IMetriques {
+    /**
+     * Logger pour signaler un échec de publication des métriques.
+     */
+    private static final Logger logger = Logger.getLogger(Metriques.class.getName());
+
+    /**
+     * Nom JMX des métriques.
+     */
+    public static final String NOM_JMX = "beatthemall:type=Metriques";
+
+    /**
+     * Instance unique.
+     */
+    private static final Metriques INSTANCE = new Metriques();
+
+    /**
+     * Nombre de parties démarrées.
+     */
+    private final LongAdder partiesDemarrees = new LongAdder();
+
+    /**
+     * Nombre de parties terminées.
+     */
+    private final LongAdder partiesTerminees = new LongAdder();
+
+    /**
+     * Nombre de victoires, par type de héros (indexé par ordinal).
+     */
+    private final LongAdder[] victoires = compteurs(TypeHeros.values().length);
+
+    /**
+     * Nombre de défaites, par type de héros (indexé par ordinal).
+     */
+    private final LongAdder[] defaites = compteurs(TypeHeros.values().length);
+
+    /**
+     * Nombre de bonnes réponses aux QCM.
+     */
+    private final LongAdder bonnesReponses = new LongAdder();
+
+    /**
+     * Nombre de mauvaises réponses aux QCM.
+     */
+    private final LongAdder mauvaisesReponses = new LongAdder();
+
+    /**
+     * Nombre de combats par carte générée.
+     */
+    private final Histogramme combatsParCarte = new Histogramme();
+
+    /**
+     * Nombre de rounds par combat.
+     */
+    private final Histogramme roundsParCombat = new Histogramme();
+
+    /**
+     * Dégâts par attaque d'un personnage.
+     */
+    private final Histogramme degatsParAttaque = new Histogramme();
+
+    /**
+     * Durée d'un tour de jeu, en nanosecondes.
+     */
+    private final Histogramme dureeTour = new Histogramme();
+
+    /**
+     * Constructeur privé : les métriques s'obtiennent par {@link #get()}.
+     */
+    private Metriques() {
+    }
+
+    /**
+     * Récupère les métriques du jeu.
+     *
+     * @return L'instance unique des métriques.
+     */
+    public static Metriques get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publie les métriques sur le serveur JMX de la plateforme, sous le nom {@value #NOM_JMX}.
+     * Un nouvel appel est sans effet.
+     */
+    public static void publier() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(NOM_JMX));
+        } catch (InstanceAlreadyExistsException e) {
+            // Déjà publiées
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "Impossible de publier les métriques JMX", e);
+        }
+    }
+
+    /**
+     * Enregistre le démarrage d'une partie.
+     *
+     * @param combats Nombre de combats de la carte générée, ou -1 si la carte est sans fin.
+     */
+    public void partieDemarree(int combats) {
+        partiesDemarrees.increment();
+        if (combats >= 0) {
+            combatsParCarte.enregistrer(combats);
+        }
+    }
+
+    /**
+     * Enregistre la fin d'une partie.
+     *
+     * @param type     Type du héros.
+     * @param victoire `true` si la partie est gagnée.
+     */
+    public void partieTerminee(TypeHeros type, boolean victoire) {
+        partiesTerminees.increment();
+        (victoire ? victoires : defaites)[type.ordinal()].increment();
+    }
+
+    /**
+     * Enregistre la fin d'un combat.
+     *
+     * @param rounds Nombre de rounds du combat.
+     */
+    public void combatTermine(int rounds) {
+        roundsParCombat.enregistrer(rounds);
+    }
+
+    /**
+     * Enregistre une attaque d'un personnage.
+     *
+     * @param degats Dégâts de l'attaque.
+     */
+    public void attaque(int degats) {
+        degatsParAttaque.enregistrer(degats);
+    }
+
+    /**
+     * Enregistre une réponse à un QCM.
+     *
+     * @param bonne `true` si la réponse est juste.
+     */
+    public void reponse(boolean bonne) {
+        (bonne ? bonnesReponses : mauvaisesReponses).increment();
+    }
+
+    /**
+     * Enregistre la durée d'un tour de jeu.
+     *
+     * @param dureeNs Durée du tour, en nanosecondes.
+     */
+    public void tour(long dureeNs) {
+        dureeTour.enregistrer(dureeNs);
+    }
+
+    @Override
+    public long getPartiesDemarrees() {
+        return partiesDemarrees.sum();
+    }
+
+    @Override
+    public long getPartiesTerminees() {
+        return partiesTerminees.sum();
+    }
+
+    @Override
+    public Map<String, Long> getVictoiresParHeros() {
+        return parHeros(victoires);
+    }
+
+    @Override
+    public Map<String, Long> getDefaitesParHeros() {
+        return parHeros(defaites);
+    }
+
+    @Override
+    public long getBonnesReponses() {
+        return bonnesReponses.sum();
+    }
+
+    @Override
+    public long getMauvaisesReponses() {
+        return mauvaisesReponses.sum();
+    }
+
+    @Override
+    public double getTauxBonnesReponses() {
+        long bonnes = bonnesReponses.sum();
+        long total = bonnes + mauvaisesReponses.sum();
+        return total == 0 ? 0 : (double) bonnes / total;
+    }
+
+    @Override
+    public StatistiquesHistogramme getCombatsParCarte() {
+        return combatsParCarte.instantane();
+    }
+
+    @Override
+    public StatistiquesHistogramme getRoundsParCombat() {
+        return roundsParCombat.instantane();
+    }
+
+    @Override
+    public StatistiquesHistogramme getDegatsParAttaque() {
+        return degatsParAttaque.instantane();
+    }
+
+    @Override
+    public StatistiquesHistogramme getDureeTourNs() {
+        return dureeTour.instantane();
+    }
+
+    @Override
+    public void reinitialiser() {
+        partiesDemarrees.reset();
+        partiesTerminees.reset();
+        for (int i = 0; i < victoires.length; i++) {
+            victoires[i].reset();
+            defaites[i].reset();
+        }
+        bonnesReponses.reset();
+        mauvaisesReponses.reset();
+        combatsParCarte.reinitialiser();
+        roundsParCombat.reinitialiser();
+        degatsParAttaque.reinitialiser();
+        dureeTour.reinitialiser();
+    }
+
+    /**
+     * Crée des compteurs à zéro.
+     *
+     * @param nombre Nombre de compteurs.
+     * @return Les compteurs.
+     */
+    private static LongAdder[] compteurs(int nombre) {
+        LongAdder[] compteurs = new LongAdder[nombre];
+        for (int i = 0; i < nombre; i++) {
+            compteurs[i] = new LongAdder();
+        }
+        return compteurs;
+    }
+
+    /**
+     * Associe chaque type de héros à son compteur.
+     *
+     * @param compteurs Compteurs indexés par ordinal du type de héros.
+     * @return Les valeurs des compteurs, par type de héros.
+     */
+    private static Map<String, Long> parHeros(LongAdder[] compteurs) {
+        Map<String, Long> valeurs = new LinkedHashMap<>();
+        for (TypeHeros type : TypeHeros.values()) {
+            valeurs.put(type.name(), compteurs[type.ordinal()].sum());
+        }
+        return valeurs;
+    }
+}
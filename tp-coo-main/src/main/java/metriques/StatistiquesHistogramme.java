@@ -0,0 +1,117 @@
+package metriques;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Instantané des statistiques d'un {@link Histogramme}, exposé tel quel par JMX.
+ */
+public final class StatistiquesHistogramme {
+    /**
+     * Nombre de valeurs enregistrées.
+     */
+    private final long nombre;
+
+    /**
+     * Moyenne des valeurs.
+     */
+    private final double moyenne;
+
+    /**
+     * Plus grande valeur.
+     */
+    private final long max;
+
+    /**
+     * Médiane approchée.
+     */
+    private final long p50;
+
+    /**
+     * Quantile à 90 % approché.
+     */
+    private final long p90;
+
+    /**
+     * Quantile à 99 % approché.
+     */
+    private final long p99;
+
+    /**
+     * Constructeur d'un instantané.
+     *
+     * @param nombre  Nombre de valeurs enregistrées.
+     * @param moyenne Moyenne des valeurs.
+     * @param max     Plus grande valeur.
+     * @param p50     Médiane approchée.
+     * @param p90     Quantile à 90 % approché.
+     * @param p99     Quantile à 99 % approché.
+     */
+    @ConstructorParameters({"nombre", "moyenne", "max", "p50", "p90", "p99"})
+    public StatistiquesHistogramme(long nombre, double moyenne, long max, long p50, long p90, long p99) {
+        this.nombre = nombre;
+        this.moyenne = moyenne;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    /**
+     * Récupère le nombre de valeurs enregistrées.
+     *
+     * @return Le nombre de valeurs.
+     */
+    public long getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Récupère la moyenne des valeurs.
+     *
+     * @return La moyenne (0 si aucune valeur).
+     */
+    public double getMoyenne() {
+        return moyenne;
+    }
+
+    /**
+     * Récupère la plus grande valeur.
+     *
+     * @return La plus grande valeur.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Récupère la médiane approchée.
+     *
+     * @return La médiane.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Récupère le quantile à 90 % approché.
+     *
+     * @return Le quantile à 90 %.
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Récupère le quantile à 99 % approché.
+     *
+     * @return Le quantile à 99 %.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d moyenne=%.1f p50=%d p90=%d p99=%d max=%d", nombre, moyenne, p50, p90, p99, max);
+    }
+}
@@ -53,12 +53,12 @@ public class Ennemi extends Personnage {
     }
 
     /**
-     * Génère une représentation textuelle des statistiques de l'ennemi.
-     * Affiche les points de vie, la force d'attaque et son type.
+     * Complète la barre de statistiques de l'ennemi avec son type.
      *
-     * @return Barre de statistiques sous forme de chaîne de caractères.
+     * @param sb Tampon de la barre de statistiques.
      */
-    public String statsBar() {
-        return super.statsBar().substring(0, super.statsBar().length() - 1) + " | Type : " + this.getType() + ")";
+    @Override
+    protected void completerStatsBar(StringBuilder sb) {
+        sb.append(" | Type : ").append(this.getType());
     }
 }
@@ -1,13 +1,14 @@
 package personnages;
 
 import java.util.List;
-import java.util.Random;
-import java.util.Scanner;
 import java.util.logging.Logger;
 
-import main.Carte;
-import net.datafaker.Faker;
+import main.Contexte;
 import questions.ListeQuestions;
+import questions.Question;
+import utils.Alea;
+import utils.ICarte;
+import utils.IRendu;
 import utils.TypeHeros;
 
 
@@ -19,7 +20,11 @@ import utils.TypeHeros;
 public class Heros extends Personnage {
     private static final Logger logger = Logger.getLogger(Heros.class.getName());
     private static final int MULTIPLICATION_ATTAQUE = 5;
-    private final Scanner scanner = new Scanner(System.in);
+
+    /**
+     * Contexte de la partie (stratégie du joueur, affichage et pauses).
+     */
+    private final Contexte contexte;
 
     /**
      * Capacité spéciale du héros.
@@ -43,10 +48,22 @@ public class Heros extends Personnage {
      * @param typeHeros  Capacité spéciale du héros.
      */
     public Heros(String name, TypeHeros typeHeros) {
+        this(name, typeHeros, Contexte.console());
+    }
+
+    /**
+     * Constructeur pour créer un héros rattaché au contexte d'une partie.
+     *
+     * @param name      Nom du héros.
+     * @param typeHeros Capacité spéciale du héros.
+     * @param contexte  Contexte de la partie.
+     */
+    public Heros(String name, TypeHeros typeHeros, Contexte contexte) {
         super(name, typeHeros.getPv(), typeHeros.getForceAttaque(), 1);
         this.typeHeros = typeHeros;
+        this.contexte = contexte;
         
-        logger.info("Héros ajouté (" + getName() + ") = PV / Puissance / Nombre d'attaques / Capacité : " +
+        logger.info(() -> "Héros ajouté (" + getName() + ") = PV / Puissance / Nombre d'attaques / Capacité : " +
                 getPv() + " / " + getForceAttaque() + " / " + getNombreAttaque() + " / " + getTypeHeros());
     }
 
@@ -59,6 +76,15 @@ public class Heros extends Personnage {
         return this.typeHeros;
     }
 
+    /**
+     * Récupère le contexte de la partie du héros.
+     *
+     * @return Le contexte de la partie.
+     */
+    public Contexte getContexte() {
+        return this.contexte;
+    }
+
     /**
      * Récupère l'état d'utilisation de la capacité spéciale.
      * 
@@ -78,45 +104,118 @@ public class Heros extends Personnage {
     }
 
     /**
-     * Demande au joueur s'il souhaite utiliser la capacité spéciale de son héros.
+     * Réalise une attaque sur les ennemis.
+     * Si la capacité spéciale du héros n'a pas encore été utilisée, demande au joueur s'il souhaite l'activer.
+     * Sinon, attaque normalement le premier ennemi, avec une chance sur deux de passer par un QCM.
+     * 
+     * @param ennemis Liste des ennemis présents.
+     * @param listeQuestions Questions disponibles pour les QCM.
+     * @return Nombre de points de vie retirés aux ennemis.
+     */
+    public int attaque(List<Ennemi> ennemis, ListeQuestions listeQuestions) {
+        Alea alea = contexte.getAlea();
+        boolean activateQCM = alea.pileOuFace();
+        if (!aUtiliseSaCapaciteSpeciale && contexte.getStrategie().utiliserCapaciteSpeciale(this, ennemis)) {
+            return utiliserCapaciteSpeciale(ennemis);
+        }
+        if (!listeQuestions.estVide() && activateQCM) {
+            return attaqueQcm(ennemis, choisirQuestion(ennemis, listeQuestions));
+        }
+        return attaqueSimple(ennemis);
+    }
+
+    /**
+     * Tire la question d'une attaque par QCM, de la difficulté choisie par le joueur
+     * (voir {@link utils.IStrategie#difficulteQcm}).
+     * S'il ne reste aucune question de cette difficulté, une question quelconque est tirée.
      *
-     * @return `true` si le joueur souhaite utiliser la capacité spéciale, sinon `false`.
+     * @param ennemis        Liste des ennemis présents.
+     * @param listeQuestions Questions disponibles pour les QCM (non vide).
+     * @return La question tirée.
      */
-    private boolean choixJoueur() {
+    public Question choisirQuestion(List<Ennemi> ennemis, ListeQuestions listeQuestions) {
+        Alea alea = contexte.getAlea();
+        int difficulte = contexte.getStrategie().difficulteQcm(this, ennemis);
+        Question question = difficulte > 0 ? listeQuestions.getQuestionAleatoire(alea, difficulte) : null;
+        return question != null ? question : listeQuestions.getQuestionAleatoire(alea);
+    }
 
-        System.out.println("Souhaites-tu utiliser ta capacité spéciale de ton héros ?");
-        String reponse = scanner.nextLine();
-        if (reponse.isEmpty()) return false;
-        return reponse.charAt(0) == 'O' || reponse.charAt(0) == 'o';
+    /**
+     * Utilise la capacité spéciale du héros (voir {@link TypeHeros#utilisationCapaciteSpeciale}).
+     *
+     * @param ennemis Liste des ennemis présents.
+     * @return Nombre de points de vie retirés aux ennemis.
+     */
+    public int utiliserCapaciteSpeciale(List<Ennemi> ennemis) {
+        setAUtiliseSaCapaciteSpeciale(true);
+        int degats = TypeHeros.utilisationCapaciteSpeciale(this, ennemis, contexte.getRendu());
+        contexte.getObservateur().capaciteSpeciale(this, degats);
+        return degats;
     }
 
     /**
-     * Réalise une attaque sur les ennemis.
-     * Si la capacité spéciale du héros n'a pas encore été utilisée, demande au joueur s'il souhaite l'activer.
-     * Sinon, attaque normalement le premier ennemi.
-     * 
+     * Attaque le premier ennemi après avoir posé une question : une bonne réponse multiplie les dégâts
+     * par {@value #MULTIPLICATION_ATTAQUE} fois la difficulté de la question.
+     *
+     * @param ennemis  Liste des ennemis présents.
+     * @param question Question posée au joueur.
+     * @return Nombre de points de vie retirés aux ennemis.
+     */
+    public int attaqueQcm(List<Ennemi> ennemis, Question question) {
+        if (poserQcm(question)) {
+            int degats = this.getForceAttaque() * this.getNombreAttaque();
+            int multiplication = MULTIPLICATION_ATTAQUE * question.getDifficulte();
+            for (int i = 0; i < multiplication; i++) super.attaque(ennemis.getFirst());
+            afficherDegats(degats * multiplication);
+            return degats * multiplication;
+        }
+        return attaqueSimple(ennemis);
+    }
+
+    /**
+     * Pose la question d'une attaque par QCM au joueur et signale sa réponse, sans attaquer.
+     *
+     * @param question Question posée au joueur.
+     * @return `true` si la réponse est bonne.
+     */
+    public boolean poserQcm(Question question) {
+        boolean bonne = question.poserQuestion(contexte.getStrategie(), contexte.getRendu());
+        contexte.getObservateur().reponse(bonne, question.getDifficulte());
+        return bonne;
+    }
+
+    /**
+     * Calcule les dégâts d'une attaque par QCM réussie (voir {@link #attaqueQcm(List, Question)}).
+     *
+     * @param question Question à laquelle le joueur a bien répondu.
+     * @return Les dégâts de l'attaque.
+     */
+    public int degatsQcm(Question question) {
+        return getForceAttaque() * getNombreAttaque() * MULTIPLICATION_ATTAQUE * question.getDifficulte();
+    }
+
+    /**
+     * Attaque normalement le premier ennemi.
+     *
      * @param ennemis Liste des ennemis présents.
+     * @return Nombre de points de vie retirés aux ennemis.
+     */
+    private int attaqueSimple(List<Ennemi> ennemis) {
+        int degats = this.getForceAttaque() * this.getNombreAttaque();
+        super.attaque(ennemis.getFirst());
+        afficherDegats(degats);
+        return degats;
+    }
+
+    /**
+     * Affiche les dégâts infligés par le héros.
+     *
+     * @param degats Dégâts infligés.
      */
-    public void attaque(List<Ennemi> ennemis, ListeQuestions listeQuestions) {
-        Random random = new Random();
-        boolean activateQCM = random.nextBoolean();
-        if (!aUtiliseSaCapaciteSpeciale && choixJoueur()) {
-            setAUtiliseSaCapaciteSpeciale(true);
-            TypeHeros.utilisationCapaciteSpeciale(this, ennemis);
-        }else {
-            if(!listeQuestions.estVide() && activateQCM){
-                if(listeQuestions.getQuestionAleatoire().poserQuestion(scanner)){
-                    for(int i = 0; i < MULTIPLICATION_ATTAQUE; i++) super.attaque(ennemis.getFirst());
-                    System.out.println(this.getName() + " inflige " + (this.getForceAttaque() * this.getNombreAttaque()) * MULTIPLICATION_ATTAQUE + " dégâts.");
-                }else{
-                    super.attaque(ennemis.getFirst());
-                    System.out.println(this.getName() + " inflige " + (this.getForceAttaque() * this.getNombreAttaque()) + " dégâts.");
-                }
-            }else{
-                super.attaque(ennemis.getFirst());
-                System.out.println(this.getName() + " inflige " + (this.getForceAttaque() * this.getNombreAttaque()) + " dégâts.");
-
-            }           
+    private void afficherDegats(int degats) {
+        IRendu rendu = contexte.getRendu();
+        if (rendu.estActif()) {
+            rendu.trame().append(getName()).append(" inflige ").append(degats).append(" dégâts.\n");
         }
     }
 
@@ -126,13 +225,14 @@ public class Heros extends Personnage {
      * 
      * @param carte main.Carte sur laquelle le héros avance.
      */
-    public void avance(Carte carte) {
+    public void avance(ICarte carte) {
         if (position < carte.getLongueur() - 1) {
             carte.updatePosition(position, position + 1, getName());
             position++;
-            logger.info(getName() + " avance à la position " + position + ".");
+            contexte.getObservateur().deplacement(this, position);
+            logger.info(() -> getName() + " avance à la position " + position + ".");
         } else {
-            logger.warning(getName() + " est déjà à la fin de la carte !");
+            logger.warning(() -> getName() + " est déjà à la fin de la carte !");
         }
     }
 
@@ -146,13 +246,21 @@ public class Heros extends Personnage {
     }
 
     /**
-     * Génère une représentation textuelle des statistiques du héros.
-     * Affiche les points de vie, la force d'attaque et la disponibilité de la capacité spéciale.
-     * 
-     * @return Barre de statistiques sous forme de chaîne de caractères.
+     * Place le héros à une position, sans mettre à jour la carte (restauration d'une sauvegarde).
+     *
+     * @param position Position du héros sur la carte.
      */
+    public void setPosition(int position) {
+        this.position = position;
+    }
 
-    public String statsBar() {
-        return super.statsBar().substring(0, super.statsBar().length() - 1) + " | CS " + (getAUtiliseSaCapaciteSpeciale() ? "indisponible" : "disponible") + ")";
+    /**
+     * Complète la barre de statistiques du héros avec la disponibilité de la capacité spéciale.
+     * 
+     * @param sb Tampon de la barre de statistiques.
+     */
+    @Override
+    protected void completerStatsBar(StringBuilder sb) {
+        sb.append(" | CS ").append(getAUtiliseSaCapaciteSpeciale() ? "indisponible" : "disponible");
     }
 }
@@ -1,6 +1,9 @@
 package personnages;
 
+import metriques.Metriques;
+import utils.Alea;
 import utils.IPersonnage;
+import utils.IRendu;
 
 /**
  * Classe abstraite représentant un personnage dans le jeu.
@@ -143,17 +146,20 @@ public abstract class Personnage implements IPersonnage {
      * Génère un nombre aléatoire représentant le nombre d'attaques que le
      * personnage peut porter.
      *
+     * @param alea Générateur aléatoire de la partie.
      */
-    public void setNombreAttaque() {
-        this.nbrAttaque = (int) (Math.random() * this.nbrAttaque + 1);
+    public void setNombreAttaque(Alea alea) {
+        this.nbrAttaque = alea.entre(1, this.nbrAttaque + 1);
     }
 
     /**
      * Affiche les points de vie restants du personnage sous forme de barre de
      * statistiques.
+     *
+     * @param rendu Rendu de l'affichage.
      */
-    public void afficherPvRestant() {
-        System.out.println(statsBar());
+    public void afficherPvRestant(IRendu rendu) {
+        if (rendu.estActif()) statsBar(rendu.trame()).append('\n');
     }
 
     /**
@@ -167,6 +173,7 @@ public abstract class Personnage implements IPersonnage {
         for (int i = 0; i < getNombreAttaque(); i++) {
             e.setPv(e.pv - this.forceAttaque);
         }
+        Metriques.get().attaque(getNombreAttaque() * forceAttaque);
     }
 
     /**
@@ -176,6 +183,28 @@ public abstract class Personnage implements IPersonnage {
      * @return Barre de statistiques sous forme de chaîne de caractères.
      */
     public String statsBar() {
-        return name + " (♥ " + pv + " | ⚔ " + forceAttaque + ")";
+        return statsBar(new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Ajoute la barre de statistiques du personnage à un tampon, sans chaîne intermédiaire.
+     * Les sous-classes complètent la barre avec {@link #completerStatsBar(StringBuilder)}.
+     *
+     * @param sb Tampon auquel la barre est ajoutée.
+     * @return Le tampon.
+     */
+    public StringBuilder statsBar(StringBuilder sb) {
+        sb.append(name).append(" (♥ ").append(pv).append(" | ⚔ ").append(forceAttaque);
+        completerStatsBar(sb);
+        return sb.append(')');
+    }
+
+    /**
+     * Ajoute à la barre de statistiques les informations propres au type de personnage,
+     * avant la parenthèse fermante.
+     *
+     * @param sb Tampon de la barre de statistiques.
+     */
+    protected void completerStatsBar(StringBuilder sb) {
     }
 }
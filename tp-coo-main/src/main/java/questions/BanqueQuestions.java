@@ -0,0 +1,234 @@
+package questions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import utils.ISourceQuestions;
+
+/**
+ * Banque de questions immuable, indexée par difficulté et par couple (catégorie, difficulté) (voir {@link IndexQuestions}).
+ * Une banque n'est jamais modifiée après sa construction : elle peut être partagée sans verrou entre toutes
+ * les parties d'une même JVM, chacune tirant ses questions avec sa propre {@link ListeQuestions}.
+ * {@link #partagee(String)} charge chaque fichier une seule fois.
+ */
+public final class BanqueQuestions {
+    /**
+     * Banques déjà chargées, par chemin.
+     */
+    private static final Map<String, BanqueQuestions> PARTAGEES = new ConcurrentHashMap<>();
+
+    /**
+     * Questions de la banque.
+     */
+    private final ISourceQuestions questions;
+
+    /**
+     * Index des questions par difficulté et par couple (catégorie, difficulté).
+     */
+    private final IndexQuestions index;
+
+    /**
+     * Constructeur d'une banque à partir de questions déjà chargées.
+     *
+     * @param questions Les questions de la banque (elles sont copiées).
+     */
+    public BanqueQuestions(List<Question> questions) {
+        this(new SourceMemoire(questions));
+    }
+
+    /**
+     * Constructeur d'une banque à partir d'une source de questions.
+     * L'index d'un paquet compilé est projeté tel quel, sans lire aucune question ; celui d'une autre source est
+     * construit en lisant la catégorie et la difficulté de chaque question.
+     *
+     * @param questions La source des questions.
+     */
+    public BanqueQuestions(ISourceQuestions questions) {
+        this.questions = questions;
+        this.index = questions instanceof PaquetQuestions paquet ? paquet.index() : IndexQuestions.construire(questions);
+    }
+
+    /**
+     * Charge une banque depuis un paquet compilé (fichier {@code .qcm}, voir {@link CompilateurPaquet})
+     * ou, sinon, depuis un fichier CSV des ressources (voir {@link ImportateurQuestions} pour le format
+     * et les règles de validation ; les questions rejetées sont signalées sur la sortie d'erreur).
+     *
+     * @param chemin Chemin du paquet, ou chemin du fichier CSV dans les ressources.
+     * @return La banque chargée.
+     * @throws UncheckedIOException Si le paquet ne peut pas être ouvert.
+     */
+    public static BanqueQuestions charger(String chemin) {
+        if (chemin.endsWith(".qcm")) {
+            try {
+                return new BanqueQuestions(PaquetQuestions.ouvrir(Path.of(chemin)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible d'ouvrir le paquet de questions " + chemin, e);
+            }
+        }
+        List<Question> questions = new ArrayList<>();
+        try (InputStream inputStream = BanqueQuestions.class.getClassLoader().getResourceAsStream(chemin)) {
+            if (inputStream == null) {
+                throw new IOException("Fichier non trouvé : " + chemin);
+            }
+            try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+                ResultatImport resultat = ImportateurQuestions.fusionner(List.of(ImportateurQuestions.lire(reader, chemin)));
+                questions.addAll(resultat.questions());
+                for (String rejet : resultat.rapports().getFirst().rejets()) {
+                    System.err.println("Question rejetée dans " + chemin + ", " + rejet);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la lecture du fichier CSV : " + e.getMessage());
+        }
+        return new BanqueQuestions(questions);
+    }
+
+    /**
+     * Récupère la banque partagée d'un fichier, chargée à la première demande (voir {@link #charger(String)}).
+     *
+     * @param chemin Chemin du paquet, ou chemin du fichier CSV dans les ressources.
+     * @return La banque partagée.
+     */
+    public static BanqueQuestions partagee(String chemin) {
+        return PARTAGEES.computeIfAbsent(chemin, BanqueQuestions::charger);
+    }
+
+    /**
+     * Lance le chargement de la banque partagée d'un fichier sur un thread de fond,
+     * pour que la première question d'une partie n'ait pas à l'attendre.
+     *
+     * @param chemin Chemin du paquet, ou chemin du fichier CSV dans les ressources.
+     */
+    public static void prechauffer(String chemin) {
+        Thread.ofPlatform().daemon().name("prechauffage-questions").start(() -> partagee(chemin));
+    }
+
+    /**
+     * Récupère le nombre de questions de la banque.
+     *
+     * @return Le nombre de questions.
+     */
+    public int taille() {
+        return questions.taille();
+    }
+
+    /**
+     * Récupère une question de la banque.
+     *
+     * @param indice Indice de la question.
+     * @return La question.
+     */
+    public Question getQuestion(int indice) {
+        return questions.getQuestion(indice);
+    }
+
+    /**
+     * Récupère les catégories présentes dans la banque.
+     *
+     * @return Les catégories (non modifiable).
+     */
+    public Set<String> getCategories() {
+        return index.getCategories();
+    }
+
+    /**
+     * Récupère le groupe d'une difficulté.
+     *
+     * @param difficulte Difficulté des questions.
+     * @return Le numéro du groupe, ou -1 si aucune question n'a cette difficulté.
+     */
+    int groupe(int difficulte) {
+        return index.groupe(difficulte);
+    }
+
+    /**
+     * Récupère le groupe d'une catégorie et d'une difficulté.
+     *
+     * @param categorie  Catégorie des questions.
+     * @param difficulte Difficulté des questions.
+     * @return Le numéro du groupe, ou -1 si aucune question n'a cette catégorie et cette difficulté.
+     */
+    int groupe(String categorie, int difficulte) {
+        return index.groupe(categorie, difficulte);
+    }
+
+    /**
+     * Récupère le nombre de groupes de la banque (par difficulté et par couple catégorie, difficulté).
+     *
+     * @return Le nombre de groupes.
+     */
+    int nombreGroupes() {
+        return index.nombreGroupes();
+    }
+
+    /**
+     * Récupère le nombre de questions d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @return Le nombre de questions du groupe.
+     */
+    int tailleGroupe(int groupe) {
+        return index.tailleGroupe(groupe);
+    }
+
+    /**
+     * Récupère une question d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @param rang   Rang de la question dans le groupe.
+     * @return L'indice de la question dans la banque.
+     */
+    int membre(int groupe, int rang) {
+        return index.membre(groupe, rang);
+    }
+
+    /**
+     * Récupère le groupe par difficulté d'une question.
+     *
+     * @param indice Indice de la question.
+     * @return Le numéro du groupe.
+     */
+    int groupeDifficulte(int indice) {
+        return index.parQuestion(indice, 0);
+    }
+
+    /**
+     * Récupère le rang d'une question dans son groupe par difficulté.
+     *
+     * @param indice Indice de la question.
+     * @return Le rang de la question.
+     */
+    int rangDifficulte(int indice) {
+        return index.parQuestion(indice, 1);
+    }
+
+    /**
+     * Récupère le groupe par catégorie et difficulté d'une question.
+     *
+     * @param indice Indice de la question.
+     * @return Le numéro du groupe.
+     */
+    int groupeCategorie(int indice) {
+        return index.parQuestion(indice, 2);
+    }
+
+    /**
+     * Récupère le rang d'une question dans son groupe par catégorie et difficulté.
+     *
+     * @param indice Indice de la question.
+     * @return Le rang de la question.
+     */
+    int rangCategorie(int indice) {
+        return index.parQuestion(indice, 3);
+    }
+}
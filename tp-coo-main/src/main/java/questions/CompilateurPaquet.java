@@ -0,0 +1,159 @@
+package questions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compilateur hors ligne de questions vers un paquet binaire lu par {@link PaquetQuestions}.
+ * Chaque chaîne (énoncé, choix, catégorie) n'est écrite qu'une fois dans la réserve du paquet,
+ * même si elle est utilisée par plusieurs questions. L'index par difficulté et par catégorie est calculé ici une fois
+ * pour toutes et écrit dans le paquet, qui s'ouvre ainsi sans parcourir ses questions.
+ */
+public final class CompilateurPaquet {
+    /**
+     * Position de chaque chaîne déjà écrite dans la réserve.
+     */
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /**
+     * Réserve de chaînes en cours d'écriture.
+     */
+    private final ByteArrayOutputStream reserve = new ByteArrayOutputStream();
+
+    /**
+     * Constructeur privé : le compilateur s'utilise par {@link #compiler(List, Path)}.
+     */
+    private CompilateurPaquet() {
+    }
+
+    /**
+     * Compile des questions en paquet binaire.
+     *
+     * @param questions Questions à compiler.
+     * @param sortie    Chemin du paquet à écrire (remplacé s'il existe).
+     * @throws IOException              Si le paquet ne peut pas être écrit.
+     * @throws IllegalArgumentException Si une question n'a pas sa bonne réponse parmi ses choix,
+     *                                  ou si une difficulté ou le nombre de catégories dépasse le format.
+     */
+    public static void compiler(List<Question> questions, Path sortie) throws IOException {
+        new CompilateurPaquet().ecrire(questions, sortie);
+    }
+
+    /**
+     * Importe des fichiers CSV de questions (voir {@link ImportateurQuestions}) et les compile en paquet binaire.
+     *
+     * @param csv    Chemin d'un fichier CSV, ou d'un dossier dont tous les fichiers CSV sont importés.
+     * @param sortie Chemin du paquet à écrire (remplacé s'il existe).
+     * @return Le résultat de l'import, dont les questions compilées.
+     * @throws IOException Si les fichiers CSV ne peuvent pas être parcourus ou le paquet écrit.
+     */
+    public static ResultatImport compiler(Path csv, Path sortie) throws IOException {
+        ResultatImport resultat = Files.isDirectory(csv)
+                ? ImportateurQuestions.importer(csv)
+                : ImportateurQuestions.importer(List.of(csv));
+        compiler(resultat.questions(), sortie);
+        return resultat;
+    }
+
+    /**
+     * Écrit le paquet : en-tête, table des catégories, table des groupes, table des questions, index puis réserve
+     * de chaînes.
+     *
+     * @param questions Questions à compiler.
+     * @param sortie    Chemin du paquet à écrire.
+     * @throws IOException Si le paquet ne peut pas être écrit.
+     */
+    private void ecrire(List<Question> questions, Path sortie) throws IOException {
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        for (Question q : questions) {
+            categories.putIfAbsent(q.getCategorie(), categories.size());
+        }
+        if (categories.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Trop de catégories : " + categories.size());
+        }
+
+        int n = questions.size();
+        IndexQuestions index = IndexQuestions.construire(new SourceMemoire(questions));
+        ByteBuffer tables = ByteBuffer.allocate(4 * categories.size()
+                + 4 * IndexQuestions.ENTIERS_PAR_GROUPE * index.nombreGroupes()
+                + (PaquetQuestions.TAILLE_QUESTION + 4 * IndexQuestions.ENTIERS_PAR_QUESTION + 8) * n);
+        for (String categorie : categories.keySet()) {
+            tables.putInt(chaine(categorie));
+        }
+        for (int g = 0; g < index.nombreGroupes(); g++) {
+            String categorie = index.categorie(g);
+            tables.putInt(categorie == null ? -1 : categories.get(categorie));
+            tables.putInt(index.difficulte(g));
+            tables.putInt(index.debut(g));
+        }
+        for (Question q : questions) {
+            List<String> choix = q.getChoix();
+            int bonne = choix.indexOf(q.getBonneReponse());
+            if (bonne < 0) {
+                throw new IllegalArgumentException("La bonne réponse n'est pas parmi les choix : " + q.getQuestion());
+            }
+            if (q.getDifficulte() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Difficulté trop grande : " + q.getQuestion());
+            }
+            tables.putInt(chaine(q.getQuestion()));
+            for (String c : choix) {
+                tables.putInt(chaine(c));
+            }
+            tables.put((byte) bonne);
+            tables.put((byte) q.getDifficulte());
+            tables.putShort(categories.get(q.getCategorie()).shortValue());
+        }
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < IndexQuestions.ENTIERS_PAR_QUESTION; c++) {
+                tables.putInt(index.parQuestion(i, c));
+            }
+        }
+        for (int g = 0; g < index.nombreGroupes(); g++) {
+            for (int r = 0; r < index.tailleGroupe(g); r++) {
+                tables.putInt(index.membre(g, r));
+            }
+        }
+
+        ByteBuffer enTete = ByteBuffer.allocate(PaquetQuestions.TAILLE_EN_TETE)
+                .putInt(PaquetQuestions.MAGIE)
+                .putInt(PaquetQuestions.VERSION)
+                .putInt(n)
+                .putInt(categories.size())
+                .putInt(index.nombreGroupes())
+                .putInt(reserve.size());
+        try (FileChannel canal = FileChannel.open(sortie, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] morceaux = {enTete.flip(), tables.flip(), ByteBuffer.wrap(reserve.toByteArray())};
+            long restant = PaquetQuestions.TAILLE_EN_TETE + tables.limit() + reserve.size();
+            while (restant > 0) {
+                restant -= canal.write(morceaux);
+            }
+        }
+    }
+
+    /**
+     * Ajoute une chaîne à la réserve si elle n'y est pas déjà.
+     *
+     * @param chaine Chaîne à ajouter.
+     * @return La position de la chaîne dans la réserve.
+     */
+    private int chaine(String chaine) {
+        return positions.computeIfAbsent(chaine, c -> {
+            int position = reserve.size();
+            byte[] octets = c.getBytes(StandardCharsets.UTF_8);
+            reserve.writeBytes(ByteBuffer.allocate(4).putInt(octets.length).array());
+            reserve.writeBytes(octets);
+            return position;
+        });
+    }
+}
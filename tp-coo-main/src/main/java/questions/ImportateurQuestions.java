@@ -0,0 +1,222 @@
+package questions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Importateur de fichiers CSV de questions.
+ * Les fichiers sont lus en parallèle, chacun en flux par un {@link LecteurCsv}, puis fusionnés dans l'ordre
+ * des fichiers : le résultat ne dépend donc pas de l'ordre d'exécution.
+ * Chaque enregistrement contient la question, les quatre choix et la bonne réponse, puis éventuellement
+ * la catégorie et la difficulté. Un enregistrement est rejeté, avec son motif, si un champ obligatoire manque
+ * ou est vide, si la bonne réponse n'est pas l'un des quatre choix ou si la difficulté n'est pas un entier positif.
+ * Une question dont l'énoncé (sans tenir compte de la casse et des espaces) a déjà été importé est écartée comme doublon.
+ */
+public final class ImportateurQuestions {
+    /**
+     * Nombre de champs obligatoires d'un enregistrement.
+     */
+    private static final int CHAMPS_OBLIGATOIRES = 6;
+
+    /**
+     * Nombre maximal de champs d'un enregistrement.
+     */
+    private static final int CHAMPS_MAX = 8;
+
+    /**
+     * Questions valides lues dans un fichier, avant élimination des doublons.
+     *
+     * @param source     Nom du fichier.
+     * @param octets     Taille du fichier, en octets.
+     * @param lignes     Nombre d'enregistrements lus.
+     * @param valides    Questions valides, dans l'ordre du fichier.
+     * @param rejets     Motifs des rejets.
+     * @param dureeNanos Durée de lecture.
+     */
+    record Lot(String source, long octets, int lignes, List<Question> valides, List<String> rejets, long dureeNanos) {
+    }
+
+    /**
+     * Constructeur privé : l'importateur s'utilise par ses méthodes statiques.
+     */
+    private ImportateurQuestions() {
+    }
+
+    /**
+     * Importe tous les fichiers {@code .csv} d'un dossier, par ordre alphabétique.
+     *
+     * @param dossier Dossier des fichiers CSV.
+     * @return Les questions importées et le rapport de chaque fichier.
+     * @throws IOException Si le dossier ne peut pas être parcouru.
+     */
+    public static ResultatImport importer(Path dossier) throws IOException {
+        List<Path> fichiers;
+        try (Stream<Path> contenu = Files.list(dossier)) {
+            fichiers = contenu.filter(f -> f.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv"))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+        return importer(fichiers);
+    }
+
+    /**
+     * Importe des fichiers CSV, lus en parallèle.
+     * Un fichier illisible (par exemple mal encodé) figure dans les rejets de son rapport.
+     *
+     * @param fichiers Fichiers CSV, dans l'ordre de priorité pour l'élimination des doublons.
+     * @return Les questions importées et le rapport de chaque fichier.
+     */
+    public static ResultatImport importer(List<Path> fichiers) {
+        return fusionner(fichiers.parallelStream().map(ImportateurQuestions::lireFichier).toList());
+    }
+
+    /**
+     * Lit un fichier CSV du disque.
+     *
+     * @param fichier Fichier à lire.
+     * @return Les questions valides du fichier.
+     */
+    private static Lot lireFichier(Path fichier) {
+        String source = fichier.getFileName().toString();
+        try (Reader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            Lot lot = lire(lecteur, source);
+            return new Lot(source, Files.size(fichier), lot.lignes(), lot.valides(), lot.rejets(), lot.dureeNanos());
+        } catch (IOException e) {
+            return new Lot(source, 0, 0, List.of(), List.of("fichier illisible : " + e), 0);
+        }
+    }
+
+    /**
+     * Lit et valide les enregistrements d'un CSV.
+     *
+     * @param lecteur Flux de caractères du CSV.
+     * @param source  Nom de la source, pour le rapport.
+     * @return Les questions valides du CSV (la taille en octets n'est pas connue et vaut 0).
+     * @throws IOException Si la lecture échoue.
+     */
+    static Lot lire(Reader lecteur, String source) throws IOException {
+        long debut = System.nanoTime();
+        LecteurCsv csv = new LecteurCsv(lecteur);
+        List<Question> valides = new ArrayList<>();
+        List<String> rejets = new ArrayList<>();
+        int lignes = 0;
+        List<String> champs;
+        while ((champs = csv.suivant()) != null) {
+            if (champs.size() == 1 && champs.getFirst().isBlank()) {
+                continue; // Ligne vide
+            }
+            lignes++;
+            String motif = csv.aGuillemetsNonFermes() ? "guillemets non fermés" : verifier(champs);
+            if (motif != null) {
+                rejets.add("ligne " + csv.getLigne() + " : " + motif);
+                continue;
+            }
+            valides.add(creerQuestion(champs));
+        }
+        return new Lot(source, 0, lignes, valides, rejets, System.nanoTime() - debut);
+    }
+
+    /**
+     * Fusionne les questions de plusieurs fichiers en éliminant les doublons, dans l'ordre des fichiers.
+     *
+     * @param lots Questions valides de chaque fichier.
+     * @return Le résultat de l'import.
+     */
+    static ResultatImport fusionner(List<Lot> lots) {
+        Set<String> enonces = new HashSet<>();
+        List<Question> questions = new ArrayList<>();
+        List<RapportFichier> rapports = new ArrayList<>(lots.size());
+        for (Lot lot : lots) {
+            int doublons = 0;
+            for (Question q : lot.valides()) {
+                if (enonces.add(cle(q.getQuestion()))) {
+                    questions.add(q);
+                } else {
+                    doublons++;
+                }
+            }
+            rapports.add(new RapportFichier(lot.source(), lot.octets(), lot.lignes(), lot.valides().size() - doublons,
+                    doublons, List.copyOf(lot.rejets()), lot.dureeNanos()));
+        }
+        return new ResultatImport(questions, List.copyOf(rapports));
+    }
+
+    /**
+     * Vérifie un enregistrement.
+     *
+     * @param champs Champs de l'enregistrement.
+     * @return Le motif du rejet, ou null si l'enregistrement est valide.
+     */
+    private static String verifier(List<String> champs) {
+        if (champs.size() < CHAMPS_OBLIGATOIRES || champs.size() > CHAMPS_MAX) {
+            return champs.size() + " champs au lieu de " + CHAMPS_OBLIGATOIRES + " à " + CHAMPS_MAX;
+        }
+        for (int i = 0; i < CHAMPS_OBLIGATOIRES; i++) {
+            if (champs.get(i).isBlank()) {
+                return "champ " + (i + 1) + " vide";
+            }
+        }
+        String bonneReponse = champs.get(5).strip();
+        boolean trouvee = false;
+        for (int i = 1; i <= 4; i++) {
+            trouvee |= champs.get(i).strip().equals(bonneReponse);
+        }
+        if (!trouvee) {
+            return "la bonne réponse « " + bonneReponse + " » n'est pas l'un des choix";
+        }
+        if (champs.size() == CHAMPS_MAX) {
+            String difficulte = champs.get(7).strip();
+            if (difficulte.isEmpty() || difficulte.length() > 3 || !difficulte.chars().allMatch(Character::isDigit)
+                    || Integer.parseInt(difficulte) < Question.DIFFICULTE_DEFAUT) {
+                return "difficulté invalide « " + difficulte + " »";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Crée la question d'un enregistrement valide.
+     *
+     * @param champs Champs de l'enregistrement.
+     * @return La question.
+     */
+    private static Question creerQuestion(List<String> champs) {
+        List<String> choix = List.of(champs.get(1).strip(), champs.get(2).strip(), champs.get(3).strip(),
+                champs.get(4).strip());
+        String categorie = champs.size() > 6 && !champs.get(6).isBlank() ? champs.get(6).strip() : Question.CATEGORIE_DEFAUT;
+        int difficulte = champs.size() > 7 ? Integer.parseInt(champs.get(7).strip()) : Question.DIFFICULTE_DEFAUT;
+        return new Question(champs.get(0).strip(), choix, champs.get(5).strip(), categorie, difficulte);
+    }
+
+    /**
+     * Calcule la clé de dédoublonnage d'un énoncé : en minuscules, espaces superflus retirés.
+     *
+     * @param enonce Énoncé de la question.
+     * @return La clé de l'énoncé.
+     */
+    private static String cle(String enonce) {
+        StringBuilder cle = new StringBuilder(enonce.length());
+        boolean espace = false;
+        for (int i = 0; i < enonce.length(); i++) {
+            char c = enonce.charAt(i);
+            if (Character.isWhitespace(c)) {
+                espace = !cle.isEmpty();
+            } else {
+                if (espace) cle.append(' ');
+                espace = false;
+                cle.append(Character.toLowerCase(c));
+            }
+        }
+        return cle.toString();
+    }
+}
@@ -0,0 +1,253 @@
+package questions;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import utils.ISourceQuestions;
+import utils.TableEntiers;
+
+/**
+ * Index des questions d'une banque par groupe : un groupe par difficulté, puis un groupe par couple
+ * (catégorie, difficulté).
+ * Les membres des groupes et le groupe et le rang de chaque question sont des tables d'entiers : calculées en un
+ * parcours des questions pour une source quelconque ({@link #construire(ISourceQuestions)}), ou projetées telles
+ * quelles depuis un paquet compilé, qui les contient déjà (voir {@link PaquetQuestions}). Dans ce second cas,
+ * seule la table des groupes est lue à l'ouverture, sans toucher aux questions.
+ */
+final class IndexQuestions {
+    /**
+     * Nombre d'entiers par question dans la table par question : groupe et rang par difficulté,
+     * puis groupe et rang par catégorie et difficulté.
+     */
+    static final int ENTIERS_PAR_QUESTION = 4;
+
+    /**
+     * Nombre d'entiers par groupe dans la table des groupes d'un paquet : numéro de la catégorie
+     * (-1 pour un groupe par difficulté), difficulté et début des membres.
+     */
+    static final int ENTIERS_PAR_GROUPE = 3;
+
+    /**
+     * Groupe et rang de chaque question (voir {@link #ENTIERS_PAR_QUESTION}).
+     */
+    private final IntBuffer parQuestion;
+
+    /**
+     * Indices des questions de chaque groupe, groupe après groupe.
+     */
+    private final IntBuffer membres;
+
+    /**
+     * Début des membres de chaque groupe, suivi du nombre total de membres.
+     */
+    private final int[] debuts;
+
+    /**
+     * Catégorie de chaque groupe, ou {@code null} pour un groupe par difficulté.
+     */
+    private final String[] categories;
+
+    /**
+     * Difficulté de chaque groupe.
+     */
+    private final int[] difficultes;
+
+    /**
+     * Groupe de chaque difficulté.
+     */
+    private final TableEntiers<Integer> groupesParDifficulte = new TableEntiers<>();
+
+    /**
+     * Groupe de chaque difficulté, par catégorie.
+     */
+    private final Map<String, TableEntiers<Integer>> groupesParCategorie = new HashMap<>();
+
+    /**
+     * Constructeur d'un index à partir de ses tables, en temps proportionnel au nombre de groupes.
+     *
+     * @param parQuestion Groupe et rang de chaque question.
+     * @param membres     Indices des questions de chaque groupe, groupe après groupe.
+     * @param debuts      Début des membres de chaque groupe, suivi du nombre total de membres.
+     * @param categories  Catégorie de chaque groupe, ou {@code null} pour un groupe par difficulté.
+     * @param difficultes Difficulté de chaque groupe.
+     */
+    IndexQuestions(IntBuffer parQuestion, IntBuffer membres, int[] debuts, String[] categories, int[] difficultes) {
+        this.parQuestion = parQuestion;
+        this.membres = membres;
+        this.debuts = debuts;
+        this.categories = categories;
+        this.difficultes = difficultes;
+        for (int g = 0; g < categories.length; g++) {
+            if (categories[g] == null) {
+                groupesParDifficulte.put(difficultes[g], g);
+            } else {
+                groupesParCategorie.computeIfAbsent(categories[g], c -> new TableEntiers<>()).put(difficultes[g], g);
+            }
+        }
+    }
+
+    /**
+     * Construit l'index d'une source de questions.
+     * Seules la catégorie et la difficulté de chaque question sont lues.
+     *
+     * @param questions La source des questions.
+     * @return L'index des questions.
+     */
+    static IndexQuestions construire(ISourceQuestions questions) {
+        int n = questions.taille();
+        int[] parQuestion = new int[ENTIERS_PAR_QUESTION * n];
+        List<String> categories = new ArrayList<>();
+        List<Integer> difficultes = new ArrayList<>();
+        List<Integer> tailles = new ArrayList<>();
+        TableEntiers<Integer> parDifficulte = new TableEntiers<>();
+        for (int i = 0; i < n; i++) {
+            int difficulte = questions.getDifficulte(i);
+            Integer groupe = parDifficulte.get(difficulte);
+            if (groupe == null) {
+                groupe = tailles.size();
+                parDifficulte.put(difficulte, groupe);
+                categories.add(null);
+                difficultes.add(difficulte);
+                tailles.add(0);
+            }
+            parQuestion[ENTIERS_PAR_QUESTION * i] = groupe;
+            parQuestion[ENTIERS_PAR_QUESTION * i + 1] = tailles.set(groupe, tailles.get(groupe) + 1);
+        }
+        Map<String, TableEntiers<Integer>> parCategorie = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int difficulte = questions.getDifficulte(i);
+            String categorie = questions.getCategorie(i);
+            TableEntiers<Integer> groupes = parCategorie.computeIfAbsent(categorie, c -> new TableEntiers<>());
+            Integer groupe = groupes.get(difficulte);
+            if (groupe == null) {
+                groupe = tailles.size();
+                groupes.put(difficulte, groupe);
+                categories.add(categorie);
+                difficultes.add(difficulte);
+                tailles.add(0);
+            }
+            parQuestion[ENTIERS_PAR_QUESTION * i + 2] = groupe;
+            parQuestion[ENTIERS_PAR_QUESTION * i + 3] = tailles.set(groupe, tailles.get(groupe) + 1);
+        }
+        int[] debuts = new int[tailles.size() + 1];
+        for (int g = 0; g < tailles.size(); g++) {
+            debuts[g + 1] = debuts[g] + tailles.get(g);
+        }
+        int[] membres = new int[debuts[tailles.size()]];
+        for (int i = 0; i < n; i++) {
+            int p = ENTIERS_PAR_QUESTION * i;
+            membres[debuts[parQuestion[p]] + parQuestion[p + 1]] = i;
+            membres[debuts[parQuestion[p + 2]] + parQuestion[p + 3]] = i;
+        }
+        return new IndexQuestions(IntBuffer.wrap(parQuestion), IntBuffer.wrap(membres), debuts,
+                categories.toArray(new String[0]), difficultes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Récupère les catégories présentes dans l'index.
+     *
+     * @return Les catégories (non modifiable).
+     */
+    Set<String> getCategories() {
+        return Set.copyOf(groupesParCategorie.keySet());
+    }
+
+    /**
+     * Récupère le groupe d'une difficulté.
+     *
+     * @param difficulte Difficulté des questions.
+     * @return Le numéro du groupe, ou -1 si aucune question n'a cette difficulté.
+     */
+    int groupe(int difficulte) {
+        Integer groupe = groupesParDifficulte.get(difficulte);
+        return groupe == null ? -1 : groupe;
+    }
+
+    /**
+     * Récupère le groupe d'une catégorie et d'une difficulté.
+     *
+     * @param categorie  Catégorie des questions.
+     * @param difficulte Difficulté des questions.
+     * @return Le numéro du groupe, ou -1 si aucune question n'a cette catégorie et cette difficulté.
+     */
+    int groupe(String categorie, int difficulte) {
+        TableEntiers<Integer> parDifficulte = groupesParCategorie.get(categorie);
+        Integer groupe = parDifficulte == null ? null : parDifficulte.get(difficulte);
+        return groupe == null ? -1 : groupe;
+    }
+
+    /**
+     * Récupère le nombre de groupes.
+     *
+     * @return Le nombre de groupes.
+     */
+    int nombreGroupes() {
+        return categories.length;
+    }
+
+    /**
+     * Récupère la catégorie d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @return La catégorie du groupe, ou {@code null} pour un groupe par difficulté.
+     */
+    String categorie(int groupe) {
+        return categories[groupe];
+    }
+
+    /**
+     * Récupère la difficulté d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @return La difficulté des questions du groupe.
+     */
+    int difficulte(int groupe) {
+        return difficultes[groupe];
+    }
+
+    /**
+     * Récupère le début des membres d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @return La position de son premier membre parmi les membres de tous les groupes.
+     */
+    int debut(int groupe) {
+        return debuts[groupe];
+    }
+
+    /**
+     * Récupère le nombre de questions d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @return Le nombre de questions du groupe.
+     */
+    int tailleGroupe(int groupe) {
+        return debuts[groupe + 1] - debuts[groupe];
+    }
+
+    /**
+     * Récupère une question d'un groupe.
+     *
+     * @param groupe Numéro du groupe.
+     * @param rang   Rang de la question dans le groupe.
+     * @return L'indice de la question dans la banque.
+     */
+    int membre(int groupe, int rang) {
+        return membres.get(debuts[groupe] + rang);
+    }
+
+    /**
+     * Récupère une valeur de la table par question.
+     *
+     * @param indice  Indice de la question.
+     * @param colonne Colonne (0 à {@link #ENTIERS_PAR_QUESTION} - 1).
+     * @return La valeur.
+     */
+    int parQuestion(int indice, int colonne) {
+        return parQuestion.get(ENTIERS_PAR_QUESTION * indice + colonne);
+    }
+}
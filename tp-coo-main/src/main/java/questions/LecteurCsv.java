@@ -0,0 +1,182 @@
+package questions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecteur de CSV en flux, sans expression régulière : les caractères sont lus par blocs et découpés
+ * en champs par un automate.
+ * Le séparateur est le point-virgule ; un champ peut être entouré de guillemets pour contenir des points-virgules,
+ * des retours à la ligne ou des guillemets (doublés). La marque d'ordre des octets (BOM) éventuelle au début
+ * du fichier est ignorée, ainsi que les retours chariot des fins de ligne Windows.
+ */
+final class LecteurCsv {
+    /**
+     * Séparateur des champs.
+     */
+    private static final char SEPARATEUR = ';';
+
+    /**
+     * Délimiteur des champs entre guillemets.
+     */
+    private static final char GUILLEMET = '"';
+
+    /**
+     * Marque d'ordre des octets, telle que décodée en UTF-8.
+     */
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * Flux de caractères lu.
+     */
+    private final Reader lecteur;
+
+    /**
+     * Bloc de caractères en cours de lecture.
+     */
+    private final char[] tampon = new char[8192];
+
+    /**
+     * Position du prochain caractère dans le bloc.
+     */
+    private int position;
+
+    /**
+     * Nombre de caractères valides dans le bloc.
+     */
+    private int limite;
+
+    /**
+     * Champ en cours de lecture (réutilisé d'un champ à l'autre).
+     */
+    private final StringBuilder champ = new StringBuilder();
+
+    /**
+     * Numéro de la ligne en cours de lecture.
+     */
+    private int ligne = 1;
+
+    /**
+     * Numéro de la ligne où commence le dernier enregistrement lu.
+     */
+    private int ligneEnregistrement;
+
+    /**
+     * Indique si le dernier enregistrement lu se termine dans un champ entre guillemets non fermé.
+     */
+    private boolean guillemetsNonFermes;
+
+    /**
+     * Indique si aucun caractère n'a encore été lu.
+     */
+    private boolean debut = true;
+
+    /**
+     * Constructeur d'un lecteur de CSV.
+     *
+     * @param lecteur Flux de caractères à lire.
+     */
+    LecteurCsv(Reader lecteur) {
+        this.lecteur = lecteur;
+    }
+
+    /**
+     * Lit l'enregistrement suivant.
+     *
+     * @return Les champs de l'enregistrement (un seul champ vide pour une ligne vide), ou null à la fin du flux.
+     * @throws IOException Si la lecture échoue.
+     */
+    List<String> suivant() throws IOException {
+        int c = lire();
+        if (debut) {
+            debut = false;
+            if (c == BOM) c = lire();
+        }
+        if (c < 0) {
+            return null;
+        }
+        ligneEnregistrement = ligne;
+        guillemetsNonFermes = false;
+        List<String> champs = new ArrayList<>(8);
+        boolean entreGuillemets = false;
+        while (true) {
+            if (entreGuillemets) {
+                if (c < 0) {
+                    guillemetsNonFermes = true;
+                    champs.add(finChamp());
+                    return champs;
+                }
+                if (c == GUILLEMET) {
+                    c = lire();
+                    if (c != GUILLEMET) {
+                        entreGuillemets = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    ligne++;
+                }
+                champ.append((char) c);
+            } else if (c < 0 || c == '\n') {
+                champs.add(finChamp());
+                if (c == '\n') ligne++;
+                return champs;
+            } else if (c == SEPARATEUR) {
+                champs.add(finChamp());
+            } else if (c == GUILLEMET && champ.isEmpty()) {
+                entreGuillemets = true;
+            } else if (c != '\r') {
+                champ.append((char) c);
+            }
+            c = lire();
+        }
+    }
+
+    /**
+     * Récupère le numéro de la ligne où commence le dernier enregistrement lu.
+     *
+     * @return Le numéro de ligne (à partir de 1).
+     */
+    int getLigne() {
+        return ligneEnregistrement;
+    }
+
+    /**
+     * Indique si le dernier enregistrement lu se termine dans un champ entre guillemets non fermé.
+     *
+     * @return `true` si des guillemets n'ont pas été fermés avant la fin du flux.
+     */
+    boolean aGuillemetsNonFermes() {
+        return guillemetsNonFermes;
+    }
+
+    /**
+     * Termine le champ en cours.
+     *
+     * @return Le contenu du champ.
+     */
+    private String finChamp() {
+        String valeur = champ.toString();
+        champ.setLength(0);
+        return valeur;
+    }
+
+    /**
+     * Lit le caractère suivant, en rechargeant le bloc si nécessaire.
+     *
+     * @return Le caractère lu, ou -1 à la fin du flux.
+     * @throws IOException Si la lecture échoue.
+     */
+    private int lire() throws IOException {
+        if (position == limite) {
+            limite = lecteur.read(tampon);
+            position = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return -1;
+            }
+        }
+        return tampon[position++];
+    }
+}
@@ -1,12 +1,46 @@
 package questions;
 
-import java.io.*;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import utils.Alea;
+import utils.ISourceQuestions;
+import utils.TableEntiers;
+import utils.TamponBinaire;
+
+/**
+ * Questions d'une partie, tirées sans remise dans une {@link BanqueQuestions}.
+ * La banque n'est jamais modifiée et peut être partagée entre toutes les parties : chaque liste ne garde que
+ * ses curseurs de tirage (voir {@link Tirage}), créés à la demande, soit quelques octets par partie quelle que soit
+ * la taille de la banque. Un tirage se fait en temps constant et sans verrou.
+ * Les questions peuvent être tirées globalement, par difficulté ou par couple (catégorie, difficulté) :
+ * une question tirée par l'un de ces index n'est plus proposée par les autres.
+ */
 public class ListeQuestions {
-    private final List<Question> questions;
+    /**
+     * Banque des questions (jamais modifiée).
+     */
+    private final BanqueQuestions banque;
+
+    /**
+     * Tirage parmi toutes les questions, créé au premier tirage global.
+     */
+    private Tirage tirageGlobal;
+
+    /**
+     * Tirages par groupe de la banque, créés au premier tirage dans le groupe.
+     */
+    private final TableEntiers<Tirage> tiragesParGroupe = new TableEntiers<>();
+
+    /**
+     * Nombre de questions déjà tirées.
+     */
+    private int tirees;
+
+    /**
+     * Générateur utilisé par {@link #getQuestionAleatoire()}.
+     */
+    private final Alea alea = new Alea();
 
     /**
      * Constructeur qui charge les questions depuis un fichier CSV.
@@ -14,61 +48,253 @@ public class ListeQuestions {
      * @param filePath Le chemin vers le fichier CSV contenant les questions.
      */
     public ListeQuestions(String filePath) {
-        this.questions = new ArrayList<>();
-        chargerQuestions(filePath);
+        this(BanqueQuestions.charger(filePath));
+    }
+
+    /**
+     * Constructeur qui crée une liste à partir de questions déjà chargées.
+     *
+     * @param questions Les questions de la liste (elles sont copiées).
+     */
+    public ListeQuestions(List<Question> questions) {
+        this(new BanqueQuestions(questions));
+    }
+
+    /**
+     * Constructeur qui crée une liste à partir d'une source de questions (indexée pour cette seule liste).
+     *
+     * @param questions La source des questions.
+     */
+    public ListeQuestions(ISourceQuestions questions) {
+        this(new BanqueQuestions(questions));
     }
 
     /**
-     * Verifie que la liste des questions est vide.
+     * Constructeur qui crée une liste qui tire ses questions dans une banque, éventuellement partagée.
+     *
+     * @param banque La banque de questions.
+     */
+    public ListeQuestions(BanqueQuestions banque) {
+        this.banque = banque;
+    }
+
+    /**
+     * Crée une liste qui tire ses questions dans la banque partagée d'un fichier,
+     * chargée une seule fois pour toutes les parties (voir {@link BanqueQuestions#partagee(String)}).
+     *
+     * @param chemin Chemin du paquet compilé ({@code .qcm}), ou chemin du fichier CSV dans les ressources.
+     * @return La liste des questions.
+     */
+    public static ListeQuestions charger(String chemin) {
+        return new ListeQuestions(BanqueQuestions.partagee(chemin));
+    }
+
+    /**
+     * Verifie qu'il ne reste plus aucune question à tirer.
      * 
-     * @return un booléen, si la liste est vide renvoie true, sinon renvoie false.
+     * @return un booléen, si toutes les questions ont été tirées renvoie true, sinon renvoie false.
      */
     public boolean estVide(){
-        return questions.isEmpty();
+        return tirees == banque.taille();
     }
 
     /**
-     * Charge les questions depuis un fichier CSV et les ajoute à la liste des questions.
-     * 
-     * @param filePath Le chemin vers le fichier CSV.
+     * Récupère le nombre de questions de la banque.
+     *
+     * @return Le nombre de questions, tirées ou non.
      */
-    private void chargerQuestions(String filePath) {
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filePath)) {
-            if (inputStream == null) {
-                throw new IOException("Fichier non trouvé : " + filePath);
-            }
+    public int taille() {
+        return banque.taille();
+    }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    List<String> listeChoix = new ArrayList<>();
-                    String[] col = line.split(";");
-                    String question = col[0];
-                    listeChoix.add(col[1]);
-                    listeChoix.add(col[2]);
-                    listeChoix.add(col[3]);
-                    listeChoix.add(col[4]);
-                    String bonneReponse = col[5];
-                    questions.add(new Question(question, listeChoix, bonneReponse));
-                }
+    /**
+     * Récupère le nombre de questions qui n'ont pas encore été tirées.
+     *
+     * @return Le nombre de questions restantes.
+     */
+    public int nombreRestantes() {
+        return banque.taille() - tirees;
+    }
+
+    /**
+     * Récupère les catégories présentes dans la banque.
+     *
+     * @return Les catégories (non modifiable).
+     */
+    public Set<String> getCategories() {
+        return banque.getCategories();
+    }
+
+    /**
+     * Récupère la banque dans laquelle les questions sont tirées.
+     *
+     * @return La banque de questions.
+     */
+    public BanqueQuestions getBanque() {
+        return banque;
+    }
+
+    /**
+     * Remet toutes les questions de la banque en jeu (dans un nouvel ordre).
+     */
+    public void reinitialiser() {
+        tirageGlobal = null;
+        tiragesParGroupe.clear();
+        tirees = 0;
+    }
+
+    /**
+     * Écrit les curseurs de tirage de la liste dans une sauvegarde (la banque n'y figure pas).
+     *
+     * @param tampon Tampon de la sauvegarde.
+     */
+    public void sauvegarder(TamponBinaire tampon) {
+        tampon.ecrireEntier(banque.taille());
+        tampon.ecrireEntier(tirees);
+        tampon.ecrireBooleen(tirageGlobal != null);
+        if (tirageGlobal != null) {
+            tampon.ecrireLong(tirageGlobal.cle());
+            tampon.ecrireEntier(tirageGlobal.position());
+        }
+        tampon.ecrireEntier(tiragesParGroupe.size());
+        for (int groupe = 0; groupe < banque.nombreGroupes(); groupe++) {
+            Tirage tirage = tiragesParGroupe.get(groupe);
+            if (tirage != null) {
+                tampon.ecrireEntier(groupe);
+                tampon.ecrireLong(tirage.cle());
+                tampon.ecrireEntier(tirage.position());
             }
-        } catch (IOException e) {
-            System.err.println("Erreur lors de la lecture du fichier CSV : " + e.getMessage());
         }
     }
 
     /**
-     * Retourne une question aléatoire depuis la liste.
+     * Restaure les curseurs de tirage écrits par {@link #sauvegarder(TamponBinaire)}.
+     *
+     * @param tampon Tampon de la sauvegarde.
+     * @throws IllegalArgumentException Si la sauvegarde a été faite avec une autre banque de questions.
+     */
+    public void restaurer(TamponBinaire tampon) {
+        int taille = tampon.lireEntier();
+        if (taille != banque.taille()) {
+            throw new IllegalArgumentException("Sauvegarde faite avec une banque de " + taille + " questions au lieu de "
+                    + banque.taille() + ".");
+        }
+        reinitialiser();
+        tirees = tampon.lireEntier();
+        if (tampon.lireBooleen()) {
+            tirageGlobal = new Tirage(taille, tampon.lireLong(), tampon.lireEntier());
+        }
+        for (int i = tampon.lireEntier(); i > 0; i--) {
+            int groupe = tampon.lireEntier();
+            tiragesParGroupe.put(groupe, new Tirage(banque.tailleGroupe(groupe), tampon.lireLong(), tampon.lireEntier()));
+        }
+    }
+
+    /**
+     * Retourne une question aléatoire parmi celles qui n'ont pas encore été tirées.
      * 
      * @return Une instance de `questions.Question`, ou null si aucune question n'est disponible.
      */
     public Question getQuestionAleatoire(){
-        if (questions.isEmpty()) {
-            return null;
+        return getQuestionAleatoire(alea);
+    }
+
+    /**
+     * Retourne une question aléatoire parmi celles qui n'ont pas encore été tirées,
+     * tirée avec le générateur de la partie.
+     *
+     * @param alea Générateur aléatoire de la partie.
+     * @return Une instance de `questions.Question`, ou null si aucune question n'est disponible.
+     */
+    public Question getQuestionAleatoire(Alea alea){
+        return tirer(-1, alea);
+    }
+
+    /**
+     * Retourne une question aléatoire d'une difficulté donnée parmi celles qui n'ont pas encore été tirées.
+     *
+     * @param alea       Générateur aléatoire de la partie.
+     * @param difficulte Difficulté de la question.
+     * @return Une instance de `questions.Question`, ou null si aucune question de cette difficulté n'est disponible.
+     */
+    public Question getQuestionAleatoire(Alea alea, int difficulte) {
+        int groupe = banque.groupe(difficulte);
+        return groupe < 0 ? null : tirer(groupe, alea);
+    }
+
+    /**
+     * Retourne une question aléatoire d'une catégorie et d'une difficulté données
+     * parmi celles qui n'ont pas encore été tirées.
+     *
+     * @param alea       Générateur aléatoire de la partie.
+     * @param categorie  Catégorie de la question.
+     * @param difficulte Difficulté de la question.
+     * @return Une instance de `questions.Question`, ou null si aucune question correspondante n'est disponible.
+     */
+    public Question getQuestionAleatoire(Alea alea, String categorie, int difficulte) {
+        int groupe = banque.groupe(categorie, difficulte);
+        return groupe < 0 ? null : tirer(groupe, alea);
+    }
+
+    /**
+     * Tire la prochaine question d'un groupe (ou de toute la banque) qui n'a été tirée par aucun autre index.
+     * Chaque question n'est écartée qu'une fois par tirage : le coût reste constant en moyenne.
+     *
+     * @param groupe Numéro du groupe, ou -1 pour toute la banque.
+     * @param alea   Générateur aléatoire de la partie (utilisé à la création du tirage).
+     * @return La question tirée, ou null si le groupe est épuisé.
+     */
+    private Question tirer(int groupe, Alea alea) {
+        Tirage tirage = tirage(groupe, alea);
+        int rang;
+        while ((rang = tirage.tirer()) >= 0) {
+            int indice = groupe < 0 ? rang : banque.membre(groupe, rang);
+            if (!estTiree(indice, tirage)) {
+                tirees++;
+                return banque.getQuestion(indice);
+            }
         }
-        Collections.shuffle(questions);
-        return questions.removeFirst(); // Retire et retourne la première question de la liste mélangée
+        return null;
     }
 
+    /**
+     * Récupère le tirage d'un groupe, en le créant avec une clé aléatoire au premier tirage.
+     *
+     * @param groupe Numéro du groupe, ou -1 pour toute la banque.
+     * @param alea   Générateur aléatoire de la partie.
+     * @return Le tirage du groupe.
+     */
+    private Tirage tirage(int groupe, Alea alea) {
+        if (groupe < 0) {
+            if (tirageGlobal == null) {
+                tirageGlobal = new Tirage(banque.taille(), alea.entierLong());
+            }
+            return tirageGlobal;
+        }
+        Tirage tirage = tiragesParGroupe.get(groupe);
+        if (tirage == null) {
+            tirage = new Tirage(banque.tailleGroupe(groupe), alea.entierLong());
+            tiragesParGroupe.put(groupe, tirage);
+        }
+        return tirage;
+    }
 
+    /**
+     * Indique si une question a déjà été tirée par un autre index que celui qui la propose.
+     *
+     * @param indice Indice de la question dans la banque.
+     * @param source Tirage qui propose la question.
+     * @return `true` si la question a déjà été tirée.
+     */
+    private boolean estTiree(int indice, Tirage source) {
+        if (tirageGlobal != null && tirageGlobal != source && tirageGlobal.estTire(indice)) {
+            return true;
+        }
+        Tirage tirage = tiragesParGroupe.get(banque.groupeDifficulte(indice));
+        if (tirage != null && tirage != source && tirage.estTire(banque.rangDifficulte(indice))) {
+            return true;
+        }
+        tirage = tiragesParGroupe.get(banque.groupeCategorie(indice));
+        return tirage != null && tirage != source && tirage.estTire(banque.rangCategorie(indice));
+    }
 }
@@ -0,0 +1,221 @@
+package questions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import utils.ISourceQuestions;
+
+/**
+ * Paquet de questions compilé (voir {@link CompilateurPaquet}), projeté en mémoire.
+ * L'ouverture ne lit que l'en-tête, la table des catégories et la table des groupes : elle est en temps constant
+ * quel que soit le nombre de questions, et une question n'est créée que lorsqu'elle est tirée. L'index par
+ * difficulté et par catégorie ({@link IndexQuestions}) est calculé à la compilation et projeté tel quel.
+ *
+ * <p>Format (entiers gros-boutistes) :</p>
+ * <ul>
+ * <li>en-tête de {@value #TAILLE_EN_TETE} octets : magie {@code QCM\1}, version, nombre de questions,
+ * nombre de catégories, nombre de groupes, taille de la réserve de chaînes ;</li>
+ * <li>table des catégories : pour chacune, la position de son nom dans la réserve (4 octets) ;</li>
+ * <li>table des groupes : pour chacun, le numéro de sa catégorie (-1 pour un groupe par difficulté),
+ * sa difficulté et le début de ses membres (3 × 4 octets) ;</li>
+ * <li>table des questions : pour chacune, {@value #TAILLE_QUESTION} octets, soit la position de l'énoncé
+ * et des quatre choix dans la réserve (5 × 4 octets), le numéro de la bonne réponse parmi les choix (1 octet),
+ * la difficulté (1 octet) et le numéro de la catégorie (2 octets) ;</li>
+ * <li>table de l'index : pour chaque question, son groupe et son rang par difficulté, puis par catégorie et
+ * difficulté (4 × 4 octets) ;</li>
+ * <li>membres des groupes : les indices des questions de chaque groupe, groupe après groupe
+ * (2 × 4 octets par question) ;</li>
+ * <li>réserve de chaînes : chaque chaîne distincte une seule fois, en UTF-8 précédée de sa longueur (4 octets).</li>
+ * </ul>
+ */
+public final class PaquetQuestions implements ISourceQuestions {
+    /**
+     * Nombre magique au début de chaque paquet ({@code QCM\1}).
+     */
+    static final int MAGIE = 0x51434D01;
+
+    /**
+     * Version du format.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Taille de l'en-tête, en octets.
+     */
+    static final int TAILLE_EN_TETE = 24;
+
+    /**
+     * Taille d'une entrée de la table des questions, en octets.
+     */
+    static final int TAILLE_QUESTION = 24;
+
+    /**
+     * Contenu du paquet projeté en mémoire.
+     */
+    private final ByteBuffer contenu;
+
+    /**
+     * Nombre de questions du paquet.
+     */
+    private final int taille;
+
+    /**
+     * Noms des catégories.
+     */
+    private final String[] categories;
+
+    /**
+     * Position de la table des questions.
+     */
+    private final int debutQuestions;
+
+    /**
+     * Position de la réserve de chaînes.
+     */
+    private final int debutChaines;
+
+    /**
+     * Index des questions, projeté depuis le paquet.
+     */
+    private final IndexQuestions index;
+
+    /**
+     * Constructeur d'un paquet à partir de son contenu.
+     *
+     * @param contenu Contenu du paquet.
+     * @throws IOException Si le contenu n'est pas un paquet valide.
+     */
+    private PaquetQuestions(ByteBuffer contenu) throws IOException {
+        this.contenu = contenu;
+        if (contenu.capacity() < TAILLE_EN_TETE || contenu.getInt(0) != MAGIE) {
+            throw new IOException("Ce fichier n'est pas un paquet de questions.");
+        }
+        if (contenu.getInt(4) != VERSION) {
+            throw new IOException("Version de paquet non prise en charge : " + contenu.getInt(4));
+        }
+        this.taille = contenu.getInt(8);
+        int nbCategories = contenu.getInt(12);
+        int nbGroupes = contenu.getInt(16);
+        long tailleChaines = contenu.getInt(20);
+        long debutGroupes = TAILLE_EN_TETE + 4L * nbCategories;
+        long debutQuestions = debutGroupes + 4L * IndexQuestions.ENTIERS_PAR_GROUPE * nbGroupes;
+        long debutIndex = debutQuestions + (long) TAILLE_QUESTION * taille;
+        long debutMembres = debutIndex + 4L * IndexQuestions.ENTIERS_PAR_QUESTION * taille;
+        long debutChaines = debutMembres + 8L * taille;
+        if (taille < 0 || nbCategories < 0 || nbGroupes < 0 || debutChaines + tailleChaines != contenu.capacity()) {
+            throw new IOException("Paquet de questions tronqué ou corrompu.");
+        }
+        this.debutQuestions = (int) debutQuestions;
+        this.debutChaines = (int) debutChaines;
+        this.categories = new String[nbCategories];
+        for (int c = 0; c < nbCategories; c++) {
+            categories[c] = chaine(contenu.getInt(TAILLE_EN_TETE + 4 * c));
+        }
+
+        String[] categoriesGroupes = new String[nbGroupes];
+        int[] difficultes = new int[nbGroupes];
+        int[] debuts = new int[nbGroupes + 1];
+        debuts[nbGroupes] = 2 * taille;
+        for (int g = 0; g < nbGroupes; g++) {
+            int p = (int) debutGroupes + 4 * IndexQuestions.ENTIERS_PAR_GROUPE * g;
+            int categorie = contenu.getInt(p);
+            if (categorie < -1 || categorie >= nbCategories) {
+                throw new IOException("Paquet de questions tronqué ou corrompu.");
+            }
+            categoriesGroupes[g] = categorie < 0 ? null : categories[categorie];
+            difficultes[g] = contenu.getInt(p + 4);
+            debuts[g] = contenu.getInt(p + 8);
+        }
+        for (int g = 0; g < nbGroupes; g++) {
+            if (debuts[g] < 0 || debuts[g] > debuts[g + 1]) {
+                throw new IOException("Paquet de questions tronqué ou corrompu.");
+            }
+        }
+        this.index = new IndexQuestions(
+                contenu.slice((int) debutIndex, 4 * IndexQuestions.ENTIERS_PAR_QUESTION * taille).asIntBuffer(),
+                contenu.slice((int) debutMembres, 8 * taille).asIntBuffer(),
+                debuts, categoriesGroupes, difficultes);
+    }
+
+    /**
+     * Ouvre un paquet de questions en le projetant en mémoire.
+     *
+     * @param chemin Chemin du paquet.
+     * @return Le paquet ouvert.
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un paquet valide.
+     */
+    public static PaquetQuestions ouvrir(Path chemin) throws IOException {
+        try (FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            MappedByteBuffer contenu = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new PaquetQuestions(contenu);
+        }
+    }
+
+    /**
+     * Récupère l'index des questions du paquet, projeté sans lire aucune question.
+     *
+     * @return L'index des questions.
+     */
+    IndexQuestions index() {
+        return index;
+    }
+
+    @Override
+    public int taille() {
+        return taille;
+    }
+
+    @Override
+    public Question getQuestion(int indice) {
+        int p = position(indice);
+        String[] choix = new String[4];
+        for (int i = 0; i < 4; i++) {
+            choix[i] = chaine(contenu.getInt(p + 4 + 4 * i));
+        }
+        return new Question(chaine(contenu.getInt(p)), List.of(choix), choix[contenu.get(p + 20)],
+                getCategorie(indice), getDifficulte(indice));
+    }
+
+    @Override
+    public String getCategorie(int indice) {
+        return categories[contenu.getShort(position(indice) + 22)];
+    }
+
+    @Override
+    public int getDifficulte(int indice) {
+        return contenu.get(position(indice) + 21);
+    }
+
+    /**
+     * Calcule la position de l'entrée d'une question dans la table des questions.
+     *
+     * @param indice Indice de la question.
+     * @return La position de l'entrée.
+     */
+    private int position(int indice) {
+        if (indice < 0 || indice >= taille) {
+            throw new IndexOutOfBoundsException(indice);
+        }
+        return debutQuestions + TAILLE_QUESTION * indice;
+    }
+
+    /**
+     * Décode une chaîne de la réserve.
+     *
+     * @param decalage Position de la chaîne dans la réserve.
+     * @return La chaîne.
+     */
+    private String chaine(int decalage) {
+        int p = debutChaines + decalage;
+        byte[] octets = new byte[contenu.getInt(p)];
+        contenu.get(p + 4, octets);
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+}
@@ -2,87 +2,168 @@ package questions;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+
+import metriques.EvenementQuestion;
+import metriques.Metriques;
+import utils.IRendu;
+import utils.IStrategie;
 
 /**
  * Classe représentant une question de type QCM avec plusieurs choix et une bonne réponse.
  */
 public class Question {
+    /**
+     * Catégorie des questions qui n'en précisent pas.
+     */
+    public static final String CATEGORIE_DEFAUT = "Culture générale";
+
+    /**
+     * Difficulté des questions qui n'en précisent pas.
+     */
+    public static final int DIFFICULTE_DEFAUT = 1;
+
     // Attributs de la classe
     private final String question;
     private final List<String> choix;
     private final String bonneReponse;
+    private final String categorie;
+    private final int difficulte;
 
     /**
-     * Constructeur pour initialiser une question avec ses choix et la bonne réponse.
+     * Constructeur pour initialiser une question avec ses choix et la bonne réponse,
+     * dans la catégorie et la difficulté par défaut.
      *
      * @param question     La question à poser.
      * @param choix        Une liste de choix pour la question.
      * @param bonneReponse La bonne réponse (doit correspondre exactement à l'un des choix).
      */
     public Question(String question, List<String> choix, String bonneReponse) {
+        this(question, choix, bonneReponse, CATEGORIE_DEFAUT, DIFFICULTE_DEFAUT);
+    }
+
+    /**
+     * Constructeur pour initialiser une question avec ses choix, la bonne réponse, sa catégorie et sa difficulté.
+     *
+     * @param question     La question à poser.
+     * @param choix        Une liste de choix pour la question.
+     * @param bonneReponse La bonne réponse (doit correspondre exactement à l'un des choix).
+     * @param categorie    Catégorie de la question.
+     * @param difficulte   Difficulté de la question (1 ou plus) : elle multiplie les dégâts d'une bonne réponse.
+     */
+    public Question(String question, List<String> choix, String bonneReponse, String categorie, int difficulte) {
         if (choix.size() != 4) {
             throw new IllegalArgumentException("Il doit y avoir exactement 4 choix.");
         }
+        if (difficulte < 1) {
+            throw new IllegalArgumentException("La difficulté doit être au moins 1.");
+        }
         this.question = question;
         this.choix = new ArrayList<>(choix);
         this.bonneReponse = bonneReponse;
+        this.categorie = categorie;
+        this.difficulte = difficulte;
+    }
+
+    /**
+     * Récupère l'intitulé de la question.
+     *
+     * @return L'intitulé de la question.
+     */
+    public String getQuestion() {
+        return question;
     }
 
     /**
-     * Affiche la question et les choix dans la console.
+     * Récupère la liste des choix proposés.
+     *
+     * @return Les choix de la question.
+     */
+    public List<String> getChoix() {
+        return choix;
+    }
+
+    /**
+     * Récupère la bonne réponse.
+     *
+     * @return La bonne réponse.
+     */
+    public String getBonneReponse() {
+        return bonneReponse;
+    }
+
+    /**
+     * Récupère la catégorie de la question.
+     *
+     * @return La catégorie de la question.
+     */
+    public String getCategorie() {
+        return categorie;
+    }
+
+    /**
+     * Récupère la difficulté de la question.
+     *
+     * @return La difficulté de la question (1 ou plus).
+     */
+    public int getDifficulte() {
+        return difficulte;
+    }
+
+    /**
+     * Ajoute la question et les choix à la trame du rendu.
+     *
+     * @param rendu Rendu de l'affichage.
      */
-    public void afficherQuestion() {
-        System.out.println("^^ " + question + " ^^");
+    public void afficherQuestion(IRendu rendu) {
+        if (!rendu.estActif()) return;
+        StringBuilder trame = rendu.trame();
+        trame.append("^^ ").append(question).append(" ^^\n");
         for (int i = 0; i < choix.size(); i++) {
-            System.out.println("-  " + (i + 1) + ". " + choix.get(i));
+            trame.append("-  ").append(i + 1).append(". ").append(choix.get(i)).append('\n');
         }
-        System.out.print("Choisissez le numéro correspondant à la réponse correcte : ");
+        trame.append("Choisissez le numéro correspondant à la réponse correcte : ");
     }
 
     /**
-     * Vérifie si le choix de l'utilisateur correspond à la bonne réponse.
+     * Vérifie si le choix de l'utilisateur correspond à la bonne réponse et ajoute le résultat à la trame du rendu.
      *
      * @param choixNum Le numéro du choix choisi par l'utilisateur.
+     * @param rendu    Rendu de l'affichage.
      * @return true si le choix correspond à la bonne réponse, sinon false.
      */
-    public boolean choixJoueurEstBonneReponse(int choixNum) {
+    public boolean choixJoueurEstBonneReponse(int choixNum, IRendu rendu) {
         if (choixNum < 1 || choixNum > choix.size()) {
-            System.out.println("Choix invalide !");
+            rendu.ligne("Choix invalide !");
             return false;
         }
 
-        String reponseJoueur = choix.get(choixNum - 1);
-        if (reponseJoueur.equals(bonneReponse)) {
-            System.out.println("BONNE REPONSE");
-        } else {
-            System.out.println("Mauvaise réponse. La bonne réponse est : " + bonneReponse);
+        boolean bonne = choix.get(choixNum - 1).equals(bonneReponse);
+        Metriques.get().reponse(bonne);
+        if (bonne) {
+            rendu.ligne("BONNE REPONSE");
+        } else if (rendu.estActif()) {
+            rendu.trame().append("Mauvaise réponse. La bonne réponse est : ").append(bonneReponse).append('\n');
         }
-        return reponseJoueur.equals(bonneReponse);
+        return bonne;
     }
 
     /**
-     * Méthode globale pour afficher la question, gérer l'entrée de l'utilisateur
-     * et vérifier si la réponse est correcte.
+     * Pose la question au joueur via sa stratégie et vérifie si la réponse est correcte.
      *
-     * @param scanner Scanner utilisé pour lire l'entrée utilisateur.
-     * @return true si l'utilisateur a donné la bonne réponse, sinon false.
+     * @param strategie Stratégie du joueur qui choisit la réponse.
+     * @param rendu     Rendu de l'affichage du résultat.
+     * @return true si le joueur a donné la bonne réponse, sinon false.
      */
-    public boolean poserQuestion(Scanner scanner) {
-        int choixNum = -1;
-        afficherQuestion();
-        while (choixNum < 1 || choixNum > choix.size()) {
-            try {
-                choixNum = scanner.nextInt();
-                scanner.nextLine(); // Vide le buffer
-                if (choixNum < 1 || choixNum > choix.size()) {
-                    System.out.print("Entrée invalide. Veuillez saisir un numéro entre 1 et 4 : ");
-                }
-            } catch (Exception e) {
-                System.out.print("Entrée invalide. Veuillez saisir un numéro entre 1 et 4 : ");
-                scanner.nextLine(); // Vide le buffer en cas d'erreur
-            }
+    public boolean poserQuestion(IStrategie strategie, IRendu rendu) {
+        EvenementQuestion evenement = new EvenementQuestion();
+        evenement.begin();
+        boolean bonne = choixJoueurEstBonneReponse(strategie.repondre(this), rendu);
+        if (evenement.shouldCommit()) {
+            evenement.categorie = categorie;
+            evenement.difficulte = difficulte;
+            evenement.bonneReponse = bonne;
+            evenement.commit();
         }
-        return choixJoueurEstBonneReponse(choixNum);
+        return bonne;
     }
 }
@@ -0,0 +1,38 @@
+package questions;
+
+import java.util.List;
+
+/**
+ * Rapport d'import d'un fichier CSV de questions.
+ *
+ * @param source     Nom du fichier importé.
+ * @param octets     Taille du fichier, en octets.
+ * @param lignes     Nombre d'enregistrements lus (lignes vides exclues).
+ * @param acceptees  Nombre de questions acceptées.
+ * @param doublons   Nombre de questions écartées car déjà présentes (dans ce fichier ou un fichier précédent).
+ * @param rejets     Motif de chaque enregistrement rejeté, précédé de son numéro de ligne.
+ * @param dureeNanos Durée de lecture du fichier, en nanosecondes.
+ */
+public record RapportFichier(String source, long octets, int lignes, int acceptees, int doublons, List<String> rejets,
+                             long dureeNanos) {
+
+    /**
+     * Calcule le débit de lecture du fichier.
+     *
+     * @return Le nombre d'enregistrements lus par seconde.
+     */
+    public double getDebit() {
+        return lignes / Math.max(dureeNanos / 1e9, 1e-9);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "%s : %d lignes, %d acceptées, %d doublons, %d rejets (%.1f Ko en %.1f ms, %.0f lignes/s)%n",
+                source, lignes, acceptees, doublons, rejets.size(), octets / 1024.0, dureeNanos / 1e6, getDebit()));
+        for (String rejet : rejets) {
+            sb.append("    ").append(rejet).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package questions;
+
+import java.util.List;
+
+/**
+ * Résultat de l'import de fichiers CSV de questions.
+ *
+ * @param questions Questions acceptées, sans doublons, dans l'ordre des fichiers puis des lignes.
+ * @param rapports  Rapport de chaque fichier, dans l'ordre des fichiers.
+ */
+public record ResultatImport(List<Question> questions, List<RapportFichier> rapports) {
+
+    /**
+     * Calcule le nombre total d'enregistrements rejetés.
+     *
+     * @return Le nombre de rejets de tous les fichiers.
+     */
+    public int getRejets() {
+        return rapports.stream().mapToInt(r -> r.rejets().size()).sum();
+    }
+
+    /**
+     * Calcule le nombre total de doublons écartés.
+     *
+     * @return Le nombre de doublons de tous les fichiers.
+     */
+    public int getDoublons() {
+        return rapports.stream().mapToInt(RapportFichier::doublons).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (RapportFichier rapport : rapports) {
+            sb.append(rapport);
+        }
+        sb.append(String.format("Total : %d questions importées de %d fichiers, %d doublons, %d rejets%n",
+                questions.size(), rapports.size(), getDoublons(), getRejets()));
+        return sb.toString();
+    }
+}
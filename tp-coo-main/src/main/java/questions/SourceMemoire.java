@@ -0,0 +1,44 @@
+package questions;
+
+import java.util.List;
+
+import utils.ISourceQuestions;
+
+/**
+ * Banque de questions déjà chargées en mémoire.
+ */
+final class SourceMemoire implements ISourceQuestions {
+    /**
+     * Questions de la banque.
+     */
+    private final Question[] questions;
+
+    /**
+     * Constructeur d'une banque en mémoire.
+     *
+     * @param questions Les questions de la banque (elles sont copiées).
+     */
+    SourceMemoire(List<Question> questions) {
+        this.questions = questions.toArray(new Question[0]);
+    }
+
+    @Override
+    public int taille() {
+        return questions.length;
+    }
+
+    @Override
+    public Question getQuestion(int indice) {
+        return questions[indice];
+    }
+
+    @Override
+    public String getCategorie(int indice) {
+        return questions[indice].getCategorie();
+    }
+
+    @Override
+    public int getDifficulte(int indice) {
+        return questions[indice].getDifficulte();
+    }
+}
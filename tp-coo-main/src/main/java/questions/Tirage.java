@@ -0,0 +1,163 @@
+package questions;
+
+/**
+ * Tirage sans remise parmi les rangs {@code 0} à {@code taille - 1}, en mémoire constante.
+ * L'ordre de tirage est une permutation pseudo-aléatoire calculée à la demande : un réseau de Feistel
+ * sur la plus petite puissance de 4 qui contient la taille, ramené à l'intervalle par parcours de cycle
+ * (on réapplique la permutation tant que le résultat dépasse la taille). Le réseau étant inversible,
+ * on sait aussi en temps constant si un rang a déjà été tiré.
+ * L'état se réduit à une clé et une position : un tirage ne coûte que quelques octets, quelle que soit la taille.
+ */
+final class Tirage {
+    /**
+     * Nombre de tours du réseau de Feistel.
+     */
+    private static final int TOURS = 4;
+
+    /**
+     * Nombre de rangs à tirer.
+     */
+    private final int taille;
+
+    /**
+     * Clé de la permutation.
+     */
+    private final long cle;
+
+    /**
+     * Nombre de bits de chaque moitié du réseau.
+     */
+    private final int demi;
+
+    /**
+     * Masque d'une moitié du réseau.
+     */
+    private final long masque;
+
+    /**
+     * Nombre de rangs déjà tirés.
+     */
+    private int position;
+
+    /**
+     * Constructeur d'un tirage.
+     *
+     * @param taille Nombre de rangs à tirer.
+     * @param cle    Clé de la permutation (deux clés différentes donnent deux ordres indépendants).
+     */
+    Tirage(int taille, long cle) {
+        this(taille, cle, 0);
+    }
+
+    /**
+     * Constructeur d'un tirage repris à une position donnée (restauration d'une sauvegarde).
+     *
+     * @param taille   Nombre de rangs à tirer.
+     * @param cle      Clé de la permutation.
+     * @param position Nombre de rangs déjà tirés.
+     */
+    Tirage(int taille, long cle, int position) {
+        this.taille = taille;
+        this.position = position;
+        this.cle = cle;
+        int bits = 64 - Long.numberOfLeadingZeros(Math.max(1, taille - 1));
+        this.demi = Math.max(1, (bits + 1) / 2);
+        this.masque = (1L << demi) - 1;
+    }
+
+    /**
+     * Récupère la clé de la permutation.
+     *
+     * @return La clé.
+     */
+    long cle() {
+        return cle;
+    }
+
+    /**
+     * Récupère le nombre de rangs déjà tirés.
+     *
+     * @return La position du tirage.
+     */
+    int position() {
+        return position;
+    }
+
+    /**
+     * Tire le rang suivant.
+     *
+     * @return Le rang tiré, ou -1 si tous ont été tirés.
+     */
+    int tirer() {
+        if (position >= taille) {
+            return -1;
+        }
+        long x = position++;
+        do {
+            x = permuter(x);
+        } while (x >= taille);
+        return (int) x;
+    }
+
+    /**
+     * Indique si un rang a déjà été tiré.
+     *
+     * @param rang Rang (entre 0 et {@code taille - 1}).
+     * @return `true` si le rang a été tiré.
+     */
+    boolean estTire(int rang) {
+        long x = rang;
+        do {
+            x = inverser(x);
+        } while (x >= taille);
+        return x < position;
+    }
+
+    /**
+     * Applique le réseau de Feistel.
+     *
+     * @param x Valeur du domaine du réseau.
+     * @return L'image de la valeur.
+     */
+    private long permuter(long x) {
+        long gauche = x >>> demi;
+        long droite = x & masque;
+        for (int t = 0; t < TOURS; t++) {
+            long suivante = gauche ^ tour(droite, t);
+            gauche = droite;
+            droite = suivante;
+        }
+        return gauche << demi | droite;
+    }
+
+    /**
+     * Applique l'inverse du réseau de Feistel.
+     *
+     * @param x Valeur du domaine du réseau.
+     * @return L'antécédent de la valeur.
+     */
+    private long inverser(long x) {
+        long gauche = x >>> demi;
+        long droite = x & masque;
+        for (int t = TOURS - 1; t >= 0; t--) {
+            long precedente = droite ^ tour(gauche, t);
+            droite = gauche;
+            gauche = precedente;
+        }
+        return gauche << demi | droite;
+    }
+
+    /**
+     * Fonction de tour du réseau : mélange d'une moitié avec la clé (finaliseur de MurmurHash3).
+     *
+     * @param moitie Moitié de la valeur.
+     * @param t      Numéro du tour.
+     * @return Une valeur pseudo-aléatoire de la taille d'une moitié.
+     */
+    private long tour(long moitie, int t) {
+        long h = moitie + cle + (t + 1) * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (h ^ (h >>> 33)) & masque;
+    }
+}
@@ -0,0 +1,89 @@
+package rejeu;
+
+import utils.IObservateur;
+import utils.IPersonnage;
+import utils.TypeEnnemi;
+
+/**
+ * Observateur qui résume le flux d'événements d'une partie (dégâts, morts et déplacements) en une empreinte de 64 bits.
+ * Deux parties qui produisent les mêmes événements, dans le même ordre et avec les mêmes points de vie, ont la même
+ * empreinte : comparer les empreintes suffit pour vérifier qu'un rejeu reproduit la partie enregistrée.
+ * Chaque événement est mélangé à l'empreinte par FNV-1a sur des entiers, sans allocation.
+ */
+public class EmpreinteEvenements implements IObservateur {
+    /**
+     * Valeur initiale de l'empreinte (base de décalage de FNV-1a sur 64 bits).
+     */
+    private static final long BASE = 0xCBF29CE484222325L;
+
+    /**
+     * Multiplicateur de FNV-1a sur 64 bits.
+     */
+    private static final long PREMIER = 0x100000001B3L;
+
+    /**
+     * Empreinte des événements reçus.
+     */
+    private long empreinte = BASE;
+
+    /**
+     * Nombre d'événements reçus.
+     */
+    private int nombre;
+
+    @Override
+    public void degats(IPersonnage attaquant, IPersonnage cible, int degats) {
+        ajouter(1, attaquant.getName().hashCode(), cible.getName().hashCode(), degats, cible.getPv());
+    }
+
+    @Override
+    public void mort(IPersonnage personnage) {
+        ajouter(2, personnage.getName().hashCode(), 0, 0, personnage.getPv());
+    }
+
+    @Override
+    public void morts(TypeEnnemi type, int nombre) {
+        ajouter(4, type.ordinal(), 0, nombre, 0);
+    }
+
+    @Override
+    public void deplacement(IPersonnage personnage, int position) {
+        ajouter(3, personnage.getName().hashCode(), 0, position, personnage.getPv());
+    }
+
+    /**
+     * Récupère l'empreinte des événements reçus.
+     *
+     * @return L'empreinte.
+     */
+    public long getEmpreinte() {
+        return empreinte;
+    }
+
+    /**
+     * Récupère le nombre d'événements reçus.
+     *
+     * @return Le nombre d'événements.
+     */
+    public int getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Mélange un événement à l'empreinte.
+     *
+     * @param type Type de l'événement.
+     * @param a    Première valeur de l'événement.
+     * @param b    Deuxième valeur de l'événement.
+     * @param c    Troisième valeur de l'événement.
+     * @param d    Quatrième valeur de l'événement.
+     */
+    private void ajouter(int type, int a, int b, int c, int d) {
+        long h = (empreinte ^ type) * PREMIER;
+        h = (h ^ a) * PREMIER;
+        h = (h ^ b) * PREMIER;
+        h = (h ^ c) * PREMIER;
+        empreinte = (h ^ d) * PREMIER;
+        nombre++;
+    }
+}
@@ -0,0 +1,62 @@
+package rejeu;
+
+import main.Contexte;
+
+/**
+ * Enregistreur d'une session de jeu.
+ * Il dérive du contexte de la partie un contexte dont les décisions du joueur sont enregistrées
+ * ({@link StrategieEnregistree}) et les événements résumés en une empreinte ({@link EmpreinteEvenements}),
+ * puis produit le {@link JournalSession} à rejouer avec {@link Rejoueur}.
+ */
+public class Enregistreur {
+    /**
+     * État du générateur aléatoire au début de la session.
+     */
+    private final long graine;
+
+    /**
+     * Stratégie qui enregistre les décisions du joueur.
+     */
+    private final StrategieEnregistree strategie;
+
+    /**
+     * Empreinte des événements de la session.
+     */
+    private final EmpreinteEvenements empreinte = new EmpreinteEvenements();
+
+    /**
+     * Contexte de la partie enregistrée.
+     */
+    private final Contexte contexte;
+
+    /**
+     * Constructeur d'un enregistreur, à créer avant le début de la partie.
+     *
+     * @param base Contexte de la partie (stratégie du joueur, affichage, pauses et générateur aléatoire).
+     */
+    public Enregistreur(Contexte base) {
+        this.graine = base.getAlea().getEtat();
+        this.strategie = new StrategieEnregistree(base.getStrategie());
+        this.contexte = new Contexte(strategie, base.getRendu(), base.getHorloge(), base.getAlea(), empreinte);
+        this.contexte.setInitiative(base.getInitiative());
+    }
+
+    /**
+     * Récupère le contexte dans lequel jouer la partie enregistrée.
+     *
+     * @return Le contexte enregistré.
+     */
+    public Contexte getContexte() {
+        return contexte;
+    }
+
+    /**
+     * Produit le journal de la session jusqu'ici (la partie peut être terminée ou interrompue).
+     *
+     * @return Le journal de la session.
+     */
+    public JournalSession journal() {
+        return new JournalSession(graine, contexte.getInitiative(), strategie.getDecisions(), empreinte.getEmpreinte(),
+                empreinte.getNombre());
+    }
+}
@@ -0,0 +1,93 @@
+package rejeu;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import utils.TamponBinaire;
+import utils.TypeInitiative;
+
+/**
+ * Journal d'une session de jeu : de quoi la rejouer à l'identique et vérifier qu'elle l'a bien été.
+ *
+ * <p>Format (entiers gros-boutistes) : magie {@code BTAJ}, version, graine, règle d'initiative, empreinte et nombre
+ * des événements, puis les décisions du joueur précédées de leur taille.</p>
+ *
+ * @param graine     État du générateur aléatoire de la partie au début de la session.
+ * @param initiative Règle d'initiative des combats de la session.
+ * @param decisions  Décisions du joueur, écrites par une {@link StrategieEnregistree}.
+ * @param empreinte  Empreinte des événements de la session (voir {@link EmpreinteEvenements}).
+ * @param evenements Nombre d'événements de la session.
+ */
+public record JournalSession(long graine, TypeInitiative initiative, byte[] decisions, long empreinte, int evenements) {
+    /**
+     * Nombre magique au début de chaque journal ({@code BTAJ}).
+     */
+    static final int MAGIE = 0x4254414A;
+
+    /**
+     * Version du format.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * Écrit le journal dans un fichier, en une seule écriture sur le canal.
+     *
+     * @param fichier Fichier du journal (remplacé s'il existe).
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public void ecrire(Path fichier) throws IOException {
+        TamponBinaire tampon = new TamponBinaire();
+        tampon.ecrireEntier(MAGIE);
+        tampon.ecrireEntier(VERSION);
+        tampon.ecrireLong(graine);
+        tampon.ecrireOctet(initiative.ordinal());
+        tampon.ecrireLong(empreinte);
+        tampon.ecrireEntier(evenements);
+        tampon.ecrireOctets(decisions);
+        ByteBuffer contenu = tampon.terminer();
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contenu.hasRemaining()) {
+                canal.write(contenu);
+            }
+        }
+    }
+
+    /**
+     * Lit un journal écrit par {@link #ecrire(Path)}.
+     *
+     * @param fichier Fichier du journal.
+     * @return Le journal lu.
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un journal valide.
+     */
+    public static JournalSession lire(Path fichier) throws IOException {
+        ByteBuffer contenu;
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            contenu = ByteBuffer.allocate((int) canal.size());
+            while (contenu.hasRemaining() && canal.read(contenu) >= 0) {
+                // Lecture jusqu'à la fin du fichier
+            }
+        }
+        TamponBinaire tampon = new TamponBinaire(contenu.flip());
+        try {
+            if (tampon.lireEntier() != MAGIE) {
+                throw new IOException(fichier + " n'est pas un journal de session.");
+            }
+            int version = tampon.lireEntier();
+            if (version != VERSION) {
+                throw new IOException(fichier + " : version de journal non prise en charge : " + version);
+            }
+            long graine = tampon.lireLong();
+            TypeInitiative initiative = TypeInitiative.values()[tampon.lireOctet()];
+            long empreinte = tampon.lireLong();
+            int evenements = tampon.lireEntier();
+            return new JournalSession(graine, initiative, tampon.lireOctets(), empreinte, evenements);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException(fichier + " : journal tronqué ou corrompu.", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package rejeu;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import main.Contexte;
+import main.Jeu;
+import utils.Alea;
+
+/**
+ * Rejoueur de sessions enregistrées.
+ * Une session est rejouée sans interface et sans pause, à partir de la graine et des décisions de son journal,
+ * puis l'empreinte de ses événements est comparée à celle de l'enregistrement.
+ * Les sessions d'un dossier sont rejouées en parallèle : un corpus de sessions sert ainsi de test de non-régression
+ * et de banc d'essai.
+ */
+public final class Rejoueur {
+    /**
+     * Extension des fichiers de journal.
+     */
+    public static final String EXTENSION = ".jnl";
+
+    /**
+     * Constructeur privé : le rejoueur s'utilise par ses méthodes statiques.
+     */
+    private Rejoueur() {
+    }
+
+    /**
+     * Rejoue une session.
+     *
+     * @param journal Journal de la session.
+     * @param source  Nom du journal (pour le rapport).
+     * @return Le résultat du rejeu.
+     */
+    public static ResultatRejeu rejouer(JournalSession journal, String source) {
+        long debut = System.nanoTime();
+        EmpreinteEvenements empreinte = new EmpreinteEvenements();
+        StrategieRejouee strategie = new StrategieRejouee(journal.decisions());
+        Contexte contexte = Contexte.sansInterface(strategie, new Alea(journal.graine()), empreinte);
+        contexte.setInitiative(journal.initiative()); // Règle de la session enregistrée, quelle que soit la propriété
+        Jeu jeu = new Jeu(contexte);
+        boolean interrompue = false;
+        try {
+            jeu.demarrageJeu();
+            while (!jeu.estTerminee()) {
+                jeu.jouerTour();
+            }
+        } catch (NoSuchElementException e) {
+            interrompue = true;
+        }
+        boolean conforme = empreinte.getEmpreinte() == journal.empreinte() && empreinte.getNombre() == journal.evenements()
+                && strategie.estEpuisee();
+        return new ResultatRejeu(source, conforme, interrompue, empreinte.getNombre(), journal.empreinte(),
+                empreinte.getEmpreinte(), System.nanoTime() - debut);
+    }
+
+    /**
+     * Rejoue un journal, ou tous les journaux ({@value #EXTENSION}) d'un dossier en parallèle, par ordre alphabétique.
+     *
+     * @param chemin Fichier de journal ou dossier de journaux.
+     * @return Le résultat de chaque rejeu.
+     * @throws IOException Si un journal ne peut pas être lu.
+     */
+    public static List<ResultatRejeu> rejouer(Path chemin) throws IOException {
+        List<Path> fichiers;
+        if (Files.isDirectory(chemin)) {
+            try (Stream<Path> contenu = Files.list(chemin)) {
+                fichiers = contenu.filter(f -> f.getFileName().toString().endsWith(EXTENSION)).sorted().toList();
+            }
+        } else {
+            fichiers = List.of(chemin);
+        }
+        try {
+            return fichiers.parallelStream().map(fichier -> {
+                try {
+                    return rejouer(JournalSession.lire(fichier), fichier.getFileName().toString());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package rejeu;
+
+/**
+ * Résultat du rejeu d'une session enregistrée.
+ *
+ * @param source            Nom du journal rejoué.
+ * @param conforme          `true` si le rejeu a produit exactement les événements enregistrés.
+ * @param interrompue       `true` si la session enregistrée s'est arrêtée avant la fin de la partie.
+ * @param evenements        Nombre d'événements produits par le rejeu.
+ * @param empreinteAttendue Empreinte des événements enregistrés.
+ * @param empreinteObtenue  Empreinte des événements du rejeu.
+ * @param dureeNanos        Durée du rejeu, en nanosecondes.
+ */
+public record ResultatRejeu(String source, boolean conforme, boolean interrompue, int evenements, long empreinteAttendue,
+                            long empreinteObtenue, long dureeNanos) {
+
+    @Override
+    public String toString() {
+        return String.format("%s : %s, %d événements%s (%016x / %016x, %.2f ms)", source,
+                conforme ? "conforme" : "DIVERGENT", evenements, interrompue ? ", session interrompue" : "",
+                empreinteAttendue, empreinteObtenue, dureeNanos / 1e6);
+    }
+}
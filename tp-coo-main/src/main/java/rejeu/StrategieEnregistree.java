@@ -0,0 +1,109 @@
+package rejeu;
+
+import java.util.Arrays;
+import java.util.List;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import questions.Question;
+import utils.IStrategie;
+import utils.TamponBinaire;
+import utils.TypeHeros;
+
+/**
+ * Stratégie qui enregistre chaque décision d'une autre stratégie (en général le joueur en console).
+ * Les décisions sont écrites dans l'ordre où elles sont prises, sur un octet chacune (le nom du héros excepté) :
+ * une partie se résume à quelques centaines d'octets, que {@link StrategieRejouee} relit dans le même ordre.
+ */
+public class StrategieEnregistree implements IStrategie {
+    /**
+     * Stratégie dont les décisions sont enregistrées.
+     */
+    private final IStrategie joueur;
+
+    /**
+     * Décisions enregistrées.
+     */
+    private final TamponBinaire decisions = new TamponBinaire();
+
+    /**
+     * Constructeur de la stratégie enregistrée.
+     *
+     * @param joueur Stratégie dont les décisions sont enregistrées.
+     */
+    public StrategieEnregistree(IStrategie joueur) {
+        this.joueur = joueur;
+    }
+
+    /**
+     * Récupère les décisions enregistrées jusqu'ici.
+     *
+     * @return Une copie des décisions enregistrées.
+     */
+    public byte[] getDecisions() {
+        return Arrays.copyOf(decisions.contenu().array(), decisions.contenu().position());
+    }
+
+    @Override
+    public String choixNom() {
+        String nom = joueur.choixNom();
+        decisions.ecrireTexte(nom);
+        return nom;
+    }
+
+    @Override
+    public TypeHeros choixTypeHeros() {
+        TypeHeros type = joueur.choixTypeHeros();
+        decisions.ecrireOctet(type.ordinal());
+        return type;
+    }
+
+    @Override
+    public int choixNiveau() {
+        int niveau = joueur.choixNiveau();
+        decisions.ecrireEntier(niveau);
+        return niveau;
+    }
+
+    @Override
+    public boolean avancer() {
+        boolean avancer = joueur.avancer();
+        decisions.ecrireBooleen(avancer);
+        return avancer;
+    }
+
+    @Override
+    public boolean combattre() {
+        boolean combattre = joueur.combattre();
+        decisions.ecrireBooleen(combattre);
+        return combattre;
+    }
+
+    @Override
+    public boolean combatRapide() {
+        boolean combatRapide = joueur.combatRapide();
+        decisions.ecrireBooleen(combatRapide);
+        return combatRapide;
+    }
+
+    @Override
+    public boolean utiliserCapaciteSpeciale(Heros heros, List<Ennemi> ennemis) {
+        boolean utiliser = joueur.utiliserCapaciteSpeciale(heros, ennemis);
+        decisions.ecrireBooleen(utiliser);
+        return utiliser;
+    }
+
+    @Override
+    public int difficulteQcm(Heros heros, List<Ennemi> ennemis) {
+        int difficulte = joueur.difficulteQcm(heros, ennemis);
+        decisions.ecrireOctet(difficulte);
+        return difficulte;
+    }
+
+    @Override
+    public int repondre(Question question) {
+        int choix = joueur.repondre(question);
+        decisions.ecrireOctet(choix);
+        return choix;
+    }
+}
@@ -0,0 +1,107 @@
+package rejeu;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import questions.Question;
+import utils.IStrategie;
+import utils.TamponBinaire;
+import utils.TypeHeros;
+
+/**
+ * Stratégie qui rejoue les décisions enregistrées par une {@link StrategieEnregistree}, dans le même ordre.
+ * Quand il n'y a plus de décision à relire, elle lève {@link NoSuchElementException}, comme la saisie console
+ * quand le joueur se déconnecte : une partie interrompue se rejoue jusqu'au même point.
+ */
+public class StrategieRejouee implements IStrategie {
+    /**
+     * Décisions à rejouer.
+     */
+    private final TamponBinaire decisions;
+
+    /**
+     * Constructeur de la stratégie rejouée.
+     *
+     * @param decisions Décisions enregistrées.
+     */
+    public StrategieRejouee(byte[] decisions) {
+        this.decisions = new TamponBinaire(ByteBuffer.wrap(decisions));
+    }
+
+    /**
+     * Indique s'il reste des décisions à rejouer.
+     *
+     * @return `true` si toutes les décisions ont été rejouées.
+     */
+    public boolean estEpuisee() {
+        return !decisions.contenu().hasRemaining();
+    }
+
+    @Override
+    public String choixNom() {
+        verifier();
+        return decisions.lireTexte();
+    }
+
+    @Override
+    public TypeHeros choixTypeHeros() {
+        verifier();
+        return TypeHeros.values()[decisions.lireOctet()];
+    }
+
+    @Override
+    public int choixNiveau() {
+        verifier();
+        return decisions.lireEntier();
+    }
+
+    @Override
+    public boolean avancer() {
+        verifier();
+        return decisions.lireBooleen();
+    }
+
+    @Override
+    public boolean combattre() {
+        verifier();
+        return decisions.lireBooleen();
+    }
+
+    @Override
+    public boolean combatRapide() {
+        verifier();
+        return decisions.lireBooleen();
+    }
+
+    @Override
+    public boolean utiliserCapaciteSpeciale(Heros heros, List<Ennemi> ennemis) {
+        verifier();
+        return decisions.lireBooleen();
+    }
+
+    @Override
+    public int difficulteQcm(Heros heros, List<Ennemi> ennemis) {
+        verifier();
+        return decisions.lireOctet();
+    }
+
+    @Override
+    public int repondre(Question question) {
+        verifier();
+        return decisions.lireOctet();
+    }
+
+    /**
+     * Vérifie qu'il reste une décision à rejouer.
+     *
+     * @throws NoSuchElementException Si toutes les décisions ont été rejouées.
+     */
+    private void verifier() {
+        if (estEpuisee()) {
+            throw new NoSuchElementException("Plus aucune décision à rejouer.");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package serveur;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import main.Contexte;
+import main.Jeu;
+import main.RenduConsole;
+import main.StrategieConsole;
+import utils.Alea;
+import utils.IHorloge;
+
+/**
+ * Serveur de parties en réseau : chaque joueur se connecte (par exemple avec {@code nc localhost 4444})
+ * et joue sa propre partie, isolée des autres ({@link Jeu}, héros, carte, générateur aléatoire).
+ * Chaque session est jouée sur un thread virtuel : un joueur inactif (en attente de saisie ou pendant une pause)
+ * n'occupe aucun thread système, ce qui permet de garder des milliers de sessions connectées.
+ * Les saisies et l'affichage de la session passent par sa socket via une {@link StrategieConsole}, un
+ * {@link RenduConsole} et un {@link Contexte} propres à la session ; la fin d'une partie ferme seulement la connexion du joueur.
+ */
+public class ServeurJeu implements AutoCloseable {
+    /**
+     * Logger pour suivre l'écoute du serveur et les connexions des joueurs.
+     */
+    private static final Logger logger = Logger.getLogger(ServeurJeu.class.getName());
+
+    /**
+     * Socket d'écoute du serveur.
+     */
+    private final ServerSocket serveur;
+
+    /**
+     * Fabrique de l'horloge de chaque session.
+     */
+    private final Supplier<IHorloge> horloges;
+
+    /**
+     * Nombre de sessions en cours.
+     */
+    private final AtomicInteger sessionsActives = new AtomicInteger();
+
+    /**
+     * Nombre de sessions ouvertes depuis le démarrage (sert à nommer les threads).
+     */
+    private final AtomicLong sessionsOuvertes = new AtomicLong();
+
+    /**
+     * Thread qui accepte les connexions.
+     */
+    private Thread accepteur;
+
+    /**
+     * Constructeur du serveur, en écoute sur l'interface locale.
+     *
+     * @param port     Port d'écoute (0 pour un port libre quelconque).
+     * @param horloges Fabrique de l'horloge de chaque session.
+     * @throws IOException Si le port ne peut pas être ouvert.
+     */
+    public ServeurJeu(int port, Supplier<IHorloge> horloges) throws IOException {
+        this.serveur = new ServerSocket();
+        this.serveur.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.horloges = horloges;
+    }
+
+    /**
+     * Démarre l'acceptation des connexions sur un thread virtuel et rend la main immédiatement.
+     */
+    public synchronized void demarrer() {
+        if (accepteur == null) {
+            accepteur = Thread.ofVirtual().name("serveur-" + getPort()).start(this::accepter);
+            logger.info(() -> "Serveur en écoute sur le port " + getPort());
+        }
+    }
+
+    /**
+     * Attend l'arrêt du serveur.
+     *
+     * @throws InterruptedException Si le thread appelant est interrompu pendant l'attente.
+     */
+    public void attendreArret() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = accepteur;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Récupère le port d'écoute du serveur.
+     *
+     * @return Le port d'écoute.
+     */
+    public int getPort() {
+        return serveur.getLocalPort();
+    }
+
+    /**
+     * Récupère le nombre de sessions en cours.
+     *
+     * @return Le nombre de joueurs connectés.
+     */
+    public int getSessionsActives() {
+        return sessionsActives.get();
+    }
+
+    /**
+     * Accepte les connexions jusqu'à la fermeture du serveur et lance une session par joueur.
+     */
+    private void accepter() {
+        while (!serveur.isClosed()) {
+            try {
+                Socket socket = serveur.accept();
+                Thread.ofVirtual().name("session-" + sessionsOuvertes.incrementAndGet()).start(() -> jouerSession(socket));
+            } catch (SocketException e) {
+                // Serveur fermé
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Connexion refusée", e);
+            }
+        }
+    }
+
+    /**
+     * Joue une partie complète pour un joueur connecté, puis ferme sa connexion.
+     * Une déconnexion du joueur termine la session sans affecter les autres.
+     *
+     * @param socket Connexion du joueur.
+     */
+    private void jouerSession(Socket socket) {
+        sessionsActives.incrementAndGet();
+        try (socket;
+             Scanner entree = new Scanner(socket.getInputStream(), StandardCharsets.UTF_8);
+             PrintStream sortie = new PrintStream(socket.getOutputStream(), false, StandardCharsets.UTF_8)) {
+            // Chaque trame est envoyée en une seule écriture sur la socket
+            RenduConsole rendu = new RenduConsole(sortie);
+            Contexte contexte = new Contexte(new StrategieConsole(entree, rendu), rendu, horloges.get(), new Alea());
+            rendu.ligne("Bienvenue sur Beat them all !");
+            Jeu jeu = new Jeu(contexte);
+            jeu.demarrageJeu();
+            while (!jeu.estTerminee()) {
+                contexte.attendre(1000);
+                jeu.jouerTour();
+            }
+        } catch (NoSuchElementException e) {
+            logger.fine("Joueur déconnecté en cours de partie");
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Erreur de communication avec le joueur", e);
+        } finally {
+            sessionsActives.decrementAndGet();
+        }
+    }
+
+    /**
+     * Arrête d'accepter des connexions. Les sessions en cours se terminent normalement.
+     *
+     * @throws IOException Si la socket d'écoute ne peut pas être fermée.
+     */
+    @Override
+    public void close() throws IOException {
+        serveur.close();
+    }
+}
@@ -0,0 +1,105 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.Alea;
+import utils.TypeHeros;
+
+/**
+ * Estimateur Monte-Carlo de la probabilité d'atteindre l'arrivée de la carte,
+ * pour chaque type de héros et chaque niveau de difficulté.
+ * Les parties sont jouées par paquets sur le pool fork/join du {@link Simulateur} ; après chaque paquet,
+ * l'estimation s'arrête dès que la demi-largeur de l'intervalle de confiance du taux de victoire
+ * est inférieure à la précision demandée.
+ * Les parties ne partagent aucun état : le temps de calcul diminue linéairement avec le nombre de cœurs.
+ * Chaque couple (type, niveau) a sa propre série de graines, si bien qu'une estimation est reproductible.
+ */
+public class Estimateur {
+    /**
+     * Niveaux de difficulté proposés par {@code Jeu.demarrageJeu}.
+     */
+    public static final int[] NIVEAUX = {1, 2, 3};
+
+    /**
+     * Nombre minimal de parties avant de tester la précision (l'intervalle n'est pas fiable en deçà).
+     */
+    private static final int MIN_PARTIES = 1_000;
+
+    /**
+     * Simulateur sur lequel les parties sont jouées.
+     */
+    private final Simulateur simulateur;
+
+    /**
+     * Demi-largeur visée pour l'intervalle de confiance du taux de victoire (entre 0 et 1).
+     */
+    private final double precision;
+
+    /**
+     * Quantile de la loi normale correspondant au niveau de confiance.
+     */
+    private final double z;
+
+    /**
+     * Nombre maximal de parties jouées pour un couple (type, niveau).
+     */
+    private final long maxParties;
+
+    /**
+     * Constructeur de l'estimateur.
+     *
+     * @param simulateur Simulateur sur lequel les parties sont jouées.
+     * @param precision  Demi-largeur visée pour l'intervalle de confiance du taux de victoire (0.01 pour ±1 point).
+     * @param z          Quantile de la loi normale correspondant au niveau de confiance (1.96 pour 95 %).
+     * @param maxParties Nombre maximal de parties jouées pour un couple (type, niveau).
+     */
+    public Estimateur(Simulateur simulateur, double precision, double z, long maxParties) {
+        if (precision <= 0) {
+            throw new IllegalArgumentException("La précision doit être strictement positive : " + precision);
+        }
+        this.simulateur = simulateur;
+        this.precision = precision;
+        this.z = z;
+        this.maxParties = maxParties;
+    }
+
+    /**
+     * Estime la probabilité de victoire d'un type de héros à un niveau donné.
+     *
+     * @param type        Type de héros joué.
+     * @param niveau      Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @param graineSerie Graine de la série de parties.
+     * @return L'estimation obtenue.
+     */
+    public Estimation estimer(TypeHeros type, int niveau, long graineSerie) {
+        // Des paquets assez gros pour occuper tous les cœurs sans trop dépasser la précision visée
+        int paquet = Math.max(MIN_PARTIES, 256 * simulateur.getParallelisme());
+        Resultats resultats = new Resultats();
+        boolean precise = false;
+        while (!precise && resultats.getParties() < maxParties) {
+            int n = (int) Math.min(paquet, maxParties - resultats.getParties());
+            resultats.fusionner(simulateur.simuler(resultats.getParties(), n, graineSerie,
+                    Simulateur.strategieParDefaut(type, niveau)));
+            precise = resultats.getParties() >= MIN_PARTIES && resultats.getDemiLargeur(z) <= precision;
+        }
+        return new Estimation(type, niveau, resultats, z, precise);
+    }
+
+    /**
+     * Estime la probabilité de victoire de chaque type de héros à chaque niveau de difficulté.
+     *
+     * @param graine Graine de l'estimation, dont sont dérivées les séries de chaque couple (type, niveau).
+     * @return Les estimations, par type de héros puis par niveau.
+     */
+    public List<Estimation> estimerTout(long graine) {
+        List<Estimation> estimations = new ArrayList<>();
+        for (TypeHeros type : TypeHeros.values()) {
+            for (int niveau : NIVEAUX) {
+                long graineSerie = Alea.graineDerivee(graine, (long) type.ordinal() * NIVEAUX.length + niveau);
+                estimations.add(estimer(type, niveau, graineSerie));
+            }
+        }
+        return estimations;
+    }
+}
@@ -0,0 +1,35 @@
+package simulation;
+
+import utils.TypeHeros;
+
+/**
+ * Estimation de la probabilité de victoire pour un type de héros et un niveau de difficulté.
+ *
+ * @param typeHeros Type de héros joué.
+ * @param niveau    Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+ * @param resultats Résultats agrégés des parties jouées.
+ * @param z         Quantile de la loi normale utilisé pour les barres d'erreur.
+ * @param precise   `true` si la précision demandée a été atteinte avant le nombre maximal de parties.
+ */
+public record Estimation(TypeHeros typeHeros, int niveau, Resultats resultats, double z, boolean precise) {
+
+    @Override
+    public String toString() {
+        double[] intervalle = resultats.getIntervalleConfiance(z);
+        StringBuilder sb = new StringBuilder(String.format(
+                "%-8s niveau %d : victoire %5.1f %% ± %.1f [%.1f ; %.1f] | combats gagnés %.2f ± %.2f | %d parties%s%n",
+                typeHeros, niveau, 100 * resultats.getTauxVictoire(), 100 * resultats.getDemiLargeur(z),
+                100 * intervalle[0], 100 * intervalle[1], resultats.getCombatsGagnesMoyen(),
+                z * resultats.getCombatsGagnesEcartType() / Math.sqrt(Math.max(1, resultats.getParties())),
+                resultats.getParties(), precise ? "" : " (précision non atteinte)"));
+        sb.append("         PV restants :");
+        long[] pvFinaux = resultats.getPvFinaux();
+        double n = Math.max(1, resultats.getParties());
+        sb.append(String.format(" mort %.1f %%", 100 * pvFinaux[0] / n));
+        for (int i = 1; i <= Resultats.TRANCHES_PV; i++) {
+            sb.append(String.format(" | ≤%d%% %.1f", 100 * i / Resultats.TRANCHES_PV, 100 * pvFinaux[i] / n));
+        }
+        sb.append(String.format(" | >100%% %.1f%n", 100 * pvFinaux[Resultats.TRANCHES_PV + 1] / n));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package simulation;
+
+import utils.TypeHeros;
+
+/**
+ * Résultat d'une partie simulée.
+ *
+ * @param graine         Graine de la partie, qui suffit à la rejouer à l'identique.
+ * @param typeHeros      Type du héros joué.
+ * @param niveau         Niveau de difficulté joué.
+ * @param victoire       `true` si le héros a atteint l'arrivée.
+ * @param combatsGagnes  Nombre de combats gagnés.
+ * @param nbRounds       Nombre total de rounds joués.
+ * @param degatsInfliges Points de vie retirés aux ennemis par le héros.
+ * @param degatsRecus    Points de vie retirés au héros.
+ * @param pvRestants     Points de vie du héros à la fin de la partie.
+ */
+public record ResultatPartie(long graine, TypeHeros typeHeros, int niveau, boolean victoire, int combatsGagnes,
+                             int nbRounds, int degatsInfliges, int degatsRecus, int pvRestants) {
+}
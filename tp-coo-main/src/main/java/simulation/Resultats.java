@@ -0,0 +1,243 @@
+package simulation;
+
+/**
+ * Résultats agrégés d'un ensemble de parties simulées.
+ * Les instances sont remplies partie par partie avec {@link #ajouter(ResultatPartie)} puis
+ * fusionnées entre threads avec {@link #fusionner(Resultats)}.
+ * Outre les totaux, elles conservent de quoi calculer des barres d'erreur (intervalle de confiance du taux
+ * de victoire, écart-type des combats gagnés) et la distribution des PV restants en fin de partie.
+ */
+public class Resultats {
+    /**
+     * Nombre de tranches de la distribution des PV restants, entre 0 et les PV de départ du héros.
+     */
+    public static final int TRANCHES_PV = 10;
+    /**
+     * Nombre de parties jouées.
+     */
+    private long parties;
+
+    /**
+     * Nombre de parties gagnées.
+     */
+    private long victoires;
+
+    /**
+     * Nombre total de combats gagnés.
+     */
+    private long combatsGagnes;
+
+    /**
+     * Somme des carrés du nombre de combats gagnés par partie (pour l'écart-type).
+     */
+    private long combatsGagnesCarres;
+
+    /**
+     * Distribution des PV restants en fin de partie, en proportion des PV de départ du héros :
+     * la case 0 compte les héros morts, la case {@code i} (1 à {@link #TRANCHES_PV}) les héros finissant
+     * avec ]{@code i-1}, {@code i}] dixièmes de leurs PV et la dernière case ceux qui finissent au-dessus
+     * de leurs PV de départ (soins).
+     */
+    private final long[] pvFinaux = new long[TRANCHES_PV + 2];
+
+    /**
+     * Nombre total de rounds joués.
+     */
+    private long nbRounds;
+
+    /**
+     * Total des points de vie retirés aux ennemis.
+     */
+    private long degatsInfliges;
+
+    /**
+     * Total des points de vie retirés aux héros.
+     */
+    private long degatsRecus;
+
+    /**
+     * Ajoute le résultat d'une partie.
+     *
+     * @param resultat Résultat de la partie.
+     */
+    public void ajouter(ResultatPartie resultat) {
+        parties++;
+        if (resultat.victoire()) victoires++;
+        combatsGagnes += resultat.combatsGagnes();
+        combatsGagnesCarres += (long) resultat.combatsGagnes() * resultat.combatsGagnes();
+        pvFinaux[tranchePv(resultat.pvRestants(), resultat.typeHeros().getPv())]++;
+        nbRounds += resultat.nbRounds();
+        degatsInfliges += resultat.degatsInfliges();
+        degatsRecus += resultat.degatsRecus();
+    }
+
+    /**
+     * Fusionne les résultats d'un autre ensemble de parties dans celui-ci.
+     *
+     * @param autre Résultats à fusionner.
+     */
+    public void fusionner(Resultats autre) {
+        parties += autre.parties;
+        victoires += autre.victoires;
+        combatsGagnes += autre.combatsGagnes;
+        combatsGagnesCarres += autre.combatsGagnesCarres;
+        for (int i = 0; i < pvFinaux.length; i++) {
+            pvFinaux[i] += autre.pvFinaux[i];
+        }
+        nbRounds += autre.nbRounds;
+        degatsInfliges += autre.degatsInfliges;
+        degatsRecus += autre.degatsRecus;
+    }
+
+    /**
+     * Récupère le nombre de parties jouées.
+     *
+     * @return Nombre de parties jouées.
+     */
+    public long getParties() {
+        return parties;
+    }
+
+    /**
+     * Récupère le nombre de parties gagnées.
+     *
+     * @return Nombre de parties gagnées.
+     */
+    public long getVictoires() {
+        return victoires;
+    }
+
+    /**
+     * Récupère le nombre de parties perdues.
+     *
+     * @return Nombre de parties perdues.
+     */
+    public long getDefaites() {
+        return parties - victoires;
+    }
+
+    /**
+     * Récupère le nombre total de combats gagnés.
+     *
+     * @return Nombre total de combats gagnés.
+     */
+    public long getCombatsGagnes() {
+        return combatsGagnes;
+    }
+
+    /**
+     * Récupère le nombre total de rounds joués.
+     *
+     * @return Nombre total de rounds joués.
+     */
+    public long getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Récupère le total des dégâts infligés par les héros.
+     *
+     * @return Total des dégâts infligés par les héros.
+     */
+    public long getDegatsInfliges() {
+        return degatsInfliges;
+    }
+
+    /**
+     * Récupère le total des dégâts reçus par les héros.
+     *
+     * @return Total des dégâts reçus par les héros.
+     */
+    public long getDegatsRecus() {
+        return degatsRecus;
+    }
+
+    /**
+     * Calcule le taux de victoire.
+     *
+     * @return Proportion de parties gagnées (entre 0 et 1).
+     */
+    public double getTauxVictoire() {
+        return parties == 0 ? 0 : (double) victoires / parties;
+    }
+
+    /**
+     * Calcule l'intervalle de confiance du taux de victoire (intervalle de Wilson, fiable même près de 0 ou 1).
+     *
+     * @param z Quantile de la loi normale correspondant au niveau de confiance (1.96 pour 95 %).
+     * @return Les bornes inférieure et supérieure de l'intervalle.
+     */
+    public double[] getIntervalleConfiance(double z) {
+        if (parties == 0) return new double[]{0, 1};
+        double n = parties;
+        double p = getTauxVictoire();
+        double z2 = z * z;
+        double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+        double demi = z / (1 + z2 / n) * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n));
+        return new double[]{Math.max(0, centre - demi), Math.min(1, centre + demi)};
+    }
+
+    /**
+     * Calcule la demi-largeur de l'intervalle de confiance du taux de victoire.
+     *
+     * @param z Quantile de la loi normale correspondant au niveau de confiance (1.96 pour 95 %).
+     * @return La demi-largeur de l'intervalle (entre 0 et 0.5).
+     */
+    public double getDemiLargeur(double z) {
+        double[] intervalle = getIntervalleConfiance(z);
+        return (intervalle[1] - intervalle[0]) / 2;
+    }
+
+    /**
+     * Calcule le nombre moyen de combats gagnés par partie.
+     *
+     * @return Nombre moyen de combats gagnés.
+     */
+    public double getCombatsGagnesMoyen() {
+        return parties == 0 ? 0 : (double) combatsGagnes / parties;
+    }
+
+    /**
+     * Calcule l'écart-type du nombre de combats gagnés par partie.
+     *
+     * @return Écart-type du nombre de combats gagnés.
+     */
+    public double getCombatsGagnesEcartType() {
+        if (parties < 2) return 0;
+        double moyenne = getCombatsGagnesMoyen();
+        double variance = (combatsGagnesCarres - parties * moyenne * moyenne) / (parties - 1);
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    /**
+     * Récupère la distribution des PV restants en fin de partie (voir {@link #TRANCHES_PV}).
+     *
+     * @return Une copie des effectifs par tranche.
+     */
+    public long[] getPvFinaux() {
+        return pvFinaux.clone();
+    }
+
+    /**
+     * Calcule la tranche de la distribution des PV restants.
+     *
+     * @param pvRestants PV du héros en fin de partie.
+     * @param pvDepart   PV de départ du héros.
+     * @return L'indice de la tranche.
+     */
+    private static int tranchePv(int pvRestants, int pvDepart) {
+        if (pvRestants <= 0) return 0;
+        if (pvRestants > pvDepart) return TRANCHES_PV + 1;
+        return (int) Math.ceil((double) pvRestants * TRANCHES_PV / pvDepart);
+    }
+
+    @Override
+    public String toString() {
+        double n = Math.max(1, parties);
+        return String.format("%d parties : %d victoires / %d défaites (%.1f %%)%n"
+                        + "Rounds par partie : %.2f | Combats gagnés par partie : %.2f%n"
+                        + "Dégâts infligés par partie : %.1f | Dégâts reçus par partie : %.1f",
+                parties, victoires, getDefaites(), 100 * getTauxVictoire(),
+                nbRounds / n, combatsGagnes / n, degatsInfliges / n, degatsRecus / n);
+    }
+}
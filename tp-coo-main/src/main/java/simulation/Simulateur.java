@@ -0,0 +1,182 @@
+package simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+import main.Contexte;
+import main.Jeu;
+import utils.Alea;
+import utils.IObservateur;
+import utils.IStrategie;
+import utils.TypeHeros;
+
+/**
+ * Simulateur de parties sans interface.
+ * Chaque partie est jouée de la génération de la carte jusqu'à la fin du dernier combat,
+ * sans pause ni affichage, avec une stratégie de décision fournie à la place de la console.
+ * Les parties sont réparties sur un pool fork/join et leurs résultats sont agrégés.
+ * Chaque partie a son propre générateur, dont la graine est dérivée de la graine de la série :
+ * une série est donc reproductible quel que soit le nombre de threads.
+ */
+public class Simulateur {
+    /**
+     * Pool de threads sur lequel les parties sont jouées.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Fabrique de l'observateur de chaque partie, à partir de son indice dans la série.
+     */
+    private LongFunction<IObservateur> observateurs = indice -> IObservateur.AUCUN;
+
+    /**
+     * Constructeur d'un simulateur utilisant tous les cœurs disponibles.
+     */
+    public Simulateur() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructeur d'un simulateur avec un nombre de threads donné.
+     *
+     * @param parallelisme Nombre de threads du pool.
+     */
+    public Simulateur(int parallelisme) {
+        this.pool = new ForkJoinPool(parallelisme);
+    }
+
+    /**
+     * Joue une partie complète sans interface.
+     * La stratégie est créée à partir d'un flux séparé du générateur de la partie.
+     *
+     * @param graine    Graine de la partie.
+     * @param strategie Fabrique de la stratégie de décision du joueur.
+     * @return Le résultat de la partie.
+     */
+    public static ResultatPartie jouerPartie(long graine, Function<Alea, ? extends IStrategie> strategie) {
+        return jouerPartie(graine, strategie, IObservateur.AUCUN);
+    }
+
+    /**
+     * Joue une partie complète sans interface, dont les événements sont observés.
+     *
+     * @param graine      Graine de la partie.
+     * @param strategie   Fabrique de la stratégie de décision du joueur.
+     * @param observateur Observateur des événements de la partie.
+     * @return Le résultat de la partie.
+     */
+    public static ResultatPartie jouerPartie(long graine, Function<Alea, ? extends IStrategie> strategie,
+                                             IObservateur observateur) {
+        Alea alea = new Alea(graine);
+        IStrategie joueur = strategie.apply(alea.separer());
+        Jeu jeu = new Jeu(Contexte.sansInterface(joueur, alea, observateur));
+        TypeHeros type = joueur.choixTypeHeros();
+        int niveau = joueur.choixNiveau();
+        jeu.initialiserPartie(joueur.choixNom(), type, niveau);
+        while (!jeu.estTerminee()) {
+            jeu.jouerTour();
+        }
+        return new ResultatPartie(graine, type, niveau, !jeu.hero.estMort(), jeu.getCombatsGagnes(), jeu.getNbRounds(),
+                jeu.getDegatsInfliges(), jeu.getDegatsRecus(), Math.max(0, jeu.hero.getPv()));
+    }
+
+    /**
+     * Joue un nombre donné de parties en parallèle et agrège leurs résultats.
+     *
+     * @param nbParties   Nombre de parties à jouer.
+     * @param graineSerie Graine de la série, dont sont dérivées les graines des parties.
+     * @param strategie   Fabrique de la stratégie utilisée pour chaque partie.
+     * @return Les résultats agrégés.
+     */
+    public Resultats simuler(int nbParties, long graineSerie, Function<Alea, ? extends IStrategie> strategie) {
+        return simuler(0, nbParties, graineSerie, strategie);
+    }
+
+    /**
+     * Joue en parallèle les parties d'indices {@code premiere} à {@code premiere + nbParties - 1} d'une série
+     * et agrège leurs résultats.
+     * Une série peut ainsi être jouée par paquets successifs, avec les mêmes parties qu'en une seule fois.
+     *
+     * @param premiere    Indice de la première partie dans la série.
+     * @param nbParties   Nombre de parties à jouer.
+     * @param graineSerie Graine de la série, dont sont dérivées les graines des parties.
+     * @param strategie   Fabrique de la stratégie utilisée pour chaque partie.
+     * @return Les résultats agrégés.
+     */
+    public Resultats simuler(long premiere, int nbParties, long graineSerie, Function<Alea, ? extends IStrategie> strategie) {
+        return pool.submit(() -> LongStream.range(premiere, premiere + nbParties)
+                .parallel()
+                .mapToObj(i -> jouerPartie(Alea.graineDerivee(graineSerie, i), strategie, observateurs.apply(i)))
+                .collect(Resultats::new, Resultats::ajouter, Resultats::fusionner))
+                .join();
+    }
+
+    /**
+     * Joue un nombre donné de parties avec la stratégie automatique par défaut (combats résolus automatiquement).
+     *
+     * @param nbParties   Nombre de parties à jouer.
+     * @param graineSerie Graine de la série.
+     * @param type        Type de héros joué.
+     * @param niveau      Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @return Les résultats agrégés.
+     */
+    public Resultats simuler(int nbParties, long graineSerie, TypeHeros type, int niveau) {
+        return simuler(nbParties, graineSerie, strategieParDefaut(type, niveau));
+    }
+
+    /**
+     * Fabrique de la stratégie automatique par défaut : capacité spéciale utilisée dès la première attaque,
+     * une bonne réponse sur deux aux QCM et combats résolus automatiquement.
+     *
+     * @param type   Type de héros joué.
+     * @param niveau Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @return La fabrique de stratégie.
+     */
+    public static Function<Alea, IStrategie> strategieParDefaut(TypeHeros type, int niveau) {
+        return alea -> {
+            StrategieAutomatique strategie = new StrategieAutomatique(type, niveau, true, 0.5, alea);
+            strategie.setCombatRapide(true);
+            return strategie;
+        };
+    }
+
+    /**
+     * Définit la fabrique de l'observateur de chaque partie simulée (par exemple un journal des combats).
+     *
+     * @param observateurs Fabrique de l'observateur d'une partie, à partir de son indice dans la série.
+     */
+    public void setObservateurs(LongFunction<IObservateur> observateurs) {
+        this.observateurs = observateurs;
+    }
+
+    /**
+     * Récupère le nombre de threads du pool.
+     *
+     * @return Le parallélisme du simulateur.
+     */
+    public int getParallelisme() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Joue un nombre donné de parties avec la stratégie automatique par défaut et une graine de série aléatoire.
+     *
+     * @param nbParties Nombre de parties à jouer.
+     * @param type      Type de héros joué.
+     * @param niveau    Niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @return Les résultats agrégés.
+     */
+    public Resultats simuler(int nbParties, TypeHeros type, int niveau) {
+        return simuler(nbParties, new SplittableRandom().nextLong(), type, niveau);
+    }
+
+    /**
+     * Arrête le pool de threads du simulateur.
+     */
+    public void fermer() {
+        pool.shutdown();
+    }
+}
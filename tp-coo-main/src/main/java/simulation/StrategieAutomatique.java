@@ -0,0 +1,131 @@
+package simulation;
+
+import java.util.List;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import questions.Question;
+import utils.Alea;
+import utils.IStrategie;
+import utils.TypeHeros;
+
+/**
+ * Stratégie de décision automatique utilisée pour les simulations.
+ * Le joueur avance toujours, combat chaque groupe d'ennemis, utilise sa capacité spéciale
+ * dès que possible (si elle est activée) et répond juste aux QCM avec une probabilité donnée.
+ */
+public class StrategieAutomatique implements IStrategie {
+    /**
+     * Type de héros joué.
+     */
+    private final TypeHeros typeHeros;
+
+    /**
+     * Niveau de difficulté joué.
+     */
+    private final int niveau;
+
+    /**
+     * Indique si la capacité spéciale est utilisée à la première attaque.
+     */
+    private final boolean utiliserCapacite;
+
+    /**
+     * Probabilité de répondre juste à un QCM (entre 0 et 1).
+     */
+    private final double tauxBonnesReponses;
+
+    /**
+     * Générateur aléatoire utilisé pour répondre aux QCM.
+     */
+    private final Alea alea;
+
+    /**
+     * Indique si les combats sont résolus automatiquement.
+     */
+    private boolean combatRapide;
+
+    /**
+     * Constructeur de la stratégie automatique avec une graine aléatoire.
+     *
+     * @param typeHeros          Type de héros joué.
+     * @param niveau             Niveau de difficulté joué (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @param utiliserCapacite   `true` pour utiliser la capacité spéciale dès la première attaque.
+     * @param tauxBonnesReponses Probabilité de répondre juste à un QCM (entre 0 et 1).
+     */
+    public StrategieAutomatique(TypeHeros typeHeros, int niveau, boolean utiliserCapacite, double tauxBonnesReponses) {
+        this(typeHeros, niveau, utiliserCapacite, tauxBonnesReponses, new Alea());
+    }
+
+    /**
+     * Constructeur de la stratégie automatique.
+     *
+     * @param typeHeros          Type de héros joué.
+     * @param niveau             Niveau de difficulté joué (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     * @param utiliserCapacite   `true` pour utiliser la capacité spéciale dès la première attaque.
+     * @param tauxBonnesReponses Probabilité de répondre juste à un QCM (entre 0 et 1).
+     * @param alea               Générateur aléatoire utilisé pour répondre aux QCM.
+     */
+    public StrategieAutomatique(TypeHeros typeHeros, int niveau, boolean utiliserCapacite, double tauxBonnesReponses,
+                                Alea alea) {
+        this.typeHeros = typeHeros;
+        this.niveau = niveau;
+        this.utiliserCapacite = utiliserCapacite;
+        this.tauxBonnesReponses = tauxBonnesReponses;
+        this.alea = alea;
+    }
+
+    @Override
+    public String choixNom() {
+        return "Simulation";
+    }
+
+    @Override
+    public TypeHeros choixTypeHeros() {
+        return typeHeros;
+    }
+
+    @Override
+    public int choixNiveau() {
+        return niveau;
+    }
+
+    @Override
+    public boolean avancer() {
+        return true;
+    }
+
+    @Override
+    public boolean combattre() {
+        return true;
+    }
+
+    @Override
+    public boolean combatRapide() {
+        return combatRapide;
+    }
+
+    /**
+     * Active ou désactive la résolution automatique des combats.
+     *
+     * @param combatRapide `true` pour résoudre les combats automatiquement.
+     */
+    public void setCombatRapide(boolean combatRapide) {
+        this.combatRapide = combatRapide;
+    }
+
+    @Override
+    public boolean utiliserCapaciteSpeciale(Heros heros, List<Ennemi> ennemis) {
+        return utiliserCapacite;
+    }
+
+    @Override
+    public int repondre(Question question) {
+        List<String> choix = question.getChoix();
+        int bonChoix = choix.indexOf(question.getBonneReponse()) + 1;
+        if (bonChoix > 0 && alea.reel() < tauxBonnesReponses) {
+            return bonChoix;
+        }
+        return bonChoix == 1 ? 2 : 1;
+    }
+}
@@ -0,0 +1,200 @@
+package utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Générateur aléatoire d'une partie.
+ * Toute l'aléa d'une partie (carte, ennemis, QCM, décisions automatiques) est tirée de ce générateur,
+ * si bien qu'une partie peut être rejouée à l'identique à partir de sa graine.
+ * Un générateur n'est pas partagé entre threads : {@link #separer()} fournit un flux indépendant
+ * pour chaque tâche parallèle, sans contention.
+ * <p>
+ * L'algorithme est celui de {@link SplittableRandom} (SplitMix64), dont il reproduit exactement la suite de valeurs,
+ * mais son état tient dans un seul long accessible : une sauvegarde de partie peut ainsi le capturer et le restaurer.
+ */
+public class Alea {
+    /**
+     * Incrément de l'état à chaque tirage (nombre d'or sur 64 bits, comme {@link SplittableRandom}).
+     */
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Graine du générateur.
+     */
+    private final long graine;
+
+    /**
+     * État courant du générateur.
+     */
+    private long etat;
+
+    /**
+     * Constructeur d'un générateur à graine aléatoire.
+     */
+    public Alea() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructeur d'un générateur à partir d'une graine.
+     * Deux générateurs créés avec la même graine produisent exactement la même suite de valeurs.
+     *
+     * @param graine Graine du générateur.
+     */
+    public Alea(long graine) {
+        this.graine = graine;
+        this.etat = graine;
+    }
+
+    /**
+     * Récupère la graine du générateur.
+     *
+     * @return La graine du générateur.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Récupère l'état courant du générateur.
+     *
+     * @return L'état du générateur.
+     */
+    public long getEtat() {
+        return etat;
+    }
+
+    /**
+     * Restaure l'état du générateur : la suite de valeurs reprend exactement là où elle en était
+     * lorsque cet état a été lu par {@link #getEtat()}.
+     *
+     * @param etat État du générateur.
+     */
+    public void setEtat(long etat) {
+        this.etat = etat;
+    }
+
+    /**
+     * Tire un entier dans un intervalle.
+     *
+     * @param min Borne inférieure (incluse).
+     * @param max Borne supérieure (exclue).
+     * @return Un entier entre {@code min} et {@code max - 1}.
+     * @throws IllegalArgumentException Si {@code min >= max}.
+     */
+    public int entre(int min, int max) {
+        if (min >= max) {
+            throw new IllegalArgumentException("Intervalle vide : [" + min + ", " + max + "[");
+        }
+        int r = entier();
+        int n = max - min;
+        int m = n - 1;
+        if ((n & m) == 0) {
+            return (r & m) + min;
+        }
+        if (n > 0) {
+            for (int u = r >>> 1; u + m - (r = u % n) < 0; u = entier() >>> 1) ;
+            return r + min;
+        }
+        while (r < min || r >= max) {
+            r = entier();
+        }
+        return r;
+    }
+
+    /**
+     * Tire un booléen.
+     *
+     * @return `true` ou `false` avec la même probabilité.
+     */
+    public boolean pileOuFace() {
+        return entier() < 0;
+    }
+
+    /**
+     * Tire un réel entre 0 (inclus) et 1 (exclu).
+     *
+     * @return Un réel aléatoire.
+     */
+    public double reel() {
+        return (entierLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Tire un long quelconque.
+     *
+     * @return Un long aléatoire.
+     */
+    public long entierLong() {
+        return melanger64(etat += GAMMA);
+    }
+
+    /**
+     * Choisit un élément d'un tableau.
+     *
+     * @param valeurs Tableau non vide.
+     * @param <T>     Type des éléments.
+     * @return Un élément du tableau.
+     */
+    public <T> T choisir(T[] valeurs) {
+        return valeurs[entre(0, valeurs.length)];
+    }
+
+    /**
+     * Mélange une liste (Fisher-Yates, dans le même ordre de tirages que {@link Collections#shuffle}).
+     *
+     * @param liste Liste à mélanger.
+     */
+    public void melanger(List<?> liste) {
+        for (int i = liste.size(); i > 1; i--) {
+            Collections.swap(liste, i - 1, entre(0, i));
+        }
+    }
+
+    /**
+     * Crée un générateur indépendant dérivé de celui-ci.
+     * Le générateur obtenu dépend uniquement de l'état courant de celui-ci : la séparation est reproductible.
+     *
+     * @return Un nouveau générateur.
+     */
+    public Alea separer() {
+        return new Alea(entierLong());
+    }
+
+    /**
+     * Calcule la graine de la partie d'indice donné d'une série, à partir de la graine de la série.
+     * Chaque partie obtient ainsi un flux indépendant, quel que soit l'ordre d'exécution des parties.
+     *
+     * @param graineSerie Graine de la série de parties.
+     * @param indice      Indice de la partie dans la série.
+     * @return La graine de la partie.
+     */
+    public static long graineDerivee(long graineSerie, long indice) {
+        return melanger64(graineSerie + indice * GAMMA + GAMMA);
+    }
+
+    /**
+     * Tire un int quelconque.
+     *
+     * @return Un int aléatoire.
+     */
+    private int entier() {
+        long z = etat += GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Fonction de mélange de SplitMix64 (variante 13 de Stafford).
+     *
+     * @param z Valeur à mélanger.
+     * @return La valeur mélangée.
+     */
+    private static long melanger64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
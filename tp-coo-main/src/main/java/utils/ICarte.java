@@ -0,0 +1,79 @@
+package utils;
+
+import main.Combat;
+import personnages.Heros;
+
+/**
+ * Interface représentant la carte parcourue par le héros.
+ * Implémentée par une carte de longueur fixe générée au départ ({@code main.Carte}) et par une carte
+ * sans fin générée par tronçons au fil de l'avancée du héros ({@code main.CarteInfinie}).
+ */
+public interface ICarte {
+
+    /**
+     * Récupère le nom de la carte.
+     *
+     * @return Le nom de la carte.
+     */
+    String getNom();
+
+    /**
+     * Récupère la longueur totale de la carte.
+     *
+     * @return La longueur totale de la carte.
+     */
+    int getLongueur();
+
+    /**
+     * Récupère la position d'arrivée sur la carte.
+     *
+     * @return La position d'arrivée.
+     */
+    int getPositionArrivee();
+
+    /**
+     * Récupère le contenu d'une case à une position donnée.
+     *
+     * @param position Position de la case.
+     * @return Le contenu de la case (ou {@link TypeCase#VIDE} si la position est invalide).
+     */
+    TypeCase getCase(int position);
+
+    /**
+     * Récupère le combat placé à une position donnée.
+     *
+     * @param position Position du combat.
+     * @return Le combat, ou {@code null} s'il n'y en a pas.
+     */
+    Combat getCombat(int position);
+
+    /**
+     * Supprime le combat placé à une position donnée.
+     *
+     * @param position Position du combat.
+     */
+    void supprimerCombat(int position);
+
+    /**
+     * Place un héros sur la carte à sa position actuelle.
+     *
+     * @param h Le héros à placer.
+     */
+    void placerHero(Heros h);
+
+    /**
+     * Met à jour la position d'un élément sur la carte.
+     *
+     * @param oldPos Ancienne position de l'élément.
+     * @param newPos Nouvelle position de l'élément.
+     * @param name   Nom de l'élément (affiché sur la carte).
+     */
+    void updatePosition(int oldPos, int newPos, String name);
+
+    /**
+     * Ajoute la carte (ou la partie visible de la carte) à la trame du rendu.
+     *
+     * @param rendu Rendu de l'affichage.
+     */
+    void afficherCarte(IRendu rendu);
+}
@@ -0,0 +1,23 @@
+package utils;
+
+/**
+ * Interface représentant l'horloge qui rythme une partie.
+ * Toutes les pauses du jeu passent par cette interface, ce qui permet de jouer en temps réel,
+ * en accéléré ou sans aucune attente (horloge virtuelle pour les tests et la simulation).
+ */
+public interface IHorloge {
+
+    /**
+     * Récupère le temps écoulé selon cette horloge.
+     *
+     * @return Temps en millisecondes.
+     */
+    long maintenant();
+
+    /**
+     * Met en pause la partie pour une durée donnée.
+     *
+     * @param ms Durée de la pause en millisecondes (temps de jeu).
+     */
+    void attendre(long ms);
+}
@@ -0,0 +1,98 @@
+package utils;
+
+import java.util.Map;
+
+import javax.management.MXBean;
+
+import metriques.StatistiquesHistogramme;
+
+/**
+ * Interface d'administration (MXBean) des métriques du jeu, consultable avec JConsole ou VisualVM
+ * sous le nom {@code beatthemall:type=Metriques}.
+ * Les compteurs portent sur toutes les parties jouées dans la JVM depuis le démarrage ou la dernière remise à zéro.
+ */
+@MXBean
+public interface IMetriques {
+
+    /**
+     * Récupère le nombre de parties démarrées.
+     *
+     * @return Le nombre de parties démarrées.
+     */
+    long getPartiesDemarrees();
+
+    /**
+     * Récupère le nombre de parties terminées.
+     *
+     * @return Le nombre de parties terminées.
+     */
+    long getPartiesTerminees();
+
+    /**
+     * Récupère le nombre de victoires de chaque type de héros.
+     *
+     * @return Le nombre de victoires, par type de héros.
+     */
+    Map<String, Long> getVictoiresParHeros();
+
+    /**
+     * Récupère le nombre de défaites de chaque type de héros.
+     *
+     * @return Le nombre de défaites, par type de héros.
+     */
+    Map<String, Long> getDefaitesParHeros();
+
+    /**
+     * Récupère le nombre de bonnes réponses aux QCM.
+     *
+     * @return Le nombre de bonnes réponses.
+     */
+    long getBonnesReponses();
+
+    /**
+     * Récupère le nombre de mauvaises réponses aux QCM.
+     *
+     * @return Le nombre de mauvaises réponses.
+     */
+    long getMauvaisesReponses();
+
+    /**
+     * Calcule la proportion de bonnes réponses aux QCM.
+     *
+     * @return La proportion de bonnes réponses (entre 0 et 1).
+     */
+    double getTauxBonnesReponses();
+
+    /**
+     * Récupère la distribution du nombre de combats par carte générée.
+     *
+     * @return Les statistiques du nombre de combats par carte.
+     */
+    StatistiquesHistogramme getCombatsParCarte();
+
+    /**
+     * Récupère la distribution du nombre de rounds par combat.
+     *
+     * @return Les statistiques du nombre de rounds par combat.
+     */
+    StatistiquesHistogramme getRoundsParCombat();
+
+    /**
+     * Récupère la distribution des dégâts par attaque d'un personnage.
+     *
+     * @return Les statistiques des dégâts par attaque.
+     */
+    StatistiquesHistogramme getDegatsParAttaque();
+
+    /**
+     * Récupère la distribution de la durée d'un tour de jeu, en nanosecondes (attente du joueur comprise).
+     *
+     * @return Les statistiques de la durée d'un tour.
+     */
+    StatistiquesHistogramme getDureeTourNs();
+
+    /**
+     * Remet toutes les métriques à zéro.
+     */
+    void reinitialiser();
+}
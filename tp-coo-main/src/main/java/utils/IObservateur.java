@@ -0,0 +1,98 @@
+package utils;
+
+/**
+ * Interface représentant un observateur des événements de jeu d'une partie : combats, rounds, dégâts, capacité spéciale,
+ * QCM, morts et déplacements.
+ * Les événements sont signalés dans l'ordre où ils se produisent, depuis le thread de la partie.
+ * Toutes les méthodes ne font rien par défaut : un observateur ne redéfinit que ce qui l'intéresse.
+ */
+public interface IObservateur {
+
+    /**
+     * Observateur qui ignore tous les événements (par défaut dans un {@code Contexte}).
+     */
+    IObservateur AUCUN = new IObservateur() {
+    };
+
+    /**
+     * Signale le début d'un combat contre un groupe d'ennemis.
+     *
+     * @param heros   Héros qui combat.
+     * @param ennemis Nombre d'ennemis du groupe.
+     */
+    default void debutCombat(IPersonnage heros, int ennemis) {
+    }
+
+    /**
+     * Signale la fin d'un combat (tous les ennemis sont morts, ou le héros l'est).
+     *
+     * @param heros  Héros qui a combattu.
+     * @param rounds Nombre de rounds joués pendant le combat.
+     */
+    default void finCombat(IPersonnage heros, int rounds) {
+    }
+
+    /**
+     * Signale le début d'un round contre un ennemi.
+     * Les rounds d'un combat rapide résolus d'un bloc ne sont pas signalés un par un, seuls leurs dégâts le sont.
+     *
+     * @param numero Numéro du round contre cet ennemi (à partir de 1).
+     */
+    default void debutRound(int numero) {
+    }
+
+    /**
+     * Signale l'utilisation de la capacité spéciale du héros.
+     *
+     * @param heros  Héros qui utilise sa capacité spéciale.
+     * @param degats Points de vie retirés aux ennemis.
+     */
+    default void capaciteSpeciale(IPersonnage heros, int degats) {
+    }
+
+    /**
+     * Signale la réponse du joueur à un QCM.
+     *
+     * @param bonne      `true` si la réponse est bonne.
+     * @param difficulte Difficulté de la question.
+     */
+    default void reponse(boolean bonne, int difficulte) {
+    }
+
+    /**
+     * Signale des dégâts infligés par un personnage à un autre.
+     *
+     * @param attaquant Personnage qui attaque.
+     * @param cible     Personnage attaqué (ses points de vie sont déjà mis à jour).
+     * @param degats    Points de vie retirés à la cible.
+     */
+    default void degats(IPersonnage attaquant, IPersonnage cible, int degats) {
+    }
+
+    /**
+     * Signale la mort d'un personnage (ennemi vaincu, ou héros mort ou qui abandonne).
+     *
+     * @param personnage Personnage mort.
+     */
+    default void mort(IPersonnage personnage) {
+    }
+
+    /**
+     * Signale la mort simultanée de plusieurs ennemis d'un même type, tués par des dégâts de zone (mode horde),
+     * qui n'existent pas un par un en tant que personnages.
+     *
+     * @param type    Type des ennemis morts.
+     * @param nombre  Nombre d'ennemis morts.
+     */
+    default void morts(TypeEnnemi type, int nombre) {
+    }
+
+    /**
+     * Signale le déplacement d'un personnage sur la carte.
+     *
+     * @param personnage Personnage qui se déplace.
+     * @param position   Nouvelle position du personnage.
+     */
+    default void deplacement(IPersonnage personnage, int position) {
+    }
+}
@@ -82,13 +82,16 @@ public interface IPersonnage {
      * Génère un nombre aléatoire représentant le nombre d'attaques que le
      * personnage peut porter.
      *
+     * @param alea Générateur aléatoire de la partie.
      */
-    void setNombreAttaque();
+    void setNombreAttaque(Alea alea);
 
     /**
      * Affiche les points de vie restants du personnage sous forme de barre de statistiques.
+     *
+     * @param rendu Rendu de l'affichage.
      */
-    void afficherPvRestant();
+    void afficherPvRestant(IRendu rendu);
 
     /**
      * Réalise une attaque sur un autre personnage.
@@ -106,4 +109,12 @@ public interface IPersonnage {
      * @return Barre de statistiques sous forme de chaîne de caractères.
      */
     String statsBar();
+
+    /**
+     * Ajoute la barre de statistiques du personnage à un tampon, sans chaîne intermédiaire.
+     *
+     * @param sb Tampon auquel la barre est ajoutée.
+     * @return Le tampon.
+     */
+    StringBuilder statsBar(StringBuilder sb);
 }
@@ -0,0 +1,49 @@
+package utils;
+
+/**
+ * Interface représentant l'affichage d'une partie.
+ * Le texte d'une trame (tout ce qui est affiché entre deux pauses ou deux saisies) est accumulé dans un tampon
+ * réutilisé, puis affiché en une seule écriture par {@link #afficher()}.
+ * Quand personne ne regarde (simulation, tests), un rendu inactif ignore tout : les appelants testent
+ * {@link #estActif()} avant de construire un texte coûteux.
+ */
+public interface IRendu {
+
+    /**
+     * Indique si le rendu affiche quelque chose.
+     *
+     * @return `true` si le texte ajouté à la trame sera affiché, `false` s'il est ignoré.
+     */
+    boolean estActif();
+
+    /**
+     * Récupère le tampon de la trame en cours, auquel le texte à afficher est ajouté.
+     * À n'utiliser que si {@link #estActif()} renvoie `true`.
+     *
+     * @return Le tampon de la trame en cours.
+     */
+    StringBuilder trame();
+
+    /**
+     * Affiche la trame en cours en une seule écriture, puis vide le tampon.
+     */
+    void afficher();
+
+    /**
+     * Ajoute du texte à la trame en cours.
+     *
+     * @param texte Texte à ajouter.
+     */
+    default void texte(CharSequence texte) {
+        if (estActif()) trame().append(texte);
+    }
+
+    /**
+     * Ajoute une ligne à la trame en cours.
+     *
+     * @param texte Texte de la ligne (sans retour à la ligne).
+     */
+    default void ligne(CharSequence texte) {
+        if (estActif()) trame().append(texte).append('\n');
+    }
+}
@@ -0,0 +1,42 @@
+package utils;
+
+import questions.Question;
+
+/**
+ * Interface représentant une banque de questions accessible par indice.
+ * La catégorie et la difficulté d'une question sont lisibles sans créer la question,
+ * ce qui permet d'indexer une banque sans la charger en mémoire.
+ */
+public interface ISourceQuestions {
+
+    /**
+     * Récupère le nombre de questions de la banque.
+     *
+     * @return Le nombre de questions.
+     */
+    int taille();
+
+    /**
+     * Récupère une question de la banque.
+     *
+     * @param indice Indice de la question (entre 0 et {@link #taille()} - 1).
+     * @return La question.
+     */
+    Question getQuestion(int indice);
+
+    /**
+     * Récupère la catégorie d'une question.
+     *
+     * @param indice Indice de la question.
+     * @return La catégorie de la question.
+     */
+    String getCategorie(int indice);
+
+    /**
+     * Récupère la difficulté d'une question.
+     *
+     * @param indice Indice de la question.
+     * @return La difficulté de la question.
+     */
+    int getDifficulte(int indice);
+}
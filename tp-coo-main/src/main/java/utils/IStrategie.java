@@ -0,0 +1,90 @@
+package utils;
+
+import personnages.Ennemi;
+import personnages.Heros;
+import questions.Question;
+
+import java.util.List;
+
+/**
+ * Interface représentant la politique de décision d'un joueur.
+ * Toutes les décisions prises pendant une partie (création du héros, déplacements,
+ * combats, capacité spéciale et réponses aux QCM) passent par cette interface,
+ * ce qui permet de remplacer la saisie console par un joueur automatique.
+ */
+public interface IStrategie {
+
+    /**
+     * Choisit le nom du héros.
+     *
+     * @return Nom du héros.
+     */
+    String choixNom();
+
+    /**
+     * Choisit le type du héros.
+     *
+     * @return Type de héros choisi.
+     */
+    TypeHeros choixTypeHeros();
+
+    /**
+     * Choisit le niveau de difficulté (1. Facile, 2. Moyen, 3. Difficile, 4. Sans fin, 5. Horde).
+     *
+     * @return Niveau de difficulté entre 1 et 5.
+     */
+    int choixNiveau();
+
+    /**
+     * Décide si le héros avance ou quitte la partie.
+     *
+     * @return `true` pour avancer, `false` pour quitter.
+     */
+    boolean avancer();
+
+    /**
+     * Décide si le héros combat le groupe d'ennemis rencontré ou abandonne.
+     *
+     * @return `true` pour combattre, `false` pour abandonner.
+     */
+    boolean combattre();
+
+    /**
+     * Indique si le combat accepté par {@link #combattre()} doit être résolu automatiquement,
+     * sans afficher chaque round (les QCM et la capacité spéciale restent proposés).
+     *
+     * @return `true` pour un combat rapide, `false` (par défaut) pour un combat round par round.
+     */
+    default boolean combatRapide() {
+        return false;
+    }
+
+    /**
+     * Décide si le héros utilise sa capacité spéciale lors de cette attaque.
+     *
+     * @param heros   Le héros qui attaque.
+     * @param ennemis Liste des ennemis présents.
+     * @return `true` pour utiliser la capacité spéciale, sinon `false`.
+     */
+    boolean utiliserCapaciteSpeciale(Heros heros, List<Ennemi> ennemis);
+
+    /**
+     * Choisit la difficulté de la question posée lors d'une attaque par QCM :
+     * une bonne réponse multiplie les dégâts d'autant plus que la question est difficile.
+     *
+     * @param heros   Le héros qui attaque.
+     * @param ennemis Liste des ennemis présents.
+     * @return La difficulté souhaitée, ou 0 (par défaut) pour une question de difficulté quelconque.
+     */
+    default int difficulteQcm(Heros heros, List<Ennemi> ennemis) {
+        return 0;
+    }
+
+    /**
+     * Répond à une question de QCM.
+     *
+     * @param question La question posée.
+     * @return Le numéro du choix (entre 1 et 4).
+     */
+    int repondre(Question question);
+}
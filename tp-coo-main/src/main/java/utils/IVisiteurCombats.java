@@ -0,0 +1,20 @@
+package utils;
+
+/**
+ * Interface représentant un traitement des événements lus dans le journal binaire des combats.
+ * Les champs sont transmis bruts, sans allocation : leur sens dépend du type (voir {@link TypeEvenementCombat}).
+ */
+@FunctionalInterface
+public interface IVisiteurCombats {
+
+    /**
+     * Traite un événement.
+     *
+     * @param type Type de l'événement.
+     * @param a    Premier petit entier (1 octet, non signé).
+     * @param b    Second petit entier (2 octets, non signé).
+     * @param c    Entier.
+     * @param d    Long.
+     */
+    void evenement(TypeEvenementCombat type, int a, int b, int c, long d);
+}
@@ -0,0 +1,326 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler de journalisation asynchrone.
+ * Les messages sont déposés dans un tampon circulaire borné et sans verrou, puis écrits par un thread dédié
+ * dans le handler cible (par défaut un {@link java.util.logging.FileHandler}) : une écriture lente sur le disque
+ * ne ralentit plus les tours de jeu.
+ * Quand le tampon est plein, la {@link Debordement politique de débordement} décide du sort du message.
+ * <p>
+ * Configuration dans {@code logging.properties} (toutes les propriétés sont facultatives) :
+ * <ul>
+ * <li>{@code utils.JournalAsynchrone.cible} : classe du handler cible (défaut {@code java.util.logging.FileHandler},
+ * configuré par ses propres propriétés) ;</li>
+ * <li>{@code utils.JournalAsynchrone.capacite} : taille du tampon, arrondie à la puissance de 2 supérieure (défaut 8192) ;</li>
+ * <li>{@code utils.JournalAsynchrone.debordement} : {@code BLOQUER}, {@code IGNORER_NOUVEAU} (défaut) ou
+ * {@code SUPPRIMER_ANCIEN} ;</li>
+ * <li>{@code utils.JournalAsynchrone.level} : niveau minimal des messages (défaut {@code ALL}).</li>
+ * </ul>
+ */
+public final class JournalAsynchrone extends Handler {
+    /**
+     * Politique appliquée quand le tampon est plein.
+     */
+    public enum Debordement {
+        /**
+         * Le thread qui journalise attend qu'une place se libère (aucune perte).
+         */
+        BLOQUER,
+
+        /**
+         * Le nouveau message est perdu.
+         */
+        IGNORER_NOUVEAU,
+
+        /**
+         * Le message le plus ancien du tampon est perdu pour faire place au nouveau.
+         */
+        SUPPRIMER_ANCIEN
+    }
+
+    /**
+     * Pause d'un thread qui attend le thread d'écriture (vidage ou tampon plein), en nanosecondes.
+     */
+    private static final long ATTENTE_NANOS = 1_000_000;
+
+    /**
+     * Handler dans lequel les messages sont écrits.
+     */
+    private final Handler cible;
+
+    /**
+     * Politique appliquée quand le tampon est plein.
+     */
+    private final Debordement debordement;
+
+    /**
+     * Cases du tampon circulaire.
+     */
+    private final AtomicReferenceArray<LogRecord> cases;
+
+    /**
+     * Numéro de séquence de chaque case : il indique si la case est libre pour l'écriture de rang {@code n}
+     * (séquence {@code n}) ou remplie pour la lecture de rang {@code n} (séquence {@code n + 1}).
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Masque appliqué aux rangs pour obtenir l'indice d'une case (capacité - 1).
+     */
+    private final int masque;
+
+    /**
+     * Rang de la prochaine écriture.
+     */
+    private final AtomicLong ecriture = new AtomicLong();
+
+    /**
+     * Rang de la prochaine lecture.
+     */
+    private final AtomicLong lecture = new AtomicLong();
+
+    /**
+     * Nombre de messages perdus par débordement.
+     */
+    private final LongAdder perdus = new LongAdder();
+
+    /**
+     * Thread qui écrit les messages dans le handler cible.
+     */
+    private final Thread ecrivain;
+
+    /**
+     * Indique si le handler est fermé.
+     */
+    private volatile boolean ferme;
+
+    /**
+     * Indique si le thread d'écriture est endormi (ou sur le point de l'être) faute de message à écrire :
+     * le prochain dépôt doit le réveiller.
+     */
+    private volatile boolean endormi;
+
+    /**
+     * Constructeur utilisé par le {@link LogManager}, configuré par {@code logging.properties}.
+     */
+    public JournalAsynchrone() {
+        this(creerCible(propriete("cible", "java.util.logging.FileHandler")),
+                Integer.parseInt(propriete("capacite", "8192")),
+                Debordement.valueOf(propriete("debordement", Debordement.IGNORER_NOUVEAU.name())));
+        setLevel(Level.parse(propriete("level", "ALL")));
+    }
+
+    /**
+     * Constructeur d'un handler asynchrone.
+     *
+     * @param cible       Handler dans lequel les messages sont écrits.
+     * @param capacite    Nombre de messages en attente au maximum (arrondi à la puissance de 2 supérieure).
+     * @param debordement Politique appliquée quand le tampon est plein.
+     */
+    public JournalAsynchrone(Handler cible, int capacite, Debordement debordement) {
+        if (capacite < 1 || capacite > 1 << 30) {
+            throw new IllegalArgumentException("Capacité invalide : " + capacite);
+        }
+        int taille = Integer.highestOneBit(capacite) == capacite ? capacite : Integer.highestOneBit(capacite) << 1;
+        this.cible = cible;
+        this.debordement = debordement;
+        this.cases = new AtomicReferenceArray<>(taille);
+        this.sequences = new AtomicLongArray(taille);
+        for (int i = 0; i < taille; i++) {
+            sequences.set(i, i);
+        }
+        this.masque = taille - 1;
+        this.ecrivain = Thread.ofPlatform().name("journal").daemon().start(this::ecrire);
+    }
+
+    /**
+     * Dépose un message dans le tampon. Seul le coût du dépôt est payé par le thread appelant, et celui du réveil
+     * du thread d'écriture s'il était endormi.
+     *
+     * @param record Message à journaliser.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (ferme || !isLoggable(record)) {
+            return;
+        }
+        // La source est le nom du logger (celui de sa classe dans ce projet) : la déduire de la pile coûterait un
+        // parcours de pile au thread appelant, et depuis le thread d'écriture elle serait fausse
+        record.setSourceClassName(record.getLoggerName());
+        while (!deposer(record)) {
+            switch (debordement) {
+                case IGNORER_NOUVEAU -> {
+                    perdus.increment();
+                    return;
+                }
+                case SUPPRIMER_ANCIEN -> {
+                    if (retirer() != null) perdus.increment();
+                }
+                case BLOQUER -> {
+                    if (ferme) return;
+                    LockSupport.parkNanos(ATTENTE_NANOS / 100);
+                }
+            }
+        }
+        if (endormi) {
+            LockSupport.unpark(ecrivain);
+        }
+    }
+
+    /**
+     * Attend que tous les messages déposés soient écrits, puis vide le handler cible.
+     */
+    @Override
+    public void flush() {
+        while (lecture.get() < ecriture.get() && ecrivain.isAlive()) {
+            LockSupport.parkNanos(ATTENTE_NANOS / 10);
+        }
+        cible.flush();
+    }
+
+    /**
+     * Écrit les messages en attente, arrête le thread d'écriture et ferme le handler cible.
+     */
+    @Override
+    public void close() {
+        ferme = true;
+        LockSupport.unpark(ecrivain);
+        try {
+            ecrivain.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long nbPerdus = perdus.sum();
+        if (nbPerdus > 0) {
+            cible.publish(new LogRecord(Level.WARNING, nbPerdus + " messages de journal perdus (tampon plein)."));
+        }
+        cible.close();
+    }
+
+    /**
+     * Récupère le nombre de messages perdus parce que le tampon était plein.
+     *
+     * @return Le nombre de messages perdus.
+     */
+    public long getPerdus() {
+        return perdus.sum();
+    }
+
+    /**
+     * Boucle du thread d'écriture : transmet les messages au handler cible jusqu'à la fermeture,
+     * puis écrit ceux qui restent.
+     * Quand le tampon est vide, le thread s'endort sans délai et n'est réveillé que par un dépôt ou la fermeture.
+     */
+    private void ecrire() {
+        while (true) {
+            LogRecord record = retirer();
+            if (record != null) {
+                try {
+                    cible.publish(record);
+                } catch (RuntimeException e) {
+                    reportError("Écriture du journal impossible", e, ErrorManager.WRITE_FAILURE);
+                }
+            } else if (ferme && lecture.get() >= ecriture.get()) {
+                break;
+            } else {
+                endormi = true;
+                // Un dépôt fait avant cette relecture est vu ici ; un dépôt fait après voit endormi et réveille
+                if (!ferme && lecture.get() >= ecriture.get()) {
+                    LockSupport.park(this);
+                }
+                endormi = false;
+            }
+        }
+        cible.flush();
+    }
+
+    /**
+     * Dépose un message dans le tampon, sans attendre.
+     *
+     * @param record Message à déposer.
+     * @return `true` si le message a été déposé, `false` si le tampon est plein.
+     */
+    private boolean deposer(LogRecord record) {
+        long rang = ecriture.get();
+        while (true) {
+            int i = (int) rang & masque;
+            long ecart = sequences.get(i) - rang;
+            if (ecart == 0) {
+                if (ecriture.compareAndSet(rang, rang + 1)) {
+                    cases.set(i, record);
+                    sequences.set(i, rang + 1);
+                    return true;
+                }
+                rang = ecriture.get();
+            } else if (ecart < 0) {
+                return false;
+            } else {
+                rang = ecriture.get();
+            }
+        }
+    }
+
+    /**
+     * Retire le message le plus ancien du tampon, sans attendre.
+     *
+     * @return Le message retiré, ou `null` si le tampon est vide.
+     */
+    private LogRecord retirer() {
+        long rang = lecture.get();
+        while (true) {
+            int i = (int) rang & masque;
+            long ecart = sequences.get(i) - (rang + 1);
+            if (ecart == 0) {
+                if (lecture.compareAndSet(rang, rang + 1)) {
+                    LogRecord record = cases.get(i);
+                    cases.set(i, null);
+                    sequences.set(i, rang + masque + 1);
+                    return record;
+                }
+                rang = lecture.get();
+            } else if (ecart < 0) {
+                return null;
+            } else {
+                rang = lecture.get();
+            }
+        }
+    }
+
+    /**
+     * Lit une propriété du handler dans la configuration de journalisation.
+     *
+     * @param nom    Nom de la propriété, sans le préfixe de la classe.
+     * @param defaut Valeur par défaut.
+     * @return La valeur configurée, ou la valeur par défaut.
+     */
+    private static String propriete(String nom, String defaut) {
+        String valeur = LogManager.getLogManager().getProperty(JournalAsynchrone.class.getName() + "." + nom);
+        return valeur == null ? defaut : valeur.trim();
+    }
+
+    /**
+     * Instancie le handler cible à partir du nom de sa classe.
+     *
+     * @param classe Nom de la classe du handler.
+     * @return Le handler cible.
+     */
+    private static Handler creerCible(String classe) {
+        try {
+            return (Handler) Class.forName(classe, true, ClassLoader.getSystemClassLoader())
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Handler cible invalide : " + classe, e);
+        }
+    }
+}
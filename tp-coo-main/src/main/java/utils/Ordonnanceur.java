@@ -0,0 +1,157 @@
+package utils;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Ordonnanceur d'initiative : décide qui, parmi un nombre quelconque de combattants, agit ensuite.
+ * Chaque combattant agit à intervalles réguliers, d'autant plus courts qu'il est rapide : un combattant de vitesse
+ * 2v agit deux fois pendant qu'un combattant de vitesse v agit une fois.
+ * À instant égal, le combattant de plus petite priorité agit d'abord, puis celui qui attend depuis le plus longtemps.
+ *
+ * <p>Les prochaines actions sont rangées dans une file de priorité : ajouter un combattant ou désigner le suivant
+ * coûte O(log n). Les combattants qui ne sont plus actifs (morts) ne sont pas cherchés dans la file : ils en sont
+ * retirés quand leur tour arrive. Les entrées de la file sont réutilisées d'une action à l'autre, sans allocation.</p>
+ *
+ * @param <T> Type des combattants.
+ */
+public final class Ordonnanceur<T> {
+    /**
+     * Durée d'un cycle, divisible par toutes les vitesses de 1 à 16 : l'intervalle entre deux actions
+     * ({@code PERIODE / vitesse}) est exact pour ces vitesses.
+     */
+    public static final long PERIODE = 720_720;
+
+    /**
+     * Prochaine action d'un combattant.
+     *
+     * @param <T> Type des combattants.
+     */
+    private static final class Action<T> {
+        /**
+         * Combattant qui agit.
+         */
+        final T acteur;
+
+        /**
+         * Intervalle entre deux actions du combattant.
+         */
+        final long intervalle;
+
+        /**
+         * Priorité du combattant à instant égal (la plus petite agit d'abord).
+         */
+        final int priorite;
+
+        /**
+         * Instant de la prochaine action.
+         */
+        long instant;
+
+        /**
+         * Numéro d'ordre de la mise en attente, pour départager les égalités dans l'ordre d'arrivée.
+         */
+        long ordre;
+
+        /**
+         * Constructeur d'une action, dont l'instant et le numéro d'ordre sont fixés à la mise en attente.
+         *
+         * @param acteur     Combattant qui agit.
+         * @param intervalle Intervalle entre deux actions du combattant.
+         * @param priorite   Priorité du combattant à instant égal.
+         */
+        Action(T acteur, long intervalle, int priorite) {
+            this.acteur = acteur;
+            this.intervalle = intervalle;
+            this.priorite = priorite;
+        }
+    }
+
+    /**
+     * Prochaines actions, de la plus proche à la plus lointaine.
+     */
+    private final PriorityQueue<Action<T>> file = new PriorityQueue<>(Comparator.<Action<T>>comparingLong(a -> a.instant)
+            .thenComparingInt(a -> a.priorite)
+            .thenComparingLong(a -> a.ordre));
+
+    /**
+     * Indique si un combattant peut encore agir.
+     */
+    private final Predicate<? super T> actif;
+
+    /**
+     * Instant de la dernière action désignée.
+     */
+    private long instant = 0;
+
+    /**
+     * Nombre de mises en attente, pour numéroter les actions.
+     */
+    private long ordre = 0;
+
+    /**
+     * Constructeur d'un ordonnanceur vide.
+     *
+     * @param actif Indique si un combattant peut encore agir ; ceux qui ne le peuvent plus sont retirés.
+     */
+    public Ordonnanceur(Predicate<? super T> actif) {
+        this.actif = actif;
+    }
+
+    /**
+     * Ajoute un combattant, dont la première action arrive un intervalle après l'instant courant.
+     *
+     * @param acteur   Combattant à ajouter.
+     * @param vitesse  Vitesse du combattant (strictement positive).
+     * @param priorite Priorité du combattant à instant égal (la plus petite agit d'abord).
+     * @throws IllegalArgumentException Si la vitesse n'est pas strictement positive.
+     */
+    public void ajouter(T acteur, int vitesse, int priorite) {
+        if (vitesse <= 0) {
+            throw new IllegalArgumentException("Vitesse invalide : " + vitesse);
+        }
+        Action<T> action = new Action<>(acteur, Math.max(1, PERIODE / vitesse), priorite);
+        action.instant = instant + action.intervalle;
+        action.ordre = ordre++;
+        file.add(action);
+    }
+
+    /**
+     * Désigne le prochain combattant à agir et replace son action suivante dans la file.
+     * Les combattants devenus inactifs rencontrés en chemin sont retirés.
+     *
+     * @return Le combattant qui agit, ou {@code null} s'il ne reste aucun combattant actif.
+     */
+    public T suivant() {
+        Action<T> action;
+        while ((action = file.poll()) != null) {
+            if (actif.test(action.acteur)) {
+                instant = action.instant;
+                action.instant += action.intervalle;
+                action.ordre = ordre++;
+                file.add(action);
+                return action.acteur;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Récupère l'instant de la dernière action désignée, en fractions de {@link #PERIODE}.
+     *
+     * @return L'instant courant.
+     */
+    public long getInstant() {
+        return instant;
+    }
+
+    /**
+     * Récupère le nombre de combattants dans la file, y compris ceux devenus inactifs qui n'ont pas encore été retirés.
+     *
+     * @return La taille de la file.
+     */
+    public int taille() {
+        return file.size();
+    }
+}
@@ -0,0 +1,95 @@
+package utils;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import net.datafaker.Faker;
+
+/**
+ * Réserve partagée des noms de personnages et de scènes (univers Street Fighter).
+ * Les listes sont lues une seule fois depuis Datafaker, à la première utilisation ou en tâche de fond
+ * avec {@link #prechauffer()}, puis partagées par toutes les parties : un tirage ne crée aucun objet.
+ */
+public final class ReserveNoms {
+    /**
+     * Logger pour signaler le chargement de la réserve.
+     */
+    private static final Logger logger = Logger.getLogger(ReserveNoms.class.getName());
+
+    /**
+     * Noms des personnages.
+     */
+    private final String[] personnages;
+
+    /**
+     * Noms des scènes.
+     */
+    private final String[] scenes;
+
+    /**
+     * Constructeur privé : la réserve est unique.
+     */
+    private ReserveNoms() {
+        long debut = System.nanoTime();
+        Faker faker = new Faker();
+        this.personnages = charger(faker, "games.street_fighter.characters");
+        this.scenes = charger(faker, "games.street_fighter.stages");
+        logger.info(() -> "Réserve de noms chargée (" + personnages.length + " personnages, " + scenes.length
+                + " scènes) en " + (System.nanoTime() - debut) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Initialisation paresseuse et sûre entre threads : la réserve est créée au premier accès à {@code INSTANCE}.
+     */
+    private static final class Detenteur {
+        private static final ReserveNoms INSTANCE = new ReserveNoms();
+    }
+
+    /**
+     * Récupère la réserve partagée, en la chargeant si nécessaire.
+     *
+     * @return La réserve de noms.
+     */
+    public static ReserveNoms get() {
+        return Detenteur.INSTANCE;
+    }
+
+    /**
+     * Lance le chargement de la réserve sur un thread de fond, pour que la première partie n'ait pas à l'attendre.
+     */
+    public static void prechauffer() {
+        Thread.ofPlatform().daemon().name("prechauffage-noms").start(ReserveNoms::get);
+    }
+
+    /**
+     * Tire un nom de personnage.
+     *
+     * @param alea Générateur aléatoire de la partie.
+     * @return Un nom de personnage.
+     */
+    public String personnage(Alea alea) {
+        return alea.choisir(personnages);
+    }
+
+    /**
+     * Tire un nom de scène.
+     *
+     * @param alea Générateur aléatoire de la partie.
+     * @return Un nom de scène.
+     */
+    public String scene(Alea alea) {
+        return alea.choisir(scenes);
+    }
+
+    /**
+     * Lit une liste de valeurs de Datafaker.
+     *
+     * @param faker Instance de Datafaker.
+     * @param cle   Clé de la liste dans les fichiers de Datafaker.
+     * @return Les valeurs de la liste.
+     */
+    private static String[] charger(Faker faker, String cle) {
+        List<String> valeurs = faker.fakeValuesService().fetchObject(cle, faker.getContext());
+        return valeurs.toArray(new String[0]);
+    }
+}
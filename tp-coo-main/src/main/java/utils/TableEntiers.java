@@ -0,0 +1,213 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Table associative à clés entières primitives, par adressage ouvert (sondage linéaire).
+ * Contrairement à un {@code HashMap<Integer, V>}, les clés ne sont pas converties en {@link Integer}
+ * et aucune entrée n'est allouée : une recherche ne fait que lire deux tableaux.
+ * Les valeurs {@code null} sont interdites (une case sans valeur est une case libre).
+ *
+ * @param <V> Type des valeurs.
+ */
+public class TableEntiers<V> {
+    /**
+     * Capacité initiale par défaut.
+     */
+    private static final int CAPACITE_DEFAUT = 16;
+
+    /**
+     * Clés des entrées.
+     */
+    private int[] cles;
+
+    /**
+     * Valeurs des entrées ({@code null} pour une case libre).
+     */
+    private Object[] valeurs;
+
+    /**
+     * Nombre d'entrées.
+     */
+    private int taille;
+
+    /**
+     * Masque appliqué au hachage pour obtenir un indice (capacité - 1).
+     */
+    private int masque;
+
+    /**
+     * Constructeur d'une table vide.
+     */
+    public TableEntiers() {
+        this(CAPACITE_DEFAUT);
+    }
+
+    /**
+     * Constructeur d'une table vide dimensionnée pour un nombre d'entrées attendu.
+     *
+     * @param attendues Nombre d'entrées attendu.
+     */
+    public TableEntiers(int attendues) {
+        int capacite = Integer.highestOneBit(Math.max(CAPACITE_DEFAUT, attendues * 2 - 1)) << 1;
+        cles = new int[capacite];
+        valeurs = new Object[capacite];
+        masque = capacite - 1;
+    }
+
+    /**
+     * Récupère la valeur associée à une clé.
+     *
+     * @param cle Clé recherchée.
+     * @return La valeur associée, ou {@code null} si la clé est absente.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int cle) {
+        for (int i = indice(cle); valeurs[i] != null; i = (i + 1) & masque) {
+            if (cles[i] == cle) return (V) valeurs[i];
+        }
+        return null;
+    }
+
+    /**
+     * Indique si une clé est présente.
+     *
+     * @param cle Clé recherchée.
+     * @return `true` si la clé est présente, sinon `false`.
+     */
+    public boolean containsKey(int cle) {
+        return get(cle) != null;
+    }
+
+    /**
+     * Associe une valeur à une clé.
+     *
+     * @param cle    Clé.
+     * @param valeur Valeur (non nulle).
+     * @return L'ancienne valeur associée à la clé, ou {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int cle, V valeur) {
+        Objects.requireNonNull(valeur, "valeur");
+        int i = indice(cle);
+        for (; valeurs[i] != null; i = (i + 1) & masque) {
+            if (cles[i] == cle) {
+                V ancienne = (V) valeurs[i];
+                valeurs[i] = valeur;
+                return ancienne;
+            }
+        }
+        cles[i] = cle;
+        valeurs[i] = valeur;
+        if (++taille * 2 > valeurs.length) {
+            agrandir();
+        }
+        return null;
+    }
+
+    /**
+     * Supprime une clé.
+     * Les entrées suivantes de la même suite de sondage sont recalées, sans marqueur de suppression.
+     *
+     * @param cle Clé à supprimer.
+     * @return La valeur qui était associée à la clé, ou {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int cle) {
+        int i = indice(cle);
+        while (valeurs[i] != null && cles[i] != cle) {
+            i = (i + 1) & masque;
+        }
+        if (valeurs[i] == null) return null;
+        V ancienne = (V) valeurs[i];
+        int j = i;
+        while (true) {
+            j = (j + 1) & masque;
+            if (valeurs[j] == null) break;
+            int ideal = indice(cles[j]);
+            // L'entrée j reste en place si sa position idéale est dans l'intervalle circulaire ]i, j]
+            boolean resteEnPlace = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+            if (!resteEnPlace) {
+                cles[i] = cles[j];
+                valeurs[i] = valeurs[j];
+                i = j;
+            }
+        }
+        valeurs[i] = null;
+        taille--;
+        return ancienne;
+    }
+
+    /**
+     * Récupère le nombre d'entrées.
+     *
+     * @return Le nombre d'entrées.
+     */
+    public int size() {
+        return taille;
+    }
+
+    /**
+     * Indique si la table est vide.
+     *
+     * @return `true` si la table est vide, sinon `false`.
+     */
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    /**
+     * Parcourt les entrées de la table, dans l'ordre de leurs cases (et non des clés).
+     * Le parcours ne visite que les cases de la table, quelle que soit l'étendue des clés.
+     *
+     * @param action Action appliquée à chaque valeur et à sa clé.
+     */
+    @SuppressWarnings("unchecked")
+    public void pourChaque(ObjIntConsumer<? super V> action) {
+        for (int i = 0; i < valeurs.length; i++) {
+            if (valeurs[i] != null) {
+                action.accept((V) valeurs[i], cles[i]);
+            }
+        }
+    }
+
+    /**
+     * Supprime toutes les entrées.
+     */
+    public void clear() {
+        Arrays.fill(valeurs, null);
+        taille = 0;
+    }
+
+    /**
+     * Calcule l'indice idéal d'une clé (hachage de Fibonacci, pour répartir les positions consécutives).
+     *
+     * @param cle Clé.
+     * @return L'indice idéal.
+     */
+    private int indice(int cle) {
+        int h = cle * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & masque;
+    }
+
+    /**
+     * Double la capacité de la table et replace toutes les entrées.
+     */
+    private void agrandir() {
+        int[] anciennesCles = cles;
+        Object[] anciennesValeurs = valeurs;
+        cles = new int[anciennesCles.length * 2];
+        valeurs = new Object[anciennesValeurs.length * 2];
+        masque = cles.length - 1;
+        for (int k = 0; k < anciennesValeurs.length; k++) {
+            if (anciennesValeurs[k] != null) {
+                int i = indice(anciennesCles[k]);
+                while (valeurs[i] != null) i = (i + 1) & masque;
+                cles[i] = anciennesCles[k];
+                valeurs[i] = anciennesValeurs[k];
+            }
+        }
+    }
+}
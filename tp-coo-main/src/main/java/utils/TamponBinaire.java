@@ -0,0 +1,213 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tampon binaire extensible, utilisé pour écrire et relire les sauvegardes de partie.
+ * Les entiers sont écrits en gros-boutiste, les chaînes en UTF-8 précédées de leur longueur.
+ * Le tampon est réutilisable ({@link #vider()}) : une sauvegarde à chaque tour n'alloue rien une fois
+ * la capacité atteinte.
+ */
+public final class TamponBinaire {
+    /**
+     * Capacité initiale par défaut, en octets.
+     */
+    private static final int CAPACITE_DEFAUT = 1024;
+
+    /**
+     * Contenu du tampon.
+     */
+    private ByteBuffer contenu;
+
+    /**
+     * Constructeur d'un tampon vide, prêt à être écrit.
+     */
+    public TamponBinaire() {
+        this(ByteBuffer.allocate(CAPACITE_DEFAUT));
+    }
+
+    /**
+     * Constructeur d'un tampon sur un contenu existant, prêt à être lu depuis sa position courante.
+     *
+     * @param contenu Contenu du tampon.
+     */
+    public TamponBinaire(ByteBuffer contenu) {
+        this.contenu = contenu;
+    }
+
+    /**
+     * Récupère le contenu du tampon.
+     * Après {@link #terminer()}, il contient exactement les octets écrits.
+     *
+     * @return Le contenu du tampon.
+     */
+    public ByteBuffer contenu() {
+        return contenu;
+    }
+
+    /**
+     * Vide le tampon pour une nouvelle écriture, en gardant sa capacité.
+     */
+    public void vider() {
+        contenu.clear();
+    }
+
+    /**
+     * Termine l'écriture : le contenu est prêt à être lu ou écrit dans un canal.
+     *
+     * @return Le contenu du tampon.
+     */
+    public ByteBuffer terminer() {
+        return contenu.flip();
+    }
+
+    /**
+     * Écrit un octet.
+     *
+     * @param valeur Octet à écrire (seuls les 8 bits de poids faible sont écrits).
+     */
+    public void ecrireOctet(int valeur) {
+        reserver(1).put((byte) valeur);
+    }
+
+    /**
+     * Écrit un booléen sur un octet.
+     *
+     * @param valeur Booléen à écrire.
+     */
+    public void ecrireBooleen(boolean valeur) {
+        ecrireOctet(valeur ? 1 : 0);
+    }
+
+    /**
+     * Écrit un entier sur 4 octets.
+     *
+     * @param valeur Entier à écrire.
+     */
+    public void ecrireEntier(int valeur) {
+        reserver(4).putInt(valeur);
+    }
+
+    /**
+     * Écrit un long sur 8 octets.
+     *
+     * @param valeur Long à écrire.
+     */
+    public void ecrireLong(long valeur) {
+        reserver(8).putLong(valeur);
+    }
+
+    /**
+     * Écrit un réel sur 8 octets.
+     *
+     * @param valeur Réel à écrire.
+     */
+    public void ecrireReel(double valeur) {
+        reserver(8).putDouble(valeur);
+    }
+
+    /**
+     * Écrit des octets précédés de leur nombre.
+     *
+     * @param valeurs Octets à écrire.
+     */
+    public void ecrireOctets(byte[] valeurs) {
+        reserver(4 + valeurs.length).putInt(valeurs.length).put(valeurs);
+    }
+
+    /**
+     * Écrit une chaîne en UTF-8, précédée de sa longueur en octets.
+     *
+     * @param valeur Chaîne à écrire.
+     */
+    public void ecrireTexte(String valeur) {
+        ecrireOctets(valeur.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lit un octet écrit par {@link #ecrireOctet(int)}.
+     *
+     * @return L'octet lu (signé).
+     */
+    public int lireOctet() {
+        return contenu.get();
+    }
+
+    /**
+     * Lit un booléen écrit par {@link #ecrireBooleen(boolean)}.
+     *
+     * @return Le booléen lu.
+     */
+    public boolean lireBooleen() {
+        return contenu.get() != 0;
+    }
+
+    /**
+     * Lit un entier écrit par {@link #ecrireEntier(int)}.
+     *
+     * @return L'entier lu.
+     */
+    public int lireEntier() {
+        return contenu.getInt();
+    }
+
+    /**
+     * Lit un long écrit par {@link #ecrireLong(long)}.
+     *
+     * @return Le long lu.
+     */
+    public long lireLong() {
+        return contenu.getLong();
+    }
+
+    /**
+     * Lit un réel écrit par {@link #ecrireReel(double)}.
+     *
+     * @return Le réel lu.
+     */
+    public double lireReel() {
+        return contenu.getDouble();
+    }
+
+    /**
+     * Lit des octets écrits par {@link #ecrireOctets(byte[])}.
+     *
+     * @return Les octets lus.
+     * @throws IllegalArgumentException Si le nombre d'octets annoncé est négatif ou dépasse ce qui reste à lire.
+     */
+    public byte[] lireOctets() {
+        int nombre = contenu.getInt();
+        if (nombre < 0 || nombre > contenu.remaining()) {
+            throw new IllegalArgumentException("Longueur invalide : " + nombre + " octets annoncés, "
+                    + contenu.remaining() + " restants.");
+        }
+        byte[] valeurs = new byte[nombre];
+        contenu.get(valeurs);
+        return valeurs;
+    }
+
+    /**
+     * Lit une chaîne écrite par {@link #ecrireTexte(String)}.
+     *
+     * @return La chaîne lue.
+     * @throws IllegalArgumentException Si la longueur annoncée est négative ou dépasse ce qui reste à lire.
+     */
+    public String lireTexte() {
+        return new String(lireOctets(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Garantit la place nécessaire à une écriture, en doublant la capacité si besoin.
+     *
+     * @param octets Nombre d'octets à écrire.
+     * @return Le contenu, avec au moins {@code octets} octets disponibles.
+     */
+    private ByteBuffer reserver(int octets) {
+        if (contenu.remaining() < octets) {
+            ByteBuffer agrandi = ByteBuffer.allocate(Math.max(contenu.capacity() * 2, contenu.position() + octets));
+            contenu = agrandi.put(contenu.flip());
+        }
+        return contenu;
+    }
+}
@@ -0,0 +1,80 @@
+package utils;
+
+/**
+ * Enumération représentant le contenu d'une case de la carte.
+ * La carte stocke chaque case sur un octet (l'ordinal de la constante) ; le symbole n'est utilisé
+ * que pour l'affichage.
+ */
+public enum TypeCase {
+    /**
+     * Case vide.
+     */
+    VIDE("_"),
+
+    /**
+     * Case de départ.
+     */
+    DEBUT("[DEBUT]"),
+
+    /**
+     * Case d'arrivée.
+     */
+    FIN("[FIN]"),
+
+    /**
+     * Case occupée par le héros (affichée avec son nom).
+     */
+    HEROS("[?]"),
+
+    /**
+     * Case occupée par un groupe d'ennemis.
+     */
+    COMBAT("[!]");
+
+    /**
+     * Valeurs de l'énumération, copiées une seule fois.
+     */
+    private static final TypeCase[] VALEURS = values();
+
+    /**
+     * Symbole affiché pour la case.
+     */
+    private final String symbole;
+
+    /**
+     * Constructeur privé de l'énumération.
+     *
+     * @param symbole Symbole affiché pour la case.
+     */
+    TypeCase(String symbole) {
+        this.symbole = symbole;
+    }
+
+    /**
+     * Récupère le symbole affiché pour la case.
+     *
+     * @return Le symbole de la case.
+     */
+    public String getSymbole() {
+        return symbole;
+    }
+
+    /**
+     * Récupère l'octet qui représente la case dans la carte.
+     *
+     * @return Le code de la case.
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Récupère le type de case correspondant à un code, sans allocation.
+     *
+     * @param code Code de la case.
+     * @return Le type de case.
+     */
+    public static TypeCase depuisCode(byte code) {
+        return VALEURS[code];
+    }
+}
@@ -1,40 +1,50 @@
 package utils;
 
-import java.util.Random;
-
 /**
  * Enumération représentant les différents types d'ennemis dans le jeu.
- * Chaque type possède un nom associé. Cette enum fournit également des méthodes
+ * Chaque type possède un nom et une vitesse associés. Cette enum fournit également des méthodes
  * pour afficher les types disponibles et en sélectionner un aléatoirement.
  */
 public enum TypeEnnemi {
     /**
      * Type représentant un brigand.
      */
-    BRIGAND("Brigand"),
+    BRIGAND("Brigand", 10),
     
     /**
      * Type représentant un catcheur.
      */
-    CATCHEUR("Catcheur"),
+    CATCHEUR("Catcheur", 8),
     
     /**
      * Type représentant un gangster.
      */
-    GANGSTER("Gangster");
+    GANGSTER("Gangster", 12);
 
     /**
      * Nom associé au type d'ennemi.
      */
     private final String name;
 
+    /**
+     * Vitesse du type d'ennemi, qui règle la fréquence de ses attaques dans une mêlée ({@link TypeInitiative#VITESSE}).
+     */
+    private final int vitesse;
+
+    /**
+     * Valeurs de l'énumération, copiées une seule fois.
+     */
+    private static final TypeEnnemi[] VALEURS = values();
+
     /**
      * Constructeur privé de l'énumération `Type`.
      * 
-     * @param name Nom du type d'ennemi.
+     * @param name    Nom du type d'ennemi.
+     * @param vitesse Vitesse du type d'ennemi.
      */
-    TypeEnnemi(String name) {
+    TypeEnnemi(String name, int vitesse) {
         this.name = name;
+        this.vitesse = vitesse;
     }
 
     /**
@@ -46,14 +56,22 @@ public enum TypeEnnemi {
         return name;
     }
 
+    /**
+     * Récupère la vitesse du type d'ennemi.
+     *
+     * @return La vitesse du type d'ennemi.
+     */
+    public int getVitesse() {
+        return vitesse;
+    }
+
     /**
      * Sélectionne aléatoirement un type parmi les valeurs disponibles.
      * 
+     * @param alea Générateur aléatoire de la partie.
      * @return Un type aléatoire de l'énumération `Type`.
      */
-    public static TypeEnnemi aleatoire() {
-        Random random = new Random();
-        int index = random.nextInt(values().length);
-        return values()[index];
+    public static TypeEnnemi aleatoire(Alea alea) {
+        return VALEURS[alea.entre(0, VALEURS.length)];
     }
 }
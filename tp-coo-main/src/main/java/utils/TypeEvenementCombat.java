@@ -0,0 +1,76 @@
+package utils;
+
+/**
+ * Enumération des événements enregistrés dans le journal binaire des combats.
+ * Chaque événement occupe 16 octets : son code (l'ordinal de la constante plus un, 0 marquant la fin du journal),
+ * deux petits entiers {@code a} (1 octet) et {@code b} (2 octets), un entier {@code c} et un long {@code d},
+ * dont le sens dépend du type.
+ * Les personnages sont codés sur un octet : 0 pour le héros, 1 plus l'ordinal de son {@link TypeEnnemi} pour un ennemi.
+ */
+public enum TypeEvenementCombat {
+    /**
+     * Début d'un combat : {@code a} nombre d'ennemis, {@code b} type du héros, {@code c} numéro du combat dans
+     * la partie, {@code d} numéro de la partie.
+     */
+    DEBUT_COMBAT,
+
+    /**
+     * Début d'un round : {@code c} numéro du round contre l'ennemi affronté.
+     */
+    ROUND,
+
+    /**
+     * Attaque : {@code a} attaquant, {@code b} cible, {@code c} dégâts, {@code d} points de vie de la cible après l'attaque.
+     */
+    ATTAQUE,
+
+    /**
+     * Mort d'ennemis : {@code a} ennemi, {@code c} nombre d'ennemis de ce type morts en même temps
+     * (plus d'un pour les dégâts de zone du mode horde).
+     */
+    MORT,
+
+    /**
+     * Capacité spéciale utilisée : {@code a} type du héros, {@code c} dégâts.
+     */
+    CAPACITE_SPECIALE,
+
+    /**
+     * Réponse à un QCM : {@code a} 1 si la réponse est bonne, {@code b} difficulté de la question.
+     */
+    QCM,
+
+    /**
+     * Fin d'un combat : {@code a} 1 si le héros a survécu, {@code c} nombre de rounds, {@code d} points de vie du héros.
+     */
+    FIN_COMBAT;
+
+    /**
+     * Taille d'un événement, en octets.
+     */
+    public static final int TAILLE = 16;
+
+    /**
+     * Valeurs de l'énumération, copiées une seule fois.
+     */
+    private static final TypeEvenementCombat[] VALEURS = values();
+
+    /**
+     * Récupère l'octet qui représente l'événement dans le journal.
+     *
+     * @return Le code de l'événement.
+     */
+    public byte code() {
+        return (byte) (ordinal() + 1);
+    }
+
+    /**
+     * Récupère le type d'événement correspondant à un code, sans allocation.
+     *
+     * @param code Code de l'événement (non nul).
+     * @return Le type d'événement.
+     */
+    public static TypeEvenementCombat depuisCode(byte code) {
+        return VALEURS[code - 1];
+    }
+}
@@ -1,5 +1,6 @@
 package utils;
 
+import metriques.EvenementCapaciteSpeciale;
 import personnages.Ennemi;
 import personnages.Heros;
 
@@ -14,22 +15,22 @@ public enum TypeHeros {
     /**
      * Capacité "Barbare" : Multiplie la force d'attaque par 3.
      */
-    BARBARE("Barbare", "Multiplication de sa force d'attaque x20", 100, 5),
+    BARBARE("Barbare", "Multiplication de sa force d'attaque x20", 100, 5, 10),
 
     /**
      * Capacité "Mage" : Soigne les PV à 25% de leur valeur de base et inflige 15 dégâts à un ennemi.
      */
-    MAGE("Mage", "Soigner ses PV à 25% de sa barre, et infliger 15 dégâts à un ennemi", 250, 2),
+    MAGE("Mage", "Soigner ses PV à 25% de sa barre, et infliger 15 dégâts à un ennemi", 250, 2, 10),
 
     /**
      * Capacité "Soigneur" : Soigne les PV à 50% de leur valeur actuelle.
      */
-    SOIGNEUR("Soigneur", "Soigner ses PV à 50%", 500, 1),
+    SOIGNEUR("Soigneur", "Soigner ses PV à 50%", 500, 1, 9),
 
     /**
      * Capacité "Assassin" : Élimine tous les ennemis en un coup.
      */
-    ASSASSIN("Assassin", "One shot tous ses ennemis", 150, 2);
+    ASSASSIN("Assassin", "One shot tous ses ennemis", 150, 2, 13);
 
     /**
      * Nom de la capacité spéciale.
@@ -51,6 +52,11 @@ public enum TypeHeros {
      */
     private final int forceAttaque;
 
+    /**
+     * Vitesse, qui règle la fréquence des attaques du héros dans une mêlée ({@link TypeInitiative#VITESSE}).
+     */
+    private final int vitesse;
+
     /**
      * Constructeur privé pour initialiser une capacité spéciale avec un nom et une description.
      * 
@@ -58,12 +64,14 @@ public enum TypeHeros {
      * @param description Description de la capacité spéciale.
      * @param pv          Nombre de PV
      * @param forceAttaque Force d'attaque
+     * @param vitesse     Vitesse
      */
-    TypeHeros(String name, String description, int pv, int forceAttaque) {
+    TypeHeros(String name, String description, int pv, int forceAttaque, int vitesse) {
         this.name = name;
         this.description = description;
         this.pv = pv;
         this.forceAttaque = forceAttaque;
+        this.vitesse = vitesse;
     }
 
     /**
@@ -84,24 +92,37 @@ public enum TypeHeros {
         return forceAttaque;
     }
 
+    /**
+     * Récupère la vitesse associée à ce type de héros.
+     *
+     * @return La vitesse du type de héros.
+     */
+    public int getVitesse() {
+        return vitesse;
+    }
+
 
     /**
-     * Affiche toutes les capacités spéciales sous forme de cartes.
-     * Chaque capacité est affichée avec un numéro incrémental et sa carte associée.
+     * Ajoute toutes les capacités spéciales sous forme de cartes à la trame du rendu.
+     *
+     * @param rendu Rendu de l'affichage.
      */
-    public static void afficherPossibilites() {
+    public static void afficherPossibilites(IRendu rendu) {
+        if (!rendu.estActif()) return;
         int i = 1;
         for (TypeHeros capacite : TypeHeros.values()) {
-            System.out.println((i++) + ".");
-            capacite.afficherCarte();
+            rendu.trame().append(i++).append(".\n");
+            capacite.afficherCarte(rendu);
         }
     }
 
     /**
-     * Affiche une carte visuelle représentant la capacité spéciale.
-     * La carte inclut le nom de la capacité et une description.
+     * Ajoute la carte visuelle de la capacité spéciale à la trame du rendu.
+     *
+     * @param rendu Rendu de l'affichage.
      */
-    public void afficherCarte() {
+    public void afficherCarte(IRendu rendu) {
+        if (!rendu.estActif()) return;
         int largeurCarte = 45;
         int largeurTexte = largeurCarte - 2;
 
@@ -121,15 +142,15 @@ public enum TypeHeros {
         }
         descriptionDecoupee.append(ligne);
 
-        System.out.println("┌" + "─".repeat(largeurCarte) + "┐");
-        System.out.printf("│ %-43s │%n", this.name);
-        System.out.println("├" + "─".repeat(largeurCarte) + "┤");
+        rendu.ligne("┌" + "─".repeat(largeurCarte) + "┐");
+        rendu.ligne(String.format("│ %-43s │", this.name));
+        rendu.ligne("├" + "─".repeat(largeurCarte) + "┤");
 
         for (String ligneTexte : descriptionDecoupee.toString().split("\n")) {
-            System.out.printf("│ %-43s │%n", ligneTexte);
+            rendu.ligne(String.format("│ %-43s │", ligneTexte));
         }
 
-        System.out.println("└" + "─".repeat(largeurCarte) + "┘");
+        rendu.ligne("└" + "─".repeat(largeurCarte) + "┘");
     }
 
     /**
@@ -144,27 +165,44 @@ public enum TypeHeros {
      * 
      * @param heros   Le héros utilisant la capacité spéciale.
      * @param ennemis Liste des ennemis affectés par la capacité.
+     * @param rendu   Rendu de l'affichage.
+     * @return Nombre de points de vie retirés aux ennemis.
      */
-    public static void utilisationCapaciteSpeciale(Heros heros, List<Ennemi> ennemis) {
+    public static int utilisationCapaciteSpeciale(Heros heros, List<Ennemi> ennemis, IRendu rendu) {
+        EvenementCapaciteSpeciale evenement = new EvenementCapaciteSpeciale();
+        evenement.begin();
+        int nbEnnemis = ennemis.size();
+        int degats = 0;
         if (heros.getTypeHeros() == BARBARE){
-            ennemis.getFirst().setPv(ennemis.getFirst().getPv() - (20 * heros.getForceAttaque()));
-            System.out.println("\uD83D\uDD25\uD83D\uDD25 : " + heros.getName() + " est en rage et a multiplié les dégâts infligés à son ennemi par 20.");
-            System.out.println(heros.getName() + " inflige " + (heros.getForceAttaque() * heros.getNombreAttaque()) * 20 + " dégâts.");
+            degats = 20 * heros.getForceAttaque();
+            ennemis.getFirst().setPv(ennemis.getFirst().getPv() - degats);
+            rendu.ligne("\uD83D\uDD25\uD83D\uDD25 : " + heros.getName() + " est en rage et a multiplié les dégâts infligés à son ennemi par 20.");
+            rendu.ligne(heros.getName() + " inflige " + (heros.getForceAttaque() * heros.getNombreAttaque()) * 20 + " dégâts.");
         } else if (heros.getTypeHeros() == MAGE) {
+            degats = 15;
             heros.setPv((int) (heros.getPv() * 1.25));
-            ennemis.getFirst().setPv(ennemis.getFirst().getPv() - 15);
-            System.out.println("❤ + \uD83D\uDD25 : " + heros.getName() + " c'est soigné à 25% et à infligé 15 dégâts à son ennemi");
+            ennemis.getFirst().setPv(ennemis.getFirst().getPv() - degats);
+            rendu.ligne("❤ + \uD83D\uDD25 : " + heros.getName() + " c'est soigné à 25% et à infligé 15 dégâts à son ennemi");
         } else if (heros.getTypeHeros() == SOIGNEUR) {
             ennemis.getFirst().setPv((int) (ennemis.getFirst().getPv() * 1.5)); // Semble incohérent (erreur possible).
-            System.out.println("❤ : " + heros.getName() + " c'est soigné à 50%.");
-            System.out.println(heros.getName() + " inflige " + (heros.getForceAttaque() * heros.getNombreAttaque()) + " dégâts.");
+            rendu.ligne("❤ : " + heros.getName() + " c'est soigné à 50%.");
+            rendu.ligne(heros.getName() + " inflige " + (heros.getForceAttaque() * heros.getNombreAttaque()) + " dégâts.");
         } else { // Assassin
-            while (!ennemis.isEmpty()) {
-                ennemis.getFirst().setPv(0);
-                ennemis.removeFirst();
+            // Un seul parcours puis un seul vidage : retirer les ennemis un par un en tête décalerait toute la liste
+            for (Ennemi e : ennemis) {
+                degats += Math.max(0, e.getPv());
+                e.setPv(0);
             }
-            System.out.print("\uD83D\uDD25\uD83D\uDD25\uD83D\uDD25 :" + heros.getName() + " a tué tous les ennemis.");
+            ennemis.clear();
+            rendu.texte("\uD83D\uDD25\uD83D\uDD25\uD83D\uDD25 :" + heros.getName() + " a tué tous les ennemis.");
 
         }
+        if (evenement.shouldCommit()) {
+            evenement.typeHeros = heros.getTypeHeros().name();
+            evenement.ennemis = nbEnnemis;
+            evenement.degats = degats;
+            evenement.commit();
+        }
+        return degats;
     }
 }
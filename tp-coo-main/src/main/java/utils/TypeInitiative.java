@@ -0,0 +1,68 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Enumération représentant les règles d'initiative d'un combat, c'est-à-dire l'ordre dans lequel agissent le héros
+ * et les ennemis.
+ * La règle est choisie par la propriété système {@code jeu.initiative} (par défaut {@link #GANGSTER_D_ABORD}),
+ * portée par le contexte de chaque partie et enregistrée dans ses sauvegardes et ses journaux de session.
+ */
+public enum TypeInitiative {
+    /**
+     * Règle historique : le héros affronte les ennemis l'un après l'autre, et chaque round il frappe en premier,
+     * sauf contre un {@code GANGSTER}.
+     */
+    GANGSTER_D_ABORD,
+
+    /**
+     * Mêlée : tous les ennemis en vie agissent selon leur vitesse, entrelacés avec le héros par un
+     * {@link Ordonnanceur} ; le héros frappe toujours le premier ennemi du groupe. À vitesse égale, le héros
+     * agit avant les ennemis.
+     */
+    VITESSE;
+
+    /**
+     * Nom de la propriété système qui choisit la règle d'initiative.
+     */
+    public static final String PROPRIETE = "jeu.initiative";
+
+    /**
+     * Règle lue dans la propriété système, à la première demande.
+     */
+    private static TypeInitiative configuree;
+
+    /**
+     * Récupère la règle d'initiative choisie par la propriété système {@value #PROPRIETE}.
+     * La propriété n'est lue et vérifiée qu'une fois : chaque partie reçoit ensuite la règle par son contexte.
+     *
+     * @return La règle configurée, ou {@link #GANGSTER_D_ABORD} si la propriété est absente.
+     * @throws IllegalArgumentException Si la propriété ne désigne aucune règle.
+     */
+    public static synchronized TypeInitiative configuree() {
+        if (configuree == null) {
+            String valeur = System.getProperty(PROPRIETE, GANGSTER_D_ABORD.name()).trim();
+            try {
+                configuree = valueOf(valeur);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Règle d'initiative inconnue (" + PROPRIETE + ") : " + valeur
+                        + ", attendu " + Arrays.toString(values()), e);
+            }
+        }
+        return configuree;
+    }
+
+    /**
+     * Détermine qui frappe en premier dans un duel entre le héros et un ennemi.
+     *
+     * @param heros   Type du héros.
+     * @param ennemi  Type de l'ennemi.
+     * @return `true` si le héros attaque en premier, sinon `false`.
+     */
+    public boolean herosEnPremier(TypeHeros heros, TypeEnnemi ennemi) {
+        return switch (this) {
+            case GANGSTER_D_ABORD -> ennemi != TypeEnnemi.GANGSTER;
+            case VITESSE -> heros.getVitesse() >= ennemi.getVitesse();
+        };
+    }
+}
@@ -1,24 +1,88 @@
+import analyse.JournalCombats;
+import analyse.LecteurCombats;
+import analyse.StatistiquesCombats;
 import main.Carte;
+import main.CarteInfinie;
 import main.Combat;
+import main.CombatCompact;
+import main.Contexte;
+import main.HorlogeVirtuelle;
+import main.Horde;
 import main.Jeu;
+import main.Sauvegarde;
 import org.junit.jupiter.api.Test;
 import personnages.Ennemi;
 import personnages.Heros;
+import metriques.Metriques;
+import questions.BanqueQuestions;
+import questions.CompilateurPaquet;
+import questions.ImportateurQuestions;
+import questions.ListeQuestions;
+import questions.PaquetQuestions;
+import questions.Question;
+import questions.RapportFichier;
+import questions.ResultatImport;
+import rejeu.Enregistreur;
+import rejeu.JournalSession;
+import rejeu.Rejoueur;
+import rejeu.ResultatRejeu;
+import serveur.ServeurJeu;
+import simulation.Estimateur;
+import simulation.Estimation;
+import simulation.ResultatPartie;
+import simulation.Resultats;
+import simulation.Simulateur;
+import simulation.StrategieAutomatique;
+import utils.Alea;
+import utils.IObservateur;
+import utils.IPersonnage;
+import utils.JournalAsynchrone;
+import utils.Ordonnanceur;
+import utils.TableEntiers;
+import utils.TypeCase;
 import utils.TypeEnnemi;
+import utils.TypeEvenementCombat;
 import utils.TypeHeros;
+import utils.TypeInitiative;
 
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TestJeu {
 
     @Test
     void testHeroMort(){
         Jeu jeu = new Jeu();
-        jeu.activerModeTest();
         Heros h = new Heros("Walid", TypeHeros.BARBARE);
         h.setPv(10);
         jeu.hero = h;
@@ -30,7 +94,6 @@ public class TestJeu {
     @Test
     void testHeroGagne(){
         Jeu jeu = new Jeu();
-        jeu.activerModeTest();
         Heros hero = new Heros("Ben", TypeHeros.BARBARE);
         jeu.hero = hero;
         Carte carte = new Carte("victoire", 3);
@@ -57,7 +120,7 @@ public class TestJeu {
 
         Carte carte = new Carte("test", 5);
         carte.placerHero(hero);
-        HashMap<Integer, Combat> positionsCombats = carte.getPositionsCombats();
+        TableEntiers<Combat> positionsCombats = carte.getPositionsCombats();
         int positionCombat = 2;
         positionsCombats.put(positionCombat, combat);
 
@@ -87,4 +150,730 @@ public class TestJeu {
         assertEquals(positionInitiale + 1, hero.getPosition(), "Le héros doit avancer d'une case.");
         assertTrue(hero.getPosition() < carte.getLongueur(), "Le héros ne doit pas dépasser la longueur de la carte.");
     }
+
+    @Test
+    void testPartieSansInterface() {
+        ResultatPartie resultat = Simulateur.jouerPartie(1L, alea -> new StrategieAutomatique(TypeHeros.ASSASSIN, 1, true, 1.0, alea));
+        assertEquals(TypeHeros.ASSASSIN, resultat.typeHeros());
+        assertEquals(resultat.victoire(), resultat.pvRestants() > 0, "Seul un héros vivant peut gagner.");
+
+        Simulateur simulateur = new Simulateur(2);
+        Resultats resultats = simulateur.simuler(20, TypeHeros.BARBARE, 1);
+        simulateur.fermer();
+        assertEquals(20, resultats.getParties());
+        assertEquals(20, resultats.getVictoires() + resultats.getDefaites());
+    }
+
+    @Test
+    void testPartieRejoueeAvecLaMemeGraine() {
+        for (long graine = 0; graine < 20; graine++) {
+            ResultatPartie premiere = Simulateur.jouerPartie(graine, alea -> new StrategieAutomatique(TypeHeros.MAGE, 3, false, 0.5, alea));
+            ResultatPartie seconde = Simulateur.jouerPartie(graine, alea -> new StrategieAutomatique(TypeHeros.MAGE, 3, false, 0.5, alea));
+            assertEquals(premiere, seconde, "Une partie doit se rejouer à l'identique à partir de sa graine.");
+        }
+    }
+
+    @Test
+    void testHorlogeVirtuelle() {
+        HorlogeVirtuelle horloge = new HorlogeVirtuelle();
+        long debut = System.nanoTime();
+        for (int i = 0; i < 1000; i++) horloge.attendre(1000);
+        assertEquals(1_000_000, horloge.maintenant(), "Le temps de jeu doit avancer de la durée des pauses.");
+        assertTrue(System.nanoTime() - debut < 1_000_000_000L, "Les pauses virtuelles ne doivent pas attendre.");
+    }
+
+    @Test
+    void testCombatCompactIdentiqueAuCombat() {
+        for (long graine = 0; graine < 300; graine++) {
+            Alea alea = new Alea(graine);
+            TypeHeros type = TypeHeros.values()[(int) (graine % TypeHeros.values().length)];
+            Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(type, 1, false, 0), alea);
+            Heros heros = new Heros("Ryu", type, contexte);
+            List<Ennemi> ennemis = new ArrayList<>();
+            CombatCompact compact = new CombatCompact(heros, 1);
+            for (int i = alea.entre(1, 8); i > 0; i--) {
+                Ennemi e = new Ennemi("Ken", alea.entre(50, 100), alea.entre(1, 3), TypeEnnemi.aleatoire(alea));
+                ennemis.add(e);
+                compact.ajouter(e);
+            }
+
+            Combat combat = new Combat(heros, ennemis);
+            combat.derouleCombat(new ListeQuestions(List.of()));
+            boolean survie = compact.derouleCombat();
+
+            assertEquals(!heros.estMort(), survie, "Même vainqueur (graine " + graine + ")");
+            assertEquals(heros.getPv(), compact.getPvHeros(), "Mêmes PV du héros (graine " + graine + ")");
+            assertEquals(combat.getNbRounds(), compact.getNbRounds(), "Même nombre de rounds (graine " + graine + ")");
+            assertEquals(combat.getDegatsInfliges(), compact.getDegatsInfliges());
+            assertEquals(combat.getDegatsRecus(), compact.getDegatsRecus());
+        }
+    }
+
+    @Test
+    void testCombatRapideIdentiqueAuCombat() {
+        for (long graine = 0; graine < 300; graine++) {
+            TypeHeros type = TypeHeros.values()[(int) (graine % TypeHeros.values().length)];
+            Combat[] combats = new Combat[2];
+            Heros[] heros = new Heros[2];
+            for (int j = 0; j < 2; j++) {
+                Alea alea = new Alea(graine);
+                Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(type, 1, true, 0), alea);
+                heros[j] = new Heros("Ryu", type, contexte);
+                List<Ennemi> ennemis = new ArrayList<>();
+                for (int i = alea.entre(1, 8); i > 0; i--) {
+                    ennemis.add(new Ennemi("Ken", alea.entre(50, 100), alea.entre(1, 3), TypeEnnemi.aleatoire(alea)));
+                }
+                combats[j] = new Combat(heros[j], ennemis);
+            }
+
+            combats[0].derouleCombat(new ListeQuestions(List.of()));
+            combats[1].resoudreAutomatiquement(new ListeQuestions(List.of()));
+
+            assertEquals(heros[0].getPv(), heros[1].getPv(), "Mêmes PV du héros (graine " + graine + ")");
+            assertEquals(combats[0].getNbRounds(), combats[1].getNbRounds(), "Même nombre de rounds (graine " + graine + ")");
+            assertEquals(combats[0].getDegatsInfliges(), combats[1].getDegatsInfliges());
+            assertEquals(combats[0].getDegatsRecus(), combats[1].getDegatsRecus());
+        }
+    }
+
+    @Test
+    void testEstimationSArreteALaPrecisionDemandee() {
+        Simulateur simulateur = new Simulateur(2);
+        Estimateur estimateur = new Estimateur(simulateur, 0.05, 1.96, 20_000);
+        Estimation estimation = estimateur.estimer(TypeHeros.BARBARE, 1, 11);
+        Estimation rejouee = estimateur.estimer(TypeHeros.BARBARE, 1, 11);
+        simulateur.fermer();
+
+        assertTrue(estimation.precise());
+        assertTrue(estimation.resultats().getDemiLargeur(1.96) <= 0.05);
+        assertTrue(estimation.resultats().getParties() < 20_000, "Arrêt anticipé");
+        assertEquals(estimation.resultats().getVictoires(), rejouee.resultats().getVictoires());
+        long total = 0;
+        for (long effectif : estimation.resultats().getPvFinaux()) total += effectif;
+        assertEquals(estimation.resultats().getParties(), total);
+        assertEquals(estimation.resultats().getDefaites(), estimation.resultats().getPvFinaux()[0]);
+    }
+
+    @Test
+    void testServeurSessionsConcurrentes() throws Exception {
+        try (ServeurJeu serveur = new ServeurJeu(0, HorlogeVirtuelle::new)) {
+            serveur.demarrer();
+            List<Socket> joueurs = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), serveur.getPort());
+                // Nom, héros, niveau puis "1" à chaque question (avancer, combattre, QCM)
+                socket.getOutputStream().write("1\n".repeat(5000).getBytes(StandardCharsets.UTF_8));
+                joueurs.add(socket);
+            }
+            for (Socket socket : joueurs) {
+                try (socket) {
+                    String partie = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                    assertTrue(partie.contains("Merci d'avoir joué !"), "Partie terminée sans arrêter le serveur");
+                }
+            }
+            try (Socket deconnecte = new Socket(InetAddress.getLoopbackAddress(), serveur.getPort())) {
+                deconnecte.shutdownOutput();
+                deconnecte.getInputStream().readAllBytes();
+            }
+        }
+    }
+
+    @Test
+    void testJournalAsynchroneDebordement() throws Exception {
+        CountDownLatch disqueLent = new CountDownLatch(1);
+        List<String> ecrits = Collections.synchronizedList(new ArrayList<>());
+        Handler fichier = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    disqueLent.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ecrits.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        JournalAsynchrone journal = new JournalAsynchrone(fichier, 8, JournalAsynchrone.Debordement.SUPPRIMER_ANCIEN);
+        for (int i = 0; i < 100; i++) {
+            journal.publish(new LogRecord(Level.INFO, "message " + i));
+        }
+        disqueLent.countDown();
+        journal.flush();
+
+        assertTrue(journal.getPerdus() > 0, "Tampon plein : des messages sont perdus sans bloquer");
+        assertEquals(100, ecrits.size() + journal.getPerdus());
+        assertEquals("message 99", ecrits.getLast(), "Les messages les plus récents sont conservés");
+
+        // Tampon vide : le thread d'écriture dort sans délai, et le dépôt suivant le réveille
+        Thread.sleep(50);
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("journal")) assertEquals(Thread.State.WAITING, thread.getState());
+        }
+        journal.publish(new LogRecord(Level.INFO, "réveil"));
+        journal.flush();
+        assertEquals("réveil", ecrits.getLast());
+        journal.close();
+    }
+
+    @Test
+    void testTableEntiersCommeHashMap() {
+        Alea alea = new Alea(5);
+        TableEntiers<Integer> table = new TableEntiers<>();
+        HashMap<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            int cle = alea.entre(-500, 500) * 64; // Beaucoup de collisions
+            switch (alea.entre(0, 3)) {
+                case 0 -> assertEquals(reference.put(cle, i), table.put(cle, i));
+                case 1 -> assertEquals(reference.remove(cle), table.remove(cle));
+                default -> assertEquals(reference.get(cle), table.get(cle));
+            }
+            assertEquals(reference.size(), table.size());
+        }
+        for (int cle = -500 * 64; cle < 500 * 64; cle += 64) {
+            assertEquals(reference.containsKey(cle), table.containsKey(cle));
+        }
+        HashMap<Integer, Integer> parcourue = new HashMap<>();
+        table.pourChaque((valeur, cle) -> parcourue.put(cle, valeur));
+        assertEquals(reference, parcourue);
+    }
+
+    @Test
+    void testCarteSansFinMemoireBornee() {
+        // Un message INFO par pas ralentirait fortement le test
+        List<Logger> bavards = List.of(Logger.getLogger("personnages"), Logger.getLogger("main"));
+        List<Level> niveaux = bavards.stream().map(Logger::getLevel).toList();
+        bavards.forEach(l -> l.setLevel(Level.WARNING));
+        try {
+            Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, 4, false, 0), new Alea(3));
+            Heros hero = new Heros("Ryu", TypeHeros.BARBARE, contexte);
+            CarteInfinie carte = new CarteInfinie("sans fin", CarteInfinie.SANS_FIN, 0.3, new Alea(8));
+            CarteInfinie memeGraine = new CarteInfinie("sans fin", CarteInfinie.SANS_FIN, 0.3, new Alea(8));
+            carte.placerHero(hero);
+            memeGraine.placerHero(new Heros("Ken", TypeHeros.BARBARE, contexte));
+            Runtime jvm = Runtime.getRuntime();
+            long memoireInitiale = 0;
+            int combats = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (i == 10_000) {
+                    System.gc();
+                    memoireInitiale = jvm.totalMemory() - jvm.freeMemory();
+                }
+                int suivante = hero.getPosition() + 1;
+                if (carte.getCase(suivante) == TypeCase.COMBAT) {
+                    combats++;
+                    assertTrue(carte.getCombat(suivante) != null, "Combat créé à la rencontre");
+                    carte.supprimerCombat(suivante);
+                }
+                hero.avance(carte);
+                assertTrue(carte.getTronconsEnMemoire() <= 2, "Les tronçons dépassés sont oubliés");
+            }
+            System.gc();
+            long croissance = jvm.totalMemory() - jvm.freeMemory() - memoireInitiale;
+            assertTrue(croissance < 4 << 20, "Mémoire bornée malgré 90 000 cases parcourues : " + croissance + " octets");
+            assertEquals(100_001, hero.getPosition());
+            assertTrue(combats > 25_000 && combats < 35_000, "Densité de combats respectée : " + combats);
+            assertEquals(memeGraine.getCase(40), new CarteInfinie("sans fin", CarteInfinie.SANS_FIN, 0.3, new Alea(8)).getCase(40));
+        } finally {
+            for (int i = 0; i < bavards.size(); i++) bavards.get(i).setLevel(niveaux.get(i));
+        }
+    }
+
+    @Test
+    void testTirageSansRemiseParCategorieEtDifficulte() {
+        List<Question> banque = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            banque.add(new Question("Q" + i, List.of("A", "B", "C", "D"), "A", i % 2 == 0 ? "Histoire" : "Sciences", 1 + i % 5));
+        }
+        ListeQuestions liste = new ListeQuestions(banque);
+        Alea alea = new Alea(5);
+        Set<Question> tirees = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Question q = liste.getQuestionAleatoire(alea, "Histoire", 3);
+            assertEquals("Histoire", q.getCategorie());
+            assertEquals(3, q.getDifficulte());
+            assertTrue(tirees.add(q), "Pas de remise");
+        }
+        assertNull(liste.getQuestionAleatoire(alea, "Histoire", 3), "Catégorie et difficulté épuisées");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(tirees.add(liste.getQuestionAleatoire(alea, 3)), "Retirée de tous les index");
+        }
+        assertNull(liste.getQuestionAleatoire(alea, 3));
+        while (!liste.estVide()) {
+            assertTrue(tirees.add(liste.getQuestionAleatoire(alea)));
+        }
+        assertEquals(1000, tirees.size());
+        liste.reinitialiser();
+        assertEquals(1000, liste.nombreRestantes(), "La banque est intacte");
+        assertEquals(Set.of("Histoire", "Sciences"), liste.getCategories());
+    }
+
+    @Test
+    void testPaquetCompileIdentiqueAuCsv() throws Exception {
+        ListeQuestions csv = new ListeQuestions("questions_culture_generale.csv");
+        List<Question> questions = new ArrayList<>();
+        while (!csv.estVide()) {
+            questions.add(csv.getQuestionAleatoire(new Alea(1)));
+        }
+        questions.add(new Question("Énoncé ?", List.of("Paris", "Lyon", "Nice", "Brest"), "Nice", "Géographie", 3));
+        Path fichier = Files.createTempFile("questions", ".qcm");
+        try {
+            CompilateurPaquet.compiler(questions, fichier);
+            PaquetQuestions paquet = PaquetQuestions.ouvrir(fichier);
+            assertEquals(questions.size(), paquet.taille());
+            for (int i = 0; i < questions.size(); i++) {
+                Question attendue = questions.get(i);
+                Question lue = paquet.getQuestion(i);
+                assertEquals(attendue.getQuestion(), lue.getQuestion());
+                assertEquals(attendue.getChoix(), lue.getChoix());
+                assertEquals(attendue.getBonneReponse(), lue.getBonneReponse());
+                assertEquals(attendue.getCategorie(), lue.getCategorie());
+                assertEquals(attendue.getDifficulte(), lue.getDifficulte());
+            }
+            ListeQuestions liste = ListeQuestions.charger(fichier.toString());
+            assertEquals("Nice", liste.getQuestionAleatoire(new Alea(2), "Géographie", 3).getBonneReponse());
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    void testPaquetSOuvreSansLireSesQuestions() throws Exception {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            questions.add(new Question("Question " + i + " ?", List.of("A", "B", "C", "D"), "A",
+                    i % 2 == 0 ? "Histoire" : "Sciences", 1 + i % 3));
+        }
+        Path fichier = Files.createTempFile("questions", ".qcm");
+        try {
+            CompilateurPaquet.compiler(questions, fichier);
+            // Catégorie et difficulté de chaque question rendues invalides : les lire ferait échouer l'ouverture
+            ByteBuffer contenu = ByteBuffer.wrap(Files.readAllBytes(fichier));
+            int debutQuestions = 24 + 4 * contenu.getInt(12) + 12 * contenu.getInt(16);
+            for (int i = 0; i < questions.size(); i++) {
+                contenu.put(debutQuestions + 24 * i + 21, (byte) -1);
+                contenu.putShort(debutQuestions + 24 * i + 22, Short.MAX_VALUE);
+            }
+            Files.write(fichier, contenu.array());
+
+            ListeQuestions liste = new ListeQuestions(BanqueQuestions.charger(fichier.toString()));
+            assertEquals(10_000, liste.nombreRestantes());
+            assertEquals(Set.of("Histoire", "Sciences"), liste.getCategories());
+            assertNull(liste.getQuestionAleatoire(new Alea(1), -1));
+            assertNull(liste.getQuestionAleatoire(new Alea(1), "Histoire", 4));
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    void testImportDossierCsv() throws Exception {
+        Path dossier = Files.createTempDirectory("questions");
+        Path a = dossier.resolve("a.csv");
+        Path b = dossier.resolve("b.csv");
+        try {
+            Files.writeString(a, "\uFEFFCapitale ?;Paris;Lyon;Nice;Brest;Paris\r\n"
+                    + "\"Un ; dans \"\"l'énoncé\"\"\";A;B;\"C\nsur deux lignes\";D;B;Sciences;2\r\n"
+                    + "\r\n"
+                    + "Mauvaise ?;A;B;C;D;E\n", StandardCharsets.UTF_8);
+            Files.writeString(b, "capitale  ?;Paris;Lyon;Nice;Brest;Paris\n"
+                    + "Trop court;A;B\n"
+                    + "Difficile ?;A;B;C;D;A;Histoire;zéro\n"
+                    + "Nouvelle ?;A;B;C;D;D", StandardCharsets.UTF_8);
+            ResultatImport resultat = ImportateurQuestions.importer(dossier);
+            assertEquals(3, resultat.questions().size());
+            assertEquals("Capitale ?", resultat.questions().get(0).getQuestion(), "BOM ignoré");
+            Question guillemets = resultat.questions().get(1);
+            assertEquals("Un ; dans \"l'énoncé\"", guillemets.getQuestion());
+            assertEquals("C\nsur deux lignes", guillemets.getChoix().get(2));
+            assertEquals(2, guillemets.getDifficulte());
+            RapportFichier rapportA = resultat.rapports().get(0);
+            RapportFichier rapportB = resultat.rapports().get(1);
+            assertEquals(List.of(3, 2, 1, 0), List.of(rapportA.lignes(), rapportA.acceptees(), rapportA.rejets().size(), rapportA.doublons()));
+            assertTrue(rapportA.rejets().getFirst().startsWith("ligne 5 :"), rapportA.rejets().getFirst());
+            assertEquals(List.of(4, 1, 2, 1), List.of(rapportB.lignes(), rapportB.acceptees(), rapportB.rejets().size(), rapportB.doublons()));
+        } finally {
+            Files.deleteIfExists(a);
+            Files.deleteIfExists(b);
+            Files.delete(dossier);
+        }
+    }
+
+    @Test
+    void testBanquePartageeEntreParties() throws Exception {
+        assertTrue(BanqueQuestions.partagee("questions_culture_generale.csv") == BanqueQuestions.partagee("questions_culture_generale.csv"),
+                "Banque chargée une seule fois");
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 10_007; i++) {
+            questions.add(new Question("Q" + i, List.of("A", "B", "C", "D"), "A"));
+        }
+        BanqueQuestions banque = new BanqueQuestions(questions);
+        List<Thread> parties = new ArrayList<>();
+        List<Set<Question>> tirages = Collections.synchronizedList(new ArrayList<>());
+        for (int p = 0; p < 8; p++) {
+            long graine = p;
+            parties.add(Thread.ofVirtual().start(() -> {
+                ListeQuestions liste = new ListeQuestions(banque);
+                Alea alea = new Alea(graine);
+                Set<Question> tirees = new HashSet<>();
+                while (!liste.estVide()) {
+                    tirees.add(liste.getQuestionAleatoire(alea));
+                }
+                assertNull(liste.getQuestionAleatoire(alea));
+                tirages.add(tirees);
+            }));
+        }
+        for (Thread partie : parties) {
+            partie.join();
+        }
+        assertEquals(8, tirages.size());
+        for (Set<Question> tirees : tirages) {
+            assertEquals(10_007, tirees.size(), "Chaque partie tire toute la banque sans répétition");
+        }
+        ListeQuestions a = new ListeQuestions(banque);
+        ListeQuestions b = new ListeQuestions(banque);
+        Alea aleaA = new Alea(1);
+        Alea aleaB = new Alea(2);
+        List<Question> debutA = new ArrayList<>();
+        List<Question> debutB = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            debutA.add(a.getQuestionAleatoire(aleaA));
+            debutB.add(b.getQuestionAleatoire(aleaB));
+        }
+        assertFalse(debutA.equals(debutB), "Chaque partie a son propre ordre");
+    }
+
+    @Test
+    void testMetriquesJmx() throws Exception {
+        Metriques.publier();
+        MBeanServer serveur = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nom = new ObjectName(Metriques.NOM_JMX);
+        long demarrees = (Long) serveur.getAttribute(nom, "PartiesDemarrees");
+        long terminees = Metriques.get().getPartiesTerminees();
+        long victoiresBarbare = Metriques.get().getVictoiresParHeros().get("BARBARE");
+        long defaitesBarbare = Metriques.get().getDefaitesParHeros().get("BARBARE");
+        Simulateur simulateur = new Simulateur(2);
+        Resultats resultats = simulateur.simuler(200, 11L, TypeHeros.BARBARE, 1);
+        simulateur.fermer();
+        assertEquals(demarrees + 200, (Long) serveur.getAttribute(nom, "PartiesDemarrees"));
+        assertEquals(terminees + 200, Metriques.get().getPartiesTerminees());
+        assertEquals(resultats.getVictoires(), Metriques.get().getVictoiresParHeros().get("BARBARE") - victoiresBarbare);
+        assertEquals(200 - resultats.getVictoires(), Metriques.get().getDefaitesParHeros().get("BARBARE") - defaitesBarbare);
+        CompositeData tours = (CompositeData) serveur.getAttribute(nom, "DureeTourNs");
+        assertTrue((Long) tours.get("nombre") >= 200, "Durée des tours exposée par JMX");
+        assertTrue((Long) tours.get("p50") <= (Long) tours.get("max"));
+    }
+
+    @Test
+    void testEvenementsJfr() throws Exception {
+        Path fichier = Files.createTempFile("partie", ".jfr");
+        try (Recording enregistrement = new Recording()) {
+            for (String evenement : List.of("Tour", "Combat", "Round", "CapaciteSpeciale", "Question", "GenerationCarte")) {
+                enregistrement.enable("beatthemall." + evenement);
+            }
+            enregistrement.start();
+            Simulateur.jouerPartie(4L, alea -> new StrategieAutomatique(TypeHeros.BARBARE, 2, true, 0.5, alea));
+            enregistrement.stop();
+            enregistrement.dump(fichier);
+            Set<String> types = new HashSet<>();
+            int rounds = 0;
+            for (RecordedEvent evenement : RecordingFile.readAllEvents(fichier)) {
+                types.add(evenement.getEventType().getName());
+                if (evenement.getEventType().getName().equals("beatthemall.Round")) {
+                    rounds++;
+                    assertEquals("BARBARE", evenement.getString("typeHeros"));
+                    assertTrue(evenement.getInt("nbT") >= 1);
+                }
+            }
+            assertTrue(types.containsAll(Set.of("beatthemall.Tour", "beatthemall.Combat", "beatthemall.Round",
+                    "beatthemall.CapaciteSpeciale", "beatthemall.GenerationCarte")), types.toString());
+            assertTrue(rounds > 0);
+        } finally {
+            Files.delete(fichier);
+        }
+    }
+
+    @Test
+    void testSauvegardeRestaureLaPartieALIdentique() throws Exception {
+        for (int niveau : new int[]{3, Jeu.NIVEAU_SANS_FIN}) {
+            Jeu reference = partieSauvegardable(7L, niveau);
+            while (!reference.estTerminee()) reference.jouerTour();
+
+            Jeu jeu = partieSauvegardable(7L, niveau);
+            Sauvegarde sauvegarde = new Sauvegarde();
+            int tours = 0;
+            Path fichier = Files.createTempFile("partie", ".sav");
+            try {
+                while (!jeu.estTerminee()) {
+                    ByteBuffer contenu = sauvegarde.capturer(jeu);
+                    Alea alea = new Alea();
+                    Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, niveau, true, 0.5, alea), alea);
+                    jeu = Sauvegarde.restaurer(contenu, contexte);
+                    if (tours == 3) {
+                        sauvegarde.enregistrer(jeu, fichier);
+                        jeu = Sauvegarde.charger(fichier, contexte);
+                    }
+                    jeu.jouerTour();
+                    tours++;
+                }
+            } finally {
+                Files.delete(fichier);
+            }
+            assertEquals(reference.hero.getPosition(), jeu.hero.getPosition());
+            assertEquals(reference.hero.getPv(), jeu.hero.getPv());
+            assertEquals(reference.getCombatsGagnes(), jeu.getCombatsGagnes());
+            assertEquals(reference.getNbRounds(), jeu.getNbRounds());
+            assertEquals(reference.getDegatsInfliges(), jeu.getDegatsInfliges());
+            assertEquals(reference.getDegatsRecus(), jeu.getDegatsRecus());
+        }
+
+        // Une fois le code compilé par le JIT, une restauration prend bien moins d'une milliseconde
+        ByteBuffer contenu = new Sauvegarde().capturer(partieSauvegardable(7L, 3));
+        Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, 3, true, 0.5, new Alea()));
+        for (int i = 0; i < 5_000; i++) Sauvegarde.restaurer(contenu, contexte);
+        long debut = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) Sauvegarde.restaurer(contenu, contexte);
+        long duree = (System.nanoTime() - debut) / 1_000;
+        assertTrue(duree < 1_000_000, "Restauration trop lente : " + duree + " ns");
+    }
+
+    @Test
+    void testSauvegardeLongueurCorrompue() {
+        ByteBuffer contenu = new Sauvegarde().capturer(partieSauvegardable(7L, 1));
+        byte[] octets = new byte[contenu.remaining()];
+        contenu.get(octets);
+        // Position de la longueur du nom du héros, écrite juste avant le nom
+        byte[] nom = "Sauvegarde".getBytes(StandardCharsets.UTF_8);
+        int position = -1;
+        for (int i = 4; position < 0 && i + nom.length <= octets.length; i++) {
+            if (Arrays.equals(octets, i, i + nom.length, nom, 0, nom.length)) position = i - 4;
+        }
+        assertTrue(position >= 0);
+        Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, 1, true, 0.5));
+        for (int longueur : new int[]{-1, Integer.MAX_VALUE, octets.length}) {
+            ByteBuffer corrompue = ByteBuffer.wrap(octets.clone()).putInt(position, longueur);
+            assertThrows(IllegalArgumentException.class, () -> Sauvegarde.restaurer(corrompue, contexte),
+                    "Longueur " + longueur);
+        }
+    }
+
+    // La stratégie tire dans le générateur de la partie : son état est sauvegardé avec elle
+    private static Jeu partieSauvegardable(long graine, int niveau) {
+        Alea alea = new Alea(graine);
+        Jeu jeu = new Jeu(Contexte.sansInterface(new StrategieAutomatique(TypeHeros.BARBARE, niveau, true, 0.5, alea), alea));
+        jeu.initialiserPartie("Sauvegarde", TypeHeros.BARBARE, niveau);
+        return jeu;
+    }
+
+    @Test
+    void testSessionEnregistreeRejoueeALIdentique() throws Exception {
+        Path dossier = Files.createTempDirectory("journaux");
+        try {
+            for (long graine = 0; graine < 10; graine++) {
+                Alea alea = new Alea(graine);
+                Enregistreur enregistreur = new Enregistreur(Contexte.sansInterface(
+                        new StrategieAutomatique(TypeHeros.MAGE, 3, true, 0.5, alea.separer()), alea));
+                Jeu jeu = new Jeu(enregistreur.getContexte());
+                jeu.demarrageJeu();
+                while (!jeu.estTerminee()) jeu.jouerTour();
+                JournalSession journal = enregistreur.journal();
+                assertTrue(journal.evenements() > 0);
+                journal.ecrire(dossier.resolve("session-" + graine + Rejoueur.EXTENSION));
+            }
+            List<ResultatRejeu> resultats = Rejoueur.rejouer(dossier);
+            assertEquals(10, resultats.size());
+            for (ResultatRejeu resultat : resultats) {
+                assertTrue(resultat.conforme(), resultat.toString());
+                assertFalse(resultat.interrompue());
+            }
+
+            // Une seule réponse différente suffit à faire diverger le flux d'événements
+            JournalSession journal = JournalSession.lire(dossier.resolve("session-0" + Rejoueur.EXTENSION));
+            byte[] decisions = journal.decisions().clone();
+            decisions[decisions.length - 1] = (byte) (decisions[decisions.length - 1] == 1 ? 2 : 1);
+            JournalSession modifie = new JournalSession(journal.graine(), journal.initiative(), decisions,
+                    journal.empreinte(), journal.evenements());
+            assertFalse(Rejoueur.rejouer(modifie, "modifie").conforme());
+        } finally {
+            try (var fichiers = Files.list(dossier)) {
+                for (Path fichier : fichiers.toList()) Files.delete(fichier);
+            }
+            Files.delete(dossier);
+        }
+    }
+
+    @Test
+    void testJournalCombatsRelitLesCombatsSimules() throws Exception {
+        Path fichier = Files.createTempFile("combats", ".log");
+        try {
+            Simulateur simulateur = new Simulateur();
+            Resultats resultats;
+            try (JournalCombats journal = new JournalCombats(fichier)) {
+                simulateur.setObservateurs(journal::observateur);
+                resultats = simulateur.simuler(200, 7, TypeHeros.BARBARE, 3);
+            } finally {
+                simulateur.fermer();
+            }
+
+            // Les agrégats relus du journal sont ceux de la simulation
+            LecteurCombats lecteur = LecteurCombats.ouvrir(fichier);
+            StatistiquesCombats statistiques = new StatistiquesCombats();
+            assertEquals(lecteur.nombreEvenements(), lecteur.parcourir(statistiques));
+            assertEquals(lecteur.nombreCombats(), statistiques.getCombats());
+            assertEquals(resultats.getCombatsGagnes(), statistiques.getVictoires());
+            assertEquals(resultats.getDegatsInfliges(), statistiques.getDegatsInfliges());
+            assertEquals(resultats.getDegatsRecus(), statistiques.getDegatsRecus());
+
+            // Un combat se relit seul par l'index, du début à la fin
+            List<TypeEvenementCombat> types = new ArrayList<>();
+            assertTrue(lecteur.parcourirCombat(0, 1, (type, a, b, c, d) -> types.add(type)) > 0);
+            assertEquals(TypeEvenementCombat.DEBUT_COMBAT, types.get(0));
+            assertEquals(TypeEvenementCombat.FIN_COMBAT, types.get(types.size() - 1));
+            assertEquals(-1, lecteur.parcourirCombat(200, 1, (type, a, b, c, d) -> { }));
+        } finally {
+            Files.deleteIfExists(fichier);
+            Files.deleteIfExists(JournalCombats.fichierIndex(fichier));
+        }
+    }
+
+    @Test
+    void testCartesAnticipeesIdentiquesALaGeneration() {
+        for (int niveau = 1; niveau <= 4; niveau++) {
+            for (long graine = 0; graine < 20; graine++) {
+                // Stratégie sur un flux séparé (carte anticipée reprise) ou partageant le générateur de la partie
+                for (boolean partage : new boolean[]{false, true}) {
+                    Jeu reference = partieDemarree(graine, niveau, partage, false);
+                    Jeu anticipee = partieDemarree(graine, niveau, partage, true);
+                    assertEquals(new Sauvegarde().capturer(reference), new Sauvegarde().capturer(anticipee));
+                    while (!reference.estTerminee()) reference.jouerTour();
+                    while (!anticipee.estTerminee()) anticipee.jouerTour();
+                    assertEquals(reference.getNbRounds(), anticipee.getNbRounds());
+                    assertEquals(reference.getDegatsRecus(), anticipee.getDegatsRecus());
+                }
+            }
+        }
+    }
+
+    private static Jeu partieDemarree(long graine, int niveau, boolean partage, boolean anticiper) {
+        Alea alea = new Alea(graine);
+        Jeu jeu = new Jeu(Contexte.sansInterface(new StrategieAutomatique(TypeHeros.SOIGNEUR, niveau, true, 0.5,
+                partage ? alea : alea.separer()), alea));
+        jeu.demarrageJeu(anticiper);
+        return jeu;
+    }
+
+    @Test
+    void testHordeDeCentMilleEnnemis() {
+        ListeQuestions questions = ListeQuestions.charger("questions_culture_generale.csv");
+        for (TypeHeros type : new TypeHeros[]{TypeHeros.BARBARE, TypeHeros.ASSASSIN}) {
+            // Chaque ennemi tué est signalé une fois, seul ou avec ceux de son type tués par la même onde de choc
+            long[] morts = new long[1];
+            IObservateur observateur = new IObservateur() {
+                @Override
+                public void mort(IPersonnage personnage) {
+                    if (personnage instanceof Ennemi) morts[0]++;
+                }
+
+                @Override
+                public void morts(TypeEnnemi typeEnnemi, int nombre) {
+                    morts[0] += nombre;
+                }
+            };
+            Alea alea = new Alea(11);
+            Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(type, Jeu.NIVEAU_HORDE, true, 1.0,
+                    alea.separer()), alea, observateur);
+            Heros heros = new Heros("Horde", type, contexte);
+            Horde horde = new Horde(heros, 100, 100_000);
+
+            assertTrue(horde.jouerVague(questions));
+            assertEquals(100, morts[0]);
+            // La capacité de l'assassin, proposée au début de la première vague, la tue sans aucun round
+            if (type == TypeHeros.ASSASSIN) assertEquals(0, horde.getNbRounds());
+            assertTrue(horde.jouerVague(questions));
+            assertEquals(100_100, morts[0]);
+            assertEquals(0, horde.getEnnemisRestants());
+            assertTrue(horde.estVaincue());
+        }
+
+        // La capacité de l'assassin vide la liste d'un coup et renvoie les points de vie retirés
+        List<Ennemi> ennemis = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) ennemis.add(new Ennemi("Ennemi", 10, 1, TypeEnnemi.BRIGAND));
+        Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.ASSASSIN, 1, true, 0.5));
+        Heros assassin = new Heros("Assassin", TypeHeros.ASSASSIN, contexte);
+        assertEquals(1_000_000, TypeHeros.utilisationCapaciteSpeciale(assassin, ennemis, contexte.getRendu()));
+        assertTrue(ennemis.isEmpty());
+    }
+
+    @Test
+    void testInitiativeParVitesse() {
+        // Un combattant deux fois plus rapide agit deux fois plus souvent ; à instant égal, la priorité départage
+        Set<String> morts = new HashSet<>(Set.of("mort"));
+        Ordonnanceur<String> ordonnanceur = new Ordonnanceur<>(acteur -> !morts.contains(acteur));
+        ordonnanceur.ajouter("rapide", 10, 1);
+        ordonnanceur.ajouter("lent", 5, 0);
+        ordonnanceur.ajouter("mort", 16, 0);
+        List<String> ordre = new ArrayList<>();
+        for (int i = 0; i < 6; i++) ordre.add(ordonnanceur.suivant());
+        assertEquals(List.of("rapide", "lent", "rapide", "rapide", "lent", "rapide"), ordre);
+        assertEquals(2, ordonnanceur.taille());
+
+        // La règle historique reste celle par défaut
+        assertEquals(TypeInitiative.GANGSTER_D_ABORD, TypeInitiative.configuree());
+        assertFalse(TypeInitiative.GANGSTER_D_ABORD.herosEnPremier(TypeHeros.ASSASSIN, TypeEnnemi.GANGSTER));
+        assertTrue(TypeInitiative.GANGSTER_D_ABORD.herosEnPremier(TypeHeros.SOIGNEUR, TypeEnnemi.BRIGAND));
+        assertFalse(TypeInitiative.VITESSE.herosEnPremier(TypeHeros.SOIGNEUR, TypeEnnemi.BRIGAND));
+
+        // Mêlée contre mille ennemis : tous agissent, et chacun au moins autant de fois que le héros avant sa mort
+        long[] attaques = new long[1];
+        long[] tues = new long[1];
+        IObservateur observateur = new IObservateur() {
+            @Override
+            public void degats(IPersonnage attaquant, IPersonnage cible, int degats) {
+                if (attaquant instanceof Ennemi) attaques[0]++;
+            }
+
+            @Override
+            public void mort(IPersonnage personnage) {
+                if (personnage instanceof Ennemi) tues[0]++;
+            }
+        };
+        Contexte contexte = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.SOIGNEUR, 1, false, 0.5),
+                new Alea(3), observateur);
+        Heros heros = new Heros("Mêlée", TypeHeros.SOIGNEUR, contexte);
+        List<Ennemi> ennemis = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) ennemis.add(new Ennemi("Brigand", 1, 0, TypeEnnemi.BRIGAND));
+        Combat combat = new Combat(heros, ennemis);
+        combat.setInitiative(TypeInitiative.VITESSE);
+        combat.derouleCombat(new ListeQuestions(List.of()));
+        assertFalse(heros.estMort());
+        assertEquals(1_000, combat.getNbRounds());
+        assertEquals(1_000, tues[0]);
+        assertTrue(attaques[0] >= 1_000L * 1_001 / 2, "attaques : " + attaques[0]);
+
+        // La règle de la partie est enregistrée dans son journal et sa sauvegarde, et reprise sans la propriété
+        Alea alea = new Alea(5);
+        Contexte base = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.MAGE, 3, true, 0.5, alea.separer()), alea);
+        base.setInitiative(TypeInitiative.VITESSE);
+        Enregistreur enregistreur = new Enregistreur(base);
+        Jeu jeu = new Jeu(enregistreur.getContexte());
+        jeu.demarrageJeu();
+        ByteBuffer sauvegarde = new Sauvegarde().capturer(jeu);
+        while (!jeu.estTerminee()) jeu.jouerTour();
+        JournalSession journal = enregistreur.journal();
+        assertEquals(TypeInitiative.VITESSE, journal.initiative());
+        assertTrue(Rejoueur.rejouer(journal, "vitesse").conforme());
+        JournalSession autreRegle = new JournalSession(journal.graine(), TypeInitiative.GANGSTER_D_ABORD,
+                journal.decisions(), journal.empreinte(), journal.evenements());
+        assertFalse(Rejoueur.rejouer(autreRegle, "gangster").conforme());
+        Contexte reprise = Contexte.sansInterface(new StrategieAutomatique(TypeHeros.MAGE, 3, true, 0.5));
+        Sauvegarde.restaurer(sauvegarde, reprise);
+        assertEquals(TypeInitiative.VITESSE, reprise.getInitiative());
+    }
 }